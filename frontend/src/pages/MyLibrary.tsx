@@ -6,6 +6,8 @@ import {
 } from '@mui/material';
 import api from '../services/api';
 import { AuthService } from '../services/AuthService';
+import { ReservationService } from '../services/MiscService';
+import { MemberEventService, MemberEvent } from '../services/MemberEventService';
 
 interface Loan {
     id: number;
@@ -22,9 +24,12 @@ interface Loan {
 interface Reservation {
     id: number;
     bookId: number;
-    memberId: number;
+    bookTitle: string;
     requestDate: string;
-    status: 'PENDING' | 'FULFILLED' | 'CANCELLED';
+    expiryDate: string | null;
+    status: 'PENDING' | 'READY_FOR_PICKUP' | 'FULFILLED' | 'CANCELLED' | 'EXPIRED';
+    queuePosition: number | null;
+    queueLength: number | null;
 }
 
 const MyLibrary: React.FC = () => {
@@ -38,6 +43,23 @@ const MyLibrary: React.FC = () => {
         fetchData();
     }, []);
 
+    // Queue positions and pickups are pushed by the server instead of polled
+    useEffect(() => {
+        const user = AuthService.getCurrentUser();
+        if (!user) return;
+        return MemberEventService.subscribe(user.id, (event: MemberEvent) => {
+            if (event.type === 'queue-position') {
+                setReservations((current) => current.map((res) =>
+                    res.bookId === event.data.bookId && res.status === 'PENDING'
+                        ? { ...res, queuePosition: event.data.position || null, queueLength: event.data.queueLength || null }
+                        : res));
+            } else if (event.type === 'reservation-ready') {
+                setReservations((current) => current.map((res) =>
+                    res.id === event.data.reservationId ? { ...res, status: 'READY_FOR_PICKUP', queuePosition: null } : res));
+            }
+        });
+    }, []);
+
     const fetchData = async () => {
         setLoading(true);
         try {
@@ -59,12 +81,10 @@ const MyLibrary: React.FC = () => {
                 .filter((l: Loan) => l.memberId === user.id);
             setLoans(userLoans);
 
-            // Fetch Reservations (Using /reservations and filtering)
+            // Fetch Reservations with their queue positions
             try {
-                const resRes = await api.get('/reservations');
-                const userRes = (resRes.data.content || resRes.data || [])
-                    .filter((r: Reservation) => r.memberId === user.id);
-                setReservations(userRes);
+                const resRes = await ReservationService.getByMember(user.id);
+                setReservations(resRes.data || []);
             } catch (e) {
                 console.warn('Reservations fetch failed', e);
             }
@@ -251,19 +271,20 @@ const MyLibrary: React.FC = () => {
                     <Table>
                         <TableHead>
                             <TableRow>
-                                <TableCell>Book ID</TableCell>
+                                <TableCell>Book</TableCell>
                                 <TableCell>Request Date</TableCell>
                                 <TableCell>Status</TableCell>
+                                <TableCell>Queue</TableCell>
                                 <TableCell>Action</TableCell>
                             </TableRow>
                         </TableHead>
                         <TableBody>
                             {reservations.length === 0 ? (
-                                <TableRow><TableCell colSpan={4} align="center">No reservations.</TableCell></TableRow>
+                                <TableRow><TableCell colSpan={5} align="center">No reservations.</TableCell></TableRow>
                             ) : (
                                 reservations.map((res) => (
                                     <TableRow key={res.id} data-testid={`reservation-${res.id}`}>
-                                        <TableCell>{res.bookId}</TableCell>
+                                        <TableCell>{res.bookTitle}</TableCell>
                                         <TableCell>{new Date(res.requestDate).toLocaleDateString()}</TableCell>
                                         <TableCell>
                                             <Chip
@@ -272,6 +293,9 @@ const MyLibrary: React.FC = () => {
                                                 size="small"
                                             />
                                         </TableCell>
+                                        <TableCell data-testid={`queue-position-${res.id}`}>
+                                            {res.queuePosition ? `${res.queuePosition} of ${res.queueLength}` : '-'}
+                                        </TableCell>
                                         <TableCell>
                                             {res.status === 'PENDING' && (
                                                 <Button
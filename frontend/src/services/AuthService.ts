@@ -5,6 +5,8 @@ export interface User {
     email: string;
     role: 'USER' | 'ADMIN';
     token: string;
+    refreshToken: string;
+    expiresIn: number;
 }
 
 export const AuthService = {
@@ -12,6 +14,7 @@ export const AuthService = {
         const response = await api.post('/auth/login', credentials);
         if (response.data.token) {
             localStorage.setItem('token', response.data.token);
+            localStorage.setItem('refreshToken', response.data.refreshToken);
             localStorage.setItem('user', JSON.stringify(response.data));
         }
         return response.data;
@@ -24,6 +27,7 @@ export const AuthService = {
             console.log('Register API response:', response);
             if (response.data.token) {
                 localStorage.setItem('token', response.data.token);
+                localStorage.setItem('refreshToken', response.data.refreshToken);
                 localStorage.setItem('user', JSON.stringify(response.data));
             }
             return response.data;
@@ -34,7 +38,12 @@ export const AuthService = {
     },
 
     logout: () => {
+        const refreshToken = localStorage.getItem('refreshToken');
+        if (refreshToken) {
+            api.post('/auth/logout', { refreshToken }).catch(() => undefined);
+        }
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
         window.location.href = '/login';
     },
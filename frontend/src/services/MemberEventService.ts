@@ -0,0 +1,72 @@
+import { refreshAccessToken } from './api';
+
+// Server-Sent Events of the signed-in member: queue positions, ready pickups and loans due soon.
+// EventSource cannot send the Authorization header, so the stream is read with fetch instead.
+
+export interface MemberEvent {
+    type: 'queue-position' | 'reservation-ready' | 'loan-due-soon';
+    data: any;
+}
+
+const baseURL = import.meta.env.VITE_API_URL || '/api/v1';
+const RECONNECT_DELAY_MS = 5000;
+
+export const MemberEventService = {
+    // Returns a function that closes the stream; reconnects after errors until then
+    subscribe: (memberId: number, onEvent: (event: MemberEvent) => void): (() => void) => {
+        const controller = new AbortController();
+
+        const connect = async () => {
+            while (!controller.signal.aborted) {
+                try {
+                    const response = await fetch(`${baseURL}/members/${memberId}/events`, {
+                        headers: {
+                            Accept: 'text/event-stream',
+                            Authorization: localStorage.getItem('token') || '',
+                        },
+                        signal: controller.signal,
+                    });
+                    if (response.status === 401 && await refreshAccessToken()) {
+                        continue;
+                    }
+                    if (!response.ok || !response.body) {
+                        throw new Error(`Event stream failed with ${response.status}`);
+                    }
+                    await readEvents(response.body, onEvent);
+                } catch (err) {
+                    if (controller.signal.aborted) return;
+                    console.warn('Event stream interrupted', err);
+                }
+                await new Promise((resolve) => setTimeout(resolve, RECONNECT_DELAY_MS));
+            }
+        };
+
+        connect();
+        return () => controller.abort();
+    },
+};
+
+const readEvents = async (body: ReadableStream<Uint8Array>, onEvent: (event: MemberEvent) => void) => {
+    const reader = body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+        const { value, done } = await reader.read();
+        if (done) return;
+        buffer += value;
+        // Events are separated by a blank line; heartbeat comments have no event name
+        let end;
+        while ((end = buffer.indexOf('\n\n')) >= 0) {
+            const block = buffer.slice(0, end);
+            buffer = buffer.slice(end + 2);
+            let type = '';
+            let data = '';
+            for (const line of block.split('\n')) {
+                if (line.startsWith('event:')) type = line.slice(6).trim();
+                else if (line.startsWith('data:')) data += line.slice(5);
+            }
+            if (type && data) {
+                onEvent({ type: type as MemberEvent['type'], data: JSON.parse(data) });
+            }
+        }
+    }
+};
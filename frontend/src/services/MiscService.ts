@@ -1,17 +1,16 @@
 import api from './api';
 
 export const FineService = {
-    // Backend doesn't have a standalone /fines endpoint exposed yet based on Controller list
-    // Fines are part of the detailed Loan object.
-    // This service is a placeholder for future extension.
+    // Outstanding fines are exposed on each loan as fineAmount; paying one
+    // settles the loan's fine at its current amount (admin only).
     payFine: (loanId: number) => {
-        // Hypothetical endpoint
-        return api.post(`/loans/${loanId}/pay-fine`);
+        return api.post(`/fines/loan/${loanId}/pay`);
     }
 };
 
 export const ReservationService = {
-    getAll: () => api.get('/reservations'),
+    // Every reservation of the member with its place in the book's queue, in one call
+    getByMember: (memberId: number) => api.get(`/reservations/member/${memberId}`),
 
     create: (bookId: number, memberId: number) => {
         return api.post('/reservations', {
@@ -1,6 +1,4 @@
-import axios from 'axios';
-
-const API_URL = 'http://localhost:8081/api/v1/reporting';
+import api from './api';
 
 export interface CategoryReport {
     categoryName: string;
@@ -18,26 +16,17 @@ export interface BookStatusReport {
     count: number;
 }
 
-const getAuthHeader = () => {
-    const userStr = localStorage.getItem('user');
-    if (userStr) {
-        const user = JSON.parse(userStr);
-        return { Authorization: `Bearer ${user.token}` };
-    }
-    return {};
-};
-
 export const getMostReadCategories = async (limit: number = 10): Promise<CategoryReport[]> => {
-    const response = await axios.get(`${API_URL}/categories/most-read?limit=${limit}`, { headers: getAuthHeader() });
+    const response = await api.get(`/reporting/categories/most-read?limit=${limit}`);
     return response.data;
 };
 
 export const getMostActiveMembers = async (limit: number = 10): Promise<MemberActivity[]> => {
-    const response = await axios.get(`${API_URL}/members/most-active?limit=${limit}`, { headers: getAuthHeader() });
+    const response = await api.get(`/reporting/members/most-active?limit=${limit}`);
     return response.data;
 };
 
 export const getBookStatusDistribution = async (): Promise<BookStatusReport[]> => {
-    const response = await axios.get(`${API_URL}/books/status-distribution`, { headers: getAuthHeader() });
+    const response = await api.get('/reporting/books/status-distribution');
     return response.data;
 };
@@ -1,6 +1,4 @@
-import axios from 'axios';
-
-const API_URL = 'http://localhost:8081/api/v1';
+import api from './api';
 
 export interface UserBookInteraction {
     id: number;
@@ -10,39 +8,30 @@ export interface UserBookInteraction {
     addedAt: string;
 }
 
-const getAuthHeader = () => {
-    const userStr = localStorage.getItem('user');
-    if (userStr) {
-        const user = JSON.parse(userStr);
-        return { Authorization: `Bearer ${user.token}` };
-    }
-    return {};
-};
-
 // Favorites
 export const addFavorite = async (bookId: number): Promise<void> => {
-    await axios.post(`${API_URL}/favorites/${bookId}`, {}, { headers: getAuthHeader() });
+    await api.post(`/favorites/${bookId}`, {});
 };
 
 export const removeFavorite = async (bookId: number): Promise<void> => {
-    await axios.delete(`${API_URL}/favorites/${bookId}`, { headers: getAuthHeader() });
+    await api.delete(`/favorites/${bookId}`);
 };
 
 export const getFavorites = async (): Promise<UserBookInteraction[]> => {
-    const response = await axios.get(`${API_URL}/favorites`, { headers: getAuthHeader() });
+    const response = await api.get('/favorites');
     return response.data;
 };
 
 // Reading List
 export const addToReadingList = async (bookId: number): Promise<void> => {
-    await axios.post(`${API_URL}/reading-list/${bookId}`, {}, { headers: getAuthHeader() });
+    await api.post(`/reading-list/${bookId}`, {});
 };
 
 export const removeFromReadingList = async (bookId: number): Promise<void> => {
-    await axios.delete(`${API_URL}/reading-list/${bookId}`, { headers: getAuthHeader() });
+    await api.delete(`/reading-list/${bookId}`);
 };
 
 export const getReadingList = async (): Promise<UserBookInteraction[]> => {
-    const response = await axios.get(`${API_URL}/reading-list`, { headers: getAuthHeader() });
+    const response = await api.get('/reading-list');
     return response.data;
 };
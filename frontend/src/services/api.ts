@@ -17,10 +17,39 @@ api.interceptors.request.use((config) => {
     return config;
 }, (error) => Promise.reject(error));
 
+// Concurrent 401s share one refresh so the single-use refresh token is only spent once
+let refreshing: Promise<string | null> | null = null;
+
+export const refreshAccessToken = (): Promise<string | null> => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) return Promise.resolve(null);
+    if (!refreshing) {
+        refreshing = api.post('/auth/refresh', { refreshToken })
+            .then((response) => {
+                localStorage.setItem('token', response.data.token);
+                localStorage.setItem('refreshToken', response.data.refreshToken);
+                return response.data.token as string;
+            })
+            .catch(() => null)
+            .finally(() => { refreshing = null; });
+    }
+    return refreshing;
+};
+
 api.interceptors.response.use(
     (response) => response,
-    (error) => {
-        if (error.response?.status === 401) {
+    async (error) => {
+        const original = error.config;
+        if (error.response?.status === 401 && original && !original._retried && !original.url?.includes('/auth/')) {
+            // Access tokens are short-lived; get a new one and replay the request once
+            original._retried = true;
+            const token = await refreshAccessToken();
+            if (token) {
+                original.headers.Authorization = token;
+                return api(original);
+            }
+        }
+        if (error.response?.status === 401 && !original?.url?.includes('/auth/')) {
             // Handle unauthorized
             window.location.href = '/login';
         }
@@ -0,0 +1,172 @@
+package com.library.management.analytics;
+
+import com.library.management.entity.BorrowerSketch;
+import com.library.management.entity.SketchScope;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.model.ItemBorrower;
+import com.library.management.repository.BorrowerSketchRepository;
+import com.library.management.repository.CategoryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monthly {@link HyperLogLog} sketches of the members borrowing each book and category. Borrow
+ * events are added to in-memory sketches that {@link #flush()} merges into borrower_sketches;
+ * merging is idempotent, so a flush that fails is simply retried and several nodes can flush
+ * the same month. Stored counts lag by at most one flush interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BorrowerSketches {
+
+    // Sketches are locked in this order, so concurrent flushes cannot deadlock
+    private static final Comparator<BorrowerSketch.Key> KEY_ORDER = Comparator
+            .comparing(BorrowerSketch.Key::getScope)
+            .thenComparing(BorrowerSketch.Key::getItemId)
+            .thenComparing(BorrowerSketch.Key::getMonthStart);
+
+    // A dense sketch is 4 KB, so a month is rebuilt this many sketches at a time
+    private static final int REBUILD_BATCH = 1000;
+
+    private final CategoryRepository categoryRepository;
+    private final BorrowerSketchRepository sketchRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Borrowers seen since the last flush
+    private final Map<BorrowerSketch.Key, HyperLogLog> pending = new ConcurrentHashMap<>();
+
+    @Async("eventExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoanBorrowed(LoanBorrowedEvent event) {
+        LocalDate month = event.loanDate().toLocalDate().withDayOfMonth(1);
+        add(new BorrowerSketch.Key(SketchScope.BOOK, event.bookId(), month), event.memberId());
+        for (Long categoryId : categoryRepository.findIdsByBookId(event.bookId())) {
+            add(new BorrowerSketch.Key(SketchScope.CATEGORY, categoryId, month), event.memberId());
+        }
+    }
+
+    // Returns the number of stored sketches updated; on failure everything stays pending
+    public int flush() {
+        Map<BorrowerSketch.Key, HyperLogLog> batch = new TreeMap<>(KEY_ORDER);
+        for (BorrowerSketch.Key key : List.copyOf(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch != null) {
+                batch.put(key, sketch);
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            save(batch);
+            return batch.size();
+        } catch (RuntimeException e) {
+            log.warn("Could not flush {} borrower sketch(es); retrying on the next flush", batch.size(), e);
+            batch.forEach((key, sketch) -> pending.merge(key, sketch, HyperLogLog::merge));
+            return 0;
+        }
+    }
+
+    // Sketches the borrowers of one month from loans into the stored sketches
+    public int rebuild(YearMonth month) {
+        LocalDate day = month.atDay(1);
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        return rebuild(SketchScope.BOOK, day, sketchRepository.findBookBorrowers(from, to))
+                + rebuild(SketchScope.CATEGORY, day, sketchRepository.findCategoryBorrowers(from, to));
+    }
+
+    // Sketches of each item merged over the months from..to; items nobody borrowed are left out
+    public Map<Long, HyperLogLog> load(SketchScope scope, Collection<Long> itemIds, YearMonth from, YearMonth to) {
+        Map<Long, HyperLogLog> sketches = new HashMap<>();
+        for (BorrowerSketch row : sketchRepository.findByScopeAndItemIdInAndMonthStartBetween(
+                scope, itemIds, from.atDay(1), to.atDay(1))) {
+            sketches.merge(row.getItemId(), read(row), HyperLogLog::merge);
+        }
+        return sketches;
+    }
+
+    // Borrows since the last flush would otherwise never be counted: events are not replayed
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void add(BorrowerSketch.Key key, Long memberId) {
+        pending.compute(key, (k, sketch) -> {
+            HyperLogLog updated = sketch != null ? sketch : new HyperLogLog();
+            updated.add(memberId);
+            return updated;
+        });
+    }
+
+    // Borrowers come ordered by item, so each batch holds whole items but the one at its edge,
+    // which is merged over two batches
+    private int rebuild(SketchScope scope, LocalDate month, List<ItemBorrower> borrowers) {
+        Map<BorrowerSketch.Key, HyperLogLog> batch = new TreeMap<>(KEY_ORDER);
+        int written = 0;
+        for (ItemBorrower borrower : borrowers) {
+            BorrowerSketch.Key key = new BorrowerSketch.Key(scope, borrower.itemId(), month);
+            if (!batch.containsKey(key) && batch.size() == REBUILD_BATCH) {
+                save(batch);
+                written += batch.size();
+                batch.clear();
+            }
+            batch.computeIfAbsent(key, k -> new HyperLogLog()).add(borrower.memberId());
+        }
+        if (!batch.isEmpty()) {
+            save(batch);
+            written += batch.size();
+        }
+        return written;
+    }
+
+    private void save(Map<BorrowerSketch.Key, HyperLogLog> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> batch.forEach((key, sketch) -> {
+            BorrowerSketch row = sketchRepository.findForUpdate(key.getScope(), key.getItemId(), key.getMonthStart())
+                    .orElseGet(() -> {
+                        BorrowerSketch created = new BorrowerSketch();
+                        created.setScope(key.getScope());
+                        created.setItemId(key.getItemId());
+                        created.setMonthStart(key.getMonthStart());
+                        return created;
+                    });
+            HyperLogLog merged = row.getRegisters() == null ? sketch : read(row).merge(sketch);
+            row.setRegisters(merged.toBytes());
+            row.setUpdatedAt(now);
+            sketchRepository.save(row);
+        }));
+    }
+
+    // A sketch that cannot be read is started over rather than blocking every later flush
+    private HyperLogLog read(BorrowerSketch row) {
+        try {
+            return HyperLogLog.fromBytes(row.getRegisters());
+        } catch (IllegalArgumentException e) {
+            log.warn("Discarding unreadable borrower sketch {} {} {}", row.getScope(), row.getItemId(), row.getMonthStart(), e);
+            return new HyperLogLog();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.library.management.analytics;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch of a set of longs: 2^12 one-byte registers, giving distinct counts with a
+ * standard error of about 1.6% in at most 4 KB however many values are added. Sketches are
+ * merged by taking the larger register, so the union of any periods or items is exact to the
+ * same error, and adding or merging the same value twice changes nothing.
+ * <p>
+ * Small sketches serialize as (index, register) pairs of their non-zero registers, so the many
+ * books read by a handful of members a month take a few bytes each. Not thread-safe.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION = 12;
+
+    // 1.04 / sqrt(m)
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    private static final int REGISTERS = 1 << PRECISION;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+    private static final byte SPARSE = 0;
+    private static final byte DENSE = 1;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - PRECISION));
+        // Leading zeros of the remaining bits plus one; the guard bit caps it at 64 - PRECISION + 1
+        int rank = Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        // Linear counting is far more accurate while many registers are still empty; 64-bit
+        // hashes make the large-range correction of the original paper unnecessary
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Format byte, precision, then either 3-byte (index, register) pairs or all registers
+    public byte[] toBytes() {
+        int used = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                used++;
+            }
+        }
+        if (used * 3 >= REGISTERS) {
+            byte[] bytes = new byte[2 + REGISTERS];
+            bytes[0] = DENSE;
+            bytes[1] = PRECISION;
+            System.arraycopy(registers, 0, bytes, 2, REGISTERS);
+            return bytes;
+        }
+        byte[] bytes = new byte[2 + used * 3];
+        bytes[0] = SPARSE;
+        bytes[1] = PRECISION;
+        int offset = 2;
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] != 0) {
+                bytes[offset++] = (byte) (i >>> 8);
+                bytes[offset++] = (byte) i;
+                bytes[offset++] = registers[i];
+            }
+        }
+        return bytes;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length < 2 || bytes[1] != PRECISION) {
+            throw new IllegalArgumentException("Not a HyperLogLog sketch of precision " + PRECISION);
+        }
+        if (bytes[0] == DENSE && bytes.length == 2 + REGISTERS) {
+            return new HyperLogLog(Arrays.copyOfRange(bytes, 2, bytes.length));
+        }
+        if (bytes[0] != SPARSE || (bytes.length - 2) % 3 != 0) {
+            throw new IllegalArgumentException("Corrupt HyperLogLog sketch");
+        }
+        byte[] registers = new byte[REGISTERS];
+        for (int offset = 2; offset < bytes.length; offset += 3) {
+            int index = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+            if (index >= REGISTERS) {
+                throw new IllegalArgumentException("Corrupt HyperLogLog sketch");
+            }
+            registers[index] = bytes[offset + 2];
+        }
+        return new HyperLogLog(registers);
+    }
+
+    // SplitMix64 finalizer: member ids are sequential, so they must be spread before bucketing
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
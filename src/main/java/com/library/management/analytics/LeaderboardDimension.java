@@ -0,0 +1,8 @@
+package com.library.management.analytics;
+
+// What a live leaderboard ranks by number of loans
+public enum LeaderboardDimension {
+    CATEGORY,
+    BOOK,
+    MEMBER
+}
@@ -0,0 +1,29 @@
+package com.library.management.analytics;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows of the live leaderboards. A window is a ring of buckets that expire one at a
+ * time, so it covers between {@code buckets - 1} and {@code buckets} bucket lengths of history.
+ */
+public enum LeaderboardWindow {
+    HOUR(Duration.ofMinutes(5), 12),
+    DAY(Duration.ofHours(1), 24),
+    WEEK(Duration.ofHours(6), 28);
+
+    private final Duration bucketLength;
+    private final int buckets;
+
+    LeaderboardWindow(Duration bucketLength, int buckets) {
+        this.bucketLength = bucketLength;
+        this.buckets = buckets;
+    }
+
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+}
@@ -0,0 +1,194 @@
+package com.library.management.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.LeaderboardCheckpoint;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.model.LiveRanking;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.CategoryRepository;
+import com.library.management.repository.LeaderboardCheckpointRepository;
+import com.library.management.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leaderboards of the most borrowed categories, books and members over the last hour, day and
+ * week, counted in memory from borrow events so reading them costs no query. Each board is a
+ * {@link SlidingTopK} bounded by the configured capacity per bucket; counts are exact until a
+ * bucket sees more distinct keys than that, and approximate with a reported error after.
+ * <p>
+ * Every node counts the loans it served. Boards are checkpointed to leaderboard_checkpoints
+ * periodically under the node's id and restored on startup from that node's rows only, so a
+ * restart loses at most one interval of borrows and nodes never overwrite each other's boards.
+ * The node id must therefore survive a restart; it defaults to the host name. Rows not saved
+ * for the longest window belong to nodes that are gone and are deleted on checkpoint. The
+ * exact, cluster-wide numbers remain the rollup-based reports.
+ */
+@Component
+@Slf4j
+public class LiveLeaderboards {
+
+    private static final TypeReference<List<SlidingTopK.BucketSnapshot>> SNAPSHOT_TYPE = new TypeReference<>() {
+    };
+    // A checkpoint older than the longest window holds nothing a restore would keep
+    private static final Duration RETENTION = LeaderboardWindow.WEEK.getBucketLength()
+            .multipliedBy(LeaderboardWindow.WEEK.getBuckets());
+
+    private final CategoryRepository categoryRepository;
+    private final BookRepository bookRepository;
+    private final MemberRepository memberRepository;
+    private final LeaderboardCheckpointRepository checkpointRepository;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final Clock clock;
+    private final Map<LeaderboardDimension, Map<LeaderboardWindow, SlidingTopK>> boards =
+            new EnumMap<>(LeaderboardDimension.class);
+    // Display names of ranked keys; cleared on every checkpoint so renames show up
+    private final Map<LeaderboardDimension, Map<Long, String>> names = new EnumMap<>(LeaderboardDimension.class);
+    // Scheduling starts before the application is ready; saving before restoring would wipe the checkpoints
+    private volatile boolean restored;
+
+    @Autowired
+    public LiveLeaderboards(CategoryRepository categoryRepository, BookRepository bookRepository,
+                            MemberRepository memberRepository, LeaderboardCheckpointRepository checkpointRepository,
+                            ObjectMapper objectMapper,
+                            @Value("${library.analytics.leaderboard-capacity:500}") int capacity,
+                            @Value("${library.analytics.node-id:}") String nodeId) {
+        this(categoryRepository, bookRepository, memberRepository, checkpointRepository, objectMapper, capacity,
+                nodeId.isBlank() ? hostName() : nodeId, Clock.systemDefaultZone());
+    }
+
+    LiveLeaderboards(CategoryRepository categoryRepository, BookRepository bookRepository,
+                     MemberRepository memberRepository, LeaderboardCheckpointRepository checkpointRepository,
+                     ObjectMapper objectMapper, int capacity, String nodeId, Clock clock) {
+        this.categoryRepository = categoryRepository;
+        this.bookRepository = bookRepository;
+        this.memberRepository = memberRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId;
+        this.clock = clock;
+        for (LeaderboardDimension dimension : LeaderboardDimension.values()) {
+            Map<LeaderboardWindow, SlidingTopK> windows = new EnumMap<>(LeaderboardWindow.class);
+            for (LeaderboardWindow window : LeaderboardWindow.values()) {
+                windows.put(window, new SlidingTopK(window, capacity));
+            }
+            boards.put(dimension, windows);
+            names.put(dimension, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Async("eventExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoanBorrowed(LoanBorrowedEvent event) {
+        long now = clock.millis();
+        count(LeaderboardDimension.BOOK, event.bookId(), now);
+        count(LeaderboardDimension.MEMBER, event.memberId(), now);
+        for (Long categoryId : categoryRepository.findIdsByBookId(event.bookId())) {
+            count(LeaderboardDimension.CATEGORY, categoryId, now);
+        }
+    }
+
+    public List<LiveRanking> top(LeaderboardDimension dimension, LeaderboardWindow window, int limit) {
+        List<SpaceSaving.Counter> counters = boards.get(dimension).get(window).top(limit, clock.millis());
+        Map<Long, String> known = names.get(dimension);
+        List<Long> unknown = counters.stream().map(SpaceSaving.Counter::key).filter(id -> !known.containsKey(id)).toList();
+        if (!unknown.isEmpty()) {
+            known.putAll(loadNames(dimension, unknown));
+        }
+        return counters.stream()
+                .map(counter -> {
+                    String name = known.get(counter.key());
+                    return new LiveRanking(counter.key(), name == null || name.isEmpty() ? null : name,
+                            counter.count(), counter.error());
+                })
+                .toList();
+    }
+
+    @Scheduled(fixedDelayString = "${library.analytics.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        if (!restored) {
+            return;
+        }
+        long now = clock.millis();
+        LocalDateTime savedAt = LocalDateTime.now(clock);
+        List<LeaderboardCheckpoint> checkpoints = new ArrayList<>();
+        boards.forEach((dimension, windows) -> windows.forEach((window, board) -> {
+            LeaderboardCheckpoint checkpoint = new LeaderboardCheckpoint();
+            checkpoint.setNodeId(nodeId);
+            checkpoint.setName(dimension + ":" + window);
+            try {
+                checkpoint.setPayload(objectMapper.writeValueAsString(board.snapshot(now)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize leaderboard " + checkpoint.getName(), e);
+            }
+            checkpoint.setSavedAt(savedAt);
+            checkpoints.add(checkpoint);
+        }));
+        checkpointRepository.saveAll(checkpoints);
+        checkpointRepository.deleteSavedBefore(savedAt.minus(RETENTION));
+        names.values().forEach(Map::clear);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        long now = clock.millis();
+        for (LeaderboardCheckpoint checkpoint : checkpointRepository.findByNodeId(nodeId)) {
+            try {
+                String[] key = checkpoint.getName().split(":");
+                SlidingTopK board = boards.get(LeaderboardDimension.valueOf(key[0])).get(LeaderboardWindow.valueOf(key[1]));
+                board.restore(objectMapper.readValue(checkpoint.getPayload(), SNAPSHOT_TYPE), now);
+            } catch (JsonProcessingException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                log.warn("Ignoring unreadable leaderboard checkpoint {}", checkpoint.getName(), e);
+            }
+        }
+        restored = true;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Could not resolve the host name; set library.analytics.node-id", e);
+        }
+    }
+
+    private void count(LeaderboardDimension dimension, Long key, long now) {
+        boards.get(dimension).values().forEach(board -> board.offer(key, 1, now));
+    }
+
+    private Map<Long, String> loadNames(LeaderboardDimension dimension, List<Long> ids) {
+        Map<Long, String> loaded = new HashMap<>();
+        switch (dimension) {
+            case CATEGORY -> categoryRepository.findAllById(ids).forEach(c -> loaded.put(c.getId(), c.getName()));
+            case BOOK -> bookRepository.findAllById(ids).forEach(b -> loaded.put(b.getId(), b.getTitle()));
+            case MEMBER -> memberRepository.findAllById(ids)
+                    .forEach(m -> loaded.put(m.getId(), m.getFirstName() + " " + m.getLastName()));
+        }
+        // Remember deleted ones too, so they are not looked up on every read
+        ids.forEach(id -> loaded.putIfAbsent(id, ""));
+        return loaded;
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.management.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top keys of a sliding window: one {@link SpaceSaving} summary per bucket of the window,
+ * merged when read. A key a full bucket does not track may still have up to that bucket's
+ * smallest count there, which is added to both its count and its error, so the merged counts
+ * keep the Space-Saving bounds.
+ */
+class SlidingTopK {
+
+    // Counters are {key, count, error} triples to keep checkpoints compact
+    record BucketSnapshot(long bucket, long[][] counters) {
+    }
+
+    private final long bucketMillis;
+    private final int capacity;
+    private final SpaceSaving[] buckets;
+    private final long[] bucketIds;
+
+    SlidingTopK(LeaderboardWindow window, int capacity) {
+        this.bucketMillis = window.getBucketLength().toMillis();
+        this.capacity = capacity;
+        this.buckets = new SpaceSaving[window.getBuckets()];
+        this.bucketIds = new long[window.getBuckets()];
+    }
+
+    synchronized void offer(long key, long increment, long nowMillis) {
+        bucketFor(nowMillis / bucketMillis).offer(key, increment);
+    }
+
+    synchronized List<SpaceSaving.Counter> top(int k, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        List<SpaceSaving> live = new ArrayList<>();
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (isLive(slot, current)) {
+                live.add(buckets[slot]);
+            }
+        }
+        long[] bounds = new long[live.size()];
+        long totalBound = 0;
+        for (int i = 0; i < live.size(); i++) {
+            bounds[i] = live.get(i).untrackedBound();
+            totalBound += bounds[i];
+        }
+        // key -> {count, error}, starting from what the buckets that do not track it allow
+        Map<Long, long[]> merged = new HashMap<>();
+        for (int i = 0; i < live.size(); i++) {
+            long bound = bounds[i];
+            long base = totalBound;
+            for (SpaceSaving.Counter counter : live.get(i).counters()) {
+                long[] sum = merged.computeIfAbsent(counter.key(), key -> new long[]{base, base});
+                sum[0] += counter.count() - bound;
+                sum[1] += counter.error() - bound;
+            }
+        }
+        return merged.entrySet().stream()
+                .map(entry -> new SpaceSaving.Counter(entry.getKey(), entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingLong(SpaceSaving.Counter::count).reversed()
+                        .thenComparingLong(SpaceSaving.Counter::key))
+                .limit(k)
+                .toList();
+    }
+
+    synchronized List<BucketSnapshot> snapshot(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        List<BucketSnapshot> snapshot = new ArrayList<>();
+        for (int slot = 0; slot < buckets.length; slot++) {
+            if (isLive(slot, current)) {
+                snapshot.add(new BucketSnapshot(bucketIds[slot], buckets[slot].counters().stream()
+                        .map(counter -> new long[]{counter.key(), counter.count(), counter.error()})
+                        .toArray(long[][]::new)));
+            }
+        }
+        return snapshot;
+    }
+
+    // Buckets that have left the window since the snapshot was taken are dropped
+    synchronized void restore(List<BucketSnapshot> snapshot, long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        for (BucketSnapshot bucket : snapshot) {
+            if (bucket.bucket() > current - buckets.length && bucket.bucket() <= current) {
+                int slot = slotOf(bucket.bucket());
+                List<SpaceSaving.Counter> counters = new ArrayList<>(bucket.counters().length);
+                for (long[] counter : bucket.counters()) {
+                    counters.add(new SpaceSaving.Counter(counter[0], counter[1], counter[2]));
+                }
+                buckets[slot] = SpaceSaving.of(capacity, counters);
+                bucketIds[slot] = bucket.bucket();
+            }
+        }
+    }
+
+    private SpaceSaving bucketFor(long bucket) {
+        int slot = slotOf(bucket);
+        if (buckets[slot] == null || bucketIds[slot] != bucket) {
+            buckets[slot] = new SpaceSaving(capacity);
+            bucketIds[slot] = bucket;
+        }
+        return buckets[slot];
+    }
+
+    private boolean isLive(int slot, long current) {
+        return buckets[slot] != null && bucketIds[slot] > current - buckets.length && !buckets[slot].isEmpty();
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) buckets.length);
+    }
+}
@@ -0,0 +1,77 @@
+package com.library.management.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving summary of the most frequent keys in a stream, in memory bounded by its
+ * capacity. While fewer keys than the capacity have been seen the counts are exact. After
+ * that a new key takes over the smallest counter and inherits its count as error, so a
+ * reported count never undercounts and {@code count - error} never overcounts. Not thread-safe.
+ */
+class SpaceSaving {
+
+    record Counter(long key, long count, long error) {
+    }
+
+    private final int capacity;
+    // key -> {count, error}
+    private final Map<Long, long[]> counters = new HashMap<>();
+
+    SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void offer(long key, long increment) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += increment;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new long[]{increment, 0});
+        } else {
+            Map.Entry<Long, long[]> smallest = null;
+            for (Map.Entry<Long, long[]> entry : counters.entrySet()) {
+                if (smallest == null || entry.getValue()[0] < smallest.getValue()[0]) {
+                    smallest = entry;
+                }
+            }
+            long floor = smallest.getValue()[0];
+            counters.remove(smallest.getKey());
+            counters.put(key, new long[]{floor + increment, floor});
+        }
+    }
+
+    // Upper bound on the count of any key not tracked here
+    long untrackedBound() {
+        if (counters.size() < capacity) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        for (long[] counter : counters.values()) {
+            min = Math.min(min, counter[0]);
+        }
+        return min;
+    }
+
+    boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    List<Counter> counters() {
+        List<Counter> result = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> result.add(new Counter(key, counter[0], counter[1])));
+        return result;
+    }
+
+    static SpaceSaving of(int capacity, List<Counter> counters) {
+        SpaceSaving summary = new SpaceSaving(capacity);
+        counters.stream()
+                .sorted(Comparator.comparingLong(Counter::count).reversed())
+                .limit(capacity)
+                .forEach(counter -> summary.counters.put(counter.key(), new long[]{counter.count(), counter.error()}));
+        return summary;
+    }
+}
@@ -0,0 +1,96 @@
+package com.library.management.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Core and max size are equal so tasks queue instead of spawning threads; the dispatcher
+    // never claims more rows than the queue has room for.
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor(
+            @Value("${library.notifications.pool-size:2}") int poolSize,
+            @Value("${library.notifications.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Domain event handlers are mostly I/O bound, so each one gets a virtual thread;
+    // the concurrency limit keeps a burst of events from exhausting the connection pool.
+    // Tests turn async off so handlers finish before the next test cleans up.
+    @Bean
+    public TaskExecutor eventExecutor(
+            @Value("${library.events.async:true}") boolean async,
+            @Value("${library.events.concurrency-limit:8}") int concurrencyLimit) {
+        if (!async) {
+            return new SyncTaskExecutor();
+        }
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("event-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    // One thread per partition of a chunked job; 0 means one per available core
+    @Bean
+    public ThreadPoolTaskExecutor jobExecutor(@Value("${library.jobs.parallelism:0}") int parallelism) {
+        int poolSize = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Each open event stream parks a virtual thread between events; no pool to exhaust
+    @Bean
+    public TaskExecutor streamExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("member-stream-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    // BCrypt is pure CPU: at most one hash per core, and a short queue so a login storm is
+    // turned away with 503 instead of holding request threads other endpoints need
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${library.security.password-hashing.pool-size:0}") int poolSize,
+            @Value("${library.security.password-hashing.queue-capacity:16}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        return executor;
+    }
+
+    // Report queries are few but heavy; a small pool keeps background refreshes from competing
+    // with request threads for connections
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${library.reporting.pool-size:2}") int poolSize,
+            @Value("${library.reporting.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        return executor;
+    }
+}
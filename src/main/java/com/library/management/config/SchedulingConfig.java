@@ -0,0 +1,11 @@
+package com.library.management.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@Profile("!test")
+public class SchedulingConfig {
+}
@@ -1,7 +1,14 @@
 package com.library.management.config;
 
+import com.library.management.ratelimit.RateLimitFilter;
+import com.library.management.ratelimit.RateLimiter;
+import com.library.management.security.AccessTokenService;
+import com.library.management.security.BearerTokenAuthenticationFilter;
 import com.library.management.security.CustomUserDetailsService;
+import com.library.management.security.MemberUserCache;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,9 +21,12 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -30,18 +40,32 @@ import java.util.List;
 public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
+    private final AccessTokenService accessTokenService;
+    private final MemberUserCache memberUserCache;
+    private final RateLimiter rateLimiter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches only complete responses of already authorized requests (event streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/actuator/jobs/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/auth/**", "/v3/api-docs/**", "/swagger-ui/**", "/actuator/**")
                         .permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/books/**").permitAll()
                         .anyRequest().authenticated())
+                // Bearer access tokens are verified without touching the database; HTTP Basic stays
+                // for scripted clients; it costs a BCrypt match per request, the member lookup is cached
+                .addFilterBefore(new BearerTokenAuthenticationFilter(accessTokenService, bearerEntryPoint()),
+                        BasicAuthenticationFilter.class)
+                // Limits are checked before any credential, so a rejected burst costs no BCrypt
+                .addFilterBefore(new RateLimitFilter(rateLimiter, accessTokenService),
+                        BearerTokenAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
                 .exceptionHandling(ex -> ex
                         .accessDeniedHandler((request, response, accessDeniedException) -> {
@@ -53,11 +77,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private AuthenticationEntryPoint bearerEntryPoint() {
+        return (request, response, authException) -> {
+            response.setStatus(401);
+            response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\"");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"" + authException.getMessage() + "\"}");
+        };
+    }
+
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserCache(memberUserCache);
         return authProvider;
     }
 
@@ -66,9 +100,10 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // Raising the strength makes logins rehash older passwords at the new cost
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${library.security.password-hashing.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -82,6 +82,13 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
+    @PostMapping("/{id}/copies/bulk")
+    @Operation(summary = "Add several copies to a book; blank barcodes are generated")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BookCopy>> addBookCopies(@PathVariable Long id, @RequestBody List<String> barcodes) {
+        return new ResponseEntity<>(bookCopyService.addCopies(id, barcodes), HttpStatus.CREATED);
+    }
+
     @DeleteMapping("/copies/{copyId}")
     @Operation(summary = "Delete a book copy")
     @PreAuthorize("hasRole('ADMIN')")
@@ -34,4 +34,11 @@ public class FineController {
         fineService.payFine(id);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/loan/{loanId}/pay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> payLoanFine(@PathVariable Long loanId) {
+        fineService.payLoanFine(loanId);
+        return ResponseEntity.ok().build();
+    }
 }
@@ -6,6 +6,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -56,6 +58,13 @@ public class LoanController {
         return ResponseEntity.ok(loanService.getAllLoans());
     }
 
+    @GetMapping("/overdue")
+    @Operation(summary = "Get active loans past their due date (Admin)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Page<Loan>> getOverdueLoans(Pageable pageable) {
+        return ResponseEntity.ok(loanService.getOverdueLoans(pageable));
+    }
+
     @GetMapping("/member/{memberId}")
     @Operation(summary = "Get loans by member")
     public ResponseEntity<List<Loan>> getLoansByMember(@PathVariable Long memberId) {
@@ -1,14 +1,21 @@
 package com.library.management.controller;
 
+import com.library.management.entity.BalanceLedgerEntry;
 import com.library.management.entity.Member;
+import com.library.management.model.BalanceVerification;
+import com.library.management.service.BalanceLedgerService;
 import com.library.management.service.MemberService;
+import com.library.management.stream.MemberEventStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +26,8 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
+    private final BalanceLedgerService ledgerService;
+    private final MemberEventStream memberEventStream;
 
     @PostMapping
     @Operation(summary = "Register a new member")
@@ -38,12 +47,33 @@ public class MemberController {
         return ResponseEntity.ok(memberService.getAllMembers());
     }
 
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream queue position, pickup and due-date events of a member (Server-Sent Events)")
+    @PreAuthorize("hasRole('ADMIN') or @memberAccess.isSelf(#id, authentication)")
+    public SseEmitter streamEvents(@PathVariable Long id) {
+        return memberEventStream.connect(id);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update member details")
     public ResponseEntity<Member> updateMember(@PathVariable Long id, @Valid @RequestBody Member member) {
         return ResponseEntity.ok(memberService.updateMember(id, member));
     }
 
+    @GetMapping("/{id}/ledger")
+    @Operation(summary = "Get the balance ledger of a member (Admin)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<BalanceLedgerEntry>> getLedger(@PathVariable Long id) {
+        return ResponseEntity.ok(ledgerService.getEntries(id));
+    }
+
+    @GetMapping("/{id}/balance/verify")
+    @Operation(summary = "Replay the ledger and compare it with the cached balance (Admin)")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BalanceVerification> verifyBalance(@PathVariable Long id) {
+        return ResponseEntity.ok(ledgerService.verify(id));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete member")
     public ResponseEntity<Void> deleteMember(@PathVariable Long id) {
@@ -1,6 +1,7 @@
 package com.library.management.controller;
 
 import com.library.management.entity.MembershipType;
+import com.library.management.model.MembershipTypeUpdateRequest;
 import com.library.management.service.MembershipTypeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -26,8 +27,8 @@ public class MembershipTypeController {
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MembershipType> updateMembershipType(@PathVariable Long id,
-            @Valid @RequestBody MembershipType membershipType) {
-        return ResponseEntity.ok(membershipTypeService.updateMembershipType(id, membershipType));
+            @Valid @RequestBody MembershipTypeUpdateRequest request) {
+        return ResponseEntity.ok(membershipTypeService.updateMembershipType(id, request));
     }
 
     @DeleteMapping("/{id}")
@@ -1,19 +1,45 @@
 package com.library.management.controller;
 
+import com.library.management.analytics.LeaderboardDimension;
+import com.library.management.analytics.LeaderboardWindow;
+import com.library.management.entity.ReportJob;
+import com.library.management.entity.SketchScope;
+import com.library.management.exception.BusinessException;
+import com.library.management.model.BookLoanReport;
 import com.library.management.model.BookStatusReport;
 import com.library.management.model.CategoryReport;
+import com.library.management.model.CirculationHeatmap;
+import com.library.management.model.LiveRanking;
 import com.library.management.model.MemberActivity;
+import com.library.management.model.ReportJobRequest;
+import com.library.management.model.UniqueBorrowerReport;
+import com.library.management.reporting.FileDownloads;
+import com.library.management.reporting.ReportCache;
+import com.library.management.service.ReportExportService;
 import com.library.management.service.ReportingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 @RestController
@@ -24,24 +50,126 @@ import java.util.List;
 public class ReportingController {
 
     private final ReportingService reportingService;
+    private final ReportExportService reportExportService;
 
     @GetMapping("/categories/most-read")
-    @Operation(summary = "Get most read categories")
+    @Operation(summary = "Get most read categories", description = "Counts loans made between from and to, both inclusive; defaults to the last 30 days")
     public ResponseEntity<List<CategoryReport>> getMostReadCategories(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(reportingService.getMostReadCategories(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) YearMonth month) {
+        if (month != null) {
+            checkNoRange(from, to);
+            return cached(reportingService.getMostReadCategories(limit, month.atDay(1), month.atEndOfMonth()));
+        }
+        return cached(reportingService.getMostReadCategories(limit, from, to));
     }
 
     @GetMapping("/members/most-active")
-    @Operation(summary = "Get most active members")
+    @Operation(summary = "Get most active members", description = "Counts loans made between from and to, both inclusive; defaults to the last 30 days")
     public ResponseEntity<List<MemberActivity>> getMostActiveMembers(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(reportingService.getMostActiveMembers(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) YearMonth month) {
+        if (month != null) {
+            checkNoRange(from, to);
+            return cached(reportingService.getMostActiveMembers(limit, month.atDay(1), month.atEndOfMonth()));
+        }
+        return cached(reportingService.getMostActiveMembers(limit, from, to));
+    }
+
+    @GetMapping("/books/most-borrowed")
+    @Operation(summary = "Get most borrowed books", description = "Counts loans made between from and to, both inclusive; defaults to the last 30 days")
+    public ResponseEntity<List<BookLoanReport>> getMostBorrowedBooks(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return cached(reportingService.getMostBorrowedBooks(limit, from, to));
+    }
+
+    @GetMapping("/circulation/heatmap")
+    @Operation(summary = "Get borrows and returns by weekday and hour", description = "In the library's time zone, for sizing desk staffing; defaults to the last 30 days")
+    public ResponseEntity<CirculationHeatmap> getCirculationHeatmap(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return cached(reportingService.getCirculationHeatmap(from, to));
+    }
+
+    @GetMapping("/categories/most-read/live")
+    @Operation(summary = "Get most read categories of the last hour, day or week", description = "Counted in memory; cheap enough to poll every few seconds")
+    public ResponseEntity<List<LiveRanking>> getLiveMostReadCategories(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "DAY") LeaderboardWindow window) {
+        return ResponseEntity.ok(reportingService.getLiveRanking(LeaderboardDimension.CATEGORY, window, limit));
+    }
+
+    @GetMapping("/members/most-active/live")
+    @Operation(summary = "Get most active members of the last hour, day or week", description = "Counted in memory; cheap enough to poll every few seconds")
+    public ResponseEntity<List<LiveRanking>> getLiveMostActiveMembers(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "DAY") LeaderboardWindow window) {
+        return ResponseEntity.ok(reportingService.getLiveRanking(LeaderboardDimension.MEMBER, window, limit));
+    }
+
+    @GetMapping("/books/most-borrowed/live")
+    @Operation(summary = "Get most borrowed books of the last hour, day or week", description = "Counted in memory; cheap enough to poll every few seconds")
+    public ResponseEntity<List<LiveRanking>> getLiveMostBorrowedBooks(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "DAY") LeaderboardWindow window) {
+        return ResponseEntity.ok(reportingService.getLiveRanking(LeaderboardDimension.BOOK, window, limit));
+    }
+
+    @GetMapping("/unique-borrowers")
+    @Operation(summary = "Count distinct borrowers of books or categories over whole months", description = "Approximate (HyperLogLog); members who read several of the ids count once in the total")
+    public ResponseEntity<UniqueBorrowerReport> getUniqueBorrowers(
+            @RequestParam SketchScope scope,
+            @RequestParam("id") List<Long> ids,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to) {
+        return cached(reportingService.getUniqueBorrowers(scope, ids, from, to));
+    }
+
+    @PostMapping("/jobs")
+    @Operation(summary = "Start exporting a large report", description = "Runs in the background; poll the job and download the gzipped CSV once it has SUCCEEDED")
+    public ResponseEntity<ReportJob> startReportJob(@Valid @RequestBody ReportJobRequest request,
+                                                    Authentication authentication) {
+        ReportJob job = reportExportService.startJob(request, authentication.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reporting/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/jobs/{id}")
+    @Operation(summary = "Get the status of a report job")
+    public ResponseEntity<ReportJob> getReportJob(@PathVariable Long id) {
+        return ResponseEntity.ok(reportExportService.getJob(id));
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    @Operation(summary = "Download the result of a finished report job")
+    public void downloadReport(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        FileDownloads.send(reportExportService.getResultFile(id), "application/gzip", request, response);
     }
 
     @GetMapping("/books/status-distribution")
     @Operation(summary = "Get book status distribution")
     public ResponseEntity<List<BookStatusReport>> getBookStatusDistribution() {
-        return ResponseEntity.ok(reportingService.getBookStatusDistribution());
+        return cached(reportingService.getBookStatusDistribution());
+    }
+
+    // Age tells the dashboard how old a cached report is, in seconds as in HTTP caching
+    private <T> ResponseEntity<T> cached(T body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        ReportCache.currentRequestAge().ifPresent(age -> response.header(HttpHeaders.AGE, Long.toString(age)));
+        return response.body(body);
+    }
+
+    private void checkNoRange(LocalDate from, LocalDate to) {
+        if (from != null || to != null) {
+            throw new BusinessException("Use either month or from/to, not both");
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.library.management.controller;
 
 import com.library.management.entity.Reservation;
+import com.library.management.model.MemberReservation;
 import com.library.management.service.ReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -43,6 +45,13 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getReservationsForBook(bookId));
     }
 
+    @GetMapping("/member/{memberId}")
+    @Operation(summary = "Get a member's reservations with their queue positions")
+    @PreAuthorize("hasRole('ADMIN') or @memberAccess.isSelf(#memberId, authentication)")
+    public ResponseEntity<List<MemberReservation>> getReservationsForMember(@PathVariable Long memberId) {
+        return ResponseEntity.ok(reservationService.getReservationsForMember(memberId));
+    }
+
     @GetMapping("/queue-position/{bookId}/{memberId}")
     @Operation(summary = "Get queue position for a member")
     public ResponseEntity<Integer> getQueuePosition(@PathVariable Long bookId, @PathVariable Long memberId) {
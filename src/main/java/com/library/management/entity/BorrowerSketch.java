@@ -0,0 +1,55 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Members who borrowed a book, or any book of a category, in one month, kept as a serialized
+ * {@link com.library.management.analytics.HyperLogLog}. Rows of several months or items are
+ * merged to count distinct borrowers over them. Like the daily rollups the table is derived
+ * from loans, so it has no foreign keys.
+ */
+@Entity
+@Table(name = "borrower_sketches")
+@IdClass(BorrowerSketch.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class BorrowerSketch {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private SketchScope scope;
+
+    @Id
+    private Long itemId;
+
+    // First day of the month
+    @Id
+    private LocalDate monthStart;
+
+    // A dense sketch is 2 header bytes and 4096 registers
+    @Column(nullable = false, length = 4098)
+    private byte[] registers;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private SketchScope scope;
+        private Long itemId;
+        private LocalDate monthStart;
+    }
+}
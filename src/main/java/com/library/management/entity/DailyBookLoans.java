@@ -0,0 +1,38 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// One row per book and day with loans; see DailyCategoryLoans
+@Entity
+@Table(name = "daily_book_loans")
+@IdClass(DailyBookLoans.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyBookLoans {
+
+    @Id
+    private LocalDate loanDay;
+
+    @Id
+    private Long bookId;
+
+    @Column(nullable = false)
+    private long loanCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate loanDay;
+        private Long bookId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Number of loans per category and day, the unit the reports sum over a window instead of
+ * scanning loans. A loan counts once for each category its book has when the day is rolled
+ * up. Like the member and book rollups, the table is derived from loans and rebuilt a day at
+ * a time by {@link com.library.management.job.LoanRollupJob}, so it has no foreign keys.
+ */
+@Entity
+@Table(name = "daily_category_loans")
+@IdClass(DailyCategoryLoans.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyCategoryLoans {
+
+    @Id
+    private LocalDate loanDay;
+
+    @Id
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long loanCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate loanDay;
+        private Long categoryId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// One row per member and day with loans; see DailyCategoryLoans
+@Entity
+@Table(name = "daily_member_loans")
+@IdClass(DailyMemberLoans.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyMemberLoans {
+
+    @Id
+    private LocalDate loanDay;
+
+    @Id
+    private Long memberId;
+
+    @Column(nullable = false)
+    private long loanCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate loanDay;
+        private Long memberId;
+    }
+}
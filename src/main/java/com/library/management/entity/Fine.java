@@ -1,5 +1,6 @@
 package com.library.management.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
@@ -42,8 +43,20 @@ public class Fine extends BaseEntity {
     @JsonIgnoreProperties({"bookCopy", "member"})
     private Loan loan;
 
+    // Copy of the loan's loanDate; fines are partitioned on the same key as loans
+    @Column(nullable = false, updatable = false)
+    @JsonIgnore
+    private LocalDateTime loanDate;
+
     @JsonProperty("paid")
     public boolean isPaid() {
         return status == FineStatus.PAID;
     }
+
+    @PrePersist
+    protected void copyLoanDate() {
+        if (this.loanDate == null && this.loan != null) {
+            this.loanDate = this.loan.getLoanDate();
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Borrows and returns in one hour of one day, in the server's time like the loan timestamps.
+ * The circulation heatmap shifts them into the library's time zone when it sums them by
+ * weekday and hour. Rebuilt a day at a time from loans by
+ * {@link com.library.management.job.LoanRollupJob}.
+ */
+@Entity
+@Table(name = "hourly_circulation")
+@IdClass(HourlyCirculation.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class HourlyCirculation {
+
+    @Id
+    private LocalDate activityDay;
+
+    // 0-23
+    @Id
+    private short activityHour;
+
+    @Column(nullable = false)
+    private long borrowCount;
+
+    @Column(nullable = false)
+    private long returnCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate activityDay;
+        private short activityHour;
+    }
+}
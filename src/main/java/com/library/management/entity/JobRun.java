@@ -0,0 +1,47 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobRun extends BaseEntity {
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private String nodeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunStatus status;
+
+    // Point in time the job processes data for; a resumed run keeps the one of the run it resumes
+    @Column(nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    @Column(nullable = false)
+    private long itemsProcessed;
+
+    private Long resumedFromRunId;
+
+    // 0 for a fresh run, one more than the run it resumes otherwise
+    @Column(nullable = false)
+    private int resumeAttempt;
+
+    @Column(length = 1000)
+    private String error;
+}
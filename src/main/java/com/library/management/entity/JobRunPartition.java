@@ -0,0 +1,40 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "job_run_partitions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class JobRunPartition extends BaseEntity {
+
+    @Column(nullable = false)
+    private Long jobRunId;
+
+    @Column(nullable = false)
+    private int partitionNo;
+
+    @Column(nullable = false)
+    private long rangeStart;
+
+    @Column(nullable = false)
+    private long rangeEnd;
+
+    // Last key of the last committed chunk; null until the first chunk commits
+    private Long checkpoint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobRunStatus status;
+
+    @Column(nullable = false)
+    private long itemsProcessed;
+
+    public long nextKey() {
+        return checkpoint == null ? rangeStart : checkpoint + 1;
+    }
+}
@@ -0,0 +1,9 @@
+package com.library.management.entity;
+
+public enum JobRunStatus {
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    // Runs only: a failed run given up on after too many resume attempts
+    ABANDONED
+}
@@ -0,0 +1,47 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Last saved state of one node's live leaderboard, so a restart does not empty it
+@Entity
+@Table(name = "leaderboard_checkpoints")
+@IdClass(LeaderboardCheckpoint.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class LeaderboardCheckpoint {
+
+    // Each node counts only the loans it served, so it saves and restores only its own boards
+    @Id
+    private String nodeId;
+
+    // Dimension and window, e.g. BOOK:DAY
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime savedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String nodeId;
+        private String name;
+    }
+}
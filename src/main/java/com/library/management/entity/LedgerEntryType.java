@@ -0,0 +1,8 @@
+package com.library.management.entity;
+
+public enum LedgerEntryType {
+    OPENING_BALANCE,
+    FINE_ACCRUED,
+    FINE_ADJUSTED,
+    PAYMENT
+}
@@ -8,6 +8,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
@@ -33,11 +34,18 @@ public class Loan extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private LoanStatus status;
 
-    @Column(nullable = false)
+    // Partition key of the loans table, so it never changes after insert
+    @Column(nullable = false, updatable = false)
     private LocalDateTime loanDate;
 
     @Column(nullable = false)
     private LocalDateTime dueDate;
 
     private LocalDateTime returnDate;
+
+    // Outstanding fine for list views, filled in on read by FineService.applyFineAmounts: the
+    // fine accruing under the member's policy while the loan is active and unpaid, otherwise
+    // the materialized unpaid fine, if any
+    @Transient
+    private BigDecimal fineAmount;
 }
@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "members")
@@ -44,7 +45,11 @@ public class Member extends BaseEntity {
     @Column(nullable = false)
     private Role role;
 
-    @Column(nullable = false, precision = 10, scale = 2)
+    // Cached sum of the member's balance_ledger entries; the entity never writes it, a new
+    // member starts at the column default of zero and only BalanceLedgerService's atomic
+    // increment changes it
+    @Column(nullable = false, insertable = false, updatable = false, precision = 10, scale = 2)
+    @ColumnDefault("0")
     private java.math.BigDecimal balance = java.math.BigDecimal.ZERO;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -60,8 +65,7 @@ public class Member extends BaseEntity {
         if (this.password == null) {
             this.password = "ChangeMe123!";
         }
-        if (this.balance == null) {
-            this.balance = java.math.BigDecimal.ZERO;
-        }
+        // Whatever a client sent, the row is inserted with a zero balance
+        this.balance = java.math.BigDecimal.ZERO;
     }
 }
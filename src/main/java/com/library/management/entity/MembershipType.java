@@ -8,11 +8,14 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.math.BigDecimal;
+
 @Entity
 @Table(name = "membership_types")
 @Getter
@@ -37,4 +40,23 @@ public class MembershipType extends BaseEntity {
     @Column(nullable = false)
     @JsonProperty("loanDurationDays")
     private Integer maxLoanDays;
+
+    // Fine policy, see FinePolicy. The caps are optional.
+    @NotNull(message = "Fine per day is required")
+    @PositiveOrZero(message = "Fine per day must not be negative")
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal finePerDay = new BigDecimal("1.00");
+
+    @NotNull(message = "Fine grace days is required")
+    @PositiveOrZero(message = "Fine grace days must not be negative")
+    @Column(nullable = false)
+    private Integer fineGraceDays = 0;
+
+    @PositiveOrZero(message = "Max fine per loan must not be negative")
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxFinePerLoan;
+
+    @PositiveOrZero(message = "Max fine per member must not be negative")
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maxFinePerMember;
 }
@@ -0,0 +1,5 @@
+package com.library.management.entity;
+
+public enum NotificationChannelType {
+    EMAIL
+}
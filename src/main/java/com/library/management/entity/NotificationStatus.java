@@ -0,0 +1,8 @@
+package com.library.management.entity;
+
+public enum NotificationStatus {
+    PENDING,
+    IN_PROGRESS,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,49 @@
+package com.library.management.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A report exported in the background to a gzipped CSV file on the node that ran it
+@Entity
+@Table(name = "report_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ReportJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private ReportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReportJobStatus status;
+
+    // Inclusive bounds on the report's date column; inventory ignores them
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    @Column(nullable = false)
+    private String requestedBy;
+
+    // Relative to library.reporting.export.directory; set once the file is complete
+    private String fileName;
+
+    @Column(nullable = false)
+    private long rowCount;
+
+    private Long sizeBytes;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
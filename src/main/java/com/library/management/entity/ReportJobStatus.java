@@ -0,0 +1,8 @@
+package com.library.management.entity;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
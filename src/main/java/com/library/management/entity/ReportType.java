@@ -0,0 +1,7 @@
+package com.library.management.entity;
+
+public enum ReportType {
+    CIRCULATION_HISTORY,
+    FINES,
+    INVENTORY
+}
@@ -1,6 +1,7 @@
 package com.library.management.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.library.management.reservation.ReservationQueueListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "reservations")
+@EntityListeners(ReservationQueueListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,6 @@
+package com.library.management.entity;
+
+public enum SketchScope {
+    BOOK,
+    CATEGORY
+}
@@ -0,0 +1,31 @@
+package com.library.management.event;
+
+import com.library.management.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Side effects of reservation changes. The fine of a returned loan is not one of them: it
+ * is finalized in the return transaction, since a fine lost after commit would never be
+ * retried and the member could borrow again in the meantime.
+ */
+@Component
+@RequiredArgsConstructor
+public class CirculationEventListener {
+
+    private final NotificationService notificationService;
+
+    // The outbox row must commit together with the reservation, so this one stays in the
+    // publishing transaction; delivery itself is already asynchronous.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationReady(ReservationReadyEvent event) {
+        notificationService.notifyReservationReady(event.memberEmail(), event.bookTitle());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onReservationExpired(ReservationExpiredEvent event) {
+        notificationService.notifyReservationExpired(event.memberEmail(), event.bookTitle());
+    }
+}
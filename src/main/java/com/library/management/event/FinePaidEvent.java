@@ -0,0 +1,6 @@
+package com.library.management.event;
+
+import java.math.BigDecimal;
+
+public record FinePaidEvent(Long fineId, Long memberId, BigDecimal amount) {
+}
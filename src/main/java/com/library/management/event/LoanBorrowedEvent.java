@@ -0,0 +1,6 @@
+package com.library.management.event;
+
+import java.time.LocalDateTime;
+
+public record LoanBorrowedEvent(Long loanId, Long memberId, Long bookId, LocalDateTime loanDate) {
+}
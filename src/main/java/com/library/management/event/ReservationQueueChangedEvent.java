@@ -0,0 +1,5 @@
+package com.library.management.event;
+
+// Published once a committed change to a book's PENDING queue has been applied in memory
+public record ReservationQueueChangedEvent(Long bookId) {
+}
@@ -0,0 +1,4 @@
+package com.library.management.event;
+
+public record ReservationReadyEvent(Long reservationId, Long memberId, String memberEmail, String bookTitle) {
+}
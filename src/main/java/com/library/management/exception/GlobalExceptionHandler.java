@@ -1,5 +1,7 @@
 package com.library.management.exception;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -46,6 +48,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorDetails, ex.getStatusCode());
     }
 
+    // A bounded executor (password hashing) is saturated; the client should back off and retry
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ErrorDetails> handleTaskRejectedException(TaskRejectedException ex, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), "Server busy, please retry shortly",
+                request.getDescription(false));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorDetails);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorDetails> handleAccessDeniedException(AccessDeniedException ex, WebRequest request) {
         ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), "Access Denied",
@@ -0,0 +1,53 @@
+package com.library.management.job;
+
+import com.library.management.analytics.BorrowerSketches;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.repository.BorrowerSketchRepository;
+import com.library.management.service.JobRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Writes the borrower sketches counted from events on this node, which every node does on its
+ * own. The loans from before the sketches existed are sketched once, on the first startup
+ * after they were added; a failed backfill is retried on the next startup.
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("!test")
+public class BorrowerSketchJob {
+
+    static final String BACKFILL = "borrower-sketch-backfill";
+
+    private final JobRunner jobRunner;
+    private final JobRunService jobRunService;
+    private final BorrowerSketches borrowerSketches;
+    private final BorrowerSketchRepository sketchRepository;
+
+    @Scheduled(fixedDelayString = "${library.analytics.sketch-flush-interval-ms:60000}")
+    public void flush() {
+        borrowerSketches.flush();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        jobRunner.runOnce(BACKFILL, () -> {
+            if (jobRunService.getRecentRuns(BACKFILL, 10).stream()
+                    .anyMatch(run -> run.getStatus() == JobRunStatus.SUCCEEDED)) {
+                return 0;
+            }
+            YearMonth month = sketchRepository.findFirstLoanDate().map(YearMonth::from).orElse(null);
+            long written = 0;
+            for (YearMonth now = YearMonth.now(); month != null && !month.isAfter(now); month = month.plusMonths(1)) {
+                written += borrowerSketches.rebuild(month);
+            }
+            return written;
+        });
+    }
+}
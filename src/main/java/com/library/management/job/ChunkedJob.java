@@ -0,0 +1,26 @@
+package com.library.management.job;
+
+import com.library.management.model.KeyRange;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * A job that walks a range of numeric keys in chunks. {@link JobRunner} splits the range into
+ * partitions processed in parallel and records a checkpoint after every chunk, so a run that
+ * dies halfway is resumed from the last committed chunk instead of starting over.
+ */
+public interface ChunkedJob {
+
+    // Unique name; also the key of the job's lease and run history
+    String name();
+
+    int chunkSize();
+
+    // Keys to process for a run as of the given time, or empty when there is nothing to do
+    Optional<KeyRange> keyRange(LocalDateTime asOf);
+
+    // Runs inside the transaction that records the checkpoint, so a chunk and its checkpoint
+    // commit or roll back together. Returns the number of items it changed.
+    int processChunk(long fromKey, long toKey, LocalDateTime asOf);
+}
@@ -0,0 +1,52 @@
+package com.library.management.job;
+
+import com.library.management.model.KeyRange;
+import com.library.management.service.FineService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Only needed in nightly accrual mode; in the default on-read mode fines of active loans
+// are computed when read and materialized on return or payment.
+@Component
+@ConditionalOnProperty(name = "library.fines.accrual", havingValue = "nightly")
+@RequiredArgsConstructor
+public class FineAccrualJob implements ChunkedJob {
+
+    private final JobRunner jobRunner;
+    private final FineService fineService;
+
+    @Value("${library.fines.accrual-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    // Run every day at midnight
+    @Scheduled(cron = "0 0 0 * * ?")
+    public void accrueOverdueFines() {
+        jobRunner.run(this);
+    }
+
+    @Override
+    public String name() {
+        return "fine-accrual";
+    }
+
+    @Override
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    @Override
+    public Optional<KeyRange> keyRange(LocalDateTime asOf) {
+        return fineService.findOverdueLoanIdRange(asOf);
+    }
+
+    @Override
+    public int processChunk(long fromKey, long toKey, LocalDateTime asOf) {
+        return fineService.accrueOverdueFines(fromKey, toKey, asOf);
+    }
+}
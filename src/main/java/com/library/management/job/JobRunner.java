@@ -0,0 +1,204 @@
+package com.library.management.job;
+
+import com.library.management.entity.JobRun;
+import com.library.management.entity.JobRunPartition;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.model.KeyRange;
+import com.library.management.service.JobRunService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs jobs under a cluster-wide lease in the job_locks table, so only one node runs a job
+ * at a time, and records every run in job_runs. Chunked jobs are split into partitions
+ * processed in parallel and checkpointed per chunk; see {@link ChunkedJob}.
+ */
+@Component
+@Slf4j
+public class JobRunner {
+
+    private final JobRunService jobRunService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ChunkedJob> jobs;
+
+    // Must outlast the slowest chunk: the lease is renewed after each one
+    @Value("${library.jobs.lease:PT5M}")
+    private Duration lease = Duration.ofMinutes(5);
+
+    // Resumes of one interrupted run before it is abandoned for a fresh run, so a chunk that
+    // fails every time cannot hold the job back for good
+    @Value("${library.jobs.max-resume-attempts:3}")
+    private int maxResumeAttempts = 3;
+
+    // Defaults to pid@hostname
+    @Value("${library.jobs.node-id:}")
+    private String nodeId = "";
+
+    public JobRunner(JobRunService jobRunService, TransactionTemplate transactionTemplate,
+            @Qualifier("jobExecutor") ThreadPoolTaskExecutor executor, MeterRegistry meterRegistry,
+            ObjectProvider<ChunkedJob> jobs) {
+        this.jobRunService = jobRunService;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        this.jobs = jobs;
+    }
+
+    // A node that restarts after a crash picks up interrupted runs without waiting for the
+    // next schedule; the lease makes sure only one node does.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        jobs.orderedStream().forEach(job -> withLease(job.name(), owner -> resumeInterrupted(job, owner)));
+    }
+
+    // Finishes an interrupted run first, then starts a fresh one over the job's current key range
+    public void run(ChunkedJob job) {
+        withLease(job.name(), owner -> {
+            if (!resumeInterrupted(job, owner)) {
+                return;
+            }
+            LocalDateTime asOf = LocalDateTime.now();
+            List<KeyRange> ranges = job.keyRange(asOf)
+                    .map(range -> range.split(executor.getMaxPoolSize(), job.chunkSize()))
+                    .orElse(List.of());
+            execute(job, jobRunService.startRun(job.name(), resolveNodeId(), asOf, ranges), owner);
+        });
+    }
+
+    // For jobs that are not worth splitting; still leased and recorded in the run history
+    public void runOnce(String jobName, LongSupplier task) {
+        withLease(jobName, owner -> {
+            JobRun run = jobRunService.startRun(jobName, resolveNodeId(), LocalDateTime.now(), List.of());
+            Timer.Sample sample = Timer.start(meterRegistry);
+            long items = 0;
+            String error = null;
+            try {
+                items = task.getAsLong();
+            } catch (RuntimeException e) {
+                log.error("Job {} failed", jobName, e);
+                error = e.toString();
+            }
+            record(sample, jobRunService.finishRun(run.getId(), items, error));
+        });
+    }
+
+    // Returns false if the interrupted run failed again; true if there was nothing to resume,
+    // the resumed run succeeded or the interrupted run was abandoned
+    private boolean resumeInterrupted(ChunkedJob job, String owner) {
+        return jobRunService.findInterruptedRun(job.name())
+                .map(interrupted -> {
+                    if (interrupted.getResumeAttempt() >= maxResumeAttempts) {
+                        log.warn("Abandoning job {} run {} after {} resume attempt(s)", job.name(),
+                                interrupted.getId(), interrupted.getResumeAttempt());
+                        jobRunService.abandonRun(interrupted.getId(),
+                                "Abandoned after " + interrupted.getResumeAttempt() + " resume attempt(s)");
+                        return true;
+                    }
+                    log.info("Resuming job {} from run {}", job.name(), interrupted.getId());
+                    JobRun run = execute(job, jobRunService.resumeRun(interrupted, resolveNodeId()), owner);
+                    return run.getStatus() == JobRunStatus.SUCCEEDED;
+                })
+                .orElse(true);
+    }
+
+    private JobRun execute(ChunkedJob job, JobRun run, String owner) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicBoolean aborted = new AtomicBoolean();
+        List<JobRunPartition> partitions = jobRunService.getPartitions(run.getId());
+        List<CompletableFuture<Void>> futures = partitions.stream()
+                .map(partition -> CompletableFuture.runAsync(
+                        () -> processPartition(job, run, partition, owner, aborted), executor))
+                .toList();
+
+        List<String> errors = new ArrayList<>();
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                errors.add(e.getCause().toString());
+            }
+        }
+        String error = errors.isEmpty() ? null
+                : errors.size() + " of " + partitions.size() + " partition(s) failed: " + errors.get(0);
+
+        JobRun finished = jobRunService.finishRun(run.getId(), error);
+        record(sample, finished);
+        return finished;
+    }
+
+    private void processPartition(ChunkedJob job, JobRun run, JobRunPartition partition, String owner,
+            AtomicBoolean aborted) {
+        try {
+            for (long from = partition.nextKey(); from <= partition.getRangeEnd(); from += job.chunkSize()) {
+                if (aborted.get()) {
+                    throw new IllegalStateException("Run aborted");
+                }
+                long chunkStart = from;
+                long chunkEnd = Math.min(partition.getRangeEnd(), from + job.chunkSize() - 1);
+                Integer items = transactionTemplate.execute(status -> {
+                    int processed = job.processChunk(chunkStart, chunkEnd, run.getAsOf());
+                    jobRunService.checkpoint(partition.getId(), chunkEnd, processed);
+                    return processed;
+                });
+                meterRegistry.counter("library.jobs.items", "job", job.name()).increment(items == null ? 0 : items);
+
+                if (!jobRunService.renewLock(job.name(), owner, lease)) {
+                    aborted.set(true);
+                    throw new IllegalStateException("Lost lease on job " + job.name());
+                }
+            }
+            jobRunService.finishPartition(partition.getId(), JobRunStatus.SUCCEEDED);
+        } catch (RuntimeException e) {
+            log.error("Partition {} of job {} run {} failed", partition.getPartitionNo(), job.name(), run.getId(), e);
+            jobRunService.finishPartition(partition.getId(), JobRunStatus.FAILED);
+            throw e;
+        }
+    }
+
+    private void record(Timer.Sample sample, JobRun run) {
+        sample.stop(meterRegistry.timer("library.jobs.run", "job", run.getJobName(), "status", run.getStatus().name()));
+        log.info("Job {} run {} {} with {} item(s)", run.getJobName(), run.getId(), run.getStatus(),
+                run.getItemsProcessed());
+    }
+
+    private void withLease(String jobName, Consumer<String> body) {
+        // A fresh owner per run, so two triggers on the same node also exclude each other
+        String owner = resolveNodeId() + "/" + UUID.randomUUID();
+        if (!jobRunService.acquireLock(jobName, owner, lease)) {
+            log.debug("Job {} is running elsewhere, skipping", jobName);
+            return;
+        }
+        try {
+            body.accept(owner);
+        } finally {
+            jobRunService.releaseLock(jobName, owner);
+        }
+    }
+
+    private String resolveNodeId() {
+        return nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+    }
+}
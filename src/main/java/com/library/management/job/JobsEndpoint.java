@@ -0,0 +1,38 @@
+package com.library.management.job;
+
+import com.library.management.model.JobRunSummary;
+import com.library.management.service.JobRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recent job runs with their partitions and checkpoints at /actuator/jobs and
+ * /actuator/jobs/{jobName}. Durations and item counts are published as the
+ * library.jobs.run and library.jobs.items metrics.
+ */
+@Component
+@Endpoint(id = "jobs")
+@RequiredArgsConstructor
+public class JobsEndpoint {
+
+    private final JobRunService jobRunService;
+
+    @Value("${library.jobs.history-size:20}")
+    private int historySize = 20;
+
+    @ReadOperation
+    public List<JobRunSummary> runs() {
+        return jobRunService.getRecentRuns(null, historySize);
+    }
+
+    @ReadOperation
+    public List<JobRunSummary> runsOf(@Selector String jobName) {
+        return jobRunService.getRecentRuns(jobName, historySize);
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.management.job;
+
+import com.library.management.service.ReportingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the daily loan rollups and the hourly circulation counts behind the reports current.
+ * Loans are borrowed and returned at the time they are recorded and never move to another
+ * day, so only the most recent days can change; they are recomputed from loans on
+ * every run, which also repairs them if a run was missed. Yesterday is included so loans
+ * committed just before midnight are not lost between two runs.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanRollupJob {
+
+    private final JobRunner jobRunner;
+    private final ReportingService reportingService;
+
+    @Value("${library.reporting.rollup-days:2}")
+    private int rollupDays = 2;
+
+    @Scheduled(fixedDelayString = "${library.reporting.rollup-interval-ms:300000}")
+    public void refreshRecentDays() {
+        jobRunner.runOnce("loan-rollup", () -> {
+            LocalDate today = LocalDate.now();
+            return reportingService.refreshLoanRollups(today.minusDays(rollupDays - 1), today);
+        });
+    }
+}
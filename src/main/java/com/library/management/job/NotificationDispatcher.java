@@ -0,0 +1,67 @@
+package com.library.management.job;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.OutboxNotification;
+import com.library.management.notification.NotificationChannel;
+import com.library.management.service.NotificationOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polls the notification outbox, claims due rows in batches and hands them to a bounded
+ * executor, so request threads never wait on mail or SMS delivery.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationOutboxService outboxService;
+    private final Map<NotificationChannelType, NotificationChannel> channels = new EnumMap<>(NotificationChannelType.class);
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${library.notifications.batch-size:50}")
+    private int batchSize = 50;
+
+    public NotificationDispatcher(NotificationOutboxService outboxService, List<NotificationChannel> channels,
+            @Qualifier("notificationExecutor") ThreadPoolTaskExecutor executor) {
+        this.outboxService = outboxService;
+        this.executor = executor;
+        channels.forEach(channel -> this.channels.put(channel.type(), channel));
+    }
+
+    @Scheduled(fixedDelayString = "${library.notifications.poll-interval-ms:1000}")
+    public void dispatch() {
+        int capacity = Math.min(batchSize, executor.getThreadPoolExecutor().getQueue().remainingCapacity());
+        if (capacity <= 0) {
+            return;
+        }
+
+        List<OutboxNotification> claimed = outboxService.claimDue(capacity);
+        for (OutboxNotification notification : claimed) {
+            executor.execute(() -> deliver(notification));
+        }
+    }
+
+    void deliver(OutboxNotification notification) {
+        NotificationChannel channel = channels.get(notification.getChannel());
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("No channel registered for " + notification.getChannel());
+            }
+            channel.send(notification);
+            outboxService.markSent(notification.getId());
+        } catch (Exception e) {
+            log.warn("Delivery of notification {} failed (attempt {}): {}", notification.getId(),
+                    notification.getAttempts(), e.getMessage());
+            outboxService.markFailed(notification.getId(), e.getMessage());
+        }
+    }
+}
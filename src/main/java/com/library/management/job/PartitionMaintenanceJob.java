@@ -0,0 +1,55 @@
+package com.library.management.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps monthly partitions of the loans and fines tables created ahead of time,
+ * so new rows never fall into the default partition.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@Profile("!test")
+public class PartitionMaintenanceJob {
+
+    private static final List<String> PARTITIONED_TABLES = List.of("loans", "fines");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JobRunner jobRunner;
+
+    @Value("${library.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${library.partitions.cron:0 0 1 * * ?}")
+    public void createUpcomingPartitions() {
+        jobRunner.runOnce("partition-maintenance", () -> {
+            LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+            long total = 0;
+            for (String table : PARTITIONED_TABLES) {
+                Integer created = jdbcTemplate.queryForObject(
+                        "SELECT ensure_monthly_partitions(?, ?, ?)", Integer.class, table, currentMonth, monthsAhead);
+                if (created != null && created > 0) {
+                    log.info("Created {} monthly partition(s) for {}", created, table);
+                    total += created;
+                }
+            }
+            return total;
+        });
+    }
+}
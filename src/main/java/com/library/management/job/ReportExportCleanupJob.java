@@ -0,0 +1,24 @@
+package com.library.management.job;
+
+import com.library.management.service.ReportExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Runs on every node without a lease: export files are on each node's own disk
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportExportCleanupJob {
+
+    private final ReportExportService reportExportService;
+
+    @Scheduled(fixedDelayString = "${library.reporting.export.cleanup-interval-ms:3600000}")
+    public void purgeExpiredExports() {
+        int purged = reportExportService.purgeExpired();
+        if (purged > 0) {
+            log.info("Purged {} expired report job(s)", purged);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.library.management.job;
+
+import com.library.management.service.ReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Expires READY_FOR_PICKUP reservations nobody collected and hands their copies to the
+ * next member in the queue, or back to the shelf. Each batch commits on its own, so a
+ * large backlog never holds locks for long.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationExpiryJob {
+
+    private final JobRunner jobRunner;
+    private final ReservationService reservationService;
+
+    @Value("${library.reservations.expiry-batch-size:500}")
+    private int batchSize = 500;
+
+    @Scheduled(fixedDelayString = "${library.reservations.expiry-interval-ms:900000}")
+    public void expireUncollectedReservations() {
+        jobRunner.runOnce("reservation-expiry", () -> {
+            LocalDateTime now = LocalDateTime.now();
+            long total = 0;
+            int expired;
+            do {
+                expired = reservationService.expireReadyReservations(now, batchSize);
+                total += expired;
+            } while (expired == batchSize);
+            return total;
+        });
+    }
+}
@@ -19,10 +19,17 @@ public class AuthModel {
             @NotBlank String password
     ) {}
 
+    public record RefreshRequest(
+            @NotBlank String refreshToken
+    ) {}
+
+    // token is the value of the Authorization header; expiresIn is its lifetime in seconds
     public record AuthResponse(
             Long id,
             String email,
             String role,
-            String token
+            String token,
+            String refreshToken,
+            long expiresIn
     ) {}
 }
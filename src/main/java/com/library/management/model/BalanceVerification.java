@@ -0,0 +1,17 @@
+package com.library.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceVerification {
+    private Long memberId;
+    private BigDecimal cachedBalance;
+    private BigDecimal ledgerBalance;
+    private boolean consistent;
+}
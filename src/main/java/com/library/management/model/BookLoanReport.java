@@ -0,0 +1,14 @@
+package com.library.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookLoanReport {
+    private Long bookId;
+    private String bookTitle;
+    private Long loanCount;
+}
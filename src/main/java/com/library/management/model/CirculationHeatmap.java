@@ -0,0 +1,11 @@
+package com.library.management.model;
+
+import java.time.LocalDate;
+
+/**
+ * Borrows and returns between from and to, both inclusive days in the library's time zone,
+ * summed by weekday and hour. Each grid has a row per weekday, Monday first, and a column per
+ * hour of the day.
+ */
+public record CirculationHeatmap(LocalDate from, LocalDate to, String timeZone, long[][] borrows, long[][] returns) {
+}
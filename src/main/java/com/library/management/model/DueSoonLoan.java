@@ -0,0 +1,6 @@
+package com.library.management.model;
+
+import java.time.LocalDateTime;
+
+public record DueSoonLoan(Long loanId, Long memberId, Long bookId, String bookTitle, LocalDateTime dueDate) {
+}
@@ -0,0 +1,56 @@
+package com.library.management.model;
+
+import com.library.management.entity.Member;
+import com.library.management.entity.MembershipType;
+
+import java.math.BigDecimal;
+
+/**
+ * Fine rules of a membership type: a daily rate charged for each overdue day after the
+ * grace days, optionally capped per loan and across a member's unpaid fines. The SQL form
+ * lives in the member_fine_policies view and FineRepository.recalculateFines.
+ */
+public record FinePolicy(BigDecimal finePerDay, int graceDays, BigDecimal maxPerLoan, BigDecimal maxPerMember) {
+
+    public static final FinePolicy DEFAULT = new FinePolicy(new BigDecimal("1.00"), 0, null, null);
+
+    public static FinePolicy of(MembershipType type) {
+        if (type == null) {
+            return DEFAULT;
+        }
+        return new FinePolicy(type.getFinePerDay(), type.getFineGraceDays(), type.getMaxFinePerLoan(),
+                type.getMaxFinePerMember());
+    }
+
+    public static FinePolicy of(Member member) {
+        return of(member.getMembershipType());
+    }
+
+    public BigDecimal amountFor(long overdueDays) {
+        long chargedDays = overdueDays - graceDays;
+        if (chargedDays <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal amount = finePerDay.multiply(BigDecimal.valueOf(chargedDays));
+        return maxPerLoan != null ? amount.min(maxPerLoan) : amount;
+    }
+
+    // Caps a loan's fine so the member's unpaid fines stay within maxPerMember
+    public BigDecimal capForMember(BigDecimal amount, BigDecimal otherUnpaid) {
+        if (maxPerMember == null) {
+            return amount;
+        }
+        return amount.min(maxPerMember.subtract(otherUnpaid).max(BigDecimal.ZERO));
+    }
+
+    public boolean sameAs(FinePolicy other) {
+        return finePerDay.compareTo(other.finePerDay) == 0
+                && graceDays == other.graceDays
+                && equalAmounts(maxPerLoan, other.maxPerLoan)
+                && equalAmounts(maxPerMember, other.maxPerMember);
+    }
+
+    private static boolean equalAmounts(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+}
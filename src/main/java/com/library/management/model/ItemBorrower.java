@@ -0,0 +1,5 @@
+package com.library.management.model;
+
+// A member who borrowed a book, or a book of a category
+public record ItemBorrower(Long itemId, Long memberId) {
+}
@@ -0,0 +1,39 @@
+package com.library.management.model;
+
+import com.library.management.entity.JobRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunSummary {
+    private Long id;
+    private String jobName;
+    private String nodeId;
+    private JobRunStatus status;
+    private LocalDateTime asOf;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long itemsProcessed;
+    private Long resumedFromRunId;
+    private int resumeAttempt;
+    private String error;
+    private List<Partition> partitions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Partition {
+        private int partitionNo;
+        private long rangeStart;
+        private long rangeEnd;
+        private Long checkpoint;
+        private JobRunStatus status;
+        private long itemsProcessed;
+    }
+}
@@ -0,0 +1,34 @@
+package com.library.management.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inclusive range of numeric keys, e.g. primary key ids a job walks through in chunks.
+ */
+public record KeyRange(long from, long to) {
+
+    public KeyRange {
+        if (from > to) {
+            throw new IllegalArgumentException("Empty key range " + from + ".." + to);
+        }
+    }
+
+    public long size() {
+        return to - from + 1;
+    }
+
+    // Splits into at most maxParts contiguous ranges, each a whole number of chunks long,
+    // so partitions never share a chunk boundary
+    public List<KeyRange> split(int maxParts, int chunkSize) {
+        long chunks = (size() + chunkSize - 1) / chunkSize;
+        long parts = Math.max(1, Math.min(maxParts, chunks));
+        long chunksPerPart = (chunks + parts - 1) / parts;
+
+        List<KeyRange> ranges = new ArrayList<>();
+        for (long start = from; start <= to; start += chunksPerPart * chunkSize) {
+            ranges.add(new KeyRange(start, Math.min(to, start + chunksPerPart * chunkSize - 1)));
+        }
+        return ranges;
+    }
+}
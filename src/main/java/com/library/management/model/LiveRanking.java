@@ -0,0 +1,5 @@
+package com.library.management.model;
+
+// A leaderboard entry counted in memory; the true loan count lies between loanCount - error and loanCount
+public record LiveRanking(Long id, String name, long loanCount, long error) {
+}
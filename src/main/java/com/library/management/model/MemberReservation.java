@@ -0,0 +1,23 @@
+package com.library.management.model;
+
+import com.library.management.entity.ReservationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberReservation {
+    private Long id;
+    private Long bookId;
+    private String bookTitle;
+    private ReservationStatus status;
+    private LocalDateTime requestDate;
+    private LocalDateTime expiryDate;
+    // 1-based place in the book's PENDING queue; null once the reservation left the queue
+    private Long queuePosition;
+    private Long queueLength;
+}
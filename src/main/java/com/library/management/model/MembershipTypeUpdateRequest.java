@@ -0,0 +1,44 @@
+package com.library.management.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+// Body of a membership type update. Fine policy fields left out stay null and keep their current
+// value. The caps are Optional so that a cap sent as null (Optional.empty) clears it.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipTypeUpdateRequest {
+
+    @NotBlank(message = "Name is required")
+    private String name;
+
+    @JsonProperty("maxBorrowLimit")
+    @NotNull(message = "Max books is required")
+    @Positive(message = "Max books must be positive")
+    private Integer maxBooks;
+
+    @JsonProperty("loanDurationDays")
+    @NotNull(message = "Max loan days is required")
+    @Positive(message = "Max loan days must be positive")
+    private Integer maxLoanDays;
+
+    @PositiveOrZero(message = "Fine per day must not be negative")
+    private BigDecimal finePerDay;
+
+    @PositiveOrZero(message = "Fine grace days must not be negative")
+    private Integer fineGraceDays;
+
+    private Optional<@PositiveOrZero(message = "Max fine per loan must not be negative") BigDecimal> maxFinePerLoan;
+
+    private Optional<@PositiveOrZero(message = "Max fine per member must not be negative") BigDecimal> maxFinePerMember;
+}
@@ -0,0 +1,10 @@
+package com.library.management.model;
+
+import com.library.management.entity.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+// from and to are inclusive and optional: without them a report covers all history up to today
+public record ReportJobRequest(@NotNull ReportType type, LocalDate from, LocalDate to) {
+}
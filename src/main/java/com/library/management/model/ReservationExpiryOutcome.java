@@ -0,0 +1,19 @@
+package com.library.management.model;
+
+/**
+ * One reservation touched by a pickup expiry batch: either the READY_FOR_PICKUP reservation
+ * that expired, or the PENDING reservation promoted to take over its copy.
+ */
+public interface ReservationExpiryOutcome {
+    Long getReservationId();
+
+    Long getMemberId();
+
+    String getMemberEmail();
+
+    Long getBookId();
+
+    String getBookTitle();
+
+    boolean isPromoted();
+}
@@ -0,0 +1,4 @@
+package com.library.management.model;
+
+public record UniqueBorrowerCount(Long id, long uniqueBorrowers) {
+}
@@ -0,0 +1,15 @@
+package com.library.management.model;
+
+import com.library.management.entity.SketchScope;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Approximate distinct borrowers of some books or categories over a range of months, per item
+ * and for all of them together; a member who read several of the items counts once in the total.
+ * Counts are within standardError (relative) of the true number about two times out of three.
+ */
+public record UniqueBorrowerReport(SketchScope scope, YearMonth from, YearMonth to, long uniqueBorrowers,
+                                   double standardError, List<UniqueBorrowerCount> items) {
+}
@@ -0,0 +1,25 @@
+package com.library.management.notification;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.OutboxNotification;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for an SMTP server: writes the e-mail to the log instead of sending it.
+ * Replace it with a real mail channel bean to deliver e-mail.
+ */
+@Component
+@Slf4j
+public class LoggingEmailChannel implements NotificationChannel {
+
+    @Override
+    public NotificationChannelType type() {
+        return NotificationChannelType.EMAIL;
+    }
+
+    @Override
+    public void send(OutboxNotification notification) {
+        log.info("Sending notification to {}: {}", notification.getRecipient(), notification.getBody());
+    }
+}
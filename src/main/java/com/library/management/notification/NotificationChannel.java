@@ -0,0 +1,15 @@
+package com.library.management.notification;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.OutboxNotification;
+
+/**
+ * Delivers outbox notifications over one transport. Implementations are picked up as beans
+ * by the NotificationDispatcher; throwing from {@link #send} schedules a retry.
+ */
+public interface NotificationChannel {
+
+    NotificationChannelType type();
+
+    void send(OutboxNotification notification) throws Exception;
+}
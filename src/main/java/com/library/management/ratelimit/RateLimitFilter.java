@@ -0,0 +1,54 @@
+package com.library.management.ratelimit;
+
+import com.library.management.security.AccessTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the RateLimiter ahead of authentication, so rejected requests never reach a BCrypt
+ * check. Requests with a valid access token are limited per member, everything else per client
+ * address: a member at a shared desk is not held back by an abusive client behind the same IP.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final AccessTokenService accessTokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RateLimitGroup group = RateLimitGroup.of(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(group, clientKey(request));
+        if (waitNanos > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999))));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Too many requests\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        // Behind a trusted proxy Tomcat has already replaced the address with the X-Forwarded-For client (server.tomcat.remoteip)
+        return accessTokenService.verifyBearer(request)
+                .map(claims -> "member:" + claims.memberId())
+                .orElseGet(() -> "ip:" + request.getRemoteAddr());
+    }
+}
@@ -0,0 +1,42 @@
+package com.library.management.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Endpoints sharing a limit. Requests outside every group are not limited.
+ */
+public enum RateLimitGroup {
+
+    // Login, register and refresh: the target of credential stuffing, and each login costs a BCrypt
+    AUTH {
+        @Override
+        boolean matches(String method, String path) {
+            return !"OPTIONS".equals(method) && path.startsWith("/api/v1/auth/");
+        }
+    },
+    // Anonymous catalogue browsing and search, the endpoints scrapers walk
+    SEARCH {
+        @Override
+        boolean matches(String method, String path) {
+            return "GET".equals(method) && (path.equals("/api/v1/books") || path.startsWith("/api/v1/books/"));
+        }
+    },
+    BORROW {
+        @Override
+        boolean matches(String method, String path) {
+            return "POST".equals(method) && path.equals("/api/v1/loans/borrow");
+        }
+    };
+
+    abstract boolean matches(String method, String path);
+
+    public static RateLimitGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitGroup group : values()) {
+            if (group.matches(request.getMethod(), path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.library.management.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * One token bucket per route group and client. A group allows {@code capacity} requests in a
+ * burst and refills that many over {@code period}; a capacity of 0 turns the group off.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final Map<RateLimitGroup, Limit> limits = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Map<String, TokenBucket>> buckets = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> allowed = new EnumMap<>(RateLimitGroup.class);
+    private final Map<RateLimitGroup, Counter> rejected = new EnumMap<>(RateLimitGroup.class);
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${library.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${library.rate-limit.auth.capacity:10}") int authCapacity,
+                       @Value("${library.rate-limit.auth.period:PT1M}") Duration authPeriod,
+                       @Value("${library.rate-limit.search.capacity:120}") int searchCapacity,
+                       @Value("${library.rate-limit.search.period:PT1M}") Duration searchPeriod,
+                       @Value("${library.rate-limit.borrow.capacity:20}") int borrowCapacity,
+                       @Value("${library.rate-limit.borrow.period:PT1M}") Duration borrowPeriod) {
+        this(meterRegistry, enabled, Map.of(
+                RateLimitGroup.AUTH, new Limit(authCapacity, authPeriod),
+                RateLimitGroup.SEARCH, new Limit(searchCapacity, searchPeriod),
+                RateLimitGroup.BORROW, new Limit(borrowCapacity, borrowPeriod)), System::nanoTime);
+    }
+
+    RateLimiter(MeterRegistry meterRegistry, boolean enabled, Map<RateLimitGroup, Limit> limits, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.nanoClock = nanoClock;
+        this.limits.putAll(limits);
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            Map<String, TokenBucket> groupBuckets = new ConcurrentHashMap<>();
+            buckets.put(group, groupBuckets);
+            String tag = group.name().toLowerCase();
+            allowed.put(group, meterRegistry.counter("library.ratelimit.requests", "group", tag, "outcome", "allowed"));
+            rejected.put(group, meterRegistry.counter("library.ratelimit.requests", "group", tag, "outcome", "rejected"));
+            meterRegistry.gaugeMapSize("library.ratelimit.clients", Tags.of("group", tag), groupBuckets);
+        }
+    }
+
+    record Limit(int capacity, Duration period) {
+    }
+
+    // 0 when the request may proceed, otherwise the nanoseconds until the client may retry
+    public long tryAcquire(RateLimitGroup group, String clientKey) {
+        Limit limit = limits.get(group);
+        if (!enabled || limit == null || limit.capacity() <= 0) {
+            return 0;
+        }
+        long now = nanoClock.getAsLong();
+        long wait = buckets.get(group)
+                .computeIfAbsent(clientKey, key -> new TokenBucket(limit.capacity(),
+                        limit.period().toNanos() / limit.capacity(), now))
+                .tryAcquire(now);
+        (wait == 0 ? allowed : rejected).get(group).increment();
+        return wait;
+    }
+
+    // Drops buckets of clients that have been quiet long enough to be full again
+    @Scheduled(fixedDelayString = "${library.rate-limit.cleanup-interval-ms:60000}")
+    public void evictIdleClients() {
+        long now = nanoClock.getAsLong();
+        buckets.values().forEach(groupBuckets -> groupBuckets.values().removeIf(bucket -> bucket.isFull(now)));
+    }
+
+    int clientCount(RateLimitGroup group) {
+        return buckets.get(group).size();
+    }
+}
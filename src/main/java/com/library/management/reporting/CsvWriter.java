@@ -0,0 +1,53 @@
+package com.library.management.reporting;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Timestamp;
+
+/**
+ * Writes RFC 4180 CSV rows straight to a writer. Text that a spreadsheet would run as a formula
+ * is prefixed with an apostrophe, since titles and emails come from members.
+ */
+class CsvWriter {
+
+    private final Writer out;
+
+    CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            field(values[i]);
+        }
+        out.write("\r\n");
+    }
+
+    private void field(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Timestamp timestamp) {
+            out.write(timestamp.toLocalDateTime().toString());
+            return;
+        }
+        if (value instanceof Number) {
+            out.write(value.toString());
+            return;
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            out.write('"');
+            out.write(text.replace("\"", "\"\""));
+            out.write('"');
+        } else {
+            out.write(text);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.library.management.reporting;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches report results by report and parameters. A result younger than the TTL is served as
+ * is; an older one is still served for the stale-while-revalidate period while a single
+ * background refresh runs on the report executor. Only when there is no usable result does a
+ * caller compute it, and concurrent callers for the same key wait for that one computation
+ * instead of running their own, so a burst of dashboard loads costs one query per report.
+ */
+@Component
+public class ReportCache {
+
+    private static final String AGE_ATTRIBUTE = ReportCache.class.getName() + ".age";
+
+    private record Result(Object value, Instant computedAt) {
+    }
+
+    private static final class Entry {
+        volatile Result result;
+        // Guarded by the entry
+        CompletableFuture<Result> inFlight;
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final TaskExecutor executor;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final int maxEntries;
+    private final Clock clock;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    @Autowired
+    public ReportCache(MeterRegistry meterRegistry, @Qualifier("reportExecutor") TaskExecutor executor,
+                       @Value("${library.reporting.cache.ttl:PT30S}") Duration ttl,
+                       @Value("${library.reporting.cache.stale-while-revalidate:PT5M}") Duration staleWhileRevalidate,
+                       @Value("${library.reporting.cache.max-entries:1000}") int maxEntries) {
+        this(meterRegistry, executor, ttl, staleWhileRevalidate, maxEntries, Clock.systemUTC());
+    }
+
+    ReportCache(MeterRegistry meterRegistry, TaskExecutor executor, Duration ttl, Duration staleWhileRevalidate,
+                int maxEntries, Clock clock) {
+        this.executor = executor;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.hits = meterRegistry.counter("library.reporting.cache", "result", "hit");
+        this.staleHits = meterRegistry.counter("library.reporting.cache", "result", "stale");
+        this.misses = meterRegistry.counter("library.reporting.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("library.reporting.cache.size", Tags.empty(), entries);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        if (entries.size() > maxEntries) {
+            evictOverflow();
+        }
+        Result result = entry.result;
+        Instant now = clock.instant();
+        if (result != null && result.computedAt().plus(ttl).isAfter(now)) {
+            hits.increment();
+        } else if (result != null && result.computedAt().plus(ttl).plus(staleWhileRevalidate).isAfter(now)) {
+            staleHits.increment();
+            refreshInBackground(entry, loader);
+        } else {
+            misses.increment();
+            result = loadOrJoin(entry, loader);
+        }
+        recordAge(result, now);
+        return (T) result.value();
+    }
+
+    // Age in seconds of the oldest cached result served to the current request, if any
+    public static OptionalLong currentRequestAge() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object age = attributes != null ? attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) : null;
+        return age instanceof Long seconds ? OptionalLong.of(seconds) : OptionalLong.empty();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${library.reporting.cache.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        Instant cutoff = clock.instant().minus(ttl).minus(staleWhileRevalidate);
+        entries.values().removeIf(entry -> {
+            Result result = entry.result;
+            return result != null && result.computedAt().isBefore(cutoff);
+        });
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Result loadOrJoin(Entry entry, Supplier<?> loader) {
+        CompletableFuture<Result> future;
+        boolean owner = false;
+        synchronized (entry) {
+            if (entry.inFlight == null) {
+                entry.inFlight = new CompletableFuture<>();
+                owner = true;
+            }
+            future = entry.inFlight;
+        }
+        if (owner) {
+            load(entry, loader, future);
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void refreshInBackground(Entry entry, Supplier<?> loader) {
+        CompletableFuture<Result> future;
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return;
+            }
+            future = new CompletableFuture<>();
+            entry.inFlight = future;
+        }
+        try {
+            executor.execute(() -> load(entry, loader, future));
+        } catch (TaskRejectedException e) {
+            // The stale result keeps being served; a later request tries again
+            synchronized (entry) {
+                entry.inFlight = null;
+            }
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void load(Entry entry, Supplier<?> loader, CompletableFuture<Result> future) {
+        Result result = null;
+        RuntimeException failure = null;
+        try {
+            result = new Result(loader.get(), clock.instant());
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        synchronized (entry) {
+            if (result != null) {
+                entry.result = result;
+            }
+            entry.inFlight = null;
+        }
+        if (failure != null) {
+            future.completeExceptionally(failure);
+        } else {
+            future.complete(result);
+        }
+    }
+
+    private void recordAge(Result result, Instant now) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        long age = Math.max(0, Duration.between(result.computedAt(), now).toSeconds());
+        Object previous = attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (!(previous instanceof Long seconds) || seconds < age) {
+            attributes.setAttribute(AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Drops expired results first, then the oldest ones until the cache fits again. Entries still
+    // loading have callers waiting on them and are kept, even if the cache stays over its size.
+    private void evictOverflow() {
+        evictExpired();
+        while (entries.size() > maxEntries) {
+            Optional<Map.Entry<String, Entry>> oldest = entries.entrySet().stream()
+                    .filter(e -> e.getValue().result != null)
+                    .min(Comparator.comparing(e -> e.getValue().result.computedAt()));
+            if (oldest.isEmpty()) {
+                return;
+            }
+            entries.remove(oldest.get().getKey(), oldest.get().getValue());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.library.management.repository;
+
+import com.library.management.entity.BalanceLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface BalanceLedgerRepository extends JpaRepository<BalanceLedgerEntry, Long> {
+
+    List<BalanceLedgerEntry> findByMemberIdOrderByIdAsc(Long memberId);
+
+    boolean existsByMemberId(Long memberId);
+
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM BalanceLedgerEntry e WHERE e.member.id = :memberId")
+    BigDecimal sumAmountByMemberId(@Param("memberId") Long memberId);
+}
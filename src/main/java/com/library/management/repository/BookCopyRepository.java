@@ -3,19 +3,31 @@ package com.library.management.repository;
 import com.library.management.entity.BookCopy;
 import com.library.management.entity.BookCopyStatus;
 import com.library.management.model.BookStatusReport;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+    @Override
+    @EntityGraph(attributePaths = "book.publisher")
+    Optional<BookCopy> findById(Long id);
+
+    @EntityGraph(attributePaths = "book.publisher")
     Optional<BookCopy> findByBarcode(String barcode);
 
+    @EntityGraph(attributePaths = "book.publisher")
     List<BookCopy> findByBookId(Long bookId);
 
+    @Query("SELECT bc.barcode FROM BookCopy bc WHERE bc.barcode IN :barcodes")
+    List<String> findExistingBarcodes(@Param("barcodes") Collection<String> barcodes);
+
     long countByBookId(Long bookId);
 
     long countByBookIdAndStatus(Long bookId, BookCopyStatus status);
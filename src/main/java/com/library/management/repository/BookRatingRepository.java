@@ -1,6 +1,7 @@
 package com.library.management.repository;
 
 import com.library.management.entity.BookRating;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +12,7 @@ import java.util.List;
 @Repository
 public interface BookRatingRepository extends JpaRepository<BookRating, Long> {
 
+    @EntityGraph(attributePaths = {"book.publisher", "member.membershipType"})
     List<BookRating> findByBookId(Long bookId);
 
     boolean existsByBookIdAndMemberId(Long bookId, Long memberId);
@@ -3,6 +3,7 @@ package com.library.management.repository;
 import com.library.management.entity.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,17 +14,31 @@ import java.util.Optional;
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
+    // Publisher is always serialized with a book; copies and categories are batch-fetched by the service
+    @Override
+    @EntityGraph(attributePaths = "publisher")
+    Optional<Book> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "publisher")
+    Page<Book> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "publisher")
     Optional<Book> findByIsbn(String isbn);
 
     boolean existsByIsbn(String isbn);
 
     // Pagination and Search
+    @EntityGraph(attributePaths = "publisher")
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
 
+    @EntityGraph(attributePaths = "publisher")
     Page<Book> findByAuthorContainingIgnoreCase(String author, Pageable pageable);
 
+    @EntityGraph(attributePaths = "publisher")
     Page<Book> findByCategoriesId(Long categoryId, Pageable pageable);
 
+        @EntityGraph(attributePaths = "publisher")
         @Query("SELECT DISTINCT b FROM Book b JOIN b.categories c " +
             "WHERE c.id = :categoryId AND (" +
             "LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
@@ -31,6 +46,7 @@ public interface BookRepository extends JpaRepository<Book, Long> {
             "b.isbn LIKE CONCAT('%', :query, '%'))")
         Page<Book> searchBooksByCategory(@Param("categoryId") Long categoryId, @Param("query") String query, Pageable pageable);
 
+    @EntityGraph(attributePaths = "publisher")
     @Query("SELECT b FROM Book b WHERE " +
             "LOWER(b.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "LOWER(b.author) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
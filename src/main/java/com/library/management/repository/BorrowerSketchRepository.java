@@ -0,0 +1,41 @@
+package com.library.management.repository;
+
+import com.library.management.entity.BorrowerSketch;
+import com.library.management.entity.SketchScope;
+import com.library.management.model.ItemBorrower;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BorrowerSketchRepository extends JpaRepository<BorrowerSketch, BorrowerSketch.Key> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BorrowerSketch s WHERE s.scope = :scope AND s.itemId = :itemId AND s.monthStart = :month")
+    Optional<BorrowerSketch> findForUpdate(@Param("scope") SketchScope scope, @Param("itemId") Long itemId,
+                                           @Param("month") LocalDate month);
+
+    List<BorrowerSketch> findByScopeAndItemIdInAndMonthStartBetween(SketchScope scope, Collection<Long> itemIds,
+                                                               LocalDate from, LocalDate to);
+
+    @Query("SELECT DISTINCT new com.library.management.model.ItemBorrower(c.book.id, l.member.id) " +
+            "FROM Loan l JOIN l.bookCopy c WHERE l.loanDate >= :from AND l.loanDate < :to ORDER BY c.book.id")
+    List<ItemBorrower> findBookBorrowers(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT DISTINCT new com.library.management.model.ItemBorrower(cat.id, l.member.id) " +
+            "FROM Loan l JOIN l.bookCopy c JOIN c.book.categories cat " +
+            "WHERE l.loanDate >= :from AND l.loanDate < :to ORDER BY cat.id")
+    List<ItemBorrower> findCategoryBorrowers(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(l.loanDate) FROM Loan l")
+    Optional<LocalDateTime> findFirstLoanDate();
+}
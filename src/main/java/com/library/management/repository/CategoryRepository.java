@@ -2,8 +2,11 @@ package com.library.management.repository;
 
 import com.library.management.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +14,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
     boolean existsByName(String name);
+
+    @Query("SELECT c.id FROM Book b JOIN b.categories c WHERE b.id = :bookId")
+    List<Long> findIdsByBookId(@Param("bookId") Long bookId);
 }
@@ -0,0 +1,36 @@
+package com.library.management.repository;
+
+import com.library.management.entity.DailyBookLoans;
+import com.library.management.model.BookLoanReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyBookLoansRepository extends JpaRepository<DailyBookLoans, DailyBookLoans.Key> {
+
+    @Query("SELECT new com.library.management.model.BookLoanReport(b.id, b.title, SUM(d.loanCount)) " +
+            "FROM DailyBookLoans d JOIN Book b ON b.id = d.bookId " +
+            "WHERE d.loanDay BETWEEN :from AND :to " +
+            "GROUP BY b.id, b.title ORDER BY SUM(d.loanCount) DESC, b.id")
+    List<BookLoanReport> findMostBorrowed(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DailyBookLoans d WHERE d.loanDay BETWEEN :from AND :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_book_loans (loan_day, book_id, loan_count) " +
+            "SELECT CAST(l.loan_date AS DATE), c.book_id, COUNT(*) FROM loans l " +
+            "JOIN book_copies c ON c.id = l.book_copy_id " +
+            "WHERE l.loan_date >= :from AND l.loan_date < :to " +
+            "GROUP BY CAST(l.loan_date AS DATE), c.book_id", nativeQuery = true)
+    int insertFromLoans(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,37 @@
+package com.library.management.repository;
+
+import com.library.management.entity.DailyCategoryLoans;
+import com.library.management.model.CategoryReport;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyCategoryLoansRepository extends JpaRepository<DailyCategoryLoans, DailyCategoryLoans.Key> {
+
+    @Query("SELECT new com.library.management.model.CategoryReport(c.id, c.name, SUM(d.loanCount)) " +
+            "FROM DailyCategoryLoans d JOIN Category c ON c.id = d.categoryId " +
+            "WHERE d.loanDay BETWEEN :from AND :to " +
+            "GROUP BY c.id, c.name ORDER BY SUM(d.loanCount) DESC, c.id")
+    List<CategoryReport> findMostRead(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DailyCategoryLoans d WHERE d.loanDay BETWEEN :from AND :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Bounded on loan_date so Postgres only scans the matching monthly partitions
+    @Modifying
+    @Query(value = "INSERT INTO daily_category_loans (loan_day, category_id, loan_count) " +
+            "SELECT CAST(l.loan_date AS DATE), bc.category_id, COUNT(*) FROM loans l " +
+            "JOIN book_copies c ON c.id = l.book_copy_id JOIN book_categories bc ON bc.book_id = c.book_id " +
+            "WHERE l.loan_date >= :from AND l.loan_date < :to " +
+            "GROUP BY CAST(l.loan_date AS DATE), bc.category_id", nativeQuery = true)
+    int insertFromLoans(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,35 @@
+package com.library.management.repository;
+
+import com.library.management.entity.DailyMemberLoans;
+import com.library.management.model.MemberActivity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyMemberLoansRepository extends JpaRepository<DailyMemberLoans, DailyMemberLoans.Key> {
+
+    @Query("SELECT new com.library.management.model.MemberActivity(m.id, CONCAT(m.firstName, ' ', m.lastName), m.email, SUM(d.loanCount)) " +
+            "FROM DailyMemberLoans d JOIN Member m ON m.id = d.memberId " +
+            "WHERE d.loanDay BETWEEN :from AND :to " +
+            "GROUP BY m.id, m.firstName, m.lastName, m.email ORDER BY SUM(d.loanCount) DESC, m.id")
+    List<MemberActivity> findMostActive(@Param("from") LocalDate from, @Param("to") LocalDate to, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM DailyMemberLoans d WHERE d.loanDay BETWEEN :from AND :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_member_loans (loan_day, member_id, loan_count) " +
+            "SELECT CAST(l.loan_date AS DATE), l.member_id, COUNT(*) FROM loans l " +
+            "WHERE l.loan_date >= :from AND l.loan_date < :to " +
+            "GROUP BY CAST(l.loan_date AS DATE), l.member_id", nativeQuery = true)
+    int insertFromLoans(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,6 +1,7 @@
 package com.library.management.repository;
 
 import com.library.management.entity.Favorite;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import java.util.Optional;
 
 @Repository
 public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
+    @EntityGraph(attributePaths = {"book.publisher", "member.membershipType"})
     List<Favorite> findByMemberId(Long memberId);
 
     Optional<Favorite> findByMemberIdAndBookId(Long memberId, Long bookId);
@@ -2,17 +2,156 @@ package com.library.management.repository;
 
 import com.library.management.entity.Fine;
 import com.library.management.entity.FineStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface FineRepository extends JpaRepository<Fine, Long> {
+    @Override
+    @EntityGraph(attributePaths = {"loan", "member.membershipType"})
+    List<Fine> findAll();
+
+    @EntityGraph(attributePaths = {"loan", "member.membershipType"})
     List<Fine> findByMemberId(Long memberId);
 
     List<Fine> findByMemberIdAndStatus(Long memberId, FineStatus status);
 
     Optional<Fine> findByLoanId(Long loanId);
+
+    List<Fine> findByLoanIdIn(Collection<Long> loanIds);
+
+    long countByLoanIdInAndStatus(Collection<Long> loanIds, FineStatus status);
+
+    /**
+     * Locks the members with active loans in [fromId, toId], optionally of one membership type,
+     * in id order. Run before recalculateFines in the same transaction: its member cap counts
+     * the member's other unpaid fines, and a concurrent chunk holding loans of the same member
+     * must have committed them first. Taking the locks in one order also keeps the final
+     * UPDATE of members from deadlocking against such a chunk.
+     */
+    @Query(value = """
+            SELECT m.id
+            FROM members m
+            WHERE m.id IN (SELECT l.member_id FROM loans l
+                           WHERE l.status = 'ACTIVE' AND l.id BETWEEN :fromId AND :toId)
+              AND (CAST(:membershipTypeId AS BIGINT) IS NULL
+                   OR m.membership_type_id = CAST(:membershipTypeId AS BIGINT))
+            ORDER BY m.id
+            FOR UPDATE OF m
+            """, nativeQuery = true)
+    List<Long> lockMembersWithActiveLoans(@Param("fromId") long fromId, @Param("toId") long toId,
+                                          @Param("membershipTypeId") Long membershipTypeId);
+
+    /**
+     * Recalculates fines for loans with ids in [fromId, toId] in one statement, using each
+     * member's policy from member_fine_policies. Unpaid fines of active loans are brought up to
+     * date and, when accrueActive is set, missing fines of overdue active loans are inserted.
+     * Paid fines and the fines of returned loans, finalized on return, are left alone. A
+     * membershipTypeId limits it to members of that type. Each change is written to
+     * balance_ledger and the per-member sum is added to members.balance.
+     * <p>
+     * The member cap is shared out in loan id order: a loan gets what is left of the cap after
+     * the member's other unpaid fines and the loans before it in this statement.
+     * Returns the number of members whose balance changed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH targets AS (
+                SELECT l.id, l.loan_date, l.member_id, l.due_date, CAST(:now AS timestamp) AS end_date
+                FROM loans l
+                WHERE :accrueActive
+                  AND l.status = 'ACTIVE'
+                  AND l.id BETWEEN :fromId AND :toId
+                  AND l.due_date <= CAST(:now AS timestamp) - INTERVAL '1 day'
+                UNION
+                SELECT l.id, l.loan_date, l.member_id, l.due_date, CAST(:now AS timestamp)
+                FROM fines f
+                JOIN loans l ON l.id = f.loan_id AND l.loan_date = f.loan_date
+                WHERE f.status = 'UNPAID'
+                  AND l.status = 'ACTIVE'
+                  AND f.loan_id BETWEEN :fromId AND :toId
+            ),
+            priced AS (
+                SELECT t.id, t.loan_date, t.member_id, p.max_fine_per_member,
+                       -- LEAST ignores NULL, so a missing per-loan cap leaves the amount as is
+                       LEAST(p.max_fine_per_loan,
+                             p.fine_per_day * GREATEST(0, FLOOR(EXTRACT(EPOCH FROM (t.end_date - t.due_date)) / 86400)
+                                                          - p.fine_grace_days)) AS amount
+                FROM targets t
+                JOIN member_fine_policies p ON p.member_id = t.member_id
+                WHERE CAST(:membershipTypeId AS BIGINT) IS NULL
+                   OR p.membership_type_id = CAST(:membershipTypeId AS BIGINT)
+            ),
+            due AS (
+                SELECT d.id, d.loan_date, d.member_id,
+                       CASE WHEN d.max_fine_per_member IS NULL THEN d.amount
+                            ELSE LEAST(d.amount, GREATEST(0, d.max_fine_per_member
+                                 - COALESCE((SELECT SUM(f.amount) FROM fines f
+                                             WHERE f.member_id = d.member_id AND f.status = 'UNPAID'
+                                               AND NOT EXISTS (SELECT 1 FROM priced x
+                                                               WHERE x.id = f.loan_id AND x.loan_date = f.loan_date)), 0)
+                                 - COALESCE(SUM(d.amount) OVER (PARTITION BY d.member_id ORDER BY d.id
+                                                                ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0)))
+                       END AS amount
+                FROM priced d
+            ),
+            stale AS (
+                SELECT f.id, f.loan_date, f.amount AS old_amount, d.amount AS new_amount
+                FROM fines f
+                JOIN due d ON d.id = f.loan_id AND d.loan_date = f.loan_date
+                WHERE f.status = 'UNPAID' AND f.amount <> d.amount
+                FOR UPDATE OF f
+            ),
+            updated AS (
+                UPDATE fines f
+                SET amount = s.new_amount, last_updated = :now, updated_at = :now
+                FROM stale s
+                WHERE f.id = s.id AND f.loan_date = s.loan_date
+                RETURNING f.id AS fine_id, f.member_id, s.new_amount - s.old_amount AS delta, 'FINE_ADJUSTED' AS entry_type
+            ),
+            inserted AS (
+                INSERT INTO fines (loan_id, loan_date, member_id, amount, status, fine_date, last_updated, created_at, updated_at)
+                SELECT d.id, d.loan_date, d.member_id, d.amount, 'UNPAID', :now, :now, :now, :now
+                FROM due d
+                WHERE d.amount > 0
+                  AND NOT EXISTS (SELECT 1 FROM fines f WHERE f.loan_id = d.id AND f.loan_date = d.loan_date)
+                ON CONFLICT (loan_id, loan_date) DO NOTHING
+                RETURNING id AS fine_id, member_id, amount AS delta, 'FINE_ACCRUED' AS entry_type
+            ),
+            changes AS (
+                SELECT * FROM updated UNION ALL SELECT * FROM inserted
+            ),
+            ledger AS (
+                INSERT INTO balance_ledger (member_id, entry_type, amount, fine_id, created_at, updated_at)
+                SELECT member_id, entry_type, delta, fine_id, :now, :now
+                FROM changes
+            ),
+            balance_delta AS (
+                SELECT member_id, SUM(delta) AS delta
+                FROM changes
+                GROUP BY member_id
+            )
+            UPDATE members m
+            SET balance = m.balance + b.delta, updated_at = :now
+            FROM balance_delta b
+            WHERE m.id = b.member_id
+            """, nativeQuery = true)
+    int recalculateFines(@Param("fromId") long fromId, @Param("toId") long toId,
+                         @Param("membershipTypeId") Long membershipTypeId, @Param("now") LocalDateTime now,
+                         @Param("accrueActive") boolean accrueActive);
+
+    @Query("SELECT COALESCE(SUM(f.amount), 0) FROM Fine f WHERE f.member.id = :memberId AND f.status = 'UNPAID' AND f.loan.id <> :loanId")
+    BigDecimal sumUnpaidAmountByMemberIdExcludingLoan(@Param("memberId") Long memberId, @Param("loanId") Long loanId);
 }
@@ -0,0 +1,33 @@
+package com.library.management.repository;
+
+import com.library.management.entity.HourlyCirculation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HourlyCirculationRepository extends JpaRepository<HourlyCirculation, HourlyCirculation.Key> {
+
+    List<HourlyCirculation> findByActivityDayBetween(LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM HourlyCirculation h WHERE h.activityDay BETWEEN :from AND :to")
+    int deleteDays(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Returns are looked up through idx_loans_return_date; borrows only scan the matching partitions
+    @Modifying
+    @Query(value = "INSERT INTO hourly_circulation (activity_day, activity_hour, borrow_count, return_count) " +
+            "SELECT e.activity_day, e.activity_hour, SUM(e.borrowed), SUM(e.returned) FROM (" +
+            "SELECT CAST(loan_date AS DATE) AS activity_day, EXTRACT(HOUR FROM loan_date) AS activity_hour, " +
+            "1 AS borrowed, 0 AS returned FROM loans WHERE loan_date >= :from AND loan_date < :to " +
+            "UNION ALL SELECT CAST(return_date AS DATE), EXTRACT(HOUR FROM return_date), 0, 1 FROM loans " +
+            "WHERE return_date >= :from AND return_date < :to) e " +
+            "GROUP BY e.activity_day, e.activity_hour", nativeQuery = true)
+    int insertFromLoans(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,40 @@
+package com.library.management.repository;
+
+import com.library.management.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Takes the lease if nobody holds it, it has expired, or this owner already holds it;
+    // returns 1 when the lease is now ours
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO job_locks (job_name, owner, locked_until)
+            VALUES (:jobName, :owner, LOCALTIMESTAMP + :leaseSeconds * INTERVAL '1 second')
+            ON CONFLICT (job_name) DO UPDATE
+            SET owner = EXCLUDED.owner, locked_until = EXCLUDED.locked_until
+            WHERE job_locks.locked_until < LOCALTIMESTAMP OR job_locks.owner = EXCLUDED.owner
+            """, nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE job_locks SET locked_until = LOCALTIMESTAMP + :leaseSeconds * INTERVAL '1 second'
+            WHERE job_name = :jobName AND owner = :owner
+            """, nativeQuery = true)
+    int renew(@Param("jobName") String jobName, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE job_locks SET locked_until = LOCALTIMESTAMP WHERE job_name = :jobName AND owner = :owner",
+            nativeQuery = true)
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
@@ -0,0 +1,16 @@
+package com.library.management.repository;
+
+import com.library.management.entity.JobRunPartition;
+import com.library.management.entity.JobRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobRunPartitionRepository extends JpaRepository<JobRunPartition, Long> {
+
+    List<JobRunPartition> findByJobRunIdOrderByPartitionNo(Long jobRunId);
+
+    List<JobRunPartition> findByJobRunIdAndStatusNotOrderByPartitionNo(Long jobRunId, JobRunStatus status);
+}
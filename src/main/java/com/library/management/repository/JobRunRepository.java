@@ -0,0 +1,21 @@
+package com.library.management.repository;
+
+import com.library.management.entity.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Optional<JobRun> findFirstByJobNameOrderByIdDesc(String jobName);
+
+    List<JobRun> findByJobNameOrderByIdDesc(String jobName, Pageable pageable);
+
+    List<JobRun> findAllByOrderByIdDesc(Pageable pageable);
+
+    boolean existsByResumedFromRunId(Long runId);
+}
@@ -0,0 +1,25 @@
+package com.library.management.repository;
+
+import com.library.management.entity.LeaderboardCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LeaderboardCheckpointRepository
+        extends JpaRepository<LeaderboardCheckpoint, LeaderboardCheckpoint.Key> {
+
+    List<LeaderboardCheckpoint> findByNodeId(String nodeId);
+
+    // Rows of nodes that stopped checkpointing
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM LeaderboardCheckpoint c WHERE c.savedAt < :before")
+    int deleteSavedBefore(@Param("before") LocalDateTime before);
+}
@@ -2,45 +2,64 @@ package com.library.management.repository;
 
 import com.library.management.entity.Loan;
 import com.library.management.entity.LoanStatus;
-import com.library.management.model.CategoryReport;
-import com.library.management.model.MemberActivity;
+import com.library.management.model.DueSoonLoan;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
+    // Loans are serialized with their copy, book and member, so list endpoints fetch them in one go
+    @Override
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
+    List<Loan> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
+    Optional<Loan> findById(Long id);
+
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
     List<Loan> findByMemberId(Long memberId);
 
     List<Loan> findByStatus(LoanStatus status);
 
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
     Page<Loan> findByMemberId(Long memberId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
     Page<Loan> findByStatus(LoanStatus status, Pageable pageable);
 
-    @Query("SELECT l FROM Loan l WHERE l.status = 'ACTIVE' AND l.loanDate < :date")
-    List<Loan> findOverdueLoans(@Param("date") LocalDateTime date);
+    // Id bounds of the overdue loans, used to chunk fine accrual; served by the partial
+    // index idx_loans_overdue (due_date) WHERE status = 'ACTIVE'
+    @Query("SELECT MIN(l.id) FROM Loan l WHERE l.status = 'ACTIVE' AND l.dueDate < :now")
+    Long findMinOverdueLoanId(@Param("now") LocalDateTime now);
+
+    @Query("SELECT MAX(l.id) FROM Loan l WHERE l.status = 'ACTIVE' AND l.dueDate < :now")
+    Long findMaxOverdueLoanId(@Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"bookCopy.book.publisher", "member.membershipType"})
+    @Query("SELECT l FROM Loan l WHERE l.status = 'ACTIVE' AND l.dueDate < :now ORDER BY l.dueDate ASC")
+    Page<Loan> findOverdueLoans(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT new com.library.management.model.DueSoonLoan(l.id, l.member.id, b.id, b.title, l.dueDate) " +
+            "FROM Loan l JOIN l.bookCopy c JOIN c.book b " +
+            "WHERE l.status = 'ACTIVE' AND l.member.id IN :memberIds AND l.dueDate BETWEEN :from AND :to")
+    List<DueSoonLoan> findDueSoon(@Param("memberIds") Collection<Long> memberIds, @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 
     @Query("SELECT l FROM Loan l WHERE l.loanDate BETWEEN :startDate AND :endDate")
     List<Loan> findLoansInDateRange(@Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
     boolean existsByMemberIdAndBookCopyBookId(Long memberId, Long bookId);
-
-    @Query("SELECT new com.library.management.model.CategoryReport(c.id, c.name, COUNT(l)) " +
-            "FROM Loan l JOIN l.bookCopy bc JOIN bc.book b JOIN b.categories c " +
-            "GROUP BY c.id, c.name ORDER BY COUNT(l) DESC")
-    List<CategoryReport> findMostReadCategories(Pageable pageable);
-
-    @Query("SELECT new com.library.management.model.MemberActivity(m.id, CONCAT(m.firstName, ' ', m.lastName), m.email, COUNT(l)) " +
-            "FROM Loan l JOIN l.member m " +
-            "GROUP BY m.id, m.firstName, m.lastName, m.email ORDER BY COUNT(l) DESC")
-    List<MemberActivity> findMostActiveMembers(Pageable pageable);
 }
@@ -4,8 +4,12 @@ import com.library.management.entity.Member;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +23,16 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     Page<Member> findByLastNameContainingIgnoreCase(String lastName, Pageable pageable);
 
     Page<Member> findByEmailContainingIgnoreCase(String email, Pageable pageable);
+
+    // Only BalanceLedgerService should call this, together with a ledger entry
+    @Modifying
+    @Query("UPDATE Member m SET m.balance = m.balance + :amount WHERE m.id = :memberId")
+    int addToBalance(@Param("memberId") Long memberId, @Param("amount") BigDecimal amount);
+
+    // Replaces the hash only if it is still the one that was verified, so a password changed
+    // meanwhile is not overwritten
+    @Modifying
+    @Query("UPDATE Member m SET m.password = :newHash WHERE m.id = :memberId AND m.password = :oldHash")
+    int replacePasswordHash(@Param("memberId") Long memberId, @Param("oldHash") String oldHash,
+                            @Param("newHash") String newHash);
 }
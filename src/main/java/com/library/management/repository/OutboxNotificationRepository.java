@@ -0,0 +1,24 @@
+package com.library.management.repository;
+
+import com.library.management.entity.NotificationStatus;
+import com.library.management.entity.OutboxNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxNotificationRepository extends JpaRepository<OutboxNotification, Long> {
+
+    // Rows locked by another dispatcher are skipped, so several nodes can poll concurrently.
+    // IN_PROGRESS rows whose claim expired (dispatcher died mid-send) are picked up again.
+    @Query(value = "SELECT * FROM notification_outbox " +
+            "WHERE status IN ('PENDING', 'IN_PROGRESS') AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxNotification> lockDueBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(NotificationStatus status);
+}
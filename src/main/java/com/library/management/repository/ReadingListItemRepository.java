@@ -1,6 +1,7 @@
 package com.library.management.repository;
 
 import com.library.management.entity.ReadingListItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,6 +10,7 @@ import java.util.Optional;
 
 @Repository
 public interface ReadingListItemRepository extends JpaRepository<ReadingListItem, Long> {
+    @EntityGraph(attributePaths = {"book.publisher", "member.membershipType"})
     List<ReadingListItem> findByMemberId(Long memberId);
 
     Optional<ReadingListItem> findByMemberIdAndBookId(Long memberId, Long bookId);
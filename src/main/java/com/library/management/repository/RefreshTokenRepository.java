@@ -0,0 +1,27 @@
+package com.library.management.repository;
+
+import com.library.management.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.member WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Returns 0 when another request already used the token
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id = :id")
+    int consume(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.member.id = :memberId AND t.expiresAt < :now")
+    int deleteExpired(@Param("memberId") Long memberId, @Param("now") LocalDateTime now);
+}
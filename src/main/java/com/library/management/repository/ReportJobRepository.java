@@ -0,0 +1,14 @@
+package com.library.management.repository;
+
+import com.library.management.entity.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, Long> {
+
+    List<ReportJob> findByCreatedAtBefore(LocalDateTime cutoff);
+}
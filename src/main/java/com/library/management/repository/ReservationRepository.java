@@ -2,24 +2,149 @@ package com.library.management.repository;
 
 import com.library.management.entity.Reservation;
 import com.library.management.entity.ReservationStatus;
+import com.library.management.model.MemberReservation;
+import com.library.management.model.ReservationExpiryOutcome;
+import com.library.management.reservation.ReservationQueue;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"book.publisher", "member.membershipType"})
+    List<Reservation> findAll();
+
+    @EntityGraph(attributePaths = {"book.publisher", "member.membershipType"})
     List<Reservation> findByBookIdAndStatusOrderByCreatedAtAsc(Long bookId, ReservationStatus status);
 
     boolean existsByBookIdAndMemberIdAndStatus(Long bookId, Long memberId, ReservationStatus status);
 
-    @Query("SELECT r FROM Reservation r WHERE r.book.id = :bookId AND r.status = 'PENDING' ORDER BY r.createdAt ASC LIMIT 1")
-    Optional<Reservation> findFirstPendingReservation(@Param("bookId") Long bookId);
-
-        Optional<Reservation> findFirstByBookIdAndMemberIdAndStatusOrderByCreatedAtAsc(Long bookId, Long memberId,
+    Optional<Reservation> findFirstByBookIdAndMemberIdAndStatusOrderByCreatedAtAsc(Long bookId, Long memberId,
             ReservationStatus status);
+
+    // Rows stay locked until commit, so concurrent allocations for a book cannot hand two
+    // copies to the same reservation
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Reservation r WHERE r.book.id = :bookId AND r.status = 'PENDING' ORDER BY r.createdAt, r.id")
+    List<Reservation> lockPendingQueueHead(@Param("bookId") Long bookId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.book.id FROM Reservation r WHERE r.status = 'PENDING'")
+    List<Long> findBookIdsWithPendingReservations();
+
+    // Read in a transaction of its own, so a caller's uncommitted reservation writes never reach
+    // the cached queue; they are applied after they commit
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT new com.library.management.reservation.ReservationQueue$Entry(r.id, r.member.id) " +
+            "FROM Reservation r WHERE r.book.id = :bookId AND r.status = 'PENDING' ORDER BY r.createdAt, r.id")
+    List<ReservationQueue.Entry> findPendingQueueEntries(@Param("bookId") Long bookId);
+
+    /**
+     * Expires up to :limit READY_FOR_PICKUP reservations whose expiry_date has passed, in one
+     * statement. The copy each of them held goes to the next PENDING reservation of the book,
+     * which becomes READY_FOR_PICKUP until :pickupUntil; when a book has no one left in its
+     * queue, the copy is released to AVAILABLE instead. Reservations being picked up by a
+     * concurrent checkout are locked and skipped until the next batch.
+     * <p>
+     * Returns the expired reservations and the promoted ones, so the caller can notify members.
+     */
+    @Transactional
+    @Query(value = """
+            WITH locked AS (
+                SELECT r.id
+                FROM reservations r
+                WHERE r.status = 'READY_FOR_PICKUP'
+                  AND r.expiry_date <= CAST(:now AS timestamp)
+                ORDER BY r.expiry_date, r.id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            ),
+            expired AS (
+                UPDATE reservations r
+                SET status = 'EXPIRED', updated_at = CAST(:now AS timestamp)
+                FROM locked l
+                WHERE r.id = l.id
+                RETURNING r.id, r.book_id, r.member_id
+            ),
+            -- Copies freed per book, numbered so the n-th copy goes to the n-th in the queue
+            slots AS (
+                SELECT e.book_id, ROW_NUMBER() OVER (PARTITION BY e.book_id ORDER BY e.id) AS n
+                FROM expired e
+            ),
+            queued AS (
+                SELECT p.id, p.book_id, ROW_NUMBER() OVER (PARTITION BY p.book_id ORDER BY p.created_at, p.id) AS n
+                FROM reservations p
+                WHERE p.status = 'PENDING'
+                  AND p.book_id IN (SELECT book_id FROM slots)
+            ),
+            promoted AS (
+                UPDATE reservations r
+                SET status = 'READY_FOR_PICKUP', expiry_date = CAST(:pickupUntil AS timestamp),
+                    updated_at = CAST(:now AS timestamp)
+                FROM queued q
+                JOIN slots s ON s.book_id = q.book_id AND s.n = q.n
+                WHERE r.id = q.id
+                  AND r.status = 'PENDING'
+                RETURNING r.id, r.book_id, r.member_id, s.n
+            ),
+            releases AS (
+                SELECT s.book_id, COUNT(*) AS copies
+                FROM slots s
+                WHERE NOT EXISTS (SELECT 1 FROM promoted p WHERE p.book_id = s.book_id AND p.n = s.n)
+                GROUP BY s.book_id
+            ),
+            held AS (
+                SELECT c.id, c.book_id, ROW_NUMBER() OVER (PARTITION BY c.book_id ORDER BY c.id) AS n
+                FROM book_copies c
+                WHERE c.status = 'RESERVED'
+                  AND c.book_id IN (SELECT book_id FROM releases)
+            ),
+            released AS (
+                UPDATE book_copies c
+                SET status = 'AVAILABLE', updated_at = CAST(:now AS timestamp)
+                FROM held h
+                JOIN releases x ON x.book_id = h.book_id AND h.n <= x.copies
+                WHERE c.id = h.id
+                  AND c.status = 'RESERVED'
+                RETURNING c.id
+            )
+            SELECT e.id AS "reservationId", e.member_id AS "memberId", m.email AS "memberEmail",
+                   e.book_id AS "bookId", b.title AS "bookTitle", FALSE AS "promoted"
+            FROM expired e
+            JOIN members m ON m.id = e.member_id
+            JOIN books b ON b.id = e.book_id
+            UNION ALL
+            SELECT p.id, p.member_id, m.email, p.book_id, b.title, TRUE
+            FROM promoted p
+            JOIN members m ON m.id = p.member_id
+            JOIN books b ON b.id = p.book_id
+            """, nativeQuery = true)
+    List<ReservationExpiryOutcome> expireReadyReservations(@Param("now") LocalDateTime now,
+            @Param("pickupUntil") LocalDateTime pickupUntil, @Param("limit") int limit);
+
+    // Numbers the PENDING reservations of each book by created_at, which
+    // idx_reservations_book_status_created answers from the index alone
+    @Query("SELECT new com.library.management.model.MemberReservation(r.id, b.id, b.title, r.status, r.createdAt, " +
+            "r.expiryDate, q.position, q.queueLength) " +
+            "FROM Reservation r JOIN r.book b " +
+            "LEFT JOIN (SELECT p.id AS id, " +
+            "ROW_NUMBER() OVER (PARTITION BY p.book.id ORDER BY p.createdAt, p.id) AS position, " +
+            "COUNT(*) OVER (PARTITION BY p.book.id) AS queueLength " +
+            "FROM Reservation p WHERE p.status = 'PENDING' AND p.book.id IN " +
+            "(SELECT m.book.id FROM Reservation m WHERE m.member.id = :memberId AND m.status = 'PENDING')) q " +
+            "ON q.id = r.id " +
+            "WHERE r.member.id = :memberId ORDER BY r.createdAt DESC, r.id DESC")
+    List<MemberReservation> findMemberReservations(@Param("memberId") Long memberId);
 }
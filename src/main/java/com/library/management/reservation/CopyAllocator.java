@@ -0,0 +1,71 @@
+package com.library.management.reservation;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.BookCopy;
+import com.library.management.entity.BookCopyStatus;
+import com.library.management.entity.Reservation;
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationReadyEvent;
+import com.library.management.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hands copies that were just added or returned to the members waiting for the book, so
+ * they never reach the shelf while someone is queued. The n-th copy is held for the n-th
+ * PENDING reservation; copies beyond the queue become AVAILABLE.
+ */
+@Component
+@RequiredArgsConstructor
+public class CopyAllocator {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationQueueManager queueManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${library.reservations.pickup-window:P3D}")
+    private Duration pickupWindow = Duration.ofDays(3);
+
+    /**
+     * Sets the status of each copy and promotes the reservations they are held for to
+     * READY_FOR_PICKUP in one pass over the head of the queue. The copies are left for the
+     * caller to save. Returns the number of copies held for a reservation.
+     * <p>
+     * The queue head always comes from the database rather than ReservationQueueManager,
+     * whose queues miss reservations placed on other nodes until the next resync.
+     */
+    public int allocate(Book book, List<BookCopy> copies) {
+        List<Reservation> waiting = copies.isEmpty()
+                ? List.of()
+                : reservationRepository.lockPendingQueueHead(book.getId(), PageRequest.of(0, copies.size()));
+
+        LocalDateTime pickupUntil = LocalDateTime.now().plus(pickupWindow);
+        for (int i = 0; i < copies.size(); i++) {
+            if (i < waiting.size()) {
+                copies.get(i).setStatus(BookCopyStatus.RESERVED);
+                waiting.get(i).setStatus(ReservationStatus.READY_FOR_PICKUP);
+                waiting.get(i).setExpiryDate(pickupUntil);
+            } else {
+                copies.get(i).setStatus(BookCopyStatus.AVAILABLE);
+            }
+        }
+        if (waiting.isEmpty()) {
+            return 0;
+        }
+
+        queueManager.saveAll(waiting);
+        // Each event adds an outbox row in this transaction; the dispatcher delivers them in batches
+        for (Reservation reservation : waiting) {
+            eventPublisher.publishEvent(new ReservationReadyEvent(reservation.getId(),
+                    reservation.getMember().getId(), reservation.getMember().getEmail(), book.getTitle()));
+        }
+        return waiting.size();
+    }
+}
@@ -0,0 +1,98 @@
+package com.library.management.reservation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PENDING reservations of one book in queue order. Reservations join at the tail and may
+ * leave from anywhere, so entries keep their slot and a Fenwick tree over the slots counts
+ * the live ones: the head is found in amortized O(1) and a position in O(log n).
+ */
+public final class ReservationQueue {
+
+    public record Entry(Long reservationId, Long memberId) {
+    }
+
+    private final List<Entry> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotByReservation = new HashMap<>();
+    private final Map<Long, Integer> slotByMember = new HashMap<>();
+    private int[] tree = new int[17];
+    private int head;
+
+    ReservationQueue(List<Entry> entries) {
+        entries.forEach(this::append);
+    }
+
+    synchronized void append(Entry entry) {
+        if (slotByReservation.containsKey(entry.reservationId())) {
+            return;
+        }
+        if (slots.size() + 1 >= tree.length) {
+            compactOrGrow();
+        }
+        int slot = slots.size();
+        slots.add(entry);
+        slotByReservation.put(entry.reservationId(), slot);
+        slotByMember.putIfAbsent(entry.memberId(), slot);
+        update(slot, 1);
+    }
+
+    synchronized void remove(Long reservationId) {
+        Integer slot = slotByReservation.remove(reservationId);
+        if (slot == null) {
+            return;
+        }
+        Entry entry = slots.set(slot, null);
+        slotByMember.remove(entry.memberId(), slot);
+        update(slot, -1);
+        while (head < slots.size() && slots.get(head) == null) {
+            head++;
+        }
+    }
+
+    synchronized Entry head() {
+        return head < slots.size() ? slots.get(head) : null;
+    }
+
+    // 1-based position of the member's reservation, 0 if the member is not queued
+    synchronized int positionOf(Long memberId) {
+        Integer slot = slotByMember.get(memberId);
+        return slot == null ? 0 : prefixSum(slot);
+    }
+
+    synchronized int size() {
+        return slotByReservation.size();
+    }
+
+    synchronized boolean isEmpty() {
+        return slotByReservation.isEmpty();
+    }
+
+    private void update(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int prefixSum(int slot) {
+        int sum = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Drops removed slots, and doubles the tree when at least half of them are live
+    private void compactOrGrow() {
+        List<Entry> live = slots.stream().filter(entry -> entry != null).toList();
+        int capacity = live.size() * 2 >= tree.length - 1 ? (tree.length - 1) * 2 : tree.length - 1;
+        slots.clear();
+        slotByReservation.clear();
+        slotByMember.clear();
+        tree = new int[capacity + 1];
+        head = 0;
+        live.forEach(this::append);
+    }
+}
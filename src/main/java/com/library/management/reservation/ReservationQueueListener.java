@@ -0,0 +1,32 @@
+package com.library.management.reservation;
+
+import com.library.management.entity.Reservation;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds every reservation written through JPA into ReservationQueueManager. The manager is
+ * looked up lazily because Hibernate creates listeners while the repositories it needs are
+ * still being set up.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationQueueListener {
+
+    private final ObjectProvider<ReservationQueueManager> queueManager;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Reservation reservation) {
+        queueManager.ifAvailable(manager -> manager.onSaved(reservation));
+    }
+
+    @PostRemove
+    public void onRemoved(Reservation reservation) {
+        queueManager.ifAvailable(manager -> manager.onRemoved(reservation));
+    }
+}
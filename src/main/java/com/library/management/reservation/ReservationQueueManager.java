@@ -0,0 +1,188 @@
+package com.library.management.reservation;
+
+import com.library.management.entity.Reservation;
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationQueueChangedEvent;
+import com.library.management.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory reservation queues per book, so borrows of titles nobody is waiting for and
+ * queue position reads need no reservation query at all.
+ * <p>
+ * pendingBooks holds every book that may have PENDING reservations; a book outside it has
+ * none. Queues are loaded from the database on first use and kept current by
+ * ReservationQueueListener, which applies every committed reservation write. Because other
+ * nodes write too, loaded queues are dropped and the index refreshed periodically. Until
+ * then a reservation placed on another node is missing here, which is why CopyAllocator
+ * reads the queue head from the database rather than from this cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationQueueManager {
+
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, ReservationQueue> queues = new ConcurrentHashMap<>();
+    private final Set<Long> pendingBooks = ConcurrentHashMap.newKeySet();
+    // Bumped under the book's map entry lock by every applied write, so a queue read outside
+    // the lock is cached only if no write was applied while it was being read
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private volatile boolean indexed;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${library.reservations.queue-resync-interval-ms:300000}",
+            initialDelayString = "${library.reservations.queue-resync-interval-ms:300000}")
+    public void resync() {
+        queues.clear();
+        // Only ever grows here; books whose queue ran empty are dropped when next loaded
+        pendingBooks.addAll(reservationRepository.findBookIdsWithPendingReservations());
+        indexed = true;
+        log.debug("Indexed {} book(s) with pending reservations", pendingBooks.size());
+    }
+
+    // Member and reservation id of the first PENDING reservation, without touching the database
+    // unless the book's queue has not been loaded yet
+    public Optional<QueueHead> head(Long bookId) {
+        ReservationQueue queue = queue(bookId);
+        ReservationQueue.Entry head = queue != null ? queue.head() : null;
+        return head == null ? Optional.empty() : Optional.of(new QueueHead(head.reservationId(), head.memberId()));
+    }
+
+    // 1-based, 0 if the member has no PENDING reservation for the book
+    public int positionOf(Long bookId, Long memberId) {
+        ReservationQueue queue = queue(bookId);
+        return queue != null ? queue.positionOf(memberId) : 0;
+    }
+
+    public int queueLength(Long bookId) {
+        ReservationQueue queue = queue(bookId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    // Write-through: the reservation is saved now and enters or leaves the queue once the
+    // transaction commits
+    public Reservation save(Reservation reservation) {
+        return reservationRepository.save(reservation);
+    }
+
+    public List<Reservation> saveAll(List<Reservation> reservations) {
+        return reservationRepository.saveAll(reservations);
+    }
+
+    public void delete(Reservation reservation) {
+        reservationRepository.delete(reservation);
+    }
+
+    // Bulk JPQL updates bypass entity callbacks; callers name the books they touched
+    public void invalidate(Long bookId) {
+        afterCommit(() -> {
+            queues.compute(bookId, (id, queue) -> {
+                appliedWrites.incrementAndGet();
+                pendingBooks.add(id);
+                return null;
+            });
+            eventPublisher.publishEvent(new ReservationQueueChangedEvent(bookId));
+        });
+    }
+
+    void onSaved(Reservation reservation) {
+        Long bookId = reservation.getBook().getId();
+        Long reservationId = reservation.getId();
+        if (reservation.getStatus() == ReservationStatus.PENDING) {
+            Long memberId = reservation.getMember().getId();
+            afterCommit(() -> {
+                queues.compute(bookId, (id, queue) -> {
+                    appliedWrites.incrementAndGet();
+                    pendingBooks.add(id);
+                    if (queue != null) {
+                        queue.append(new ReservationQueue.Entry(reservationId, memberId));
+                    }
+                    return queue;
+                });
+                eventPublisher.publishEvent(new ReservationQueueChangedEvent(bookId));
+            });
+        } else {
+            onRemoved(bookId, reservationId);
+        }
+    }
+
+    void onRemoved(Reservation reservation) {
+        onRemoved(reservation.getBook().getId(), reservation.getId());
+    }
+
+    private void onRemoved(Long bookId, Long reservationId) {
+        afterCommit(() -> {
+            queues.compute(bookId, (id, queue) -> {
+                appliedWrites.incrementAndGet();
+                if (queue == null) {
+                    return null;
+                }
+                queue.remove(reservationId);
+                if (queue.isEmpty()) {
+                    pendingBooks.remove(id);
+                    return null;
+                }
+                return queue;
+            });
+            eventPublisher.publishEvent(new ReservationQueueChangedEvent(bookId));
+        });
+    }
+
+    private ReservationQueue queue(Long bookId) {
+        ReservationQueue queue = queues.get(bookId);
+        if (queue != null || (indexed && !pendingBooks.contains(bookId))) {
+            return queue;
+        }
+        // Cache miss: the committed queue is read in its own transaction without holding the
+        // map entry lock, then cached unless a write for any book was applied meanwhile
+        long writesBefore = appliedWrites.get();
+        List<ReservationQueue.Entry> entries = reservationRepository.findPendingQueueEntries(bookId);
+        ReservationQueue loaded = entries.isEmpty() ? null : new ReservationQueue(entries);
+        ReservationQueue cached = queues.compute(bookId, (id, existing) -> {
+            if (existing != null || appliedWrites.get() != writesBefore) {
+                return existing;
+            }
+            if (loaded == null) {
+                pendingBooks.remove(id);
+            } else {
+                pendingBooks.add(id);
+            }
+            return loaded;
+        });
+        return cached != null ? cached : loaded;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    public record QueueHead(Long reservationId, Long memberId) {
+    }
+}
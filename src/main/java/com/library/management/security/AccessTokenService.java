@@ -0,0 +1,153 @@
+package com.library.management.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.Member;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies HS256 JSON Web Tokens carrying the member's email, id and role, so an
+ * authenticated request is checked with one HMAC instead of a member lookup and a BCrypt match.
+ */
+@Slf4j
+@Component
+public class AccessTokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String BEARER = "Bearer ";
+    private static final String CLAIMS_ATTRIBUTE = AccessTokenService.class.getName() + ".claims";
+    private static final String HEADER = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public AccessTokenService(ObjectMapper objectMapper,
+                              @Value("${library.security.token.secret:}") String secret,
+                              @Value("${library.security.token.access-ttl:PT15M}") Duration ttl) {
+        this(objectMapper, secret, ttl, Clock.systemUTC());
+    }
+
+    AccessTokenService(ObjectMapper objectMapper, String secret, Duration ttl, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public record AccessToken(String value, Instant expiresAt) {}
+
+    public record TokenClaims(Long memberId, String email, String role) {}
+
+    public AccessToken issue(Member member) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", member.getEmail());
+        claims.put("uid", member.getId());
+        claims.put("role", member.getRole().name());
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+        try {
+            String signingInput = HEADER + "." + encode(objectMapper.writeValueAsBytes(claims));
+            return new AccessToken(signingInput + "." + encode(sign(signingInput)), expiresAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write token claims", e);
+        }
+    }
+
+    // Empty for a malformed, tampered or expired token
+    public Optional<TokenClaims> verify(String token) {
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(parts[2]);
+            if (!MessageDigest.isEqual(signature, sign(parts[0] + "." + parts[1]))) {
+                return Optional.empty();
+            }
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+            if (claims.path("exp").asLong() <= clock.instant().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(claims.path("uid").asLong(), claims.path("sub").asText(),
+                    claims.path("role").asText()));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Empty without a bearer token or with an invalid one. The outcome is kept on the request, so
+    // the rate limiter and the authentication filter check the signature once between them.
+    @SuppressWarnings("unchecked")
+    public Optional<TokenClaims> verifyBearer(HttpServletRequest request) {
+        Object verified = request.getAttribute(CLAIMS_ATTRIBUTE);
+        if (verified != null) {
+            return (Optional<TokenClaims>) verified;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<TokenClaims> claims = header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())
+                ? verify(header.substring(BEARER.length()).trim())
+                : Optional.empty();
+        request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+        return claims;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private byte[] sign(String signingInput) {
+        try {
+            // Mac instances are not thread-safe and cheap to create
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret == null || secret.isBlank()) {
+            // Tokens then only verify on this node and until it restarts
+            log.warn("library.security.token.secret is not set; using a random key for this instance");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = Base64.getDecoder().decode(secret);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("library.security.token.secret must decode to at least 256 bits");
+        }
+        return bytes;
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
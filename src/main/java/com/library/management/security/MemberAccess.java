@@ -0,0 +1,24 @@
+package com.library.management.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Owner checks for method security, e.g.
+ * {@code @PreAuthorize("hasRole('ADMIN') or @memberAccess.isSelf(#id, authentication)")}.
+ */
+@Component("memberAccess")
+public class MemberAccess {
+
+    // Bearer tokens carry the member id in their details, HTTP Basic in the principal
+    public boolean isSelf(Long memberId, Authentication authentication) {
+        if (memberId == null || authentication == null) {
+            return false;
+        }
+        if (authentication.getDetails() instanceof Long tokenMemberId) {
+            return memberId.equals(tokenMemberId);
+        }
+        return authentication.getPrincipal() instanceof MemberUserDetails user
+                && memberId.equals(user.getMemberId());
+    }
+}
@@ -0,0 +1,128 @@
+package com.library.management.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-limited cache of the UserDetails used by HTTP Basic authentication, so a
+ * request with credentials does not look the member up again. Entries are dropped when the
+ * member changes; the TTL bounds how long a change made on another node goes unseen.
+ */
+@Component
+public class MemberUserCache implements UserCache {
+
+    private final Map<String, CachedUser> users = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public MemberUserCache(MeterRegistry meterRegistry,
+                           @Value("${library.security.user-cache.ttl:PT5M}") Duration ttl,
+                           @Value("${library.security.user-cache.max-size:10000}") int maxSize) {
+        this(meterRegistry, ttl, maxSize, System::nanoTime);
+    }
+
+    MemberUserCache(MeterRegistry meterRegistry, Duration ttl, int maxSize, LongSupplier nanoClock) {
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+        this.hits = meterRegistry.counter("library.security.user_cache", "result", "hit");
+        this.misses = meterRegistry.counter("library.security.user_cache", "result", "miss");
+        meterRegistry.gaugeMapSize("library.security.user_cache.size", Tags.empty(), users);
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        CachedUser cached = users.get(username);
+        if (cached == null || cached.expiresAt - nanoClock.getAsLong() <= 0) {
+            if (cached != null) {
+                users.remove(username, cached);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // A fresh copy: authentication erases the credentials of the instance it returns
+        return copy(cached.user);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (users.size() >= maxSize && !users.containsKey(user.getUsername())) {
+            evict();
+        }
+        users.put(user.getUsername(), new CachedUser(copy(user),
+                nanoClock.getAsLong() + ttl.toNanos()));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.remove(username);
+    }
+
+    // Drops the entries now and again once the surrounding transaction commits, so a request
+    // authenticating in between cannot put the old details back
+    public void evictAfterCommit(String... usernames) {
+        for (String username : usernames) {
+            removeUserFromCache(username);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (String username : usernames) {
+                        removeUserFromCache(username);
+                    }
+                }
+            });
+        }
+    }
+
+    int size() {
+        return users.size();
+    }
+
+    // Expired entries go first; if none had expired, an arbitrary tenth of the cache makes room
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        users.values().removeIf(cached -> cached.expiresAt - now <= 0);
+        if (users.size() < maxSize) {
+            return;
+        }
+        Iterator<String> keys = users.keySet().iterator();
+        for (int i = Math.max(1, maxSize / 10); i > 0 && keys.hasNext(); i--) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    // Keeps the member id of MemberUserDetails, which User.withUserDetails would drop
+    private static UserDetails copy(UserDetails user) {
+        if (user instanceof MemberUserDetails member) {
+            return new MemberUserDetails(member.getMemberId(), member.getUsername(), member.getPassword(),
+                    member.getAuthorities());
+        }
+        return User.withUserDetails(user).build();
+    }
+
+    private record CachedUser(UserDetails user, long expiresAt) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.library.management.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * UserDetails of a member, carrying the member's id so that HTTP Basic requests can be matched
+ * to a member like bearer tokens are, without looking the member up.
+ */
+public class MemberUserDetails extends User {
+
+    private final Long memberId;
+
+    public MemberUserDetails(Long memberId, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.memberId = memberId;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.management.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on the bounded passwordHashExecutor. Callers get a
+ * future, so a request waiting for BCrypt does not hold a servlet thread; when the executor's
+ * queue is full the call fails at once with TaskRejectedException.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("library.security.password_hashing.queue", executor,
+                e -> e.getThreadPoolExecutor().getQueue().size());
+        meterRegistry.gauge("library.security.password_hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount);
+    }
+
+    // Outcome of a login check; upgradedHash is set when the stored hash used a lower cost
+    // than the configured one and has been recomputed from the now-verified password
+    public record Verification(boolean matched, String upgradedHash) {
+    }
+
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Verification> verify(CharSequence rawPassword, String encodedPassword) {
+        return submit("verify", () -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            return new Verification(true,
+                    passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try {
+                    return work.get();
+                } finally {
+                    sample.stop(meterRegistry.timer("library.security.password_hashing", "operation", operation));
+                }
+            }, executor);
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("library.security.password_hashing.rejected").increment();
+            throw e;
+        }
+    }
+}
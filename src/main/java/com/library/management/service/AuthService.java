@@ -2,42 +2,69 @@ package com.library.management.service;
 
 import com.library.management.model.AuthModel;
 import com.library.management.entity.Member;
+import com.library.management.entity.RefreshToken;
 import com.library.management.entity.Role;
 import com.library.management.entity.MembershipType;
 import com.library.management.exception.BusinessException;
 import com.library.management.repository.MemberRepository;
 import com.library.management.repository.MembershipTypeRepository;
+import com.library.management.repository.RefreshTokenRepository;
+import com.library.management.security.AccessTokenService;
+import com.library.management.security.MemberUserCache;
+import com.library.management.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final MemberRepository memberRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final MembershipTypeRepository membershipTypeRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AccessTokenService accessTokenService;
+    private final MemberUserCache memberUserCache;
+    private final TransactionOperations transactionOperations;
 
-    @Transactional
-    public AuthModel.AuthResponse register(AuthModel.RegisterRequest request) {
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${library.security.token.refresh-ttl:P14D}")
+    private Duration refreshTtl = Duration.ofDays(14);
+
+    // Hashing runs on the password executor; the member is saved once the hash is ready
+    public CompletableFuture<AuthModel.AuthResponse> register(AuthModel.RegisterRequest request) {
         // Check if email already exists
         if (memberRepository.findByEmail(request.email()).isPresent()) {
             throw new BusinessException("Email already exists");
         }
 
+        return passwordHasher.encode(request.password())
+                .thenApply(passwordHash -> transactionOperations.execute(status -> createMember(request, passwordHash)));
+    }
+
+    private AuthModel.AuthResponse createMember(AuthModel.RegisterRequest request, String passwordHash) {
         Member member = new Member();
         member.setFirstName(request.firstName());
         member.setLastName(request.lastName());
         member.setEmail(request.email());
         member.setPhone(request.phone());
-        member.setPassword(passwordEncoder.encode(request.password()));
+        member.setPassword(passwordHash);
         member.setRole(request.email().contains("admin") ? Role.ADMIN : Role.USER);
         member.setBalance(java.math.BigDecimal.ZERO);
         member.setCreatedAt(LocalDateTime.now());
@@ -52,8 +79,7 @@ public class AuthService {
 
         try {
             Member savedMember = memberRepository.save(member);
-            String token = generateBasicToken(request.email(), request.password());
-            return new AuthModel.AuthResponse(savedMember.getId(), savedMember.getEmail(), savedMember.getRole().name(), token);
+            return issueTokens(savedMember);
         } catch (Exception e) {
             // Log the actual error for debugging
             System.err.println("Registration error: " + e.getMessage());
@@ -62,21 +88,73 @@ public class AuthService {
         }
     }
 
-    @Transactional(readOnly = true)
-    public AuthModel.AuthResponse login(AuthModel.LoginRequest request) {
+    // A hash made with a lower cost than configured is replaced using the verified password
+    public CompletableFuture<AuthModel.AuthResponse> login(AuthModel.LoginRequest request) {
         Member member = memberRepository.findByEmail(request.email())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password"));
 
-        if (!passwordEncoder.matches(request.password(), member.getPassword())) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+        return passwordHasher.verify(request.password(), member.getPassword())
+                .thenApply(verification -> {
+                    if (!verification.matched()) {
+                        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid email or password");
+                    }
+                    return transactionOperations.execute(status -> {
+                        if (verification.upgradedHash() != null) {
+                            memberRepository.replacePasswordHash(member.getId(), member.getPassword(),
+                                    verification.upgradedHash());
+                            memberUserCache.evictAfterCommit(member.getEmail());
+                        }
+                        return issueTokens(member);
+                    });
+                });
+    }
+
+    // Exchanges a refresh token for a new access and refresh token; the old one stops working
+    @Transactional
+    public AuthModel.AuthResponse refresh(AuthModel.RefreshRequest request) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(request.refreshToken()))
+                .filter(token -> token.getExpiresAt().isAfter(LocalDateTime.now()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token"));
+
+        // Two requests racing with the same token: only the one that deletes it gets new tokens
+        if (refreshTokenRepository.consume(refreshToken.getId()) == 0) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
         }
+        return issueTokens(refreshToken.getMember());
+    }
 
-        String token = generateBasicToken(request.email(), request.password());
-        return new AuthModel.AuthResponse(member.getId(), member.getEmail(), member.getRole().name(), token);
+    @Transactional
+    public void logout(AuthModel.RefreshRequest request) {
+        refreshTokenRepository.findByTokenHash(hash(request.refreshToken()))
+                .ifPresent(token -> refreshTokenRepository.consume(token.getId()));
     }
 
-    private String generateBasicToken(String email, String password) {
-        String auth = email + ":" + password;
-        return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes());
+    private AuthModel.AuthResponse issueTokens(Member member) {
+        AccessTokenService.AccessToken accessToken = accessTokenService.issue(member);
+
+        byte[] secret = new byte[32];
+        secureRandom.nextBytes(secret);
+        String refreshValue = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpired(member.getId(), now);
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setMember(member);
+        refreshToken.setTokenHash(hash(refreshValue));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(refreshTtl));
+        refreshTokenRepository.save(refreshToken);
+
+        return new AuthModel.AuthResponse(member.getId(), member.getEmail(), member.getRole().name(),
+                "Bearer " + accessToken.value(), refreshValue, accessTokenService.getTtl().toSeconds());
+    }
+
+    private static String hash(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
     }
 }
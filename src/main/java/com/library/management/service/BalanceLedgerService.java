@@ -0,0 +1,16 @@
+package com.library.management.service;
+
+import com.library.management.entity.BalanceLedgerEntry;
+import com.library.management.entity.LedgerEntryType;
+import com.library.management.model.BalanceVerification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface BalanceLedgerService {
+    void record(Long memberId, LedgerEntryType entryType, BigDecimal amount, Long fineId);
+
+    List<BalanceLedgerEntry> getEntries(Long memberId);
+
+    BalanceVerification verify(Long memberId);
+}
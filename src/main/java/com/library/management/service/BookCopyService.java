@@ -6,6 +6,8 @@ import java.util.List;
 public interface BookCopyService {
     void addCopy(Long bookId, String barcode);
 
+    List<BookCopy> addCopies(Long bookId, List<String> barcodes);
+
     void removeCopy(Long copyId);
 
     List<BookCopy> getCopiesByBookId(Long bookId);
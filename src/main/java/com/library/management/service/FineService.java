@@ -2,15 +2,34 @@ package com.library.management.service;
 
 import com.library.management.entity.Fine;
 import com.library.management.entity.Loan;
+import com.library.management.model.KeyRange;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface FineService {
-    void calculateOverdueFines();
+    Optional<KeyRange> findOverdueLoanIdRange(LocalDateTime asOf);
+
+    int accrueOverdueFines(long fromLoanId, long toLoanId, LocalDateTime asOf);
+
+    int recalculateOpenFines(Long membershipTypeId);
 
     void createOrUpdateFine(Loan loan);
 
+    void finalizeFine(Long loanId);
+
+    BigDecimal calculateFineAmount(Loan loan, LocalDateTime asOf);
+
+    boolean hasAccruingFines(List<Loan> activeLoans);
+
+    void applyFineAmounts(List<Loan> loans);
+
     void payFine(Long fineId);
 
+    void payLoanFine(Long loanId);
+
     List<Fine> getFinesByMember(Long memberId);
 
     List<Fine> getAllFines();
@@ -0,0 +1,40 @@
+package com.library.management.service;
+
+import com.library.management.entity.JobRun;
+import com.library.management.entity.JobRunPartition;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.model.JobRunSummary;
+import com.library.management.model.KeyRange;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface JobRunService {
+    boolean acquireLock(String jobName, String owner, Duration lease);
+
+    boolean renewLock(String jobName, String owner, Duration lease);
+
+    void releaseLock(String jobName, String owner);
+
+    Optional<JobRun> findInterruptedRun(String jobName);
+
+    JobRun startRun(String jobName, String nodeId, LocalDateTime asOf, List<KeyRange> ranges);
+
+    JobRun resumeRun(JobRun interrupted, String nodeId);
+
+    void abandonRun(Long runId, String reason);
+
+    List<JobRunPartition> getPartitions(Long runId);
+
+    void checkpoint(Long partitionId, long lastKey, int itemsProcessed);
+
+    void finishPartition(Long partitionId, JobRunStatus status);
+
+    JobRun finishRun(Long runId, String error);
+
+    JobRun finishRun(Long runId, long itemsProcessed, String error);
+
+    List<JobRunSummary> getRecentRuns(String jobName, int limit);
+}
@@ -1,6 +1,9 @@
 package com.library.management.service;
 
 import com.library.management.entity.Loan;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 
 public interface LoanService {
@@ -11,4 +14,6 @@ public interface LoanService {
     List<Loan> getAllLoans();
 
     List<Loan> getLoansByMember(Long memberId);
+
+    Page<Loan> getOverdueLoans(Pageable pageable);
 }
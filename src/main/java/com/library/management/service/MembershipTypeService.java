@@ -1,12 +1,13 @@
 package com.library.management.service;
 
 import com.library.management.entity.MembershipType;
+import com.library.management.model.MembershipTypeUpdateRequest;
 import java.util.List;
 
 public interface MembershipTypeService {
     MembershipType createMembershipType(MembershipType membershipType);
 
-    MembershipType updateMembershipType(Long id, MembershipType membershipType);
+    MembershipType updateMembershipType(Long id, MembershipTypeUpdateRequest request);
 
     void deleteMembershipType(Long id);
 
@@ -0,0 +1,16 @@
+package com.library.management.service;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.OutboxNotification;
+
+import java.util.List;
+
+public interface NotificationOutboxService {
+    OutboxNotification enqueue(NotificationChannelType channel, String recipient, String subject, String body);
+
+    List<OutboxNotification> claimDue(int limit);
+
+    void markSent(Long notificationId);
+
+    void markFailed(Long notificationId, String error);
+}
@@ -2,4 +2,6 @@ package com.library.management.service;
 
 public interface NotificationService {
     void notifyReservationReady(String email, String bookTitle);
+
+    void notifyReservationExpired(String email, String bookTitle);
 }
@@ -0,0 +1,19 @@
+package com.library.management.service;
+
+import com.library.management.entity.ReportJob;
+import com.library.management.model.ReportJobRequest;
+
+import java.nio.file.Path;
+
+public interface ReportExportService {
+    // Queues the export on the report executor and returns right away
+    ReportJob startJob(ReportJobRequest request, String requestedBy);
+
+    ReportJob getJob(Long id);
+
+    // The finished file; fails while the job is still running or if it failed
+    Path getResultFile(Long id);
+
+    // Deletes jobs older than the retention, and their files if they are on this node
+    int purgeExpired();
+}
@@ -1,15 +1,40 @@
 package com.library.management.service;
 
+import com.library.management.analytics.LeaderboardDimension;
+import com.library.management.analytics.LeaderboardWindow;
+import com.library.management.entity.SketchScope;
+import com.library.management.model.BookLoanReport;
 import com.library.management.model.BookStatusReport;
 import com.library.management.model.CategoryReport;
+import com.library.management.model.CirculationHeatmap;
+import com.library.management.model.LiveRanking;
 import com.library.management.model.MemberActivity;
+import com.library.management.model.UniqueBorrowerReport;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 public interface ReportingService {
-    List<CategoryReport> getMostReadCategories(int limit);
+    // Windows are inclusive days; a missing bound defaults to the last library.reporting.default-window-days
+    List<CategoryReport> getMostReadCategories(int limit, LocalDate from, LocalDate to);
 
-    List<MemberActivity> getMostActiveMembers(int limit);
+    List<MemberActivity> getMostActiveMembers(int limit, LocalDate from, LocalDate to);
+
+    List<BookLoanReport> getMostBorrowedBooks(int limit, LocalDate from, LocalDate to);
 
     List<BookStatusReport> getBookStatusDistribution();
+
+    // Borrows and returns by weekday and hour in the library's time zone, from the hourly rollups
+    CirculationHeatmap getCirculationHeatmap(LocalDate from, LocalDate to);
+
+    // Approximate leaderboard over a sliding window, counted in memory from borrow events
+    List<LiveRanking> getLiveRanking(LeaderboardDimension dimension, LeaderboardWindow window, int limit);
+
+    // Approximate distinct borrowers of the given books or categories over whole months; missing
+    // bounds default to the twelve months up to the current one
+    UniqueBorrowerReport getUniqueBorrowers(SketchScope scope, List<Long> ids, YearMonth from, YearMonth to);
+
+    // Recomputes the daily loan rollups of the given days from loans; returns the rows written
+    long refreshLoanRollups(LocalDate from, LocalDate to);
 }
@@ -1,6 +1,9 @@
 package com.library.management.service;
 
 import com.library.management.entity.Reservation;
+import com.library.management.model.MemberReservation;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ReservationService {
@@ -15,4 +18,8 @@ public interface ReservationService {
     void checkAndNotifyNextReservation(Long bookId);
 
     int getQueuePosition(Long bookId, Long memberId);
+
+    List<MemberReservation> getReservationsForMember(Long memberId);
+
+    int expireReadyReservations(LocalDateTime now, int batchSize);
 }
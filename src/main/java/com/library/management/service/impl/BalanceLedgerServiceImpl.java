@@ -0,0 +1,62 @@
+package com.library.management.service.impl;
+
+import com.library.management.entity.BalanceLedgerEntry;
+import com.library.management.entity.LedgerEntryType;
+import com.library.management.entity.Member;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.BalanceVerification;
+import com.library.management.repository.BalanceLedgerRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.service.BalanceLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class BalanceLedgerServiceImpl implements BalanceLedgerService {
+
+    private final BalanceLedgerRepository ledgerRepository;
+    private final MemberRepository memberRepository;
+
+    // The entry and the increment commit together; the increment is a single UPDATE, so
+    // concurrent fines and payments for the same member serialize on the row lock instead
+    // of overwriting each other.
+    @Override
+    public void record(Long memberId, LedgerEntryType entryType, BigDecimal amount, Long fineId) {
+        if (amount.signum() == 0) {
+            return;
+        }
+
+        BalanceLedgerEntry entry = new BalanceLedgerEntry();
+        entry.setMember(memberRepository.getReferenceById(memberId));
+        entry.setEntryType(entryType);
+        entry.setAmount(amount);
+        entry.setFineId(fineId);
+        ledgerRepository.save(entry);
+
+        if (memberRepository.addToBalance(memberId, amount) == 0) {
+            throw new ResourceNotFoundException("Member not found");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BalanceLedgerEntry> getEntries(Long memberId) {
+        return ledgerRepository.findByMemberIdOrderByIdAsc(memberId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceVerification verify(Long memberId) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
+        BigDecimal ledgerBalance = ledgerRepository.sumAmountByMemberId(memberId);
+        return new BalanceVerification(memberId, member.getBalance(), ledgerBalance,
+                member.getBalance().compareTo(ledgerBalance) == 0);
+    }
+}
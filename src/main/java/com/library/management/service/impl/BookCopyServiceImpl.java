@@ -7,11 +7,13 @@ import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.BookCopyRepository;
 import com.library.management.repository.BookRepository;
+import com.library.management.reservation.CopyAllocator;
 import com.library.management.service.BookCopyService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +24,7 @@ public class BookCopyServiceImpl implements BookCopyService {
 
     private final BookCopyRepository bookCopyRepository;
     private final BookRepository bookRepository;
+    private final CopyAllocator copyAllocator;
 
     @Override
     public void addCopy(Long bookId, String barcode) {
@@ -29,21 +32,43 @@ public class BookCopyServiceImpl implements BookCopyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
 
         if (barcode == null || barcode.trim().isEmpty()) {
-            barcode = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+            barcode = generateBarcode();
         }
 
         if (bookCopyRepository.findByBarcode(barcode).isPresent()) {
             throw new BusinessException("Barcode already exists");
         }
 
-        BookCopy copy = new BookCopy();
-        copy.setBook(book);
-        copy.setBarcode(barcode);
-        copy.setStatus(BookCopyStatus.AVAILABLE);
-
+        BookCopy copy = newCopy(book, barcode);
+        copyAllocator.allocate(book, List.of(copy));
         bookCopyRepository.save(copy);
     }
 
+    @Override
+    public List<BookCopy> addCopies(Long bookId, List<String> barcodes) {
+        Book book = bookRepository.findById(bookId)
+                .orElseThrow(() -> new ResourceNotFoundException("Book not found"));
+        if (barcodes == null || barcodes.isEmpty()) {
+            throw new BusinessException("At least one copy is required");
+        }
+
+        List<String> resolved = barcodes.stream()
+                .map(barcode -> barcode == null || barcode.trim().isEmpty() ? generateBarcode() : barcode)
+                .toList();
+        if (new HashSet<>(resolved).size() < resolved.size()) {
+            throw new BusinessException("Duplicate barcodes in request");
+        }
+        List<String> existing = bookCopyRepository.findExistingBarcodes(resolved);
+        if (!existing.isEmpty()) {
+            throw new BusinessException("Barcode already exists: " + String.join(", ", existing));
+        }
+
+        // Copies go straight to the members waiting for the book, the rest to the shelf
+        List<BookCopy> copies = resolved.stream().map(barcode -> newCopy(book, barcode)).toList();
+        copyAllocator.allocate(book, copies);
+        return bookCopyRepository.saveAll(copies);
+    }
+
     @Override
     public void removeCopy(Long copyId) {
         BookCopy copy = bookCopyRepository.findById(copyId)
@@ -59,4 +84,16 @@ public class BookCopyServiceImpl implements BookCopyService {
     public List<BookCopy> getCopiesByBookId(Long bookId) {
         return bookCopyRepository.findByBookId(bookId);
     }
+
+    private static BookCopy newCopy(Book book, String barcode) {
+        BookCopy copy = new BookCopy();
+        copy.setBook(book);
+        copy.setBarcode(barcode);
+        copy.setStatus(BookCopyStatus.AVAILABLE);
+        return copy;
+    }
+
+    private static String generateBarcode() {
+        return UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
 }
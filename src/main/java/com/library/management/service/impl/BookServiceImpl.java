@@ -12,6 +12,7 @@ import com.library.management.repository.CategoryRepository;
 import com.library.management.repository.PublisherRepository;
 import com.library.management.service.BookService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -63,6 +64,7 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Book getBookById(Long id) {
         return bookRepository.findById(id)
+                .map(this::withDetails)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
     }
 
@@ -70,6 +72,7 @@ public class BookServiceImpl implements BookService {
     @Transactional(readOnly = true)
     public Book getBookByIsbn(String isbn) {
         return bookRepository.findByIsbn(isbn)
+                .map(this::withDetails)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with ISBN: " + isbn));
     }
 
@@ -83,32 +86,32 @@ public class BookServiceImpl implements BookService {
         boolean hasIsbn = isbn != null && !isbn.isBlank();
 
         if (categoryId != null && hasSearch) {
-            return bookRepository.searchBooksByCategory(categoryId, search, pageable);
+            return withDetails(bookRepository.searchBooksByCategory(categoryId, search, pageable));
         }
 
         if (categoryId != null) {
-            return bookRepository.findByCategoriesId(categoryId, pageable);
+            return withDetails(bookRepository.findByCategoriesId(categoryId, pageable));
         }
 
         if (hasSearch) {
-            return bookRepository.searchBooks(search, pageable);
+            return withDetails(bookRepository.searchBooks(search, pageable));
         }
 
         if (hasTitle) {
-            return bookRepository.findByTitleContainingIgnoreCase(title, pageable);
+            return withDetails(bookRepository.findByTitleContainingIgnoreCase(title, pageable));
         }
 
         if (hasAuthor) {
-            return bookRepository.findByAuthorContainingIgnoreCase(author, pageable);
+            return withDetails(bookRepository.findByAuthorContainingIgnoreCase(author, pageable));
         }
 
         if (hasIsbn) {
                 return bookRepository.findByIsbn(isbn)
-                    .map(book -> new PageImpl<>(List.of(book), pageable, 1))
+                    .map(book -> withDetails(new PageImpl<>(List.of(book), pageable, 1)))
                     .orElseGet(() -> new PageImpl<>(List.of(), pageable, 0));
         }
 
-        return bookRepository.findAll(pageable);
+        return withDetails(bookRepository.findAll(pageable));
     }
 
     @Override
@@ -142,7 +145,7 @@ public class BookServiceImpl implements BookService {
             existingBook.setCategories(categories);
         }
 
-        return bookRepository.save(existingBook);
+        return withDetails(bookRepository.save(existingBook));
     }
 
     @Override
@@ -152,4 +155,17 @@ public class BookServiceImpl implements BookService {
         }
         bookRepository.deleteById(id);
     }
+
+    // Open-session-in-view is off, so collections rendered in the response must be loaded here.
+    // With batch fetching this costs one query per collection for the whole page.
+    private Book withDetails(Book book) {
+        Hibernate.initialize(book.getCopies());
+        Hibernate.initialize(book.getCategories());
+        return book;
+    }
+
+    private Page<Book> withDetails(Page<Book> books) {
+        books.forEach(this::withDetails);
+        return books;
+    }
 }
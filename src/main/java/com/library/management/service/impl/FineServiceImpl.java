@@ -1,54 +1,82 @@
 package com.library.management.service.impl;
 
 import com.library.management.entity.*;
+import com.library.management.event.FinePaidEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.FinePolicy;
+import com.library.management.model.KeyRange;
 import com.library.management.repository.FineRepository;
 import com.library.management.repository.LoanRepository;
-import com.library.management.repository.MemberRepository;
+import com.library.management.service.BalanceLedgerService;
 import com.library.management.service.FineService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class FineServiceImpl implements FineService {
 
     private final FineRepository fineRepository;
     private final LoanRepository loanRepository;
-    private final MemberRepository memberRepository;
+    private final BalanceLedgerService ledgerService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private static final BigDecimal FINE_PER_DAY = new BigDecimal("1.00");
+    private static final int FINE_LOOKUP_CHUNK = 1000;
 
     @Override
-    public void calculateOverdueFines() {
-        List<Loan> activeLoans = loanRepository.findByStatus(LoanStatus.ACTIVE);
-        LocalDateTime now = LocalDateTime.now();
-
-        for (Loan loan : activeLoans) {
-            if (now.isAfter(loan.getDueDate())) {
-                createOrUpdateFine(loan);
-            }
+    @Transactional(readOnly = true)
+    public Optional<KeyRange> findOverdueLoanIdRange(LocalDateTime asOf) {
+        Long minId = loanRepository.findMinOverdueLoanId(asOf);
+        Long maxId = loanRepository.findMaxOverdueLoanId(asOf);
+        if (minId == null || maxId == null) {
+            return Optional.empty();
         }
+        return Optional.of(new KeyRange(minId, maxId));
+    }
+
+    // One set-based statement per id range; FineAccrualJob calls it chunk by chunk so row
+    // locks on fines and members are held only for the loans of one range at a time. Chunks
+    // run in parallel, so the members are locked first: a chunk sharing a member waits for
+    // the other's fines before it shares out the member cap.
+    // Returns the number of member balances updated.
+    @Override
+    public int accrueOverdueFines(long fromLoanId, long toLoanId, LocalDateTime asOf) {
+        fineRepository.lockMembersWithActiveLoans(fromLoanId, toLoanId, null);
+        return fineRepository.recalculateFines(fromLoanId, toLoanId, null, asOf, true);
+    }
+
+    // Runs in the caller's transaction, so the unpaid fines of active loans change together
+    // with the policy. Fines finalized on return keep the amount they were finalized at, and
+    // fines still computed on read need nothing.
+    @Override
+    public int recalculateOpenFines(Long membershipTypeId) {
+        fineRepository.lockMembersWithActiveLoans(0, Long.MAX_VALUE, membershipTypeId);
+        return fineRepository.recalculateFines(0, Long.MAX_VALUE, membershipTypeId, LocalDateTime.now(), false);
     }
 
     @Override
     public void createOrUpdateFine(Loan loan) {
         LocalDateTime now = LocalDateTime.now();
-        // If returned, calculate until returnDate, else until now
-        LocalDateTime endDate = (loan.getReturnDate() != null) ? loan.getReturnDate() : now;
+        BigDecimal fineAmount = memberCappedFineAmount(loan, now);
 
-        long overdueDays = ChronoUnit.DAYS.between(loan.getDueDate(), endDate);
-
-        if (overdueDays > 0) {
-            BigDecimal fineAmount = FINE_PER_DAY.multiply(BigDecimal.valueOf(overdueDays));
+        if (fineAmount.signum() > 0) {
 
             Fine fine = fineRepository.findByLoanId(loan.getId())
                     .orElse(new Fine());
@@ -67,21 +95,91 @@ public class FineServiceImpl implements FineService {
             // clears it.
             // If status is UNPAID, we update the amount.
             if (fine.getStatus() == FineStatus.UNPAID) {
-                // Update Member Balance
-                // Logic: Remove old fine amount from balance, add new fine amount.
-                BigDecimal oldAmount = (fine.getAmount() != null) ? fine.getAmount() : BigDecimal.ZERO;
-                Member member = loan.getMember();
-
-                member.setBalance(member.getBalance().subtract(oldAmount).add(fineAmount));
-                memberRepository.save(member);
+                // The balance moves by the difference between the new and the recorded amount
+                boolean isNew = fine.getAmount() == null;
+                BigDecimal oldAmount = isNew ? BigDecimal.ZERO : fine.getAmount();
 
                 fine.setAmount(fineAmount);
                 fine.setLastUpdated(now);
                 fineRepository.save(fine);
+
+                ledgerService.record(loan.getMember().getId(),
+                        isNew ? LedgerEntryType.FINE_ACCRUED : LedgerEntryType.FINE_ADJUSTED,
+                        fineAmount.subtract(oldAmount), fine.getId());
+            }
+        }
+    }
+
+    // If returned, the fine runs until returnDate, else until asOf, priced by the member's
+    // policy without the member cap. FineRepository.recalculateFines is the SQL form of the
+    // same rule and has to change with it.
+    @Override
+    public BigDecimal calculateFineAmount(Loan loan, LocalDateTime asOf) {
+        LocalDateTime endDate = (loan.getReturnDate() != null) ? loan.getReturnDate() : asOf;
+        long overdueDays = ChronoUnit.DAYS.between(loan.getDueDate(), endDate);
+        return FinePolicy.of(loan.getMember()).amountFor(overdueDays);
+    }
+
+    private BigDecimal memberCappedFineAmount(Loan loan, LocalDateTime asOf) {
+        BigDecimal amount = calculateFineAmount(loan, asOf);
+        FinePolicy policy = FinePolicy.of(loan.getMember());
+        if (policy.maxPerMember() == null || amount.signum() == 0) {
+            return amount;
+        }
+        return policy.capForMember(amount,
+                fineRepository.sumUnpaidAmountByMemberIdExcludingLoan(loan.getMember().getId(), loan.getId()));
+    }
+
+    // Materialized fines are already in Member.balance; this only covers fines still
+    // accruing on active loans and needs no query unless one of them is overdue.
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasAccruingFines(List<Loan> activeLoans) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> overdueLoanIds = activeLoans.stream()
+                .filter(loan -> calculateFineAmount(loan, now).signum() > 0)
+                .map(Loan::getId)
+                .toList();
+        if (overdueLoanIds.isEmpty()) {
+            return false;
+        }
+        // A fine paid while the loan is still out stops accruing
+        return fineRepository.countByLoanIdInAndStatus(overdueLoanIds, FineStatus.PAID) < overdueLoanIds.size();
+    }
+
+    // One query per chunk of loans. The member cap only bounds each loan here; the share-out
+    // across loans happens when fines are listed or materialized.
+    @Override
+    @Transactional(readOnly = true)
+    public void applyFineAmounts(List<Loan> loans) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Fine> finesByLoan = new HashMap<>();
+        List<Long> loanIds = loans.stream().map(Loan::getId).toList();
+        for (int from = 0; from < loanIds.size(); from += FINE_LOOKUP_CHUNK) {
+            List<Long> chunk = loanIds.subList(from, Math.min(from + FINE_LOOKUP_CHUNK, loanIds.size()));
+            fineRepository.findByLoanIdIn(chunk).forEach(fine -> finesByLoan.put(fine.getLoan().getId(), fine));
+        }
+
+        for (Loan loan : loans) {
+            Fine fine = finesByLoan.get(loan.getId());
+            if (loan.getStatus() == LoanStatus.ACTIVE && (fine == null || fine.getStatus() != FineStatus.PAID)) {
+                loan.setFineAmount(FinePolicy.of(loan.getMember())
+                        .capForMember(calculateFineAmount(loan, now), BigDecimal.ZERO));
+            } else if (fine != null && fine.getStatus() == FineStatus.UNPAID) {
+                loan.setFineAmount(fine.getAmount());
+            } else {
+                loan.setFineAmount(BigDecimal.ZERO);
             }
         }
     }
 
+    @Override
+    public void finalizeFine(Long loanId) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new ResourceNotFoundException("Loan not found"));
+        createOrUpdateFine(loan);
+    }
+
     @Override
     public void payFine(Long fineId) {
         Fine fine = fineRepository.findById(fineId)
@@ -91,24 +189,94 @@ public class FineServiceImpl implements FineService {
             throw new BusinessException("Fine is already paid");
         }
 
-        Member member = fine.getMember();
-        member.setBalance(member.getBalance().subtract(fine.getAmount()));
-        memberRepository.save(member);
+        Long memberId = fine.getMember().getId();
+
+        // A fine on an active loan has been accruing since it was materialized; the payment
+        // settles it at today's amount
+        if (fine.getLoan().getStatus() == LoanStatus.ACTIVE) {
+            BigDecimal accrued = memberCappedFineAmount(fine.getLoan(), LocalDateTime.now());
+            if (accrued.compareTo(fine.getAmount()) > 0) {
+                ledgerService.record(memberId, LedgerEntryType.FINE_ADJUSTED, accrued.subtract(fine.getAmount()), fine.getId());
+                fine.setAmount(accrued);
+            }
+        }
 
         fine.setStatus(FineStatus.PAID);
         fine.setLastUpdated(LocalDateTime.now());
         fineRepository.save(fine);
+        ledgerService.record(memberId, LedgerEntryType.PAYMENT, fine.getAmount().negate(), fine.getId());
+
+        eventPublisher.publishEvent(new FinePaidEvent(fine.getId(), memberId, fine.getAmount()));
+    }
+
+    // Accrual stops once the fine is paid, as it always has for paid fines
+    @Override
+    public void payLoanFine(Long loanId) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new ResourceNotFoundException("Loan not found"));
+        createOrUpdateFine(loan);
+
+        Fine fine = fineRepository.findByLoanId(loanId)
+                .orElseThrow(() -> new BusinessException("Loan has no fine to pay"));
+        payFine(fine.getId());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Fine> getFinesByMember(Long memberId) {
-        return fineRepository.findByMemberId(memberId);
+        List<Loan> activeLoans = loanRepository.findByMemberId(memberId).stream()
+                .filter(loan -> loan.getStatus() == LoanStatus.ACTIVE)
+                .toList();
+        return withAccruedFines(fineRepository.findByMemberId(memberId), activeLoans);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Fine> getAllFines() {
-        return fineRepository.findAll();
+        List<Loan> overdueLoans = loanRepository.findOverdueLoans(LocalDateTime.now(), Pageable.unpaged()).getContent();
+        return withAccruedFines(fineRepository.findAll(), overdueLoans);
+    }
+
+    // Unpaid fines of active loans are computed at read time rather than kept current by
+    // the nightly job. The accrued fines returned here are not persisted; they only carry
+    // the id of the materialized fine when one exists. Member caps are shared out in loan
+    // id order, as FineRepository.recalculateFines does.
+    private List<Fine> withAccruedFines(List<Fine> materialized, List<Loan> activeLoans) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Fine> finesByLoan = new HashMap<>();
+        Map<Long, BigDecimal> unpaidByMember = new HashMap<>();
+        List<Fine> fines = new ArrayList<>();
+        for (Fine fine : materialized) {
+            finesByLoan.put(fine.getLoan().getId(), fine);
+            if (fine.getStatus() == FineStatus.PAID || fine.getLoan().getStatus() != LoanStatus.ACTIVE) {
+                fines.add(fine);
+                if (fine.getStatus() == FineStatus.UNPAID) {
+                    unpaidByMember.merge(fine.getMember().getId(), fine.getAmount(), BigDecimal::add);
+                }
+            }
+        }
+
+        List<Loan> loansInIdOrder = activeLoans.stream().sorted(Comparator.comparing(Loan::getId)).toList();
+        for (Loan loan : loansInIdOrder) {
+            Fine existing = finesByLoan.get(loan.getId());
+            Long memberId = loan.getMember().getId();
+            BigDecimal amount = FinePolicy.of(loan.getMember()).capForMember(calculateFineAmount(loan, now),
+                    unpaidByMember.getOrDefault(memberId, BigDecimal.ZERO));
+            if ((existing != null && existing.getStatus() == FineStatus.PAID) || amount.signum() <= 0) {
+                continue;
+            }
+            unpaidByMember.merge(memberId, amount, BigDecimal::add);
+
+            Fine accrued = new Fine();
+            accrued.setId(existing != null ? existing.getId() : null);
+            accrued.setLoan(loan);
+            accrued.setMember(loan.getMember());
+            accrued.setAmount(amount);
+            accrued.setStatus(FineStatus.UNPAID);
+            accrued.setFineDate(existing != null ? existing.getFineDate() : loan.getDueDate());
+            accrued.setLastUpdated(now);
+            fines.add(accrued);
+        }
+        return fines;
     }
 }
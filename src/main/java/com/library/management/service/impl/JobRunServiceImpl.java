@@ -0,0 +1,210 @@
+package com.library.management.service.impl;
+
+import com.library.management.entity.JobRun;
+import com.library.management.entity.JobRunPartition;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.JobRunSummary;
+import com.library.management.model.KeyRange;
+import com.library.management.repository.JobLockRepository;
+import com.library.management.repository.JobRunPartitionRepository;
+import com.library.management.repository.JobRunRepository;
+import com.library.management.service.JobRunService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class JobRunServiceImpl implements JobRunService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobLockRepository jobLockRepository;
+    private final JobRunRepository jobRunRepository;
+    private final JobRunPartitionRepository partitionRepository;
+
+    @Override
+    public boolean acquireLock(String jobName, String owner, Duration lease) {
+        return jobLockRepository.tryAcquire(jobName, owner, lease.toSeconds()) > 0;
+    }
+
+    @Override
+    public boolean renewLock(String jobName, String owner, Duration lease) {
+        return jobLockRepository.renew(jobName, owner, lease.toSeconds()) > 0;
+    }
+
+    @Override
+    public void releaseLock(String jobName, String owner) {
+        jobLockRepository.release(jobName, owner);
+    }
+
+    // Only meaningful while holding the job's lease: a run still marked RUNNING then
+    // belongs to a node that died or lost its lease.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<JobRun> findInterruptedRun(String jobName) {
+        return jobRunRepository.findFirstByJobNameOrderByIdDesc(jobName)
+                .filter(run -> run.getStatus() == JobRunStatus.RUNNING
+                        || run.getStatus() == JobRunStatus.FAILED && partitionRepository
+                                .findByJobRunIdAndStatusNotOrderByPartitionNo(run.getId(), JobRunStatus.SUCCEEDED)
+                                .stream().anyMatch(this::hasRemainingKeys))
+                .filter(run -> !jobRunRepository.existsByResumedFromRunId(run.getId()));
+    }
+
+    @Override
+    public JobRun startRun(String jobName, String nodeId, LocalDateTime asOf, List<KeyRange> ranges) {
+        JobRun run = createRun(jobName, nodeId, asOf, null, 0);
+        for (int i = 0; i < ranges.size(); i++) {
+            createPartition(run.getId(), i, ranges.get(i).from(), ranges.get(i).to());
+        }
+        return run;
+    }
+
+    // The new run covers what the interrupted one left: every unfinished partition from the
+    // key after its checkpoint, at the interrupted run's asOf so both halves agree.
+    @Override
+    public JobRun resumeRun(JobRun interrupted, String nodeId) {
+        JobRun previous = jobRunRepository.findById(interrupted.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Job run not found"));
+        if (previous.getStatus() == JobRunStatus.RUNNING) {
+            previous.setStatus(JobRunStatus.FAILED);
+            previous.setFinishedAt(LocalDateTime.now());
+            previous.setError("Abandoned by node " + previous.getNodeId());
+        }
+
+        JobRun run = createRun(previous.getJobName(), nodeId, previous.getAsOf(), previous.getId(),
+                previous.getResumeAttempt() + 1);
+        for (JobRunPartition partition : partitionRepository.findByJobRunIdAndStatusNotOrderByPartitionNo(
+                previous.getId(), JobRunStatus.SUCCEEDED)) {
+            if (partition.getStatus() == JobRunStatus.RUNNING) {
+                partition.setStatus(JobRunStatus.FAILED);
+            }
+            if (hasRemainingKeys(partition)) {
+                createPartition(run.getId(), partition.getPartitionNo(), partition.nextKey(), partition.getRangeEnd());
+            }
+        }
+        return run;
+    }
+
+    // Gives up on what the run left, so findInterruptedRun no longer offers it and the next
+    // trigger starts a fresh run
+    @Override
+    public void abandonRun(Long runId, String reason) {
+        JobRun run = jobRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job run not found"));
+        run.setStatus(JobRunStatus.ABANDONED);
+        if (run.getFinishedAt() == null) {
+            run.setFinishedAt(LocalDateTime.now());
+        }
+        run.setError(truncate(run.getError() == null ? reason : reason + "; last error: " + run.getError()));
+        for (JobRunPartition partition : partitionRepository.findByJobRunIdAndStatusNotOrderByPartitionNo(
+                runId, JobRunStatus.SUCCEEDED)) {
+            partition.setStatus(JobRunStatus.FAILED);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobRunPartition> getPartitions(Long runId) {
+        return partitionRepository.findByJobRunIdOrderByPartitionNo(runId);
+    }
+
+    // Joins the caller's transaction, so the checkpoint commits together with the chunk
+    @Override
+    public void checkpoint(Long partitionId, long lastKey, int itemsProcessed) {
+        JobRunPartition partition = findPartition(partitionId);
+        partition.setCheckpoint(lastKey);
+        partition.setItemsProcessed(partition.getItemsProcessed() + itemsProcessed);
+    }
+
+    @Override
+    public void finishPartition(Long partitionId, JobRunStatus status) {
+        findPartition(partitionId).setStatus(status);
+    }
+
+    @Override
+    public JobRun finishRun(Long runId, String error) {
+        long itemsProcessed = partitionRepository.findByJobRunIdOrderByPartitionNo(runId).stream()
+                .mapToLong(JobRunPartition::getItemsProcessed)
+                .sum();
+        return finishRun(runId, itemsProcessed, error);
+    }
+
+    @Override
+    public JobRun finishRun(Long runId, long itemsProcessed, String error) {
+        JobRun run = jobRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job run not found"));
+        run.setStatus(error == null ? JobRunStatus.SUCCEEDED : JobRunStatus.FAILED);
+        run.setFinishedAt(LocalDateTime.now());
+        run.setItemsProcessed(itemsProcessed);
+        if (error != null) {
+            run.setError(truncate(error));
+        }
+        return run;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<JobRunSummary> getRecentRuns(String jobName, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<JobRun> runs = jobName == null
+                ? jobRunRepository.findAllByOrderByIdDesc(page)
+                : jobRunRepository.findByJobNameOrderByIdDesc(jobName, page);
+        return runs.stream().map(this::toSummary).toList();
+    }
+
+    private JobRun createRun(String jobName, String nodeId, LocalDateTime asOf, Long resumedFromRunId,
+                             int resumeAttempt) {
+        JobRun run = new JobRun();
+        run.setJobName(jobName);
+        run.setNodeId(nodeId);
+        run.setStatus(JobRunStatus.RUNNING);
+        run.setAsOf(asOf);
+        run.setStartedAt(LocalDateTime.now());
+        run.setResumedFromRunId(resumedFromRunId);
+        run.setResumeAttempt(resumeAttempt);
+        return jobRunRepository.save(run);
+    }
+
+    private void createPartition(Long runId, int partitionNo, long rangeStart, long rangeEnd) {
+        JobRunPartition partition = new JobRunPartition();
+        partition.setJobRunId(runId);
+        partition.setPartitionNo(partitionNo);
+        partition.setRangeStart(rangeStart);
+        partition.setRangeEnd(rangeEnd);
+        partition.setStatus(JobRunStatus.RUNNING);
+        partitionRepository.save(partition);
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private boolean hasRemainingKeys(JobRunPartition partition) {
+        return partition.nextKey() <= partition.getRangeEnd();
+    }
+
+    private JobRunPartition findPartition(Long partitionId) {
+        return partitionRepository.findById(partitionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job run partition not found"));
+    }
+
+    private JobRunSummary toSummary(JobRun run) {
+        List<JobRunSummary.Partition> partitions = partitionRepository.findByJobRunIdOrderByPartitionNo(run.getId())
+                .stream()
+                .map(p -> new JobRunSummary.Partition(p.getPartitionNo(), p.getRangeStart(), p.getRangeEnd(),
+                        p.getCheckpoint(), p.getStatus(), p.getItemsProcessed()))
+                .toList();
+        return new JobRunSummary(run.getId(), run.getJobName(), run.getNodeId(), run.getStatus(), run.getAsOf(),
+                run.getStartedAt(), run.getFinishedAt(), run.getItemsProcessed(), run.getResumedFromRunId(),
+                run.getResumeAttempt(), run.getError(), partitions);
+    }
+}
@@ -1,11 +1,19 @@
 package com.library.management.service.impl;
 
 import com.library.management.entity.*;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.event.LoanReturnedEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.*;
+import com.library.management.reservation.CopyAllocator;
+import com.library.management.reservation.ReservationQueueManager;
+import com.library.management.service.FineService;
 import com.library.management.service.LoanService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +30,11 @@ public class LoanServiceImpl implements LoanService {
     private final LoanRepository loanRepository;
     private final MemberRepository memberRepository;
     private final ReservationRepository reservationRepository;
+    private final ReservationQueueManager queueManager;
     private final BookCopyRepository bookCopyRepository;
-    private final com.library.management.service.FineService fineService;
-    private final com.library.management.service.NotificationService notificationService;
+    private final FineService fineService;
+    private final CopyAllocator copyAllocator;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final int LOAN_PERIOD_DAYS = 14;
 
@@ -33,10 +43,19 @@ public class LoanServiceImpl implements LoanService {
         Member member = memberRepository.findById(loan.getMember().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found"));
 
+        // Balance is the cached ledger total, so materialized fines cost no extra query
         if (member.getBalance().compareTo(BigDecimal.ZERO) > 0) {
             throw new BusinessException("Member has outstanding fines. Please pay before borrowing.");
         }
 
+        List<Loan> activeLoans = loanRepository.findByMemberId(member.getId()).stream()
+                .filter(l -> l.getStatus() == LoanStatus.ACTIVE)
+                .toList();
+
+        if (fineService.hasAccruingFines(activeLoans)) {
+            throw new BusinessException("Member has outstanding fines. Please pay before borrowing.");
+        }
+
         // Check membership limits
         int maxBooks = 5; // default
         int loanDays = LOAN_PERIOD_DAYS; // default
@@ -46,12 +65,7 @@ public class LoanServiceImpl implements LoanService {
             loanDays = member.getMembershipType().getMaxLoanDays();
         }
 
-        // Count active loans
-        long activeLoanCount = loanRepository.findByMemberId(member.getId()).stream()
-                .filter(l -> l.getStatus() == LoanStatus.ACTIVE)
-                .count();
-
-        if (activeLoanCount >= maxBooks) {
+        if (activeLoans.size() >= maxBooks) {
             throw new BusinessException(
                     "Member has reached maximum borrowing limit based on membership type: " + maxBooks);
         }
@@ -99,7 +113,7 @@ public class LoanServiceImpl implements LoanService {
                             member.getId(), ReservationStatus.READY_FOR_PICKUP)
                     .orElseThrow(() -> new BusinessException("Ready reservation not found for this member"));
             readyRes.setStatus(ReservationStatus.FULFILLED);
-            reservationRepository.save(readyRes);
+            queueManager.save(readyRes);
         } else if (copy.getStatus() != BookCopyStatus.AVAILABLE) {
             throw new BusinessException("Book copy is not available");
         }
@@ -116,18 +130,18 @@ public class LoanServiceImpl implements LoanService {
         // queue.
         // For MVP: If AVAILABLE, allow borrow, UNLESS there is a queue (Queue check).
 
+        // The queue lives in memory, so titles nobody waits for cost no query here
         if (copy.getStatus() == BookCopyStatus.AVAILABLE) {
-            Optional<Reservation> pendingRes = reservationRepository
-                    .findFirstPendingReservation(copy.getBook().getId());
-            if (pendingRes.isPresent()) {
+            Optional<ReservationQueueManager.QueueHead> head = queueManager.head(copy.getBook().getId());
+            if (head.isPresent()) {
                 // There is a queue. Is this user the first one?
-                if (!pendingRes.get().getMember().getId().equals(member.getId())) {
+                if (!head.get().memberId().equals(member.getId())) {
                     throw new BusinessException("There is a reservation queue for this book. Please join the queue.");
                 } else {
                     // Fulfill pending reservation (became direct borrow without waiting for return)
-                    Reservation res = pendingRes.get();
+                    Reservation res = reservationRepository.getReferenceById(head.get().reservationId());
                     res.setStatus(ReservationStatus.FULFILLED);
-                    reservationRepository.save(res);
+                    queueManager.save(res);
                 }
             }
         }
@@ -142,7 +156,11 @@ public class LoanServiceImpl implements LoanService {
         newLoan.setDueDate(LocalDateTime.now().plusDays(loanDays));
         newLoan.setStatus(LoanStatus.ACTIVE);
 
-        return loanRepository.save(newLoan);
+        Loan savedLoan = loanRepository.save(newLoan);
+        savedLoan.setFineAmount(BigDecimal.ZERO);
+        eventPublisher.publishEvent(new LoanBorrowedEvent(savedLoan.getId(), member.getId(),
+                copy.getBook().getId(), savedLoan.getLoanDate()));
+        return savedLoan;
     }
 
     @Override
@@ -156,19 +174,8 @@ public class LoanServiceImpl implements LoanService {
 
         BookCopy copy = loan.getBookCopy();
 
-        // Check for pending reservation
-        Optional<Reservation> pendingRes = reservationRepository.findFirstPendingReservation(copy.getBook().getId());
-        if (pendingRes.isPresent()) {
-            copy.setStatus(BookCopyStatus.RESERVED);
-            Reservation reservation = pendingRes.get();
-            reservation.setStatus(ReservationStatus.READY_FOR_PICKUP);
-            reservation.setExpiryDate(LocalDateTime.now().plusDays(3)); // 3 days to pickup
-            reservationRepository.save(reservation);
-            notificationService.notifyReservationReady(reservation.getMember().getEmail(), copy.getBook().getTitle());
-        } else {
-            copy.setStatus(BookCopyStatus.AVAILABLE);
-        }
-
+        // Held for the first member in the queue, if any
+        copyAllocator.allocate(copy.getBook(), List.of(copy));
         bookCopyRepository.save(copy);
 
         loan.setStatus(LoanStatus.RETURNED);
@@ -177,8 +184,11 @@ public class LoanServiceImpl implements LoanService {
 
         Loan savedLoan = loanRepository.save(loan);
 
-        // Calculate/Finalize Fine
+        // In this transaction, so the fine and the member's balance commit with the return
         fineService.createOrUpdateFine(savedLoan);
+        fineService.applyFineAmounts(List.of(savedLoan));
+        eventPublisher.publishEvent(new LoanReturnedEvent(savedLoan.getId(), loan.getMember().getId(),
+                copy.getBook().getId(), now));
 
         return savedLoan;
     }
@@ -186,13 +196,25 @@ public class LoanServiceImpl implements LoanService {
     @Override
     @Transactional(readOnly = true)
     public List<Loan> getAllLoans() {
-        return loanRepository.findAll();
+        List<Loan> loans = loanRepository.findAll();
+        fineService.applyFineAmounts(loans);
+        return loans;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Loan> getLoansByMember(Long memberId) {
-        return loanRepository.findByMemberId(memberId);
+        List<Loan> loans = loanRepository.findByMemberId(memberId);
+        fineService.applyFineAmounts(loans);
+        return loans;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Loan> getOverdueLoans(Pageable pageable) {
+        Page<Loan> loans = loanRepository.findOverdueLoans(LocalDateTime.now(), pageable);
+        fineService.applyFineAmounts(loans.getContent());
+        return loans;
     }
 
 }
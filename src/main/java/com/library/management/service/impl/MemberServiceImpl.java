@@ -4,7 +4,9 @@ import com.library.management.entity.Member;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.entity.Role;
+import com.library.management.repository.BalanceLedgerRepository;
 import com.library.management.repository.MemberRepository;
+import com.library.management.security.MemberUserCache;
 import com.library.management.service.MemberService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,6 +22,8 @@ public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MemberUserCache memberUserCache;
+    private final BalanceLedgerRepository ledgerRepository;
 
     @Override
     public Member createMember(Member member) {
@@ -52,6 +56,8 @@ public class MemberServiceImpl implements MemberService {
     public Member updateMember(Long id, Member member) {
         Member existingMember = memberRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
+        // Email, role and password all feed the cached login details
+        memberUserCache.evictAfterCommit(existingMember.getEmail(), member.getEmail());
         existingMember.setFirstName(member.getFirstName());
         existingMember.setLastName(member.getLastName());
         existingMember.setEmail(member.getEmail());
@@ -68,9 +74,13 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     public void deleteMember(Long id) {
-        if (!memberRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Member not found with id: " + id);
+        Member member = memberRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Member not found with id: " + id));
+        // The ledger is the audit trail of the member's balance and is never deleted
+        if (ledgerRepository.existsByMemberId(id)) {
+            throw new BusinessException("Member with id " + id + " has balance history and cannot be deleted");
         }
+        memberUserCache.evictAfterCommit(member.getEmail());
         memberRepository.deleteById(id);
     }
 }
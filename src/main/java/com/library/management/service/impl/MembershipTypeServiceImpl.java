@@ -2,7 +2,10 @@ package com.library.management.service.impl;
 
 import com.library.management.entity.MembershipType;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.FinePolicy;
+import com.library.management.model.MembershipTypeUpdateRequest;
 import com.library.management.repository.MembershipTypeRepository;
+import com.library.management.service.FineService;
 import com.library.management.service.MembershipTypeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,6 +19,7 @@ import java.util.List;
 public class MembershipTypeServiceImpl implements MembershipTypeService {
 
     private final MembershipTypeRepository membershipTypeRepository;
+    private final FineService fineService;
 
     @Override
     public MembershipType createMembershipType(MembershipType membershipType) {
@@ -23,13 +27,35 @@ public class MembershipTypeServiceImpl implements MembershipTypeService {
     }
 
     @Override
-    public MembershipType updateMembershipType(Long id, MembershipType membershipType) {
+    public MembershipType updateMembershipType(Long id, MembershipTypeUpdateRequest request) {
         MembershipType existingType = membershipTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Membership Type not found"));
-        existingType.setName(membershipType.getName());
-        existingType.setMaxBooks(membershipType.getMaxBooks());
-        existingType.setMaxLoanDays(membershipType.getMaxLoanDays());
-        return membershipTypeRepository.save(existingType);
+        existingType.setName(request.getName());
+        existingType.setMaxBooks(request.getMaxBooks());
+        existingType.setMaxLoanDays(request.getMaxLoanDays());
+
+        // Policy fields left out of the request keep their value
+        FinePolicy oldPolicy = FinePolicy.of(existingType);
+        if (request.getFinePerDay() != null) {
+            existingType.setFinePerDay(request.getFinePerDay());
+        }
+        if (request.getFineGraceDays() != null) {
+            existingType.setFineGraceDays(request.getFineGraceDays());
+        }
+        if (request.getMaxFinePerLoan() != null) {
+            existingType.setMaxFinePerLoan(request.getMaxFinePerLoan().orElse(null));
+        }
+        if (request.getMaxFinePerMember() != null) {
+            existingType.setMaxFinePerMember(request.getMaxFinePerMember().orElse(null));
+        }
+        MembershipType saved = membershipTypeRepository.save(existingType);
+
+        // Reprices the still-accruing fines of the type's members in one statement
+        if (!oldPolicy.sameAs(FinePolicy.of(saved))) {
+            membershipTypeRepository.flush();
+            fineService.recalculateOpenFines(saved.getId());
+        }
+        return saved;
     }
 
     @Override
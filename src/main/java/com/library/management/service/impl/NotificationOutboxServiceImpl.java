@@ -0,0 +1,107 @@
+package com.library.management.service.impl;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.NotificationStatus;
+import com.library.management.entity.OutboxNotification;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.repository.OutboxNotificationRepository;
+import com.library.management.service.NotificationOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class NotificationOutboxServiceImpl implements NotificationOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxNotificationRepository outboxRepository;
+
+    @Value("${library.notifications.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${library.notifications.initial-backoff:PT30S}")
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    @Value("${library.notifications.max-backoff:PT1H}")
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    @Value("${library.notifications.claim-timeout:PT5M}")
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    @Override
+    public OutboxNotification enqueue(NotificationChannelType channel, String recipient, String subject, String body) {
+        OutboxNotification notification = new OutboxNotification();
+        notification.setChannel(channel);
+        notification.setRecipient(recipient);
+        notification.setSubject(subject);
+        notification.setBody(body);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setNextAttemptAt(LocalDateTime.now());
+        return outboxRepository.save(notification);
+    }
+
+    @Override
+    public List<OutboxNotification> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxNotification> batch = outboxRepository.lockDueBatch(now, limit);
+        for (OutboxNotification notification : batch) {
+            notification.setStatus(NotificationStatus.IN_PROGRESS);
+            notification.setAttempts(notification.getAttempts() + 1);
+            notification.setNextAttemptAt(now.plus(claimTimeout));
+        }
+        return outboxRepository.saveAll(batch);
+    }
+
+    @Override
+    public void markSent(Long notificationId) {
+        OutboxNotification notification = findNotification(notificationId);
+        notification.setStatus(NotificationStatus.SENT);
+        notification.setSentAt(LocalDateTime.now());
+        notification.setLastError(null);
+        outboxRepository.save(notification);
+    }
+
+    @Override
+    public void markFailed(Long notificationId, String error) {
+        OutboxNotification notification = findNotification(notificationId);
+        notification.setLastError(truncate(error));
+
+        if (notification.getAttempts() >= maxAttempts) {
+            log.warn("Giving up on notification {} to {} after {} attempts: {}", notificationId,
+                    notification.getRecipient(), notification.getAttempts(), error);
+            notification.setStatus(NotificationStatus.FAILED);
+        } else {
+            notification.setStatus(NotificationStatus.PENDING);
+            notification.setNextAttemptAt(LocalDateTime.now().plus(backoff(notification.getAttempts())));
+        }
+        outboxRepository.save(notification);
+    }
+
+    // Exponential backoff: initial, 2x, 4x, ... capped at maxBackoff
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private OutboxNotification findNotification(Long notificationId) {
+        return outboxRepository.findById(notificationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification not found"));
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
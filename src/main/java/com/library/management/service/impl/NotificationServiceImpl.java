@@ -1,16 +1,31 @@
 package com.library.management.service.impl;
 
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.service.NotificationOutboxService;
 import com.library.management.service.NotificationService;
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
-@Slf4j
+@RequiredArgsConstructor
+@Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private final NotificationOutboxService outboxService;
+
     @Override
     public void notifyReservationReady(String email, String bookTitle) {
-        log.info("Sending notification to {}: Your reservation for '{}' is ready for pickup.", email, bookTitle);
-        // In a real system, this would send an email.
+        // Written to the outbox in the caller's transaction; NotificationDispatcher delivers it after commit
+        outboxService.enqueue(NotificationChannelType.EMAIL, email,
+                "Your reservation is ready for pickup",
+                "Your reservation for '" + bookTitle + "' is ready for pickup.");
+    }
+
+    @Override
+    public void notifyReservationExpired(String email, String bookTitle) {
+        outboxService.enqueue(NotificationChannelType.EMAIL, email,
+                "Your reservation has expired",
+                "Your reservation for '" + bookTitle + "' was not picked up in time and has expired.");
     }
 }
@@ -0,0 +1,168 @@
+package com.library.management.service.impl;
+
+import com.library.management.entity.ReportJob;
+import com.library.management.entity.ReportJobStatus;
+import com.library.management.entity.ReportType;
+import com.library.management.exception.BusinessException;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.ReportJobRequest;
+import com.library.management.reporting.ReportExporter;
+import com.library.management.repository.ReportJobRepository;
+import com.library.management.service.ReportExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs report exports on the report executor. A job writes to a temporary file that is moved
+ * into place only once complete, so a download never sees a partial report. Files stay on the
+ * local disk of the node that ran the job, so downloads need to reach that node.
+ */
+@Service
+@Slf4j
+public class ReportExportServiceImpl implements ReportExportService {
+
+    // Reports without a start date cover all history
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+
+    private final ReportJobRepository reportJobRepository;
+    private final ReportExporter reportExporter;
+    private final TaskExecutor executor;
+
+    @Value("${library.reporting.export.directory:${java.io.tmpdir}/library-reports}")
+    private Path directory;
+
+    @Value("${library.reporting.export.retention:P1D}")
+    private Duration retention = Duration.ofDays(1);
+
+    public ReportExportServiceImpl(ReportJobRepository reportJobRepository, ReportExporter reportExporter,
+                                   @Qualifier("reportExecutor") TaskExecutor executor) {
+        this.reportJobRepository = reportJobRepository;
+        this.reportExporter = reportExporter;
+        this.executor = executor;
+    }
+
+    @Override
+    public ReportJob startJob(ReportJobRequest request, String requestedBy) {
+        LocalDate to = request.to() != null ? request.to() : LocalDate.now();
+        LocalDate from = request.from() != null ? request.from() : EARLIEST;
+        if (from.isAfter(to)) {
+            throw new BusinessException("Report period starts after it ends");
+        }
+        ReportJob job = new ReportJob();
+        job.setType(request.type());
+        job.setStatus(ReportJobStatus.QUEUED);
+        if (request.type() != ReportType.INVENTORY) {
+            job.setFromDate(from);
+            job.setToDate(to);
+        }
+        job.setRequestedBy(requestedBy);
+        ReportJob saved = reportJobRepository.save(job);
+        try {
+            executor.execute(() -> run(saved.getId()));
+        } catch (TaskRejectedException e) {
+            finish(saved, ReportJobStatus.FAILED, "Too many reports queued; try again later");
+            throw e;
+        }
+        return saved;
+    }
+
+    @Override
+    public ReportJob getJob(Long id) {
+        return reportJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + id));
+    }
+
+    @Override
+    public Path getResultFile(Long id) {
+        ReportJob job = getJob(id);
+        if (job.getStatus() != ReportJobStatus.SUCCEEDED) {
+            throw new BusinessException("Report job " + id + " is " + job.getStatus());
+        }
+        Path file = directory.resolve(job.getFileName());
+        if (!Files.isReadable(file)) {
+            throw new ResourceNotFoundException("Report file of job " + id + " is not available on this node");
+        }
+        return file;
+    }
+
+    // Files are swept by age rather than by job, so the ones of jobs whose rows another node
+    // purged, or of runs cut short by a restart, go as well
+    @Override
+    public int purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(file -> isOlderThan(file, cutoff)).forEach(file -> {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        log.warn("Could not delete report file {}", file, e);
+                    }
+                });
+            } catch (IOException e) {
+                log.warn("Could not list report directory {}", directory, e);
+            }
+        }
+        List<ReportJob> expired = reportJobRepository.findByCreatedAtBefore(LocalDateTime.now().minus(retention));
+        reportJobRepository.deleteAll(expired);
+        return expired.size();
+    }
+
+    private void run(Long id) {
+        ReportJob job = getJob(id);
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = reportJobRepository.save(job);
+        String fileName = "report-" + id + ".csv.gz";
+        Path partial = directory.resolve(fileName + ".part");
+        try {
+            Files.createDirectories(directory);
+            long rows = reportExporter.export(job.getType(), job.getFromDate(), job.getToDate(), partial);
+            Path file = Files.move(partial, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            job.setFileName(fileName);
+            job.setRowCount(rows);
+            job.setSizeBytes(Files.size(file));
+            finish(job, ReportJobStatus.SUCCEEDED, null);
+            log.info("Report job {} wrote {} rows of {}", id, rows, job.getType());
+        } catch (IOException | RuntimeException e) {
+            log.error("Report job {} failed", id, e);
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // Swept by purgeExpired once it is old enough
+            }
+            finish(job, ReportJobStatus.FAILED, e.toString());
+        }
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void finish(ReportJob job, ReportJobStatus status, String error) {
+        job.setStatus(status);
+        job.setError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        job.setFinishedAt(LocalDateTime.now());
+        reportJobRepository.save(job);
+    }
+}
@@ -1,38 +1,195 @@
 package com.library.management.service.impl;
 
+import com.library.management.analytics.BorrowerSketches;
+import com.library.management.analytics.HyperLogLog;
+import com.library.management.analytics.LeaderboardDimension;
+import com.library.management.analytics.LeaderboardWindow;
+import com.library.management.analytics.LiveLeaderboards;
+import com.library.management.entity.HourlyCirculation;
+import com.library.management.entity.SketchScope;
+import com.library.management.exception.BusinessException;
+import com.library.management.model.BookLoanReport;
 import com.library.management.model.BookStatusReport;
 import com.library.management.model.CategoryReport;
+import com.library.management.model.CirculationHeatmap;
+import com.library.management.model.LiveRanking;
 import com.library.management.model.MemberActivity;
+import com.library.management.model.UniqueBorrowerCount;
+import com.library.management.model.UniqueBorrowerReport;
+import com.library.management.reporting.ReportCache;
 import com.library.management.repository.BookCopyRepository;
-import com.library.management.repository.LoanRepository;
+import com.library.management.repository.DailyBookLoansRepository;
+import com.library.management.repository.DailyCategoryLoansRepository;
+import com.library.management.repository.DailyMemberLoansRepository;
+import com.library.management.repository.HourlyCirculationRepository;
 import com.library.management.service.ReportingService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Loan reports are sums over the daily rollup tables, so their cost grows with the number of
+ * days in the window rather than with the loan history. The rollups are refreshed by
+ * {@link com.library.management.job.LoanRollupJob}; today's counts lag by at most its interval.
+ * <p>
+ * Results go through {@link ReportCache}, which may serve them up to its TTL plus the
+ * stale-while-revalidate period old. Reads are not transactional here: a cache hit should not
+ * take a connection, and each query runs in the repository's own read-only transaction.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ReportingServiceImpl implements ReportingService {
 
-    private final LoanRepository loanRepository;
     private final BookCopyRepository bookCopyRepository;
+    private final DailyCategoryLoansRepository dailyCategoryLoansRepository;
+    private final DailyMemberLoansRepository dailyMemberLoansRepository;
+    private final DailyBookLoansRepository dailyBookLoansRepository;
+    private final HourlyCirculationRepository hourlyCirculationRepository;
+    private final LiveLeaderboards liveLeaderboards;
+    private final BorrowerSketches borrowerSketches;
+    private final ReportCache reportCache;
+
+    @Value("${library.reporting.default-window-days:30}")
+    private int defaultWindowDays = 30;
+
+    @Value("${library.reporting.max-window-days:366}")
+    private int maxWindowDays = 366;
+
+    // The heatmap reads 24 rows a day, so it can afford much longer windows than the rankings
+    @Value("${library.reporting.heatmap.max-window-days:3660}")
+    private int maxHeatmapDays = 3660;
+
+    // Loan timestamps are in the server's zone; the heatmap is shown in the library's
+    @Value("${library.reporting.time-zone:#{T(java.time.ZoneId).systemDefault()}}")
+    private ZoneId timeZone = ZoneId.systemDefault();
+
+    // Every item and month is one sketch of up to 4 KB to read and merge
+    @Value("${library.reporting.unique-borrowers.max-items:100}")
+    private int maxSketchItems = 100;
+
+    @Value("${library.reporting.unique-borrowers.max-months:60}")
+    private int maxSketchMonths = 60;
 
     @Override
-    public List<CategoryReport> getMostReadCategories(int limit) {
-        return loanRepository.findMostReadCategories(PageRequest.of(0, limit));
+    public List<CategoryReport> getMostReadCategories(int limit, LocalDate from, LocalDate to) {
+        Window window = resolveWindow(from, to, maxWindowDays);
+        return reportCache.get("categories/most-read:" + limit + ":" + window,
+                () -> dailyCategoryLoansRepository.findMostRead(window.from(), window.to(), PageRequest.of(0, limit)));
     }
 
     @Override
-    public List<MemberActivity> getMostActiveMembers(int limit) {
-        return loanRepository.findMostActiveMembers(PageRequest.of(0, limit));
+    public List<MemberActivity> getMostActiveMembers(int limit, LocalDate from, LocalDate to) {
+        Window window = resolveWindow(from, to, maxWindowDays);
+        return reportCache.get("members/most-active:" + limit + ":" + window,
+                () -> dailyMemberLoansRepository.findMostActive(window.from(), window.to(), PageRequest.of(0, limit)));
+    }
+
+    @Override
+    public List<BookLoanReport> getMostBorrowedBooks(int limit, LocalDate from, LocalDate to) {
+        Window window = resolveWindow(from, to, maxWindowDays);
+        return reportCache.get("books/most-borrowed:" + limit + ":" + window,
+                () -> dailyBookLoansRepository.findMostBorrowed(window.from(), window.to(), PageRequest.of(0, limit)));
     }
 
     @Override
     public List<BookStatusReport> getBookStatusDistribution() {
-        return bookCopyRepository.countByStatusGrouped();
+        return reportCache.get("books/status-distribution", bookCopyRepository::countByStatusGrouped);
+    }
+
+    @Override
+    public CirculationHeatmap getCirculationHeatmap(LocalDate from, LocalDate to) {
+        Window window = resolveWindow(from, to, maxHeatmapDays);
+        return reportCache.get("circulation/heatmap:" + window, () -> {
+            long[][] borrows = new long[7][24];
+            long[][] returns = new long[7][24];
+            ZoneId serverZone = ZoneId.systemDefault();
+            // A day either side covers any offset between the two zones
+            for (HourlyCirculation hour : hourlyCirculationRepository.findByActivityDayBetween(
+                    window.from().minusDays(1), window.to().plusDays(1))) {
+                ZonedDateTime local = hour.getActivityDay().atTime(hour.getActivityHour(), 0)
+                        .atZone(serverZone).withZoneSameInstant(timeZone);
+                if (local.toLocalDate().isBefore(window.from()) || local.toLocalDate().isAfter(window.to())) {
+                    continue;
+                }
+                int weekday = local.getDayOfWeek().getValue() - 1;
+                borrows[weekday][local.getHour()] += hour.getBorrowCount();
+                returns[weekday][local.getHour()] += hour.getReturnCount();
+            }
+            return new CirculationHeatmap(window.from(), window.to(), timeZone.getId(), borrows, returns);
+        });
+    }
+
+    // Already served from memory, so not cached
+    @Override
+    public List<LiveRanking> getLiveRanking(LeaderboardDimension dimension, LeaderboardWindow window, int limit) {
+        return liveLeaderboards.top(dimension, window, limit);
+    }
+
+    @Override
+    public UniqueBorrowerReport getUniqueBorrowers(SketchScope scope, List<Long> ids, YearMonth from, YearMonth to) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(11);
+        List<Long> items = ids.stream().distinct().toList();
+        if (items.isEmpty() || items.size() > maxSketchItems) {
+            throw new BusinessException("Between 1 and " + maxSketchItems + " ids are required");
+        }
+        if (start.isAfter(end)) {
+            throw new BusinessException("Report window starts after it ends");
+        }
+        if (ChronoUnit.MONTHS.between(start, end) >= maxSketchMonths) {
+            throw new BusinessException("Report window cannot be longer than " + maxSketchMonths + " months");
+        }
+        return reportCache.get("unique-borrowers:" + scope + ":" + items + ":" + start + ":" + end, () -> {
+            Map<Long, HyperLogLog> sketches = borrowerSketches.load(scope, items, start, end);
+            HyperLogLog all = new HyperLogLog();
+            sketches.values().forEach(all::merge);
+            List<UniqueBorrowerCount> counts = items.stream()
+                    .map(id -> new UniqueBorrowerCount(id, sketches.containsKey(id) ? sketches.get(id).estimate() : 0))
+                    .toList();
+            return new UniqueBorrowerReport(scope, start, end, all.estimate(), HyperLogLog.STANDARD_ERROR, counts);
+        });
+    }
+
+    // Delete and insert in one transaction, so a report never sees a day half rebuilt
+    @Override
+    @Transactional
+    public long refreshLoanRollups(LocalDate from, LocalDate to) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        dailyCategoryLoansRepository.deleteDays(from, to);
+        dailyMemberLoansRepository.deleteDays(from, to);
+        dailyBookLoansRepository.deleteDays(from, to);
+        hourlyCirculationRepository.deleteDays(from, to);
+        return (long) dailyCategoryLoansRepository.insertFromLoans(start, end)
+                + dailyMemberLoansRepository.insertFromLoans(start, end)
+                + dailyBookLoansRepository.insertFromLoans(start, end)
+                + hourlyCirculationRepository.insertFromLoans(start, end);
+    }
+
+    private Window resolveWindow(LocalDate from, LocalDate to, int maxDays) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(defaultWindowDays - 1);
+        if (start.isAfter(end)) {
+            throw new BusinessException("Report window starts after it ends");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            throw new BusinessException("Report window cannot be longer than " + maxDays + " days");
+        }
+        return new Window(start, end);
+    }
+
+    // Its string form is part of the cache keys
+    private record Window(LocalDate from, LocalDate to) {
     }
 }
@@ -4,26 +4,44 @@ import com.library.management.entity.Book;
 import com.library.management.entity.Member;
 import com.library.management.entity.Reservation;
 import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationExpiredEvent;
+import com.library.management.event.ReservationReadyEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.MemberReservation;
+import com.library.management.model.ReservationExpiryOutcome;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.MemberRepository;
 import com.library.management.repository.ReservationRepository;
+import com.library.management.reservation.ReservationQueueManager;
 import com.library.management.service.ReservationService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
 
     private final ReservationRepository reservationRepository;
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
+    private final ReservationQueueManager queueManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${library.reservations.pickup-window:P3D}")
+    private Duration pickupWindow = Duration.ofDays(3);
 
     @Override
     public Reservation placeReservation(Reservation reservation) {
@@ -47,14 +65,14 @@ public class ReservationServiceImpl implements ReservationService {
         reservation.setMember(member);
         reservation.setStatus(ReservationStatus.PENDING);
 
-        return reservationRepository.save(reservation);
+        return queueManager.save(reservation);
     }
 
     @Override
     public void cancelReservation(Long reservationId) {
         Reservation reservation = reservationRepository.findById(reservationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found"));
-        reservationRepository.delete(reservation);
+        queueManager.delete(reservation);
     }
 
     @Override
@@ -62,8 +80,8 @@ public class ReservationServiceImpl implements ReservationService {
     public boolean isBookReservedByOther(Long bookId, Long memberId) {
         // If there are pending reservations, check if the first one belongs to this
         // member
-        return reservationRepository.findFirstPendingReservation(bookId)
-                .map(r -> !r.getMember().getId().equals(memberId))
+        return queueManager.head(bookId)
+                .map(head -> !head.memberId().equals(memberId))
                 .orElse(false);
     }
 
@@ -81,13 +99,41 @@ public class ReservationServiceImpl implements ReservationService {
     @Override
     @Transactional(readOnly = true)
     public int getQueuePosition(Long bookId, Long memberId) {
-        List<Reservation> queue = reservationRepository.findByBookIdAndStatusOrderByCreatedAtAsc(bookId,
-                ReservationStatus.PENDING);
-        for (int i = 0; i < queue.size(); i++) {
-            if (queue.get(i).getMember().getId().equals(memberId)) {
-                return i + 1; // 1-based index
+        // 0 when the member has no pending reservation for the book
+        return queueManager.positionOf(bookId, memberId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MemberReservation> getReservationsForMember(Long memberId) {
+        return reservationRepository.findMemberReservations(memberId);
+    }
+
+    @Override
+    public int expireReadyReservations(LocalDateTime now, int batchSize) {
+        List<ReservationExpiryOutcome> outcomes = reservationRepository.expireReadyReservations(now,
+                now.plus(pickupWindow), batchSize);
+
+        int expired = 0;
+        Set<Long> bookIds = new HashSet<>();
+        for (ReservationExpiryOutcome outcome : outcomes) {
+            bookIds.add(outcome.getBookId());
+            if (outcome.isPromoted()) {
+                eventPublisher.publishEvent(new ReservationReadyEvent(outcome.getReservationId(),
+                        outcome.getMemberId(), outcome.getMemberEmail(), outcome.getBookTitle()));
+            } else {
+                expired++;
+                eventPublisher.publishEvent(new ReservationExpiredEvent(outcome.getReservationId(),
+                        outcome.getMemberId(), outcome.getMemberEmail(), outcome.getBookTitle()));
             }
         }
-        return 0; // Not in queue or not pending
+        // The statement bypasses entity callbacks, so promoted reservations are still queued in memory
+        bookIds.forEach(queueManager::invalidate);
+
+        if (expired > 0) {
+            log.info("Expired {} uncollected reservation(s), promoted {} from the queue", expired,
+                    outcomes.size() - expired);
+        }
+        return expired;
     }
 }
@@ -0,0 +1,145 @@
+package com.library.management.stream;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One open stream. Producers only ever add to a bounded buffer; a dedicated virtual thread
+ * drains it into the response, so a slow client never blocks the thread that raised the
+ * event. A client that falls more than bufferSize distinct events behind is disconnected
+ * and resynchronizes from the snapshot sent on reconnect.
+ */
+final class MemberEventConnection {
+
+    @Getter
+    private final Long memberId;
+    @Getter
+    private final SseEmitter emitter;
+    private final int bufferSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final LinkedHashMap<String, MemberStreamEvent> buffer = new LinkedHashMap<>();
+    private boolean closed;
+    private long lastEventId;
+
+    // Last position sent per book and loans already announced, to push changes only
+    final Map<Long, QueueSpot> queueSpots = new ConcurrentHashMap<>();
+    final Set<Long> dueSoonLoans = ConcurrentHashMap.newKeySet();
+
+    MemberEventConnection(Long memberId, SseEmitter emitter, int bufferSize) {
+        this.memberId = memberId;
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+
+    // False if the connection is closed or its buffer is full
+    boolean offer(MemberStreamEvent event) {
+        lock.lock();
+        try {
+            if (closed || (!buffer.containsKey(event.key()) && buffer.size() >= bufferSize)) {
+                return false;
+            }
+            buffer.put(event.key(), event);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sends buffered events, and a heartbeat comment whenever the stream was idle for the
+    // given interval, until the client goes away or the connection is closed
+    void pump(Duration heartbeat) {
+        try {
+            while (true) {
+                MemberStreamEvent event = next(heartbeat);
+                if (isClosed()) {
+                    return;
+                }
+                if (event == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(++lastEventId))
+                            .name(event.type())
+                            .data(event.data()));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter already completed
+            close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffer.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        emitter.complete();
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int buffered() {
+        lock.lock();
+        try {
+            return buffer.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MemberStreamEvent next(Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (buffer.isEmpty() && !closed) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            Iterator<MemberStreamEvent> oldest = buffer.values().iterator();
+            if (!oldest.hasNext()) {
+                return null;
+            }
+            MemberStreamEvent event = oldest.next();
+            oldest.remove();
+            return event;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    record QueueSpot(int position, int queueLength) {
+    }
+}
@@ -0,0 +1,199 @@
+package com.library.management.stream;
+
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.event.ReservationQueueChangedEvent;
+import com.library.management.event.ReservationReadyEvent;
+import com.library.management.model.DueSoonLoan;
+import com.library.management.model.MemberReservation;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.ReservationRepository;
+import com.library.management.reservation.ReservationQueueManager;
+import com.library.management.stream.MemberEventConnection.QueueSpot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Pushes reservation and loan changes to members over Server-Sent Events, so open pages no
+ * longer poll for queue positions. A new connection first receives a snapshot of the
+ * member's queue positions, ready reservations and loans due soon, and after that only
+ * changes. Events come from committed reservation and loan changes on this node; the
+ * periodic queue resync and due-soon check pick up what other nodes changed.
+ */
+@Component
+@Slf4j
+public class MemberEventStream {
+
+    private static final int DUE_SOON_BATCH_SIZE = 500;
+
+    private final Map<Long, Set<MemberEventConnection>> connections = new ConcurrentHashMap<>();
+
+    private final TaskExecutor streamExecutor;
+    private final ReservationQueueManager queueManager;
+    private final ReservationRepository reservationRepository;
+    private final LoanRepository loanRepository;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int bufferSize;
+    private final int maxConnectionsPerMember;
+    private final Duration dueSoonWindow;
+
+    public MemberEventStream(@Qualifier("streamExecutor") TaskExecutor streamExecutor,
+                             ReservationQueueManager queueManager,
+                             ReservationRepository reservationRepository,
+                             LoanRepository loanRepository,
+                             @Value("${library.events.stream.timeout:PT30M}") Duration timeout,
+                             @Value("${library.events.stream.heartbeat:PT15S}") Duration heartbeat,
+                             @Value("${library.events.stream.buffer-size:64}") int bufferSize,
+                             @Value("${library.events.stream.max-connections-per-member:5}") int maxConnectionsPerMember,
+                             @Value("${library.events.stream.due-soon-window:P2D}") Duration dueSoonWindow) {
+        this.streamExecutor = streamExecutor;
+        this.queueManager = queueManager;
+        this.reservationRepository = reservationRepository;
+        this.loanRepository = loanRepository;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.bufferSize = bufferSize;
+        this.maxConnectionsPerMember = maxConnectionsPerMember;
+        this.dueSoonWindow = dueSoonWindow;
+    }
+
+    public SseEmitter connect(Long memberId) {
+        MemberEventConnection connection = new MemberEventConnection(memberId, new SseEmitter(timeout.toMillis()),
+                bufferSize);
+        SseEmitter emitter = connection.getEmitter();
+        emitter.onCompletion(() -> disconnect(connection));
+        emitter.onTimeout(() -> disconnect(connection));
+        emitter.onError(e -> disconnect(connection));
+
+        Set<MemberEventConnection> memberConnections = connections.compute(memberId, (id, existing) -> {
+            Set<MemberEventConnection> updated = existing != null ? existing : new CopyOnWriteArraySet<>();
+            updated.add(connection);
+            return updated;
+        });
+        // Oldest tabs go first when a member opens more than the limit
+        memberConnections.stream()
+                .limit(Math.max(0, memberConnections.size() - maxConnectionsPerMember))
+                .forEach(this::disconnect);
+
+        sendSnapshot(connection);
+        streamExecutor.execute(() -> connection.pump(heartbeat));
+        return emitter;
+    }
+
+    public int connectionCount() {
+        return connections.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Async("eventExecutor")
+    @EventListener
+    public void onQueueChanged(ReservationQueueChangedEvent event) {
+        Long bookId = event.bookId();
+        connections.forEach((memberId, memberConnections) -> {
+            int position = queueManager.positionOf(bookId, memberId);
+            QueueSpot spot = new QueueSpot(position, position > 0 ? queueManager.queueLength(bookId) : 0);
+            for (MemberEventConnection connection : memberConnections) {
+                QueueSpot previous = position > 0
+                        ? connection.queueSpots.put(bookId, spot)
+                        : connection.queueSpots.remove(bookId);
+                if (previous == null ? position > 0 : !previous.equals(spot)) {
+                    push(connection, MemberStreamEvent.queuePosition(bookId, spot.position(), spot.queueLength()));
+                }
+            }
+        });
+    }
+
+    @Async("eventExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onReservationReady(ReservationReadyEvent event) {
+        connectionsOf(event.memberId()).forEach(connection ->
+                push(connection, MemberStreamEvent.reservationReady(event.reservationId(), event.bookTitle())));
+    }
+
+    @Async("eventExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onLoanBorrowed(LoanBorrowedEvent event) {
+        if (connections.containsKey(event.memberId())) {
+            pushDueSoon(List.of(event.memberId()));
+        }
+    }
+
+    // Loans only become due soon as time passes, so connected members are checked periodically
+    @Scheduled(fixedDelayString = "${library.events.stream.due-soon-check-ms:3600000}")
+    public void pushDueSoonLoans() {
+        List<Long> memberIds = List.copyOf(connections.keySet());
+        for (int i = 0; i < memberIds.size(); i += DUE_SOON_BATCH_SIZE) {
+            pushDueSoon(memberIds.subList(i, Math.min(i + DUE_SOON_BATCH_SIZE, memberIds.size())));
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        connections.values().forEach(memberConnections -> memberConnections.forEach(this::disconnect));
+    }
+
+    private void sendSnapshot(MemberEventConnection connection) {
+        for (MemberReservation reservation : reservationRepository.findMemberReservations(connection.getMemberId())) {
+            if (reservation.getStatus() == ReservationStatus.PENDING && reservation.getQueuePosition() != null) {
+                QueueSpot spot = new QueueSpot(reservation.getQueuePosition().intValue(),
+                        reservation.getQueueLength().intValue());
+                connection.queueSpots.put(reservation.getBookId(), spot);
+                push(connection, MemberStreamEvent.queuePosition(reservation.getBookId(), spot.position(),
+                        spot.queueLength()));
+            } else if (reservation.getStatus() == ReservationStatus.READY_FOR_PICKUP) {
+                push(connection, MemberStreamEvent.reservationReady(reservation.getId(), reservation.getBookTitle()));
+            }
+        }
+        pushDueSoon(List.of(connection.getMemberId()));
+    }
+
+    private void pushDueSoon(Collection<Long> memberIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (DueSoonLoan loan : loanRepository.findDueSoon(memberIds, now, now.plus(dueSoonWindow))) {
+            for (MemberEventConnection connection : connectionsOf(loan.memberId())) {
+                if (connection.dueSoonLoans.add(loan.loanId())) {
+                    push(connection, MemberStreamEvent.loanDueSoon(loan));
+                }
+            }
+        }
+    }
+
+    private void push(MemberEventConnection connection, MemberStreamEvent event) {
+        if (!connection.offer(event) && !connection.isClosed()) {
+            log.info("Closing event stream of member {}: client is {} events behind", connection.getMemberId(),
+                    bufferSize);
+            disconnect(connection);
+        }
+    }
+
+    Set<MemberEventConnection> connectionsOf(Long memberId) {
+        return connections.getOrDefault(memberId, Set.of());
+    }
+
+    private void disconnect(MemberEventConnection connection) {
+        connections.computeIfPresent(connection.getMemberId(), (id, memberConnections) -> {
+            memberConnections.remove(connection);
+            return memberConnections.isEmpty() ? null : memberConnections;
+        });
+        connection.close();
+    }
+}
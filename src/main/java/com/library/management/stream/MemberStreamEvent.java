@@ -0,0 +1,33 @@
+package com.library.management.stream;
+
+import com.library.management.model.DueSoonLoan;
+
+import java.util.Map;
+
+/**
+ * An event pushed to a member's stream. Events with the same key replace each other while
+ * still buffered, so a slow client only ever receives the latest queue position of a book.
+ */
+public record MemberStreamEvent(String key, String type, Object data) {
+
+    public static final String QUEUE_POSITION = "queue-position";
+    public static final String RESERVATION_READY = "reservation-ready";
+    public static final String LOAN_DUE_SOON = "loan-due-soon";
+
+    // position 0 means the member is no longer queued for the book
+    public static MemberStreamEvent queuePosition(Long bookId, int position, int queueLength) {
+        return new MemberStreamEvent(QUEUE_POSITION + ":" + bookId, QUEUE_POSITION,
+                Map.of("bookId", bookId, "position", position, "queueLength", queueLength));
+    }
+
+    public static MemberStreamEvent reservationReady(Long reservationId, String bookTitle) {
+        return new MemberStreamEvent(RESERVATION_READY + ":" + reservationId, RESERVATION_READY,
+                Map.of("reservationId", reservationId, "bookTitle", bookTitle));
+    }
+
+    public static MemberStreamEvent loanDueSoon(DueSoonLoan loan) {
+        return new MemberStreamEvent(LOAN_DUE_SOON + ":" + loan.loanId(), LOAN_DUE_SOON,
+                Map.of("loanId", loan.loanId(), "bookId", loan.bookId(), "bookTitle", loan.bookTitle(),
+                        "dueDate", loan.dueDate()));
+    }
+}
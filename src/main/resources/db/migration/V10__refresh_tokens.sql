@@ -0,0 +1,11 @@
+-- Refresh tokens are opaque random values; only their SHA-256 is stored. A token is
+-- deleted when it is exchanged for a new pair, so each one can be used once.
+CREATE TABLE refresh_tokens (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    member_id  BIGINT       NOT NULL REFERENCES members (id) ON DELETE CASCADE,
+    token_hash VARCHAR(64)  NOT NULL UNIQUE,
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_refresh_tokens_member_id ON refresh_tokens (member_id);
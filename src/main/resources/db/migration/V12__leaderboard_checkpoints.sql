@@ -0,0 +1,7 @@
+-- Periodic snapshots of the in-memory live leaderboards, one row per dimension and window.
+-- The payload is the JSON of the window's buckets; only a restarting node reads it.
+CREATE TABLE leaderboard_checkpoints (
+    name     VARCHAR(50)  PRIMARY KEY,
+    payload  TEXT         NOT NULL,
+    saved_at TIMESTAMP(6) NOT NULL
+);
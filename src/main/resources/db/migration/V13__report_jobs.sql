@@ -0,0 +1,20 @@
+-- Background report exports. The file itself lives on the local disk of the node that ran
+-- the job; rows and files are purged after library.reporting.export.retention.
+CREATE TABLE report_jobs (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type         VARCHAR(50)   NOT NULL,
+    status       VARCHAR(20)   NOT NULL,
+    from_date    DATE,
+    to_date      DATE,
+    requested_by VARCHAR(255)  NOT NULL,
+    file_name    VARCHAR(255),
+    row_count    BIGINT        NOT NULL,
+    size_bytes   BIGINT,
+    error        VARCHAR(1000),
+    started_at   TIMESTAMP(6),
+    finished_at  TIMESTAMP(6),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_report_jobs_created_at ON report_jobs (created_at);
@@ -0,0 +1,11 @@
+-- Distinct borrowers per book or category and month as HyperLogLog sketches, so unique-reader
+-- reports merge a few small rows instead of counting distinct members over the loan history.
+-- Maintained from borrow events and backfilled from loans by BorrowerSketchJob.
+CREATE TABLE borrower_sketches (
+    scope       VARCHAR(20)  NOT NULL,
+    item_id     BIGINT       NOT NULL,
+    month_start DATE         NOT NULL,
+    registers   BYTEA        NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope, item_id, month_start)
+);
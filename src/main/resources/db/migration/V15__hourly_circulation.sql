@@ -0,0 +1,24 @@
+-- Borrows and returns per day and hour of the day, the 24 counters a day that the circulation
+-- heatmap folds into weekday x hour. Derived from loans and rebuilt a day at a time by
+-- LoanRollupJob together with the daily loan rollups.
+CREATE TABLE hourly_circulation (
+    activity_day  DATE     NOT NULL,
+    activity_hour SMALLINT NOT NULL,
+    borrow_count  BIGINT   NOT NULL,
+    return_count  BIGINT   NOT NULL,
+    PRIMARY KEY (activity_day, activity_hour)
+);
+
+-- Returns of recent days are found without scanning every loans partition
+CREATE INDEX idx_loans_return_date ON loans (return_date);
+
+INSERT INTO hourly_circulation (activity_day, activity_hour, borrow_count, return_count)
+SELECT e.activity_day, e.activity_hour, SUM(e.borrowed), SUM(e.returned)
+FROM (SELECT CAST(loan_date AS DATE) AS activity_day, EXTRACT(HOUR FROM loan_date) AS activity_hour,
+             1 AS borrowed, 0 AS returned
+      FROM loans
+      UNION ALL
+      SELECT CAST(return_date AS DATE), EXTRACT(HOUR FROM return_date), 0, 1
+      FROM loans
+      WHERE return_date IS NOT NULL) e
+GROUP BY e.activity_day, e.activity_hour;
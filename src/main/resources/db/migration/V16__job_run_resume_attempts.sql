@@ -0,0 +1,8 @@
+-- How many resumes led to this run: 0 for a fresh run, one more than the run it resumes
+-- otherwise. A run that has been resumed library.jobs.max-resume-attempts times without
+-- finishing is ABANDONED, and the next trigger starts a fresh run instead.
+ALTER TABLE job_runs ADD COLUMN resume_attempt INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE job_runs DROP CONSTRAINT job_runs_status_check;
+ALTER TABLE job_runs ADD CONSTRAINT job_runs_status_check
+    CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED', 'ABANDONED'));
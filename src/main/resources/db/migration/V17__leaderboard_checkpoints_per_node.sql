@@ -0,0 +1,10 @@
+-- V12 kept one checkpoint row per dimension and window, so every node overwrote the boards
+-- of the others and a restarting node restored whichever node saved last. Each node now keeps
+-- its own rows, keyed by library.analytics.node-id, and restores only those. Rows nobody has
+-- refreshed for a week, the longest window, belong to nodes that are gone and are deleted.
+-- Existing rows cannot be attributed to a node and are dropped.
+DELETE FROM leaderboard_checkpoints;
+
+ALTER TABLE leaderboard_checkpoints ADD COLUMN node_id VARCHAR(255) NOT NULL;
+ALTER TABLE leaderboard_checkpoints DROP CONSTRAINT leaderboard_checkpoints_pkey;
+ALTER TABLE leaderboard_checkpoints ADD PRIMARY KEY (node_id, name);
@@ -0,0 +1,118 @@
+-- Initial schema. Tables were previously created by Hibernate ddl-auto; from here on
+-- every schema change goes through a versioned migration.
+
+CREATE TABLE membership_types (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL UNIQUE,
+    max_books     INTEGER      NOT NULL,
+    max_loan_days INTEGER      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE members (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name         VARCHAR(255)   NOT NULL,
+    last_name          VARCHAR(255)   NOT NULL,
+    email              VARCHAR(255)   NOT NULL UNIQUE,
+    phone              VARCHAR(255)   NOT NULL,
+    password           VARCHAR(255)   NOT NULL,
+    role               VARCHAR(255)   NOT NULL CHECK (role IN ('USER', 'ADMIN')),
+    balance            NUMERIC(10, 2) NOT NULL DEFAULT 0,
+    membership_type_id BIGINT REFERENCES membership_types (id),
+    created_at         TIMESTAMP(6)   NOT NULL,
+    updated_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE TABLE publishers (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL UNIQUE,
+    country      VARCHAR(255),
+    address      VARCHAR(255),
+    phone        VARCHAR(255),
+    email        VARCHAR(255),
+    founded_year INTEGER,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(500),
+    status      VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'INACTIVE')),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE books (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255) NOT NULL,
+    author       VARCHAR(255) NOT NULL,
+    isbn         VARCHAR(255) NOT NULL UNIQUE,
+    publisher_id BIGINT REFERENCES publishers (id),
+    publish_year INTEGER,
+    page_count   INTEGER,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE book_categories (
+    book_id     BIGINT NOT NULL REFERENCES books (id),
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    PRIMARY KEY (book_id, category_id)
+);
+
+CREATE TABLE book_copies (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    book_id    BIGINT       NOT NULL REFERENCES books (id),
+    barcode    VARCHAR(255) NOT NULL UNIQUE,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('AVAILABLE', 'LOANED', 'RESERVED', 'DAMAGED', 'LOST')),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_book_copies_book_id ON book_copies (book_id);
+
+CREATE TABLE book_ratings (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    score      INTEGER      NOT NULL CHECK (score >= 1 AND score <= 5),
+    comment    VARCHAR(1000),
+    member_id  BIGINT       NOT NULL REFERENCES members (id),
+    book_id    BIGINT       NOT NULL REFERENCES books (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    UNIQUE (member_id, book_id)
+);
+
+CREATE TABLE favorites (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    member_id  BIGINT       NOT NULL REFERENCES members (id),
+    book_id    BIGINT       NOT NULL REFERENCES books (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    UNIQUE (member_id, book_id)
+);
+
+CREATE TABLE reading_list_items (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    member_id  BIGINT       NOT NULL REFERENCES members (id),
+    book_id    BIGINT       NOT NULL REFERENCES books (id),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    UNIQUE (member_id, book_id)
+);
+
+CREATE TABLE reservations (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    book_id     BIGINT       NOT NULL REFERENCES books (id),
+    member_id   BIGINT       NOT NULL REFERENCES members (id),
+    status      VARCHAR(255) NOT NULL
+        CHECK (status IN ('PENDING', 'READY_FOR_PICKUP', 'FULFILLED', 'CANCELLED', 'EXPIRED')),
+    expiry_date TIMESTAMP(6),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_reservations_member_id ON reservations (member_id);
+CREATE INDEX idx_reservations_book_id ON reservations (book_id);
@@ -0,0 +1,173 @@
+-- Loans and fines are range-partitioned by month of the loan date. The partition key
+-- has to be part of every unique constraint, so both primary keys include loan_date and
+-- fines carry a copy of their loan's loan_date.
+--
+-- Databases created by Hibernate ddl-auto are baselined at V1 (spring.flyway.baseline-on-migrate)
+-- and still hold plain loans and fines tables. They are renamed here, their rows copied into
+-- monthly partitions that cover the oldest loan, and dropped once the copy is done.
+
+DO
+$$
+BEGIN
+    -- Index and sequence names are schema-wide and would collide with the new tables
+    IF to_regclass('fines') IS NOT NULL THEN
+        ALTER TABLE fines RENAME TO legacy_fines;
+        ALTER INDEX fines_pkey RENAME TO legacy_fines_pkey;
+        ALTER SEQUENCE fines_id_seq RENAME TO legacy_fines_id_seq;
+    END IF;
+    IF to_regclass('loans') IS NOT NULL THEN
+        ALTER TABLE loans RENAME TO legacy_loans;
+        ALTER INDEX loans_pkey RENAME TO legacy_loans_pkey;
+        ALTER SEQUENCE loans_id_seq RENAME TO legacy_loans_id_seq;
+    END IF;
+END;
+$$;
+
+CREATE TABLE loans (
+    id           BIGSERIAL,
+    book_copy_id BIGINT       NOT NULL REFERENCES book_copies (id),
+    member_id    BIGINT       NOT NULL REFERENCES members (id),
+    status       VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'RETURNED')),
+    loan_date    TIMESTAMP(6) NOT NULL,
+    due_date     TIMESTAMP(6) NOT NULL,
+    return_date  TIMESTAMP(6),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, loan_date)
+) PARTITION BY RANGE (loan_date);
+
+CREATE INDEX idx_loans_member_id ON loans (member_id);
+CREATE INDEX idx_loans_book_copy_id ON loans (book_copy_id);
+CREATE INDEX idx_loans_status ON loans (status);
+
+CREATE TABLE fines (
+    id           BIGSERIAL,
+    loan_id      BIGINT         NOT NULL,
+    loan_date    TIMESTAMP(6)   NOT NULL,
+    member_id    BIGINT         NOT NULL REFERENCES members (id),
+    amount       NUMERIC(10, 2) NOT NULL,
+    status       VARCHAR(255)   NOT NULL CHECK (status IN ('PAID', 'UNPAID')),
+    fine_date    TIMESTAMP(6)   NOT NULL,
+    last_updated TIMESTAMP(6),
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    PRIMARY KEY (id, loan_date),
+    UNIQUE (loan_id, loan_date),
+    FOREIGN KEY (loan_id, loan_date) REFERENCES loans (id, loan_date)
+) PARTITION BY RANGE (loan_date);
+
+CREATE INDEX idx_fines_member_id ON fines (member_id);
+
+-- Rows outside every monthly partition land here; it should stay empty because
+-- PartitionMaintenanceJob creates partitions ahead of time.
+CREATE TABLE loans_default PARTITION OF loans DEFAULT;
+CREATE TABLE fines_default PARTITION OF fines DEFAULT;
+
+-- Creates the monthly partitions of parent_table from the month of from_month up to
+-- months_ahead months later. Existing partitions are left alone; returns how many
+-- partitions were created.
+--
+-- A partition cannot be attached while the default partition holds rows of its range, so
+-- such rows (back-dated loans) are moved into the new partition first. The foreign keys
+-- that reference parent_table are dropped for the move and re-added after it, which checks
+-- every referencing row again; this only happens when the default partition was used.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent_table TEXT, from_month DATE, months_ahead INTEGER)
+    RETURNS INTEGER
+    LANGUAGE plpgsql
+AS
+$$
+DECLARE
+    month_start    DATE    := date_trunc('month', from_month)::DATE;
+    month_end      DATE;
+    partition_name TEXT;
+    parent_schema  TEXT    := (SELECT n.nspname
+                               FROM pg_class c
+                               JOIN pg_namespace n ON n.oid = c.relnamespace
+                               WHERE c.oid = parent_table::regclass);
+    default_name   TEXT    := parent_table || '_default';
+    misplaced      BOOLEAN;
+    fk             RECORD;
+    fk_tables      TEXT[]  := '{}';
+    fk_names       TEXT[]  := '{}';
+    fk_definitions TEXT[]  := '{}';
+    created        INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        partition_name := format('%s_%s', parent_table, to_char(month_start, 'YYYY_MM'));
+        month_end := (month_start + INTERVAL '1 month')::DATE;
+        -- Partitions live next to their parent, whatever else is on the search path
+        IF to_regclass(format('%I.%I', parent_schema, partition_name)) IS NULL THEN
+            EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I.%I WHERE loan_date >= %L AND loan_date < %L)',
+                           parent_schema, default_name, month_start, month_end) INTO misplaced;
+            IF misplaced THEN
+                IF cardinality(fk_names) = 0 THEN
+                    FOR fk IN SELECT conrelid::regclass::TEXT AS table_name, conname, pg_get_constraintdef(oid) AS definition
+                              FROM pg_constraint
+                              WHERE contype = 'f' AND confrelid = parent_table::regclass AND conparentid = 0 LOOP
+                        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+                        fk_tables := fk_tables || fk.table_name;
+                        fk_names := fk_names || fk.conname::TEXT;
+                        fk_definitions := fk_definitions || fk.definition;
+                    END LOOP;
+                END IF;
+                EXECUTE format('CREATE TABLE %I.%I (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               parent_schema, partition_name, parent_table::regclass);
+                EXECUTE format('WITH moved AS (DELETE FROM %I.%I WHERE loan_date >= %L AND loan_date < %L RETURNING *) '
+                                   || 'INSERT INTO %I.%I SELECT * FROM moved',
+                               parent_schema, default_name, month_start, month_end, parent_schema, partition_name);
+                EXECUTE format('ALTER TABLE %s ATTACH PARTITION %I.%I FOR VALUES FROM (%L) TO (%L)',
+                               parent_table::regclass, parent_schema, partition_name, month_start, month_end);
+            ELSE
+                EXECUTE format('CREATE TABLE %I.%I PARTITION OF %s FOR VALUES FROM (%L) TO (%L)',
+                               parent_schema, partition_name, parent_table::regclass, month_start, month_end);
+            END IF;
+            created := created + 1;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    FOR i IN 1..cardinality(fk_names) LOOP
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I %s', fk_tables[i], fk_names[i], fk_definitions[i]);
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+-- Partitions from one month back, or from the oldest legacy loan, to three months ahead
+DO
+$$
+DECLARE
+    first_month DATE := date_trunc('month', CURRENT_DATE - INTERVAL '1 month')::DATE;
+    months      INTEGER;
+BEGIN
+    IF to_regclass('legacy_loans') IS NOT NULL THEN
+        SELECT LEAST(first_month, COALESCE(date_trunc('month', MIN(loan_date))::DATE, first_month))
+        INTO first_month
+        FROM legacy_loans;
+    END IF;
+    months := (EXTRACT(YEAR FROM CURRENT_DATE) - EXTRACT(YEAR FROM first_month)) * 12
+                  + EXTRACT(MONTH FROM CURRENT_DATE) - EXTRACT(MONTH FROM first_month) + 3;
+    PERFORM ensure_monthly_partitions('loans', first_month, months);
+    PERFORM ensure_monthly_partitions('fines', first_month, months);
+
+    IF to_regclass('legacy_loans') IS NOT NULL THEN
+        INSERT INTO loans (id, book_copy_id, member_id, status, loan_date, due_date, return_date, created_at, updated_at)
+        SELECT id, book_copy_id, member_id, status, loan_date, due_date, return_date, created_at, updated_at
+        FROM legacy_loans;
+    END IF;
+    IF to_regclass('legacy_fines') IS NOT NULL THEN
+        INSERT INTO fines (id, loan_id, loan_date, member_id, amount, status, fine_date, last_updated, created_at,
+                           updated_at)
+        SELECT f.id, f.loan_id, l.loan_date, f.member_id, f.amount, f.status, f.fine_date, f.last_updated,
+               f.created_at, f.updated_at
+        FROM legacy_fines f
+        JOIN legacy_loans l ON l.id = f.loan_id;
+        DROP TABLE legacy_fines;
+    END IF;
+    IF to_regclass('legacy_loans') IS NOT NULL THEN
+        DROP TABLE legacy_loans;
+        -- Copied rows keep their ids, so new ones continue after the largest
+        PERFORM setval(pg_get_serial_sequence('loans', 'id'), COALESCE((SELECT MAX(id) FROM loans), 0) + 1, false);
+        PERFORM setval(pg_get_serial_sequence('fines', 'id'), COALESCE((SELECT MAX(id) FROM fines), 0) + 1, false);
+    END IF;
+END;
+$$;
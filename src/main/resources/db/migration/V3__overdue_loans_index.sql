@@ -0,0 +1,2 @@
+-- Overdue detection only ever looks at ACTIVE loans, which are a small slice of the table
+CREATE INDEX idx_loans_overdue ON loans (due_date) WHERE status = 'ACTIVE';
@@ -0,0 +1,18 @@
+CREATE TABLE notification_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    channel         VARCHAR(255)  NOT NULL CHECK (channel IN ('EMAIL')),
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            VARCHAR(2000) NOT NULL,
+    status          VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'IN_PROGRESS', 'SENT', 'FAILED')),
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6),
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6)  NOT NULL
+);
+
+-- Only undelivered rows are ever polled; sent and failed rows drop out of the index
+CREATE INDEX idx_notification_outbox_due ON notification_outbox (next_attempt_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
@@ -0,0 +1,20 @@
+-- Append-only record of every change to a member's balance. members.balance is the cached
+-- running total and must always equal the sum of the member's entries.
+CREATE TABLE balance_ledger (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    member_id   BIGINT         NOT NULL REFERENCES members (id),
+    entry_type  VARCHAR(255)   NOT NULL CHECK (entry_type IN ('OPENING_BALANCE', 'FINE_ACCRUED', 'FINE_ADJUSTED', 'PAYMENT')),
+    amount      NUMERIC(10, 2) NOT NULL,
+    -- fines are partitioned, so this is a plain reference without a foreign key
+    fine_id     BIGINT,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX idx_balance_ledger_member_id ON balance_ledger (member_id);
+
+-- Balances that predate the ledger become its first entry
+INSERT INTO balance_ledger (member_id, entry_type, amount, created_at, updated_at)
+SELECT id, 'OPENING_BALANCE', balance, now(), now()
+FROM members
+WHERE balance <> 0;
@@ -0,0 +1,42 @@
+-- Cluster-wide lease per job: a node may run the job while locked_until is in the future
+-- and it is the owner. Times come from the database clock so nodes need not agree.
+CREATE TABLE job_locks (
+    job_name     VARCHAR(100) PRIMARY KEY,
+    owner        VARCHAR(255) NOT NULL,
+    locked_until TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE job_runs (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name            VARCHAR(100)  NOT NULL,
+    node_id             VARCHAR(255)  NOT NULL,
+    status              VARCHAR(255)  NOT NULL CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED')),
+    -- Point in time the job processes data for; a resumed run keeps the one of the run it resumes
+    as_of               TIMESTAMP(6)  NOT NULL,
+    started_at          TIMESTAMP(6)  NOT NULL,
+    finished_at         TIMESTAMP(6),
+    items_processed     BIGINT        NOT NULL DEFAULT 0,
+    resumed_from_run_id BIGINT REFERENCES job_runs (id),
+    error               VARCHAR(1000),
+    created_at          TIMESTAMP(6)  NOT NULL,
+    updated_at          TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_job_runs_job_name ON job_runs (job_name, id DESC);
+
+-- One row per key range processed in parallel; checkpoint is the last key whose chunk
+-- committed, so a failed run can be resumed from checkpoint + 1.
+CREATE TABLE job_run_partitions (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_run_id      BIGINT       NOT NULL REFERENCES job_runs (id),
+    partition_no    INTEGER      NOT NULL,
+    range_start     BIGINT       NOT NULL,
+    range_end       BIGINT       NOT NULL,
+    checkpoint      BIGINT,
+    status          VARCHAR(255) NOT NULL CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED')),
+    items_processed BIGINT       NOT NULL DEFAULT 0,
+    created_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_job_run_partitions_run_id ON job_run_partitions (job_run_id);
@@ -0,0 +1,18 @@
+-- Fine policy per membership type. Defaults keep the previous flat 1.00 per overdue day.
+ALTER TABLE membership_types
+    ADD COLUMN fine_per_day        NUMERIC(10, 2) NOT NULL DEFAULT 1.00 CHECK (fine_per_day >= 0),
+    ADD COLUMN fine_grace_days     INTEGER        NOT NULL DEFAULT 0 CHECK (fine_grace_days >= 0),
+    ADD COLUMN max_fine_per_loan   NUMERIC(10, 2) CHECK (max_fine_per_loan >= 0),
+    ADD COLUMN max_fine_per_member NUMERIC(10, 2) CHECK (max_fine_per_member >= 0);
+
+-- Policy in effect for every member, so set-based fine statements can join it once per loan.
+-- Members without a membership type get the defaults above; FinePolicy.DEFAULT must match.
+CREATE VIEW member_fine_policies AS
+SELECT m.id                             AS member_id,
+       m.membership_type_id,
+       COALESCE(t.fine_per_day, 1.00)   AS fine_per_day,
+       COALESCE(t.fine_grace_days, 0)   AS fine_grace_days,
+       t.max_fine_per_loan,
+       t.max_fine_per_member
+FROM members m
+LEFT JOIN membership_types t ON t.id = m.membership_type_id;
@@ -0,0 +1,6 @@
+-- Queue positions are ROW_NUMBER() over the PENDING reservations of a book in created_at
+-- order; this index serves that scan without touching the table. It supersedes the
+-- single-column book_id index.
+CREATE INDEX idx_reservations_book_status_created ON reservations (book_id, status, created_at) INCLUDE (id, member_id);
+
+DROP INDEX idx_reservations_book_id;
@@ -0,0 +1,4 @@
+-- The pickup expiry job scans READY_FOR_PICKUP reservations past their expiry_date in
+-- expiry order; a partial index keeps that scan proportional to the held copies rather
+-- than the whole reservation history.
+CREATE INDEX idx_reservations_ready_expiry ON reservations (expiry_date, id) WHERE status = 'READY_FOR_PICKUP';
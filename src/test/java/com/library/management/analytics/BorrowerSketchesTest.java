@@ -0,0 +1,131 @@
+package com.library.management.analytics;
+
+import com.library.management.entity.BorrowerSketch;
+import com.library.management.entity.SketchScope;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.model.ItemBorrower;
+import com.library.management.repository.BorrowerSketchRepository;
+import com.library.management.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BorrowerSketches Unit Tests")
+class BorrowerSketchesTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BorrowerSketchRepository sketchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BorrowerSketches borrowerSketches;
+
+    @BeforeEach
+    void setUp() {
+        borrowerSketches = new BorrowerSketches(categoryRepository, sketchRepository,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    @DisplayName("Should merge borrowers seen since the last flush into the stored sketches")
+    void testFlush_MergesIntoStored() {
+        // Given
+        when(categoryRepository.findIdsByBookId(10L)).thenReturn(List.of(3L));
+        borrowerSketches.onLoanBorrowed(new LoanBorrowedEvent(1L, 100L, 10L, LocalDateTime.of(2026, 3, 5, 10, 0)));
+        borrowerSketches.onLoanBorrowed(new LoanBorrowedEvent(2L, 100L, 10L, LocalDateTime.of(2026, 3, 9, 10, 0)));
+        HyperLogLog earlier = new HyperLogLog();
+        earlier.add(200L);
+        BorrowerSketch stored = sketch(SketchScope.BOOK, 10L, earlier);
+        when(sketchRepository.findForUpdate(SketchScope.BOOK, 10L, MARCH)).thenReturn(Optional.of(stored));
+        when(sketchRepository.findForUpdate(SketchScope.CATEGORY, 3L, MARCH)).thenReturn(Optional.empty());
+
+        // When
+        int flushed = borrowerSketches.flush();
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        assertThat(borrowerSketches.pendingCount()).isZero();
+        ArgumentCaptor<BorrowerSketch> saved = ArgumentCaptor.forClass(BorrowerSketch.class);
+        verify(sketchRepository, times(2)).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(BorrowerSketch::getScope)
+                .containsExactly(SketchScope.BOOK, SketchScope.CATEGORY);
+        assertThat(HyperLogLog.fromBytes(saved.getAllValues().get(0).getRegisters()).estimate()).isEqualTo(2);
+        assertThat(HyperLogLog.fromBytes(saved.getAllValues().get(1).getRegisters()).estimate()).isEqualTo(1);
+        assertThat(saved.getAllValues().get(1).getMonthStart()).isEqualTo(MARCH);
+    }
+
+    @Test
+    @DisplayName("Should keep borrowers pending when a flush fails")
+    void testFlush_FailureKeepsPending() {
+        // Given
+        when(categoryRepository.findIdsByBookId(10L)).thenReturn(List.of());
+        borrowerSketches.onLoanBorrowed(new LoanBorrowedEvent(1L, 100L, 10L, LocalDateTime.of(2026, 3, 5, 10, 0)));
+        when(sketchRepository.findForUpdate(any(), any(), any())).thenThrow(new CannotAcquireLockException("busy"));
+
+        // When
+        int flushed = borrowerSketches.flush();
+
+        // Then
+        assertThat(flushed).isZero();
+        assertThat(borrowerSketches.pendingCount()).isEqualTo(1);
+        verify(sketchRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should sketch a month of loans and merge sketches per item on load")
+    void testRebuildAndLoad() {
+        // Given
+        when(sketchRepository.findBookBorrowers(MARCH.atStartOfDay(), MARCH.plusMonths(1).atStartOfDay()))
+                .thenReturn(List.of(new ItemBorrower(10L, 100L), new ItemBorrower(10L, 101L), new ItemBorrower(11L, 100L)));
+        when(sketchRepository.findCategoryBorrowers(any(), any())).thenReturn(List.of());
+        when(sketchRepository.findForUpdate(any(), any(), any())).thenReturn(Optional.empty());
+
+        // When
+        int written = borrowerSketches.rebuild(YearMonth.of(2026, 3));
+
+        // Then
+        assertThat(written).isEqualTo(2);
+        ArgumentCaptor<BorrowerSketch> saved = ArgumentCaptor.forClass(BorrowerSketch.class);
+        verify(sketchRepository, times(2)).save(saved.capture());
+
+        HyperLogLog april = new HyperLogLog();
+        april.add(102L);
+        when(sketchRepository.findByScopeAndItemIdInAndMonthStartBetween(SketchScope.BOOK, List.of(10L),
+                MARCH, MARCH.plusMonths(1))).thenReturn(List.of(saved.getAllValues().get(0), sketch(SketchScope.BOOK, 10L, april)));
+        assertThat(borrowerSketches.load(SketchScope.BOOK, List.of(10L), YearMonth.of(2026, 3), YearMonth.of(2026, 4)))
+                .hasEntrySatisfying(10L, sketch -> assertThat(sketch.estimate()).isEqualTo(3));
+    }
+
+    private BorrowerSketch sketch(SketchScope scope, Long itemId, HyperLogLog registers) {
+        BorrowerSketch sketch = new BorrowerSketch();
+        sketch.setScope(scope);
+        sketch.setItemId(itemId);
+        sketch.setMonthStart(MARCH);
+        sketch.setRegisters(registers.toBytes());
+        return sketch;
+    }
+}
@@ -0,0 +1,71 @@
+package com.library.management.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("HyperLogLog Unit Tests")
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should count small sets almost exactly and ignore repeats")
+    void testEstimate_Small() {
+        HyperLogLog sketch = new HyperLogLog();
+        LongStream.rangeClosed(1, 200).forEach(sketch::add);
+        LongStream.rangeClosed(1, 200).forEach(sketch::add);
+
+        assertThat(sketch.estimate()).isCloseTo(200L, within(10L));
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should estimate large sets within a few standard errors")
+    void testEstimate_Large() {
+        HyperLogLog sketch = new HyperLogLog();
+        LongStream.rangeClosed(1, 1_000_000).forEach(sketch::add);
+
+        assertThat((double) sketch.estimate()).isCloseTo(1_000_000, within(1_000_000 * 3 * HyperLogLog.STANDARD_ERROR));
+    }
+
+    @Test
+    @DisplayName("Should count the union of merged sketches once")
+    void testMerge() {
+        HyperLogLog january = new HyperLogLog();
+        HyperLogLog february = new HyperLogLog();
+        LongStream.rangeClosed(1, 30_000).forEach(january::add);
+        LongStream.rangeClosed(20_001, 50_000).forEach(february::add);
+
+        long union = january.merge(february).estimate();
+
+        assertThat((double) union).isCloseTo(50_000, within(50_000 * 3 * HyperLogLog.STANDARD_ERROR));
+    }
+
+    @Test
+    @DisplayName("Should round-trip small sketches sparse and large ones dense")
+    void testBytes() {
+        HyperLogLog small = new HyperLogLog();
+        LongStream.rangeClosed(1, 10).forEach(small::add);
+        HyperLogLog large = new HyperLogLog();
+        LongStream.rangeClosed(1, 10_000).forEach(large::add);
+
+        assertThat(small.toBytes()).hasSize(2 + 10 * 3);
+        assertThat(large.toBytes()).hasSize(2 + 4096);
+        assertThat(HyperLogLog.fromBytes(small.toBytes()).estimate()).isEqualTo(small.estimate());
+        assertThat(HyperLogLog.fromBytes(large.toBytes()).estimate()).isEqualTo(large.estimate());
+        assertThat(HyperLogLog.fromBytes(new HyperLogLog().toBytes()).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject bytes that are not a sketch")
+    void testBytes_Corrupt() {
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{0, 12, 0x7F, 0, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{1, 12, 3})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
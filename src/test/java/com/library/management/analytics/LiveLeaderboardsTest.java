@@ -0,0 +1,187 @@
+package com.library.management.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.Book;
+import com.library.management.entity.LeaderboardCheckpoint;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.model.LiveRanking;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.CategoryRepository;
+import com.library.management.repository.LeaderboardCheckpointRepository;
+import com.library.management.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LiveLeaderboards Unit Tests")
+class LiveLeaderboardsTest {
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private LeaderboardCheckpointRepository checkpointRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-05-04T10:00:00Z"));
+    private LiveLeaderboards leaderboards;
+
+    @BeforeEach
+    void setUp() {
+        leaderboards = new LiveLeaderboards(categoryRepository, bookRepository, memberRepository,
+                checkpointRepository, new ObjectMapper(), 3, "node-a", clock);
+        lenient().when(categoryRepository.findIdsByBookId(anyLong())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should rank books by borrows and resolve their titles once")
+    void testTop_RanksAndNamesBooks() {
+        borrow(1L, 10L, 3);
+        borrow(2L, 10L, 5);
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(book(1L, "Emma"), book(2L, "Dune")));
+
+        List<LiveRanking> top = leaderboards.top(LeaderboardDimension.BOOK, LeaderboardWindow.DAY, 10);
+        leaderboards.top(LeaderboardDimension.BOOK, LeaderboardWindow.DAY, 10);
+
+        assertThat(top).containsExactly(new LiveRanking(2L, "Dune", 5, 0), new LiveRanking(1L, "Emma", 3, 0));
+        verify(bookRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should count every category of a borrowed book")
+    void testOnLoanBorrowed_CountsCategories() {
+        when(categoryRepository.findIdsByBookId(1L)).thenReturn(List.of(7L, 8L));
+        when(categoryRepository.findAllById(any())).thenReturn(List.of());
+
+        borrow(1L, 10L, 2);
+
+        assertThat(leaderboards.top(LeaderboardDimension.CATEGORY, LeaderboardWindow.HOUR, 10))
+                .extracting(LiveRanking::id, LiveRanking::loanCount)
+                .containsExactly(tuple(7L, 2L), tuple(8L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should forget borrows once they slide out of the window")
+    void testTop_SlidingWindow() {
+        when(memberRepository.findAllById(any())).thenReturn(List.of());
+        borrow(1L, 10L, 1);
+        clock.advance(Duration.ofMinutes(30));
+        borrow(1L, 20L, 1);
+        clock.advance(Duration.ofMinutes(45));
+
+        assertThat(leaderboards.top(LeaderboardDimension.MEMBER, LeaderboardWindow.HOUR, 10))
+                .extracting(LiveRanking::id).containsExactly(20L);
+        assertThat(leaderboards.top(LeaderboardDimension.MEMBER, LeaderboardWindow.DAY, 10))
+                .extracting(LiveRanking::id).containsExactly(10L, 20L);
+    }
+
+    @Test
+    @DisplayName("Should keep heavy hitters and bound the error once a bucket is full")
+    void testTop_BoundedMemory() {
+        when(bookRepository.findAllById(any())).thenReturn(List.of());
+        borrow(1L, 10L, 10);
+        for (long bookId = 100; bookId < 110; bookId++) {
+            borrow(bookId, 10L, 1);
+        }
+
+        List<LiveRanking> top = leaderboards.top(LeaderboardDimension.BOOK, LeaderboardWindow.DAY, 10);
+
+        assertThat(top).hasSize(3);
+        assertThat(top.get(0).id()).isEqualTo(1L);
+        assertThat(top.get(0).loanCount()).isEqualTo(10);
+        // Each other book was borrowed once; whatever a counter inherited is reported as error
+        assertThat(top.subList(1, 3)).allSatisfy(ranking ->
+                assertThat(ranking.loanCount() - ranking.error()).isLessThanOrEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Should restore boards from a checkpoint and never save before restoring")
+    void testCheckpointAndRestore() {
+        leaderboards.checkpoint();
+        verifyNoInteractions(checkpointRepository);
+
+        leaderboards.restore();
+        borrow(1L, 10L, 4);
+        leaderboards.checkpoint();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<LeaderboardCheckpoint>> saved = ArgumentCaptor.forClass(List.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).hasSize(9).allSatisfy(checkpoint ->
+                assertThat(checkpoint.getNodeId()).isEqualTo("node-a"));
+        verify(checkpointRepository).deleteSavedBefore(LocalDateTime.now(clock).minusDays(7));
+
+        LiveLeaderboards restarted = new LiveLeaderboards(categoryRepository, bookRepository, memberRepository,
+                checkpointRepository, new ObjectMapper(), 3, "node-a", clock);
+        when(checkpointRepository.findByNodeId("node-a")).thenReturn(saved.getValue());
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1L, "Dune")));
+        clock.advance(Duration.ofMinutes(10));
+        restarted.restore();
+
+        assertThat(restarted.top(LeaderboardDimension.BOOK, LeaderboardWindow.WEEK, 10))
+                .containsExactly(new LiveRanking(1L, "Dune", 4, 0));
+    }
+
+    private void borrow(Long bookId, Long memberId, int times) {
+        for (int i = 0; i < times; i++) {
+            leaderboards.onLoanBorrowed(new LoanBorrowedEvent((long) i, memberId, bookId, null));
+        }
+    }
+
+    private Book book(Long id, String title) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        return book;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
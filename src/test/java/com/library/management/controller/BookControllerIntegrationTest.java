@@ -284,6 +284,20 @@ class BookControllerIntegrationTest {
         assertThat(copies.get(0).getBarcode()).isEqualTo("NEW-COPY-123");
     }
 
+    @Test
+    @DisplayName("POST /api/v1/books/{id}/copies/bulk - Add several copies at once")
+    @WithMockUser(roles = "ADMIN")
+    void testAddBookCopies_Success() throws Exception {
+        mockMvc.perform(post("/api/v1/books/{id}/copies/bulk", testBook.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"BULK-1\", \"\", \"BULK-3\"]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
+
+        assertThat(bookCopyRepository.findByBookId(testBook.getId())).hasSize(3);
+    }
+
     @Test
     @DisplayName("POST /api/v1/books/{id}/copies - Add copy without barcode")
     @WithMockUser(roles = "ADMIN")
@@ -40,6 +40,9 @@ class FineControllerIntegrationTest {
     @Autowired
     private MemberRepository memberRepository;
 
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+
     @Autowired
     private BookRepository bookRepository;
 
@@ -118,6 +121,7 @@ class FineControllerIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        balanceLedgerRepository.deleteAll();
         fineRepository.deleteAll();
         loanRepository.deleteAll();
         bookCopyRepository.deleteAll();
@@ -135,7 +139,9 @@ class FineControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(1))
-                .andExpect(jsonPath("$[0].amount").value(15.00))
+                // Still-active loan: the fine accrues on read, 16 days overdue
+                .andExpect(jsonPath("$[0].id").value(testFine.getId()))
+                .andExpect(jsonPath("$[0].amount").value(16.00))
                 .andExpect(jsonPath("$[0].paid").value(false));
     }
 
@@ -152,6 +158,9 @@ class FineControllerIntegrationTest {
     @WithMockUser(roles = "ADMIN")
     void testGetAllFines_Empty() throws Exception {
         fineRepository.deleteAll();
+        testLoan.setStatus(LoanStatus.RETURNED);
+        testLoan.setReturnDate(testLoan.getDueDate());
+        loanRepository.save(testLoan);
 
         mockMvc.perform(get("/api/v1/fines"))
                 .andExpect(status().isOk())
@@ -168,7 +177,7 @@ class FineControllerIntegrationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].member.id").value(testMember.getId()))
-                .andExpect(jsonPath("$[0].amount").value(15.00));
+                .andExpect(jsonPath("$[0].amount").value(16.00));
     }
 
     @Test
@@ -205,6 +214,46 @@ class FineControllerIntegrationTest {
         assertThat(paidFine.getLastUpdated()).isNotNull();
     }
 
+    @Test
+    @DisplayName("POST /api/v1/fines/loan/{loanId}/pay - Pay accrued fine of an active loan")
+    @WithMockUser(roles = "ADMIN")
+    void testPayLoanFine_Success() throws Exception {
+        fineRepository.deleteAll();
+
+        mockMvc.perform(post("/api/v1/fines/loan/{loanId}/pay", testLoan.getId()))
+                .andExpect(status().isOk());
+
+        Fine paidFine = fineRepository.findByLoanId(testLoan.getId()).orElseThrow();
+        assertThat(paidFine.getStatus()).isEqualTo(FineStatus.PAID);
+        assertThat(paidFine.getAmount()).isEqualByComparingTo("16.00");
+        assertThat(memberRepository.findById(testMember.getId()).orElseThrow().getBalance()).isEqualByComparingTo("0");
+
+        mockMvc.perform(get("/api/v1/fines/member/{memberId}", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].paid").value(true));
+
+        // Accrual and payment are both in the ledger and replay to the cached balance
+        mockMvc.perform(get("/api/v1/members/{id}/ledger", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].entryType").value("FINE_ACCRUED"))
+                .andExpect(jsonPath("$[0].amount").value(16.00))
+                .andExpect(jsonPath("$[1].entryType").value("PAYMENT"))
+                .andExpect(jsonPath("$[1].amount").value(-16.00));
+        mockMvc.perform(get("/api/v1/members/{id}/balance/verify", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consistent").value(true));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/fines/loan/{loanId}/pay - Pay fine of non-existent loan should return 404")
+    @WithMockUser(roles = "ADMIN")
+    void testPayLoanFine_NotFound() throws Exception {
+        mockMvc.perform(post("/api/v1/fines/loan/{loanId}/pay", 99999L))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("POST /api/v1/fines/{id}/pay - Pay fine without admin role should fail")
     @WithMockUser(roles = "USER")
@@ -253,9 +302,10 @@ class FineControllerIntegrationTest {
         Loan loan2 = new Loan();
         loan2.setMember(member2);
         loan2.setBookCopy(testBookCopy);
-        loan2.setLoanDate(LocalDateTime.now());
-        loan2.setDueDate(LocalDateTime.now().plusDays(14));
-        loan2.setStatus(LoanStatus.ACTIVE);
+        loan2.setLoanDate(LocalDateTime.now().minusDays(30));
+        loan2.setDueDate(LocalDateTime.now().minusDays(20));
+        loan2.setReturnDate(LocalDateTime.now().minusDays(10));
+        loan2.setStatus(LoanStatus.RETURNED);
         loan2 = loanRepository.save(loan2);
 
         Fine fine2 = new Fine();
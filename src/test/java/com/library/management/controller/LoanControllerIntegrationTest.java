@@ -223,6 +223,42 @@ class LoanControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/loans/overdue - Only active loans past their due date are returned")
+    @WithMockUser(roles = "ADMIN")
+    void testGetOverdueLoans_Success() throws Exception {
+        BookCopy overdueCopy = new BookCopy();
+        overdueCopy.setBook(testBook);
+        overdueCopy.setBarcode("COPY-OVERDUE");
+        overdueCopy.setStatus(BookCopyStatus.LOANED);
+        overdueCopy = bookCopyRepository.save(overdueCopy);
+
+        // Borrowed recently but already past due: the old loanDate-based query missed this one
+        Loan overdueLoan = new Loan();
+        overdueLoan.setMember(testMember);
+        overdueLoan.setBookCopy(overdueCopy);
+        overdueLoan.setLoanDate(LocalDateTime.now().minusDays(3));
+        overdueLoan.setDueDate(LocalDateTime.now().minusDays(1));
+        overdueLoan.setStatus(LoanStatus.ACTIVE);
+        overdueLoan = loanRepository.save(overdueLoan);
+
+        mockMvc.perform(get("/api/v1/loans/overdue").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(overdueLoan.getId()))
+                .andExpect(jsonPath("$.content[0].bookCopy.barcode").value("COPY-OVERDUE"))
+                // Accrued on read for the list, one full day overdue
+                .andExpect(jsonPath("$.content[0].fineAmount").value(1.00));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/loans/overdue - Without admin role should fail")
+    @WithMockUser(roles = "USER")
+    void testGetOverdueLoans_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/loans/overdue"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("GET /api/v1/loans/member/{memberId} - Get loans by member successfully")
     @WithMockUser
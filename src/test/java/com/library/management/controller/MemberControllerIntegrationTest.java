@@ -1,10 +1,15 @@
 package com.library.management.controller;
 
+import com.library.management.entity.BalanceLedgerEntry;
+import com.library.management.entity.LedgerEntryType;
 import com.library.management.entity.Member;
 import com.library.management.entity.MembershipType;
 import com.library.management.entity.Role;
+import com.library.management.repository.BalanceLedgerRepository;
 import com.library.management.repository.MemberRepository;
 import com.library.management.repository.MembershipTypeRepository;
+import com.library.management.security.AccessTokenService;
+import com.library.management.stream.MemberEventStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,9 +22,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -38,6 +45,15 @@ class MemberControllerIntegrationTest {
     @Autowired
     private MembershipTypeRepository membershipTypeRepository;
 
+    @Autowired
+    private MemberEventStream memberEventStream;
+
+    @Autowired
+    private BalanceLedgerRepository ledgerRepository;
+
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     private Member testMember;
     private MembershipType testMembershipType;
 
@@ -64,6 +80,8 @@ class MemberControllerIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        memberEventStream.closeAll();
+        ledgerRepository.deleteAll();
         memberRepository.deleteAll();
         membershipTypeRepository.deleteAll();
     }
@@ -97,6 +115,31 @@ class MemberControllerIntegrationTest {
         assertThat(members).anyMatch(m -> m.getEmail().equals("jane.smith@test.com"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/members - A balance in the request is ignored")
+    @WithMockUser(roles = "ADMIN")
+    void testCreateMember_IgnoresBalance() throws Exception {
+        String memberJson = String.format("""
+                {
+                    "firstName": "Jane",
+                    "lastName": "Smith",
+                    "email": "jane.smith@test.com",
+                    "phone": "9876543210",
+                    "balance": 500.00,
+                    "membershipType": {"id": %d}
+                }
+                """, testMembershipType.getId());
+
+        mockMvc.perform(post("/api/v1/members")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(memberJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.balance").value(0));
+
+        assertThat(memberRepository.findByEmail("jane.smith@test.com"))
+                .hasValueSatisfying(m -> assertThat(m.getBalance()).isEqualByComparingTo("0"));
+    }
+
     @Test
     @DisplayName("POST /api/v1/members - Create member with invalid email should return 400")
     @WithMockUser
@@ -243,6 +286,23 @@ class MemberControllerIntegrationTest {
         assertThat(memberRepository.findById(testMember.getId())).isEmpty();
     }
 
+    @Test
+    @DisplayName("DELETE /api/v1/members/{id} - Member with balance history is not deleted")
+    @WithMockUser
+    void testDeleteMember_WithLedgerEntries() throws Exception {
+        BalanceLedgerEntry entry = new BalanceLedgerEntry();
+        entry.setMember(testMember);
+        entry.setEntryType(LedgerEntryType.PAYMENT);
+        entry.setAmount(new BigDecimal("-5.00"));
+        ledgerRepository.save(entry);
+
+        mockMvc.perform(delete("/api/v1/members/{id}", testMember.getId()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("balance history")));
+
+        assertThat(memberRepository.findById(testMember.getId())).isPresent();
+    }
+
     @Test
     @DisplayName("DELETE /api/v1/members/{id} - Delete non-existent member should return 404")
     @WithMockUser
@@ -250,4 +310,26 @@ class MemberControllerIntegrationTest {
         mockMvc.perform(delete("/api/v1/members/{id}", 99999L))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("GET /api/v1/members/{id}/events - Member opens own event stream")
+    void testStreamEvents_OwnStream() throws Exception {
+        mockMvc.perform(get("/api/v1/members/{id}/events", testMember.getId())
+                        .header("Authorization", "Bearer " + accessTokenService.issue(testMember).value())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        assertThat(memberEventStream.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/members/{id}/events - Member cannot open another member's stream")
+    @WithMockUser(username = "someone.else@test.com")
+    void testStreamEvents_OtherMember() throws Exception {
+        mockMvc.perform(get("/api/v1/members/{id}/events", testMember.getId())
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        assertThat(memberEventStream.connectionCount()).isZero();
+    }
 }
@@ -1,6 +1,8 @@
 package com.library.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.management.entity.MembershipType;
+import com.library.management.model.MembershipTypeUpdateRequest;
 import com.library.management.repository.MembershipTypeRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +35,9 @@ class MembershipTypeControllerIntegrationTest {
     @Autowired
     private MembershipTypeRepository membershipTypeRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     private MembershipType testMembershipType;
 
     @BeforeEach
@@ -199,6 +205,69 @@ class MembershipTypeControllerIntegrationTest {
         assertThat(updated.getMaxBooks()).isEqualTo(7);
     }
 
+    @Test
+    @DisplayName("PUT /api/v1/membership-types/{id} - Fine policy fields left out are kept")
+    @WithMockUser(roles = "ADMIN")
+    void testUpdateMembershipType_KeepsOmittedPolicy() throws Exception {
+        testMembershipType.setFinePerDay(new BigDecimal("0.50"));
+        testMembershipType.setFineGraceDays(2);
+        testMembershipType.setMaxFinePerMember(new BigDecimal("20.00"));
+        membershipTypeRepository.save(testMembershipType);
+
+        String updateJson = """
+                {
+                    "name": "Standard",
+                    "maxBorrowLimit": 8,
+                    "loanDurationDays": 21
+                }
+                """;
+
+        mockMvc.perform(put("/api/v1/membership-types/" + testMembershipType.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxBorrowLimit").value(8))
+                .andExpect(jsonPath("$.finePerDay").value(0.50))
+                .andExpect(jsonPath("$.fineGraceDays").value(2))
+                .andExpect(jsonPath("$.maxFinePerMember").value(20.00));
+    }
+
+    @Test
+    @DisplayName("Update body tells a cap sent as null, which clears it, from one left out")
+    void testUpdateRequest_NullCapVersusMissingCap() throws Exception {
+        MembershipTypeUpdateRequest request = objectMapper.readValue("""
+                {
+                    "name": "Standard",
+                    "maxBorrowLimit": 8,
+                    "loanDurationDays": 21,
+                    "maxFinePerLoan": null
+                }
+                """, MembershipTypeUpdateRequest.class);
+
+        assertThat(request.getMaxFinePerLoan()).isEmpty();
+        assertThat(request.getMaxFinePerMember()).isNull();
+        assertThat(request.getFinePerDay()).isNull();
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/membership-types/{id} - A negative cap is rejected")
+    @WithMockUser(roles = "ADMIN")
+    void testUpdateMembershipType_NegativeCap() throws Exception {
+        String updateJson = """
+                {
+                    "name": "Standard",
+                    "maxBorrowLimit": 8,
+                    "loanDurationDays": 21,
+                    "maxFinePerMember": -1.00
+                }
+                """;
+
+        mockMvc.perform(put("/api/v1/membership-types/" + testMembershipType.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PUT /api/v1/membership-types/{id} - Update without admin role should fail")
     @WithMockUser(roles = "USER")
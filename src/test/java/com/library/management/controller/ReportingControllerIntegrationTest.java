@@ -1,7 +1,13 @@
 package com.library.management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.analytics.BorrowerSketches;
+import com.library.management.analytics.LiveLeaderboards;
 import com.library.management.entity.*;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.reporting.ReportCache;
 import com.library.management.repository.*;
+import com.library.management.service.ReportingService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -9,14 +15,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,6 +41,9 @@ class ReportingControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Autowired
     private LoanRepository loanRepository;
 
@@ -50,6 +65,36 @@ class ReportingControllerIntegrationTest {
     @Autowired
     private PublisherRepository publisherRepository;
 
+    @Autowired
+    private DailyCategoryLoansRepository dailyCategoryLoansRepository;
+
+    @Autowired
+    private DailyMemberLoansRepository dailyMemberLoansRepository;
+
+    @Autowired
+    private DailyBookLoansRepository dailyBookLoansRepository;
+
+    @Autowired
+    private ReportingService reportingService;
+
+    @Autowired
+    private LiveLeaderboards liveLeaderboards;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private HourlyCirculationRepository hourlyCirculationRepository;
+
+    @Autowired
+    private BorrowerSketches borrowerSketches;
+
+    @Autowired
+    private BorrowerSketchRepository borrowerSketchRepository;
+
     private Member testMember;
     private Book testBook;
     private Category testCategory;
@@ -58,6 +103,9 @@ class ReportingControllerIntegrationTest {
 
     @BeforeEach
     void setUp() {
+        // Every test builds its own data under the same report keys
+        reportCache.clear();
+
         // Create membership type
         MembershipType membershipType = new MembershipType();
         membershipType.setName("Standard");
@@ -111,10 +159,19 @@ class ReportingControllerIntegrationTest {
         testLoan.setDueDate(LocalDateTime.now().plusDays(7));
         testLoan.setStatus(LoanStatus.ACTIVE);
         testLoan = loanRepository.save(testLoan);
+
+        // Reports read the daily rollups, which the scheduled job would otherwise refresh
+        reportingService.refreshLoanRollups(LocalDate.now().minusDays(30), LocalDate.now());
     }
 
     @AfterEach
     void tearDown() {
+        reportJobRepository.deleteAll();
+        borrowerSketchRepository.deleteAll();
+        dailyCategoryLoansRepository.deleteAll();
+        dailyMemberLoansRepository.deleteAll();
+        dailyBookLoansRepository.deleteAll();
+        hourlyCirculationRepository.deleteAll();
         loanRepository.deleteAll();
         bookCopyRepository.deleteAll();
         bookRepository.deleteAll();
@@ -143,6 +200,217 @@ class ReportingControllerIntegrationTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/reporting/categories/most-read - Only counts loans of the requested month")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostReadCategories_ForMonth() throws Exception {
+        String loanMonth = YearMonth.from(testLoan.getLoanDate()).toString();
+        String otherMonth = YearMonth.from(testLoan.getLoanDate()).minusMonths(1).toString();
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read").param("month", loanMonth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value("Fiction"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read").param("month", otherMonth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/members/most-active - Only counts loans of the requested month")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostActiveMembers_ForMonth() throws Exception {
+        String loanMonth = YearMonth.from(testLoan.getLoanDate()).toString();
+
+        mockMvc.perform(get("/api/v1/reporting/members/most-active").param("month", loanMonth))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].memberEmail").value("john.doe@test.com"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/categories/most-read - Only counts loans between from and to")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostReadCategories_ForWindow() throws Exception {
+        LocalDate loanDay = testLoan.getLoanDate().toLocalDate();
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read")
+                        .param("from", loanDay.toString())
+                        .param("to", loanDay.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].categoryName").value("Fiction"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read")
+                        .param("from", loanDay.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/categories/most-read - Rejects an inverted or oversized window")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostReadCategories_InvalidWindow() throws Exception {
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read")
+                        .param("from", "2026-03-01")
+                        .param("to", "2026-02-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read")
+                        .param("from", "2020-01-01")
+                        .param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read")
+                        .param("month", "2026-01")
+                        .param("from", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/books/most-borrowed - Get most borrowed books successfully")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostBorrowedBooks_Success() throws Exception {
+        mockMvc.perform(get("/api/v1/reporting/books/most-borrowed"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookId").value(testBook.getId()))
+                .andExpect(jsonPath("$[0].bookTitle").value("Test Book"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/.../live - Rank borrows counted in memory")
+    @WithMockUser(roles = "ADMIN")
+    void testLiveLeaderboards() throws Exception {
+        liveLeaderboards.onLoanBorrowed(new LoanBorrowedEvent(testLoan.getId(), testMember.getId(),
+                testBook.getId(), testLoan.getLoanDate()));
+
+        mockMvc.perform(get("/api/v1/reporting/books/most-borrowed/live").param("window", "HOUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + testBook.getId() + ")].name").value("Test Book"));
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read/live"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + testCategory.getId() + ")].name").value("Fiction"));
+
+        mockMvc.perform(get("/api/v1/reporting/members/most-active/live").param("window", "WEEK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + testMember.getId() + ")].name").value("John Doe"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/circulation/heatmap - Counts borrows by weekday and hour")
+    @WithMockUser(roles = "ADMIN")
+    void testGetCirculationHeatmap() throws Exception {
+        LocalDateTime borrowed = testLoan.getLoanDate();
+        int weekday = borrowed.getDayOfWeek().getValue() - 1;
+
+        mockMvc.perform(get("/api/v1/reporting/circulation/heatmap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.borrows.length()").value(7))
+                .andExpect(jsonPath("$.borrows[" + weekday + "].length()").value(24))
+                .andExpect(jsonPath("$.borrows[" + weekday + "][" + borrowed.getHour() + "]").value(1))
+                .andExpect(jsonPath("$.returns[" + weekday + "][" + borrowed.getHour() + "]").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/unique-borrowers - Counts distinct borrowers from the monthly sketches")
+    @WithMockUser(roles = "ADMIN")
+    void testGetUniqueBorrowers() throws Exception {
+        borrowerSketches.onLoanBorrowed(new LoanBorrowedEvent(testLoan.getId(), testMember.getId(),
+                testBook.getId(), testLoan.getLoanDate()));
+        borrowerSketches.onLoanBorrowed(new LoanBorrowedEvent(testLoan.getId(), testMember.getId(),
+                testBook.getId(), testLoan.getLoanDate()));
+        borrowerSketches.flush();
+
+        mockMvc.perform(get("/api/v1/reporting/unique-borrowers")
+                        .param("scope", "CATEGORY")
+                        .param("id", testCategory.getId().toString(), "999999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.uniqueBorrowers").value(1))
+                .andExpect(jsonPath("$.items[0].uniqueBorrowers").value(1))
+                .andExpect(jsonPath("$.items[1].uniqueBorrowers").value(0));
+
+        mockMvc.perform(get("/api/v1/reporting/unique-borrowers")
+                        .param("scope", "BOOK")
+                        .param("id", testBook.getId().toString())
+                        .param("from", "2026-02")
+                        .param("to", "2026-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/categories/most-read - Serves repeated requests from the cache with an Age header")
+    @WithMockUser(roles = "ADMIN")
+    void testGetMostReadCategories_Cached() throws Exception {
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Age", "0"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+
+        Loan second = new Loan();
+        second.setMember(testMember);
+        second.setBookCopy(testBookCopy);
+        second.setLoanDate(LocalDateTime.now().minusDays(2));
+        second.setDueDate(LocalDateTime.now().plusDays(12));
+        second.setStatus(LoanStatus.RETURNED);
+        loanRepository.save(second);
+        reportingService.refreshLoanRollups(LocalDate.now().minusDays(30), LocalDate.now());
+
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Age"))
+                .andExpect(jsonPath("$[0].loanCount").value(1));
+
+        reportCache.clear();
+        mockMvc.perform(get("/api/v1/reporting/categories/most-read"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].loanCount").value(2));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/reporting/jobs - Exports circulation history to a downloadable gzipped CSV")
+    @WithMockUser(username = "admin@test.com", roles = "ADMIN")
+    void testReportJob_ExportAndDownload() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/reporting/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"CIRCULATION_HISTORY\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.requestedBy").value("admin@test.com"))
+                .andReturn().getResponse().getContentAsString();
+        long jobId = objectMapper.readTree(body).get("id").asLong();
+
+        ReportJobStatus jobStatus = ReportJobStatus.QUEUED;
+        for (int i = 0; i < 100 && jobStatus != ReportJobStatus.SUCCEEDED && jobStatus != ReportJobStatus.FAILED; i++) {
+            Thread.sleep(50);
+            jobStatus = reportJobRepository.findById(jobId).orElseThrow().getStatus();
+        }
+        assertThat(jobStatus).isEqualTo(ReportJobStatus.SUCCEEDED);
+
+        mockMvc.perform(get("/api/v1/reporting/jobs/{id}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowCount").value(1));
+
+        byte[] file = mockMvc.perform(get("/api/v1/reporting/jobs/{id}/download", jobId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(file))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).startsWith("loan_id,loan_date").contains("john.doe@test.com", "Test Book", "COPY-123");
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reporting/jobs/{id}/download - Unknown job is not found")
+    @WithMockUser(roles = "ADMIN")
+    void testReportJob_UnknownDownload() throws Exception {
+        mockMvc.perform(get("/api/v1/reporting/jobs/{id}/download", 999999))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /api/v1/reporting/categories/most-read - Without admin role should fail")
     @WithMockUser(roles = "USER")
@@ -2,6 +2,7 @@ package com.library.management.controller;
 
 import com.library.management.entity.*;
 import com.library.management.repository.*;
+import com.library.management.security.AccessTokenService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -49,6 +50,9 @@ class ReservationControllerIntegrationTest {
     @Autowired
     private BookCopyRepository bookCopyRepository;
 
+    @Autowired
+    private AccessTokenService accessTokenService;
+
     private Member testMember;
     private Book testBook;
     private Reservation testReservation;
@@ -215,6 +219,89 @@ class ReservationControllerIntegrationTest {
                 .andExpect(jsonPath("$").isNumber());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/reservations/member/{memberId} - Get reservations with queue positions")
+    void testGetReservationsForMember_WithQueuePositions() throws Exception {
+        // Jane queues behind John for the test book and alone for a second one
+        Member member2 = new Member();
+        member2.setFirstName("Jane");
+        member2.setLastName("Smith");
+        member2.setEmail("jane.smith@test.com");
+        member2.setPhone("9876543210");
+        member2.setMembershipType(testMember.getMembershipType());
+        member2 = memberRepository.save(member2);
+
+        Book otherBook = new Book();
+        otherBook.setTitle("Other Book");
+        otherBook.setAuthor("Test Author");
+        otherBook.setIsbn("TEST-ISBN-456");
+        otherBook.setPublisher(testBook.getPublisher());
+        otherBook = bookRepository.save(otherBook);
+
+        Reservation behindJohn = new Reservation();
+        behindJohn.setMember(member2);
+        behindJohn.setBook(testBook);
+        behindJohn.setStatus(ReservationStatus.PENDING);
+        reservationRepository.save(behindJohn);
+
+        Reservation alone = new Reservation();
+        alone.setMember(member2);
+        alone.setBook(otherBook);
+        alone.setStatus(ReservationStatus.PENDING);
+        reservationRepository.save(alone);
+
+        Reservation cancelled = new Reservation();
+        cancelled.setMember(member2);
+        cancelled.setBook(otherBook);
+        cancelled.setStatus(ReservationStatus.CANCELLED);
+        reservationRepository.save(cancelled);
+
+        String token = "Bearer " + accessTokenService.issue(member2).value();
+        mockMvc.perform(get("/api/v1/reservations/member/{memberId}", member2.getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+                .andExpect(jsonPath("$[0].queuePosition").doesNotExist())
+                .andExpect(jsonPath("$[1].bookTitle").value("Other Book"))
+                .andExpect(jsonPath("$[1].queuePosition").value(1))
+                .andExpect(jsonPath("$[1].queueLength").value(1))
+                .andExpect(jsonPath("$[2].bookId").value(testBook.getId()))
+                .andExpect(jsonPath("$[2].queuePosition").value(2))
+                .andExpect(jsonPath("$[2].queueLength").value(2));
+
+        mockMvc.perform(get("/api/v1/reservations/queue-position/{bookId}/{memberId}",
+                        testBook.getId(), member2.getId())
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reservations/member/{memberId} - Member cannot list another member's reservations")
+    void testGetReservationsForMember_OtherMember() throws Exception {
+        Member other = new Member();
+        other.setFirstName("Someone");
+        other.setLastName("Else");
+        other.setEmail("someone.else@test.com");
+        other.setPhone("5550001111");
+        other.setMembershipType(testMember.getMembershipType());
+        other = memberRepository.save(other);
+
+        mockMvc.perform(get("/api/v1/reservations/member/{memberId}", testMember.getId())
+                        .header("Authorization", "Bearer " + accessTokenService.issue(other).value()))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reservations/member/{memberId} - Admin can list any member's reservations")
+    @WithMockUser(roles = "ADMIN")
+    void testGetReservationsForMember_Admin() throws Exception {
+        mockMvc.perform(get("/api/v1/reservations/member/{memberId}", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/v1/reservations/book/{bookId} - Get multiple reservations for same book")
     @WithMockUser
@@ -253,4 +340,21 @@ class ReservationControllerIntegrationTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/books/{id}/copies/bulk - New copies go to the reservation queue first")
+    @WithMockUser(roles = "ADMIN")
+    void testAddCopies_AllocatedToQueue() throws Exception {
+        mockMvc.perform(post("/api/v1/books/{id}/copies/bulk", testBook.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"NEW-COPY-1\", \"NEW-COPY-2\"]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("RESERVED"))
+                .andExpect(jsonPath("$[1].status").value("AVAILABLE"));
+
+        Reservation reservation = reservationRepository.findById(testReservation.getId()).orElseThrow();
+        assertThat(reservation.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP);
+        assertThat(reservation.getExpiryDate()).isAfter(LocalDateTime.now());
+    }
 }
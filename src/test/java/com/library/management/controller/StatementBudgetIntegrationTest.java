@@ -0,0 +1,189 @@
+package com.library.management.controller;
+
+import com.library.management.entity.*;
+import com.library.management.repository.*;
+import com.library.management.support.StatementBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Statement Budget Integration Tests")
+class StatementBudgetIntegrationTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private FineRepository fineRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private MembershipTypeRepository membershipTypeRepository;
+
+    @Autowired
+    private PublisherRepository publisherRepository;
+
+    private StatementBudget budget;
+    private Member testMember;
+    private Book testBook;
+
+    @BeforeEach
+    void setUp() {
+        budget = new StatementBudget(entityManagerFactory);
+
+        MembershipType membershipType = new MembershipType();
+        membershipType.setName("Standard");
+        membershipType.setMaxBooks(20);
+        membershipType.setMaxLoanDays(14);
+        membershipType = membershipTypeRepository.save(membershipType);
+
+        Publisher publisher = new Publisher();
+        publisher.setName("Budget Publisher");
+        publisher = publisherRepository.save(publisher);
+
+        testBook = new Book();
+        testBook.setTitle("Budget Book");
+        testBook.setAuthor("Budget Author");
+        testBook.setIsbn("BUDGET-ISBN-1");
+        testBook.setPublisher(publisher);
+        testBook = bookRepository.save(testBook);
+
+        testMember = saveMember("reader@test.com", membershipType);
+
+        for (int i = 0; i < ROWS; i++) {
+            BookCopy copy = new BookCopy();
+            copy.setBook(testBook);
+            copy.setBarcode("BUDGET-COPY-" + i);
+            copy.setStatus(BookCopyStatus.LOANED);
+            copy = bookCopyRepository.save(copy);
+
+            Loan loan = new Loan();
+            loan.setMember(testMember);
+            loan.setBookCopy(copy);
+            loan.setLoanDate(LocalDateTime.now().minusDays(20));
+            loan.setDueDate(LocalDateTime.now().minusDays(6));
+            loan.setStatus(LoanStatus.ACTIVE);
+            loan = loanRepository.save(loan);
+
+            Fine fine = new Fine();
+            fine.setLoan(loan);
+            fine.setMember(testMember);
+            fine.setAmount(new BigDecimal("6.00"));
+            fine.setStatus(FineStatus.UNPAID);
+            fine.setFineDate(LocalDateTime.now());
+            fineRepository.save(fine);
+
+            Reservation reservation = new Reservation();
+            reservation.setBook(testBook);
+            reservation.setMember(saveMember("waiting" + i + "@test.com", membershipType));
+            reservation.setStatus(ReservationStatus.PENDING);
+            reservationRepository.save(reservation);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        fineRepository.deleteAll();
+        reservationRepository.deleteAll();
+        loanRepository.deleteAll();
+        bookCopyRepository.deleteAll();
+        bookRepository.deleteAll();
+        memberRepository.deleteAll();
+        membershipTypeRepository.deleteAll();
+        publisherRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/loans/member/{id} - My Library loans stay within budget")
+    @WithMockUser
+    void testLoansByMember_WithinBudget() throws Exception {
+        budget.assertWithin("loans by member", 2, () -> mockMvc.perform(get("/api/v1/loans/member/{memberId}", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS)))
+                .andExpect(jsonPath("$[0].bookCopy.book.title").value("Budget Book")));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/loans - All loans stay within budget")
+    @WithMockUser
+    void testAllLoans_WithinBudget() throws Exception {
+        budget.assertWithin("all loans", 2, () -> mockMvc.perform(get("/api/v1/loans"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS))));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/fines/member/{id} - Member fines stay within budget")
+    @WithMockUser(roles = "ADMIN")
+    void testFinesByMember_WithinBudget() throws Exception {
+        budget.assertWithin("fines by member", 2, () -> mockMvc.perform(get("/api/v1/fines/member/{memberId}", testMember.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS))));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/fines - All fines stay within budget")
+    @WithMockUser(roles = "ADMIN")
+    void testAllFines_WithinBudget() throws Exception {
+        budget.assertWithin("all fines", 2, () -> mockMvc.perform(get("/api/v1/fines"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS))));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reservations/book/{id} - Reservation queue stays within budget")
+    @WithMockUser
+    void testReservationsForBook_WithinBudget() throws Exception {
+        budget.assertWithin("reservations for book", 2, () -> mockMvc.perform(get("/api/v1/reservations/book/{bookId}", testBook.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(ROWS))));
+    }
+
+    private Member saveMember(String email, MembershipType membershipType) {
+        Member member = new Member();
+        member.setFirstName("Budget");
+        member.setLastName("Reader");
+        member.setEmail(email);
+        member.setPhone("1234567890");
+        member.setMembershipType(membershipType);
+        return memberRepository.save(member);
+    }
+}
@@ -2,6 +2,8 @@ package com.library.management.exception;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -49,6 +51,16 @@ class GlobalExceptionHandlerTest {
         assertEquals("Business rule violated", response.getBody().getMessage());
     }
 
+    @Test
+    void testHandleTaskRejectedException() {
+        TaskRejectedException exception = new TaskRejectedException("Executor saturated");
+
+        ResponseEntity<ErrorDetails> response = exceptionHandler.handleTaskRejectedException(exception, webRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     void testHandleValidationException() {
         BindingResult bindingResult = mock(BindingResult.class);
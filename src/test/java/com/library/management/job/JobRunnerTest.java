@@ -0,0 +1,115 @@
+package com.library.management.job;
+
+import com.library.management.entity.JobRun;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.service.JobRunService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobRunner Unit Tests")
+class JobRunnerTest {
+
+    @Mock
+    private JobRunService jobRunService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ObjectProvider<ChunkedJob> jobs;
+
+    @Mock
+    private ChunkedJob job;
+
+    private ThreadPoolTaskExecutor executor;
+    private JobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        jobRunner = new JobRunner(jobRunService, transactionTemplate, executor, new SimpleMeterRegistry(), jobs);
+
+        when(job.name()).thenReturn("test-job");
+        when(jobRunService.acquireLock(eq("test-job"), anyString(), any())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should abandon a run resumed too often and start a fresh one")
+    void testRun_AbandonsAfterMaxResumeAttempts() {
+        // Given - the run has already been resumed three times and failed each time
+        JobRun interrupted = run(1L, JobRunStatus.FAILED, 3);
+        JobRun fresh = run(2L, JobRunStatus.RUNNING, 0);
+        when(jobRunService.findInterruptedRun("test-job")).thenReturn(Optional.of(interrupted));
+        when(job.keyRange(any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(jobRunService.startRun(eq("test-job"), anyString(), any(LocalDateTime.class), eq(List.of())))
+                .thenReturn(fresh);
+        when(jobRunService.getPartitions(2L)).thenReturn(List.of());
+        when(jobRunService.finishRun(2L, null)).thenReturn(run(2L, JobRunStatus.SUCCEEDED, 0));
+
+        // When
+        jobRunner.run(job);
+
+        // Then
+        verify(jobRunService).abandonRun(eq(1L), contains("3 resume attempt(s)"));
+        verify(jobRunService, never()).resumeRun(any(), anyString());
+        verify(jobRunService).finishRun(2L, null);
+        verify(jobRunService).releaseLock(eq("test-job"), anyString());
+    }
+
+    @Test
+    @DisplayName("Should resume below the cap and skip the fresh run when the resume fails")
+    void testRun_ResumeFailsBelowCap() {
+        // Given
+        JobRun interrupted = run(1L, JobRunStatus.FAILED, 1);
+        JobRun resumed = run(2L, JobRunStatus.RUNNING, 2);
+        when(jobRunService.findInterruptedRun("test-job")).thenReturn(Optional.of(interrupted));
+        when(jobRunService.resumeRun(eq(interrupted), anyString())).thenReturn(resumed);
+        when(jobRunService.getPartitions(2L)).thenReturn(List.of());
+        when(jobRunService.finishRun(2L, null)).thenReturn(run(2L, JobRunStatus.FAILED, 2));
+
+        // When
+        jobRunner.run(job);
+
+        // Then
+        verify(jobRunService, never()).abandonRun(anyLong(), anyString());
+        verify(jobRunService, never()).startRun(anyString(), anyString(), any(), any());
+    }
+
+    private JobRun run(Long id, JobRunStatus status, int resumeAttempt) {
+        JobRun run = new JobRun();
+        run.setId(id);
+        run.setJobName("test-job");
+        run.setNodeId("node-a");
+        run.setStatus(status);
+        run.setAsOf(LocalDateTime.of(2026, 10, 1, 0, 0));
+        run.setResumeAttempt(resumeAttempt);
+        return run;
+    }
+}
@@ -0,0 +1,160 @@
+package com.library.management.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.Member;
+import com.library.management.entity.Role;
+import com.library.management.security.AccessTokenService;
+import com.library.management.security.BearerTokenAuthenticationFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("RateLimitFilter Unit Tests")
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AccessTokenService accessTokenService =
+            new AccessTokenService(new ObjectMapper(), "", Duration.ofMinutes(15));
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(meterRegistry, true, Map.of(
+                RateLimitGroup.AUTH, new RateLimiter.Limit(3, Duration.ofMinutes(1)),
+                RateLimitGroup.SEARCH, new RateLimiter.Limit(0, Duration.ofMinutes(1))), nanos::get);
+        filter = new RateLimitFilter(rateLimiter, accessTokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should allow a burst up to capacity, then answer 429 with Retry-After")
+    void testBurstThenReject() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(login("10.0.0.1").getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rejected = login("10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("20");
+        assertThat(meterRegistry.counter("library.ratelimit.requests", "group", "auth", "outcome", "rejected").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refill tokens over the period")
+    void testRefill() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            login("10.0.0.1");
+        }
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertThat(login("10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("Should keep other clients and signed-in members flowing while one address is limited")
+    void testClientsAreIsolated() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            login("10.0.0.1");
+        }
+        Member member = new Member();
+        member.setId(5L);
+        member.setEmail("desk@library.com");
+        member.setRole(Role.USER);
+        String token = accessTokenService.issue(member).value();
+
+        assertThat(login("10.0.0.2").getStatus()).isEqualTo(200);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/refresh");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("Authorization", "Bearer " + token);
+        assertThat(perform(request).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should not limit disabled groups or unlisted endpoints")
+    void testUnlimitedRequests() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(perform(request("GET", "/api/v1/books/search", "10.0.0.1")).getStatus()).isEqualTo(200);
+            assertThat(perform(request("GET", "/api/v1/loans", "10.0.0.1")).getStatus()).isEqualTo(200);
+        }
+        assertThat(rateLimiter.clientCount(RateLimitGroup.SEARCH)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop buckets of clients that have gone quiet")
+    void testEvictIdleClients() throws Exception {
+        login("10.0.0.1");
+        login("10.0.0.2");
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        login("10.0.0.2");
+
+        nanos.addAndGet(Duration.ofSeconds(15).toNanos());
+        rateLimiter.evictIdleClients();
+
+        assertThat(rateLimiter.clientCount(RateLimitGroup.AUTH)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should verify a bearer token once for rate limiting and authentication")
+    void testVerifiesTokenOnce() throws Exception {
+        // Given
+        AccessTokenService tokens = spy(accessTokenService);
+        Member member = new Member();
+        member.setId(5L);
+        member.setEmail("desk@library.com");
+        member.setRole(Role.USER);
+        MockHttpServletRequest request = request("POST", "/api/v1/auth/refresh", "10.0.0.1");
+        request.addHeader("Authorization", "Bearer " + tokens.issue(member).value());
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {},
+                new BearerTokenAuthenticationFilter(tokens, (req, res, e) -> res.sendError(401)));
+
+        // When
+        new RateLimitFilter(rateLimiter, tokens).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // Then
+        verify(tokens, times(1)).verify(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getDetails()).isEqualTo(5L);
+    }
+
+    private MockHttpServletResponse login(String address) throws Exception {
+        return perform(request("POST", "/api/v1/auth/login", address));
+    }
+
+    private MockHttpServletRequest request(String method, String path, String address) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
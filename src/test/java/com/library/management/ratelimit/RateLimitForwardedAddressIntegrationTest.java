@@ -0,0 +1,54 @@
+package com.library.management.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs on a real Tomcat: MockMvc bypasses the remote IP valve that reads X-Forwarded-For. The
+// plain JDK client is used because TestRestTemplate's would wait out Retry-After and retry a 429.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "library.rate-limit.enabled=true",
+        "library.rate-limit.auth.capacity=2",
+        "library.rate-limit.auth.period=PT1H"
+})
+@ActiveProfiles("test")
+@DisplayName("Rate Limit Forwarded Address Integration Tests")
+class RateLimitForwardedAddressIntegrationTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should limit clients behind a trusted proxy by their forwarded address")
+    void testLimitsByForwardedAddress() throws Exception {
+        // Given
+        login("203.0.113.7");
+        login("203.0.113.7");
+
+        // When / Then
+        assertThat(login("203.0.113.7")).isEqualTo(429);
+        assertThat(login("203.0.113.8")).isNotEqualTo(429);
+        // Only the last hop before the trusted proxy counts, not what the client claims
+        assertThat(login("203.0.113.7, 203.0.113.9")).isNotEqualTo(429);
+    }
+
+    private int login(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"nobody@library.com\",\"password\":\"wrong\"}"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
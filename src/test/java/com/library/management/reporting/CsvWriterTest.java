@@ -0,0 +1,28 @@
+package com.library.management.reporting;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CsvWriter Unit Tests")
+class CsvWriterTest {
+
+    @Test
+    @DisplayName("Should quote separators and defuse formulas")
+    void testRow() throws Exception {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+
+        csv.row(1L, "Dune, Part \"One\"", null, "=HYPERLINK(\"x\")", new BigDecimal("-2.50"),
+                Timestamp.valueOf(LocalDateTime.of(2026, 1, 2, 3, 4, 5)));
+
+        assertThat(out.toString()).isEqualTo(
+                "1,\"Dune, Part \"\"One\"\"\",,\"'=HYPERLINK(\"\"x\"\")\",-2.50,2026-01-02T03:04:05\r\n");
+    }
+}
@@ -0,0 +1,192 @@
+package com.library.management.reporting;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ReportCache Unit Tests")
+class ReportCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-05-04T10:00:00Z"));
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private ReportCache reportCache;
+
+    @BeforeEach
+    void setUp() {
+        // Background refreshes are collected so the test decides when they run
+        reportCache = new ReportCache(new SimpleMeterRegistry(), refreshes::add, Duration.ofSeconds(30),
+                Duration.ofMinutes(5), 2, clock);
+    }
+
+    @Test
+    @DisplayName("Should serve a fresh result without recomputing it")
+    void testGet_FreshHit() {
+        AtomicInteger loads = new AtomicInteger();
+
+        reportCache.get("report", loads::incrementAndGet);
+        clock.advance(Duration.ofSeconds(10));
+        Integer value = reportCache.get("report", loads::incrementAndGet);
+
+        assertThat(value).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should serve a stale result while one background refresh replaces it")
+    void testGet_StaleWhileRevalidate() {
+        AtomicInteger loads = new AtomicInteger();
+        reportCache.get("report", loads::incrementAndGet);
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(reportCache.<Integer>get("report", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(reportCache.<Integer>get("report", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.get(0).run();
+        assertThat(reportCache.<Integer>get("report", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should recompute a result past the stale period before answering")
+    void testGet_Expired() {
+        AtomicInteger loads = new AtomicInteger();
+        reportCache.get("report", loads::incrementAndGet);
+        clock.advance(Duration.ofMinutes(10));
+
+        assertThat(reportCache.<Integer>get("report", loads::incrementAndGet)).isEqualTo(2);
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should let concurrent callers share one computation")
+    void testGet_SingleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        List<Integer> results = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            callers.add(Thread.ofVirtual().start(() -> {
+                Integer value = reportCache.get("report", () -> {
+                    loading.countDown();
+                    await(release);
+                    return loads.incrementAndGet();
+                });
+                synchronized (results) {
+                    results.add(value);
+                }
+            }));
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(5).containsOnly(1);
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed computation")
+    void testGet_FailureIsNotCached() {
+        assertThatThrownBy(() -> reportCache.get("report", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database down");
+
+        assertThat(reportCache.<String>get("report", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest results when over capacity")
+    void testGet_BoundedSize() {
+        reportCache.get("a", () -> 1);
+        clock.advance(Duration.ofSeconds(1));
+        reportCache.get("b", () -> 2);
+        clock.advance(Duration.ofSeconds(1));
+        reportCache.get("c", () -> 3);
+
+        assertThat(reportCache.size()).isLessThanOrEqualTo(2);
+        assertThat(reportCache.<Integer>get("c", () -> 0)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep results still loading when over capacity")
+    void testGet_OverCapacityKeepsLoadingEntries() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(3);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+
+        for (String key : List.of("a", "b", "c")) {
+            callers.add(Thread.ofVirtual().start(() -> reportCache.get(key, () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            })));
+        }
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        // Joins the load of "a" instead of starting another one
+        callers.add(Thread.ofVirtual().start(() -> reportCache.get("a", loads::incrementAndGet)));
+        Thread.sleep(100);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5000);
+        }
+
+        assertThat(loads).hasValue(3);
+        assertThat(reportCache.size()).isEqualTo(3);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.library.management.repository;
+
+import com.library.management.entity.*;
+import com.library.management.service.FineService;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Fine Repository Integration Tests")
+class FineRepositoryIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private FineRepository fineRepository;
+
+    @Autowired
+    private BalanceLedgerRepository balanceLedgerRepository;
+
+    @Autowired
+    private FineService fineService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    @DisplayName("Should accrue overdue loans and reprice unpaid fines of active loans in one statement")
+    void testRecalculateFines_AccruesAndReprices() {
+        // Given - 2.00 a day after one grace day
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("2.00"), 1);
+        Member member = saveMember("fines@test.com", type);
+        Book book = saveBook("Overdue Book", "9780000000001");
+        Loan overdue = saveLoan(member, saveCopy(book, "FINE-1", BookCopyStatus.LOANED),
+                now.minusDays(24), now.minusDays(10), null);
+        Loan notDue = saveLoan(member, saveCopy(book, "FINE-2", BookCopyStatus.LOANED),
+                now.minusDays(2), now.plusDays(12), null);
+        Loan stale = saveLoan(member, saveCopy(book, "FINE-3", BookCopyStatus.LOANED),
+                now.minusDays(19), now.minusDays(5), null);
+        saveFine(member, stale, "1.00", FineStatus.UNPAID);
+        Loan returnedLate = saveLoan(member, saveCopy(book, "FINE-4", BookCopyStatus.AVAILABLE),
+                now.minusDays(40), now.minusDays(26), now.minusDays(21));
+        saveFine(member, returnedLate, "6.00", FineStatus.UNPAID);
+        Loan paid = saveLoan(member, saveCopy(book, "FINE-5", BookCopyStatus.AVAILABLE),
+                now.minusDays(60), now.minusDays(46), now.minusDays(30));
+        saveFine(member, paid, "3.00", FineStatus.PAID);
+
+        // When
+        int members = fineRepository.recalculateFines(0, Long.MAX_VALUE, null, now, true);
+
+        // Then - 9 chargeable days on the overdue loan, 4 on the stale one; the fine finalized on return is kept
+        assertThat(members).isEqualTo(1);
+        assertThat(fineRepository.findByLoanId(overdue.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("18.00"));
+        assertThat(fineRepository.findByLoanId(stale.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("8.00"));
+        assertThat(fineRepository.findByLoanId(returnedLate.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("6.00"));
+        assertThat(fineRepository.findByLoanId(paid.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("3.00"));
+        assertThat(fineRepository.findByLoanId(notDue.getId())).isEmpty();
+
+        List<BalanceLedgerEntry> ledger = balanceLedgerRepository.findByMemberIdOrderByIdAsc(member.getId());
+        assertThat(ledger).extracting(BalanceLedgerEntry::getEntryType)
+                .containsExactlyInAnyOrder(LedgerEntryType.FINE_ACCRUED, LedgerEntryType.FINE_ADJUSTED);
+        assertThat(memberRepository.findById(member.getId()))
+                .hasValueSatisfying(m -> assertThat(m.getBalance()).isEqualByComparingTo("25.00"));
+    }
+
+    @Test
+    @DisplayName("Should change nothing when fines are already up to date")
+    void testRecalculateFines_Idempotent() {
+        // Given
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("1.00"), 0);
+        Member member = saveMember("repeat@test.com", type);
+        Book book = saveBook("Overdue Book", "9780000000002");
+        saveLoan(member, saveCopy(book, "REPEAT-1", BookCopyStatus.LOANED), now.minusDays(20), now.minusDays(5), null);
+        fineRepository.recalculateFines(0, Long.MAX_VALUE, null, now, true);
+
+        // When
+        int members = fineRepository.recalculateFines(0, Long.MAX_VALUE, null, now, true);
+
+        // Then
+        assertThat(members).isZero();
+        assertThat(balanceLedgerRepository.findByMemberIdOrderByIdAsc(member.getId())).hasSize(1);
+        assertThat(memberRepository.findById(member.getId()))
+                .hasValueSatisfying(m -> assertThat(m.getBalance()).isEqualByComparingTo("5.00"));
+    }
+
+    @Test
+    @DisplayName("Should share the member cap out in loan order and limit to one membership type")
+    void testRecalculateFines_MemberCapAndTypeFilter() {
+        // Given
+        MembershipType capped = saveMembershipType("Capped", new BigDecimal("1.00"), 0);
+        capped.setMaxFinePerMember(new BigDecimal("12.00"));
+        capped = membershipTypeRepository.save(capped);
+        MembershipType other = saveMembershipType("Other", new BigDecimal("1.00"), 0);
+        Member member = saveMember("capped@test.com", capped);
+        Member untouched = saveMember("other@test.com", other);
+        Book book = saveBook("Overdue Book", "9780000000003");
+        Loan first = saveLoan(member, saveCopy(book, "CAP-1", BookCopyStatus.LOANED),
+                now.minusDays(30), now.minusDays(10), null);
+        Loan second = saveLoan(member, saveCopy(book, "CAP-2", BookCopyStatus.LOANED),
+                now.minusDays(30), now.minusDays(10), null);
+        Loan skipped = saveLoan(untouched, saveCopy(book, "CAP-3", BookCopyStatus.LOANED),
+                now.minusDays(30), now.minusDays(10), null);
+
+        // When
+        int members = fineRepository.recalculateFines(0, Long.MAX_VALUE, capped.getId(), now, true);
+
+        // Then
+        assertThat(members).isEqualTo(1);
+        assertThat(fineRepository.findByLoanId(first.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("10.00"));
+        assertThat(fineRepository.findByLoanId(second.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("2.00"));
+        assertThat(fineRepository.findByLoanId(skipped.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should share the member cap between concurrent chunks holding loans of the same member")
+    void testAccrueOverdueFines_ConcurrentChunksShareMemberCap() throws Exception {
+        // Given - two loans of one capped member, accrued by two chunks as parallel job partitions do
+        MembershipType capped = saveMembershipType("Capped", new BigDecimal("1.00"), 0);
+        capped.setMaxFinePerMember(new BigDecimal("12.00"));
+        capped = membershipTypeRepository.save(capped);
+        Member member = saveMember("parallel@test.com", capped);
+        Book book = saveBook("Overdue Book", "9780000000004");
+        Loan first = saveLoan(member, saveCopy(book, "PAR-1", BookCopyStatus.LOANED),
+                now.minusDays(30), now.minusDays(10), null);
+        Loan second = saveLoan(member, saveCopy(book, "PAR-2", BookCopyStatus.LOANED),
+                now.minusDays(30), now.minusDays(10), null);
+        CountDownLatch firstAccrued = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When - the second chunk starts while the first has accrued but not committed
+        try {
+            Future<?> firstChunk = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                fineService.accrueOverdueFines(first.getId(), first.getId(), now);
+                firstAccrued.countDown();
+                sleep(Duration.ofMillis(500));
+            }));
+            Future<?> secondChunk = executor.submit(() -> {
+                firstAccrued.await();
+                return transactionTemplate.execute(status -> fineService.accrueOverdueFines(second.getId(),
+                        second.getId(), now));
+            });
+            firstChunk.get(30, TimeUnit.SECONDS);
+            secondChunk.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertThat(fineRepository.findByLoanId(first.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("10.00"));
+        assertThat(fineRepository.findByLoanId(second.getId()))
+                .hasValueSatisfying(f -> assertThat(f.getAmount()).isEqualByComparingTo("2.00"));
+        assertThat(memberRepository.findById(member.getId()))
+                .hasValueSatisfying(m -> assertThat(m.getBalance()).isEqualByComparingTo("12.00"));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void saveFine(Member member, Loan loan, String amount, FineStatus status) {
+        Fine fine = new Fine();
+        fine.setMember(member);
+        fine.setLoan(loan);
+        fine.setAmount(new BigDecimal(amount));
+        fine.setStatus(status);
+        fine.setFineDate(loan.getDueDate());
+        fineRepository.save(fine);
+    }
+}
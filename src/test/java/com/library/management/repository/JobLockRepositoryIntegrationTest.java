@@ -0,0 +1,50 @@
+package com.library.management.repository;
+
+import com.library.management.entity.JobLock;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Job Lock Repository Integration Tests")
+class JobLockRepositoryIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Test
+    @DisplayName("Should hold the lease against other owners until it is released")
+    void testTryAcquire_ExclusiveUntilReleased() {
+        // Given
+        assertThat(jobLockRepository.tryAcquire("nightly", "node-a", 60)).isEqualTo(1);
+
+        // When / Then
+        assertThat(jobLockRepository.tryAcquire("nightly", "node-b", 60)).isZero();
+        assertThat(jobLockRepository.renew("nightly", "node-b", 60)).isZero();
+        assertThat(jobLockRepository.renew("nightly", "node-a", 60)).isEqualTo(1);
+        assertThat(jobLockRepository.tryAcquire("nightly", "node-a", 60)).isEqualTo(1);
+
+        assertThat(jobLockRepository.release("nightly", "node-a")).isEqualTo(1);
+        assertThat(jobLockRepository.tryAcquire("nightly", "node-b", 60)).isEqualTo(1);
+        assertThat(jobLockRepository.findById("nightly")).map(JobLock::getOwner).hasValue("node-b");
+    }
+
+    @Test
+    @DisplayName("Should let another owner take over an expired lease")
+    void testTryAcquire_TakesOverExpiredLease() {
+        // Given - a holder that stopped renewing
+        assertThat(jobLockRepository.tryAcquire("nightly", "node-a", 60)).isEqualTo(1);
+        jdbcTemplate.update("UPDATE job_locks SET locked_until = LOCALTIMESTAMP - INTERVAL '1 second'");
+
+        // When
+        int acquired = jobLockRepository.tryAcquire("nightly", "node-b", 60);
+
+        // Then - the old holder can no longer renew
+        assertThat(acquired).isEqualTo(1);
+        assertThat(jobLockRepository.findById("nightly")).map(JobLock::getOwner).hasValue("node-b");
+        assertThat(jobLockRepository.renew("nightly", "node-a", 60)).isZero();
+        assertThat(jobLockRepository.release("nightly", "node-a")).isZero();
+    }
+}
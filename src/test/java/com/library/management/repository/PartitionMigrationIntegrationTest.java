@@ -0,0 +1,183 @@
+package com.library.management.repository;
+
+import com.library.management.entity.*;
+import com.library.management.support.PostgresIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Partition Migration Integration Tests")
+class PartitionMigrationIntegrationTest extends PostgresIntegrationTest {
+
+    // Stands in for a database created by Hibernate ddl-auto, next to the one the tests share
+    private static final String LEGACY_SCHEMA = "legacy_upgrade";
+
+    @Autowired
+    private FineRepository fineRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("Should create monthly partitions once and report only the new ones")
+    void testEnsureMonthlyPartitions_CreatesMissingMonths() {
+        // Given
+        LocalDate from = LocalDate.of(2031, 1, 1);
+
+        // When
+        Integer created = ensurePartitions("loans", from, 2);
+        Integer again = ensurePartitions("loans", from, 3);
+
+        // Then
+        assertThat(created).isEqualTo(3);
+        assertThat(again).isEqualTo(1);
+        assertThat(partitionsOf("loans")).contains("loans_2031_01", "loans_2031_02", "loans_2031_03", "loans_2031_04");
+    }
+
+    @Test
+    @DisplayName("Should create the current months on migrate and route loans and fines by loan date")
+    void testPartitionRouting() {
+        // Given - the migration covers the current month, older rows fall back to the default partition
+        YearMonth current = YearMonth.now();
+        assertThat(partitionsOf("loans")).contains(partitionName("loans", current));
+        assertThat(partitionsOf("fines")).contains(partitionName("fines", current));
+
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("1.00"), 0);
+        Member member = saveMember("partition@test.com", type);
+        Book book = saveBook("Partitioned Book", "9780000000021");
+        LocalDateTime recent = current.atDay(1).atTime(10, 0);
+        LocalDateTime old = LocalDateTime.of(2015, 3, 1, 10, 0);
+
+        // When
+        Loan recentLoan = saveLoan(member, saveCopy(book, "PART-1", BookCopyStatus.LOANED), recent, recent.plusDays(14), null);
+        Loan oldLoan = saveLoan(member, saveCopy(book, "PART-2", BookCopyStatus.AVAILABLE), old, old.plusDays(14),
+                old.plusDays(20));
+        Fine fine = new Fine();
+        fine.setMember(member);
+        fine.setLoan(oldLoan);
+        fine.setAmount(new BigDecimal("6.00"));
+        fine.setStatus(FineStatus.UNPAID);
+        fine.setFineDate(old.plusDays(20));
+        fine = fineRepository.save(fine);
+
+        // Then
+        assertThat(partitionOfRow("loans", recentLoan.getId())).isEqualTo(partitionName("loans", current));
+        assertThat(partitionOfRow("loans", oldLoan.getId())).isEqualTo("loans_default");
+        assertThat(partitionOfRow("fines", fine.getId())).isEqualTo("fines_default");
+        assertThat(loanRepository.findById(oldLoan.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should move back-dated rows out of the default partition when their month is created")
+    void testEnsureMonthlyPartitions_MovesRowsOutOfDefault() {
+        // Given - a loan and its fine from a month without partitions sit in the default partitions
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("1.00"), 0);
+        Member member = saveMember("backdated@test.com", type);
+        Book book = saveBook("Back-dated Book", "9780000000038");
+        LocalDateTime old = LocalDateTime.of(2015, 3, 1, 10, 0);
+        Loan loan = saveLoan(member, saveCopy(book, "PART-3", BookCopyStatus.AVAILABLE), old, old.plusDays(14),
+                old.plusDays(20));
+        Fine fine = new Fine();
+        fine.setMember(member);
+        fine.setLoan(loan);
+        fine.setAmount(new BigDecimal("6.00"));
+        fine.setStatus(FineStatus.UNPAID);
+        fine.setFineDate(old.plusDays(20));
+        fine = fineRepository.save(fine);
+
+        // When
+        Integer loans = ensurePartitions("loans", LocalDate.of(2015, 3, 1), 0);
+        Integer fines = ensurePartitions("fines", LocalDate.of(2015, 3, 1), 0);
+
+        // Then
+        assertThat(loans).isEqualTo(1);
+        assertThat(fines).isEqualTo(1);
+        assertThat(partitionOfRow("loans", loan.getId())).isEqualTo("loans_2015_03");
+        assertThat(partitionOfRow("fines", fine.getId())).isEqualTo("fines_2015_03");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM loans_default", Long.class)).isZero();
+        // The foreign key dropped for the move is back
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE contype = 'f' AND confrelid = 'loans'::regclass "
+                        + "AND conparentid = 0", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should baseline a ddl-auto schema and carry its loans and fines into monthly partitions")
+    void testUpgradeFromDdlAutoSchema() {
+        // Given - V1's tables plus plain loans and fines, and no migration history
+        flyway().target("1").load().migrate();
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_SCHEMA + ".flyway_schema_history");
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            connection.createStatement().execute("SET search_path TO " + LEGACY_SCHEMA);
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/legacy/ddl_auto_loans_and_fines.sql"));
+            connection.createStatement().execute("RESET search_path");
+            return null;
+        });
+
+        // When
+        flyway().baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM " + LEGACY_SCHEMA
+                + ".loans ORDER BY id", String.class)).containsExactly(
+                LEGACY_SCHEMA + ".loans_2019_02", LEGACY_SCHEMA + ".loans_2019_03",
+                LEGACY_SCHEMA + "." + partitionName("loans", YearMonth.now()));
+        assertThat(jdbcTemplate.queryForMap("SELECT tableoid::regclass::text AS partition, loan_date FROM "
+                + LEGACY_SCHEMA + ".fines WHERE loan_id = 1"))
+                .containsEntry("partition", LEGACY_SCHEMA + ".fines_2019_02")
+                .containsEntry("loan_date", Timestamp.valueOf("2019-02-10 10:00:00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)", String.class, LEGACY_SCHEMA + ".legacy_loans"))
+                .isNull();
+        assertThat(jdbcTemplate.queryForObject("INSERT INTO " + LEGACY_SCHEMA + ".loans (book_copy_id, member_id, "
+                + "status, loan_date, due_date, created_at, updated_at) "
+                + "VALUES (1, 1, 'ACTIVE', now(), now(), now(), now()) RETURNING id", Long.class)).isEqualTo(4L);
+    }
+
+    @AfterEach
+    void dropLegacySchema() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + LEGACY_SCHEMA + " CASCADE");
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(LEGACY_SCHEMA)
+                .locations("classpath:db/migration");
+    }
+
+    private Integer ensurePartitions(String table, LocalDate from, int monthsAhead) {
+        return jdbcTemplate.queryForObject("SELECT ensure_monthly_partitions(?, ?, ?)", Integer.class,
+                table, from, monthsAhead);
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = ?::regclass", String.class, table);
+    }
+
+    private String partitionOfRow(String table, Long id) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM " + table + " WHERE id = ?",
+                String.class, id);
+    }
+
+    private static String partitionName(String table, YearMonth month) {
+        return String.format("%s_%d_%02d", table, month.getYear(), month.getMonthValue());
+    }
+}
@@ -0,0 +1,115 @@
+package com.library.management.repository;
+
+import com.library.management.entity.*;
+import com.library.management.model.ReservationExpiryOutcome;
+import com.library.management.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("Reservation Repository Integration Tests")
+class ReservationRepositoryIntegrationTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+    @Test
+    @DisplayName("Should expire lapsed pickups, promote the queue and release unclaimed copies")
+    void testExpireReadyReservations_PromotesAndReleases() {
+        // Given - two lapsed pickups of a book with one member queued, one of a book with no queue
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("1.00"), 0);
+        Member first = saveMember("first@test.com", type);
+        Member second = saveMember("second@test.com", type);
+        Member queued = saveMember("queued@test.com", type);
+        Member waiting = saveMember("waiting@test.com", type);
+        Book queuedBook = saveBook("Queued Book", "9780000000011");
+        Book quietBook = saveBook("Quiet Book", "9780000000012");
+        BookCopy held1 = saveCopy(queuedBook, "HOLD-1", BookCopyStatus.RESERVED);
+        BookCopy held2 = saveCopy(queuedBook, "HOLD-2", BookCopyStatus.RESERVED);
+        BookCopy held3 = saveCopy(quietBook, "HOLD-3", BookCopyStatus.RESERVED);
+        BookCopy held4 = saveCopy(quietBook, "HOLD-4", BookCopyStatus.RESERVED);
+
+        Reservation lapsed1 = saveReservation(first, queuedBook, ReservationStatus.READY_FOR_PICKUP, now.minusHours(2));
+        Reservation lapsed2 = saveReservation(second, queuedBook, ReservationStatus.READY_FOR_PICKUP, now.minusHours(1));
+        Reservation pending = saveReservation(queued, queuedBook, ReservationStatus.PENDING, null);
+        Reservation lapsed3 = saveReservation(first, quietBook, ReservationStatus.READY_FOR_PICKUP, now.minusMinutes(5));
+        Reservation stillReady = saveReservation(waiting, quietBook, ReservationStatus.READY_FOR_PICKUP, now.plusDays(1));
+        LocalDateTime pickupUntil = now.plusDays(3);
+
+        // When
+        List<ReservationExpiryOutcome> outcomes = reservationRepository.expireReadyReservations(now, pickupUntil, 100);
+
+        // Then
+        assertThat(outcomes)
+                .extracting(ReservationExpiryOutcome::getReservationId, ReservationExpiryOutcome::getMemberEmail,
+                        ReservationExpiryOutcome::getBookTitle, ReservationExpiryOutcome::isPromoted)
+                .containsExactlyInAnyOrder(
+                        tuple(lapsed1.getId(), "first@test.com", "Queued Book", false),
+                        tuple(lapsed2.getId(), "second@test.com", "Queued Book", false),
+                        tuple(lapsed3.getId(), "first@test.com", "Quiet Book", false),
+                        tuple(pending.getId(), "queued@test.com", "Queued Book", true));
+
+        assertThat(reservationRepository.findById(pending.getId())).hasValueSatisfying(r -> {
+            assertThat(r.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP);
+            assertThat(r.getExpiryDate()).isEqualTo(pickupUntil);
+        });
+        assertThat(reservationRepository.findById(lapsed1.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getStatus()).isEqualTo(ReservationStatus.EXPIRED));
+        assertThat(reservationRepository.findById(stillReady.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP));
+
+        // One copy of the queued book stays held for the promoted member, one copy of each book is released
+        assertThat(copyStatuses(held1, held2))
+                .containsExactlyInAnyOrder(BookCopyStatus.RESERVED, BookCopyStatus.AVAILABLE);
+        assertThat(copyStatuses(held3, held4))
+                .containsExactlyInAnyOrder(BookCopyStatus.RESERVED, BookCopyStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should expire at most the batch limit, oldest first")
+    void testExpireReadyReservations_RespectsLimit() {
+        // Given
+        MembershipType type = saveMembershipType("Standard", new BigDecimal("1.00"), 0);
+        Member member = saveMember("batch@test.com", type);
+        Book book = saveBook("Batch Book", "9780000000013");
+        saveCopy(book, "BATCH-1", BookCopyStatus.RESERVED);
+        saveCopy(book, "BATCH-2", BookCopyStatus.RESERVED);
+        Reservation older = saveReservation(member, book, ReservationStatus.READY_FOR_PICKUP, now.minusHours(3));
+        Reservation newer = saveReservation(member, book, ReservationStatus.READY_FOR_PICKUP, now.minusHours(1));
+
+        // When
+        List<ReservationExpiryOutcome> outcomes = reservationRepository.expireReadyReservations(now, now.plusDays(3), 1);
+
+        // Then
+        assertThat(outcomes).extracting(ReservationExpiryOutcome::getReservationId).containsExactly(older.getId());
+        assertThat(reservationRepository.findById(newer.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP));
+        assertThat(bookCopyRepository.countByBookIdAndStatus(book.getId(), BookCopyStatus.AVAILABLE)).isEqualTo(1);
+    }
+
+    private Reservation saveReservation(Member member, Book book, ReservationStatus status, LocalDateTime expiryDate) {
+        Reservation reservation = new Reservation();
+        reservation.setMember(member);
+        reservation.setBook(book);
+        reservation.setStatus(status);
+        reservation.setExpiryDate(expiryDate);
+        return reservationRepository.save(reservation);
+    }
+
+    private List<BookCopyStatus> copyStatuses(BookCopy... copies) {
+        return Arrays.stream(copies)
+                .map(c -> bookCopyRepository.findById(c.getId()).orElseThrow().getStatus())
+                .toList();
+    }
+}
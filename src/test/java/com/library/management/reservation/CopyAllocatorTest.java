@@ -0,0 +1,110 @@
+package com.library.management.reservation;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.BookCopy;
+import com.library.management.entity.BookCopyStatus;
+import com.library.management.entity.Member;
+import com.library.management.entity.Reservation;
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationReadyEvent;
+import com.library.management.repository.ReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CopyAllocator Unit Tests")
+class CopyAllocatorTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationQueueManager queueManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CopyAllocator copyAllocator;
+
+    private Book testBook;
+
+    @BeforeEach
+    void setUp() {
+        testBook = new Book();
+        testBook.setId(1L);
+        testBook.setTitle("Test Book");
+    }
+
+    @Test
+    @DisplayName("Should hold new copies for the head of the queue and shelve the rest")
+    void testAllocate_MoreCopiesThanQueue() {
+        // Given
+        List<BookCopy> copies = List.of(copy("C1"), copy("C2"), copy("C3"));
+        Reservation first = reservation(5L, 50L);
+        Reservation second = reservation(6L, 60L);
+        when(reservationRepository.lockPendingQueueHead(1L, PageRequest.of(0, 3))).thenReturn(List.of(first, second));
+
+        // When
+        int held = copyAllocator.allocate(testBook, copies);
+
+        // Then
+        assertThat(held).isEqualTo(2);
+        assertThat(copies).extracting(BookCopy::getStatus)
+                .containsExactly(BookCopyStatus.RESERVED, BookCopyStatus.RESERVED, BookCopyStatus.AVAILABLE);
+        assertThat(first.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP);
+        assertThat(second.getStatus()).isEqualTo(ReservationStatus.READY_FOR_PICKUP);
+        assertThat(first.getExpiryDate()).isAfter(LocalDateTime.now().plusDays(2));
+        verify(queueManager).saveAll(List.of(first, second));
+        verify(eventPublisher).publishEvent(new ReservationReadyEvent(5L, 50L, "member50@example.com", "Test Book"));
+        verify(eventPublisher).publishEvent(new ReservationReadyEvent(6L, 60L, "member60@example.com", "Test Book"));
+    }
+
+    @Test
+    @DisplayName("Should shelve copies when nobody is waiting")
+    void testAllocate_NoQueue() {
+        // Given
+        List<BookCopy> copies = List.of(copy("C1"), copy("C2"));
+        when(reservationRepository.lockPendingQueueHead(1L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // When
+        int held = copyAllocator.allocate(testBook, copies);
+
+        // Then
+        assertThat(held).isZero();
+        assertThat(copies).extracting(BookCopy::getStatus).containsOnly(BookCopyStatus.AVAILABLE);
+        verifyNoInteractions(queueManager, eventPublisher);
+    }
+
+    private BookCopy copy(String barcode) {
+        BookCopy copy = new BookCopy();
+        copy.setBook(testBook);
+        copy.setBarcode(barcode);
+        return copy;
+    }
+
+    private Reservation reservation(Long id, Long memberId) {
+        Member member = new Member();
+        member.setId(memberId);
+        member.setEmail("member" + memberId + "@example.com");
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setBook(testBook);
+        reservation.setMember(member);
+        reservation.setStatus(ReservationStatus.PENDING);
+        return reservation;
+    }
+}
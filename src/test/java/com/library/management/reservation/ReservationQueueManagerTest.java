@@ -0,0 +1,173 @@
+package com.library.management.reservation;
+
+import com.library.management.entity.Book;
+import com.library.management.entity.Member;
+import com.library.management.entity.Reservation;
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationQueueChangedEvent;
+import com.library.management.repository.ReservationRepository;
+import com.library.management.reservation.ReservationQueueManager.QueueHead;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationQueueManager Unit Tests")
+class ReservationQueueManagerTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReservationQueueManager queueManager;
+
+    @Test
+    @DisplayName("Should keep positions in order as reservations leave the queue")
+    void testQueuePositionsAfterRemoval() {
+        ReservationQueue queue = new ReservationQueue(List.of(
+                new ReservationQueue.Entry(1L, 10L),
+                new ReservationQueue.Entry(2L, 20L),
+                new ReservationQueue.Entry(3L, 30L)));
+
+        queue.remove(1L);
+
+        assertThat(queue.head()).isEqualTo(new ReservationQueue.Entry(2L, 20L));
+        assertThat(queue.positionOf(20L)).isEqualTo(1);
+        assertThat(queue.positionOf(30L)).isEqualTo(2);
+        assertThat(queue.positionOf(10L)).isZero();
+        assertThat(queue.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep positions when the queue compacts and grows")
+    void testQueuePositionsAcrossCompaction() {
+        List<ReservationQueue.Entry> entries = new ArrayList<>();
+        LongStream.rangeClosed(1, 40).forEach(id -> entries.add(new ReservationQueue.Entry(id, id * 10)));
+        ReservationQueue queue = new ReservationQueue(entries);
+
+        LongStream.rangeClosed(1, 30).forEach(queue::remove);
+        LongStream.rangeClosed(41, 60).forEach(id -> queue.append(new ReservationQueue.Entry(id, id * 10)));
+
+        assertThat(queue.size()).isEqualTo(30);
+        assertThat(queue.head().reservationId()).isEqualTo(31L);
+        assertThat(queue.positionOf(410L)).isEqualTo(11);
+        assertThat(queue.positionOf(600L)).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should ignore a reservation appended twice")
+    void testQueueAppendIsIdempotent() {
+        ReservationQueue queue = new ReservationQueue(List.of(new ReservationQueue.Entry(1L, 10L)));
+
+        queue.append(new ReservationQueue.Entry(1L, 10L));
+
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not query books without pending reservations once indexed")
+    void testHeadSkipsRepositoryForUnreservedBook() {
+        when(reservationRepository.findBookIdsWithPendingReservations()).thenReturn(List.of(1L));
+        queueManager.resync();
+
+        assertThat(queueManager.head(2L)).isEmpty();
+        verify(reservationRepository, never()).findPendingQueueEntries(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should load a queue once and serve later reads from memory")
+    void testHeadLoadsQueueOnce() {
+        when(reservationRepository.findBookIdsWithPendingReservations()).thenReturn(List.of(1L));
+        when(reservationRepository.findPendingQueueEntries(1L)).thenReturn(List.of(
+                new ReservationQueue.Entry(5L, 50L),
+                new ReservationQueue.Entry(6L, 60L)));
+        queueManager.resync();
+
+        assertThat(queueManager.head(1L)).contains(new QueueHead(5L, 50L));
+        assertThat(queueManager.positionOf(1L, 60L)).isEqualTo(2);
+        assertThat(queueManager.queueLength(1L)).isEqualTo(2);
+        verify(reservationRepository, times(1)).findPendingQueueEntries(1L);
+    }
+
+    @Test
+    @DisplayName("Should apply saved and fulfilled reservations to a loaded queue")
+    void testOnSavedUpdatesQueue() {
+        when(reservationRepository.findBookIdsWithPendingReservations()).thenReturn(List.of(1L));
+        when(reservationRepository.findPendingQueueEntries(1L))
+                .thenReturn(List.of(new ReservationQueue.Entry(5L, 50L)));
+        queueManager.resync();
+        queueManager.head(1L);
+
+        queueManager.onSaved(reservation(6L, 1L, 60L, ReservationStatus.PENDING));
+        queueManager.onSaved(reservation(5L, 1L, 50L, ReservationStatus.READY_FOR_PICKUP));
+
+        assertThat(queueManager.head(1L)).contains(new QueueHead(6L, 60L));
+        assertThat(queueManager.queueLength(1L)).isEqualTo(1);
+        verify(reservationRepository, times(1)).findPendingQueueEntries(1L);
+        verify(eventPublisher, times(2)).publishEvent(new ReservationQueueChangedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Should drop a book from the index when its last reservation leaves")
+    void testOnRemovedEmptiesQueue() {
+        when(reservationRepository.findBookIdsWithPendingReservations()).thenReturn(List.of());
+        queueManager.resync();
+        when(reservationRepository.findPendingQueueEntries(1L))
+                .thenReturn(List.of(new ReservationQueue.Entry(5L, 50L)));
+
+        queueManager.onSaved(reservation(5L, 1L, 50L, ReservationStatus.PENDING));
+        assertThat(queueManager.queueLength(1L)).isEqualTo(1);
+        queueManager.onRemoved(reservation(5L, 1L, 50L, ReservationStatus.PENDING));
+
+        assertThat(queueManager.queueLength(1L)).isZero();
+        verify(reservationRepository, times(1)).findPendingQueueEntries(1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache a queue loaded while a write was applied")
+    void testLoadRacingWriteIsNotCached() {
+        when(reservationRepository.findBookIdsWithPendingReservations()).thenReturn(List.of(1L));
+        queueManager.resync();
+        // Reservation 6 commits and is applied while the queue is being read without it
+        when(reservationRepository.findPendingQueueEntries(1L))
+                .thenAnswer(invocation -> {
+                    queueManager.onSaved(reservation(6L, 1L, 60L, ReservationStatus.PENDING));
+                    return List.of(new ReservationQueue.Entry(5L, 50L));
+                })
+                .thenReturn(List.of(new ReservationQueue.Entry(5L, 50L), new ReservationQueue.Entry(6L, 60L)));
+
+        assertThat(queueManager.queueLength(1L)).isEqualTo(1);
+
+        assertThat(queueManager.positionOf(1L, 60L)).isEqualTo(2);
+        assertThat(queueManager.queueLength(1L)).isEqualTo(2);
+        verify(reservationRepository, times(2)).findPendingQueueEntries(1L);
+    }
+
+    private Reservation reservation(Long id, Long bookId, Long memberId, ReservationStatus status) {
+        Book book = new Book();
+        book.setId(bookId);
+        Member member = new Member();
+        member.setId(memberId);
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setBook(book);
+        reservation.setMember(member);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.management.entity.Member;
+import com.library.management.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AccessTokenService Unit Tests")
+class AccessTokenServiceTest {
+
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+    private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        member = new Member();
+        member.setId(7L);
+        member.setEmail("reader@example.com");
+        member.setRole(Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should verify a token it issued")
+    void testIssueAndVerify() {
+        AccessTokenService service = serviceAt(NOW);
+
+        AccessTokenService.AccessToken token = service.issue(member);
+
+        assertThat(token.expiresAt()).isEqualTo(NOW.plus(Duration.ofMinutes(15)));
+        assertThat(service.verify(token.value()))
+                .contains(new AccessTokenService.TokenClaims(7L, "reader@example.com", "ADMIN"));
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void testVerify_Expired() {
+        String token = serviceAt(NOW).issue(member).value();
+
+        assertThat(serviceAt(NOW.plus(Duration.ofMinutes(16))).verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a token with altered claims or signed with another key")
+    void testVerify_Tampered() {
+        AccessTokenService service = serviceAt(NOW);
+        String[] parts = service.issue(member).value().split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("ADMIN", "USER").getBytes());
+        AccessTokenService otherKey = new AccessTokenService(new ObjectMapper(),
+                Base64.getEncoder().encodeToString(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16,
+                        17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32}),
+                Duration.ofMinutes(15), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(service.verify(parts[0] + "." + forgedClaims + "." + parts[2])).isEmpty();
+        assertThat(service.verify(otherKey.issue(member).value())).isEmpty();
+        assertThat(service.verify("not-a-token")).isEmpty();
+        assertThat(service.verify("a.b.c")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse a configured secret shorter than 256 bits")
+    void testShortSecretRejected() {
+        String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+        assertThatThrownBy(() -> new AccessTokenService(new ObjectMapper(), shortSecret, Duration.ofMinutes(15)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private AccessTokenService serviceAt(Instant now) {
+        return new AccessTokenService(new ObjectMapper(), SECRET, Duration.ofMinutes(15), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
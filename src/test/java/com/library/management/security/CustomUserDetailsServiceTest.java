@@ -48,6 +48,7 @@ class CustomUserDetailsServiceTest {
         assertNotNull(userDetails);
         assertEquals("test@test.com", userDetails.getUsername());
         assertEquals("encodedPassword", userDetails.getPassword());
+        assertEquals(1L, ((MemberUserDetails) userDetails).getMemberId());
         assertTrue(userDetails.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_USER")));
     }
@@ -0,0 +1,53 @@
+package com.library.management.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MemberAccess Unit Tests")
+class MemberAccessTest {
+
+    private final MemberAccess memberAccess = new MemberAccess();
+
+    @Test
+    @DisplayName("Should match a bearer token by the member id in its details")
+    void testIsSelf_BearerToken() {
+        // Given
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                "john@test.com", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+        authentication.setDetails(5L);
+
+        // When / Then
+        assertThat(memberAccess.isSelf(5L, authentication)).isTrue();
+        assertThat(memberAccess.isSelf(6L, authentication)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match an HTTP Basic member by the id of its principal")
+    void testIsSelf_HttpBasic() {
+        // Given
+        MemberUserDetails user = new MemberUserDetails(5L, "john@test.com", "hash",
+                AuthorityUtils.createAuthorityList("ROLE_USER"));
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities());
+
+        // When / Then
+        assertThat(memberAccess.isSelf(5L, authentication)).isTrue();
+        assertThat(memberAccess.isSelf(6L, authentication)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not match an authentication that carries no member id")
+    void testIsSelf_NoMemberId() {
+        // Given
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                "john@test.com", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+        // When / Then
+        assertThat(memberAccess.isSelf(5L, authentication)).isFalse();
+        assertThat(memberAccess.isSelf(5L, null)).isFalse();
+    }
+}
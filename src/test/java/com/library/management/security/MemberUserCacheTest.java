@@ -0,0 +1,88 @@
+package com.library.management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MemberUserCache Unit Tests")
+class MemberUserCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private MemberUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new MemberUserCache(meterRegistry, Duration.ofMinutes(5), 10, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should serve cached users until the TTL passes and count hits and misses")
+    void testHitMissAndExpiry() {
+        cache.putUserInCache(user("a@b.c"));
+
+        assertThat(cache.getUserFromCache("a@b.c").getPassword()).isEqualTo("hash");
+        nanos.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThat(cache.getUserFromCache("a@b.c")).isNull();
+        assertThat(cache.getUserFromCache("x@y.z")).isNull();
+
+        assertThat(meterRegistry.counter("library.security.user_cache", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("library.security.user_cache", "result", "miss").count()).isEqualTo(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should hand out copies so erased credentials do not reach the cache")
+    void testReturnsCopies() {
+        cache.putUserInCache(user("a@b.c"));
+
+        ((User) cache.getUserFromCache("a@b.c")).eraseCredentials();
+
+        assertThat(cache.getUserFromCache("a@b.c").getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("Should keep the member id of cached members")
+    void testKeepsMemberId() {
+        cache.putUserInCache(new MemberUserDetails(7L, "a@b.c", "hash", user("a@b.c").getAuthorities()));
+
+        assertThat(cache.getUserFromCache("a@b.c"))
+                .isInstanceOfSatisfying(MemberUserDetails.class, user -> assertThat(user.getMemberId()).isEqualTo(7L));
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum size")
+    void testBounded() {
+        for (int i = 0; i < 25; i++) {
+            cache.putUserInCache(user("member" + i + "@b.c"));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.getUserFromCache("member24@b.c")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should drop evicted users")
+    void testEvict() {
+        cache.putUserInCache(user("a@b.c"));
+        cache.putUserInCache(user("d@e.f"));
+
+        cache.evictAfterCommit("a@b.c", "d@e.f");
+
+        assertThat(cache.getUserFromCache("a@b.c")).isNull();
+        assertThat(cache.getUserFromCache("d@e.f")).isNull();
+    }
+
+    private UserDetails user(String email) {
+        return User.withUsername(email).password("hash").roles("USER").build();
+    }
+}
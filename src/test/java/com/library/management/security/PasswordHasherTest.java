@@ -0,0 +1,95 @@
+package com.library.management.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordHasher Unit Tests")
+class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should recompute a hash made at a lower cost once the password matches")
+    void testVerify_UpgradesWeakerHash() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), executor, meterRegistry);
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret-password");
+
+        PasswordHasher.Verification verification = hasher.verify("secret-password", weakHash).join();
+
+        assertThat(verification.matched()).isTrue();
+        assertThat(verification.upgradedHash()).startsWith("$2a$05$");
+        assertThat(hasher.verify("wrong-password", weakHash).join())
+                .isEqualTo(new PasswordHasher.Verification(false, null));
+        assertThat(meterRegistry.timer("library.security.password_hashing", "operation", "verify").count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep a hash made at the configured cost")
+    void testVerify_KeepsCurrentHash() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        PasswordHasher hasher = new PasswordHasher(encoder, executor, meterRegistry);
+
+        String hash = hasher.encode("secret-password").join();
+
+        assertThat(hasher.verify("secret-password", hash).join())
+                .isEqualTo(new PasswordHasher.Verification(true, null));
+    }
+
+    @Test
+    @DisplayName("Should reject work at once when the executor queue is full")
+    void testRejectsWhenSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(blocking, executor, meterRegistry);
+
+        hasher.encode("running");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        hasher.encode("queued");
+
+        assertThatThrownBy(() -> hasher.encode("rejected")).isInstanceOf(TaskRejectedException.class);
+        assertThat(meterRegistry.get("library.security.password_hashing.queue").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.counter("library.security.password_hashing.rejected").count()).isEqualTo(1);
+        release.countDown();
+    }
+}
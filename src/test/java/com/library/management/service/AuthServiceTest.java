@@ -1,25 +1,37 @@
 package com.library.management.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.library.management.entity.Member;
+import com.library.management.entity.RefreshToken;
 import com.library.management.entity.Role;
 import com.library.management.exception.BusinessException;
 import com.library.management.model.AuthModel;
 import com.library.management.repository.MemberRepository;
+import com.library.management.repository.RefreshTokenRepository;
+import com.library.management.security.AccessTokenService;
+import com.library.management.security.MemberUserCache;
+import com.library.management.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.web.server.ResponseStatusException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +42,23 @@ class AuthServiceTest {
     private MemberRepository memberRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private MemberUserCache memberUserCache;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
 
     @Mock
     private com.library.management.repository.MembershipTypeRepository membershipTypeRepository;
 
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Spy
+    private AccessTokenService accessTokenService = new AccessTokenService(new ObjectMapper(), "", Duration.ofMinutes(15));
+
     @InjectMocks
     private AuthService authService;
 
@@ -73,12 +97,12 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
-        AuthModel.AuthResponse response = authService.register(request);
+        AuthModel.AuthResponse response = authService.register(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -86,7 +110,7 @@ class AuthServiceTest {
         assertThat(response.email()).isEqualTo("john.doe@example.com");
         assertThat(response.role()).isEqualTo("USER");
         assertThat(response.token()).isNotNull();
-        assertThat(response.token()).startsWith("Basic ");
+        assertThat(response.token()).startsWith("Bearer ");
         verify(memberRepository, times(1)).save(any(Member.class));
     }
 
@@ -108,12 +132,12 @@ class AuthServiceTest {
         adminMember.setRole(Role.ADMIN);
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenReturn(adminMember);
 
         // When
-        AuthModel.AuthResponse response = authService.register(request);
+        AuthModel.AuthResponse response = authService.register(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -152,10 +176,11 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.of(testMember));
-        when(passwordEncoder.matches(request.password(), testMember.getPassword())).thenReturn(true);
+        when(passwordHasher.verify(request.password(), testMember.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(true, null)));
 
         // When
-        AuthModel.AuthResponse response = authService.login(request);
+        AuthModel.AuthResponse response = authService.login(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -163,7 +188,7 @@ class AuthServiceTest {
         assertThat(response.email()).isEqualTo("john.doe@example.com");
         assertThat(response.role()).isEqualTo("USER");
         assertThat(response.token()).isNotNull();
-        assertThat(response.token()).startsWith("Basic ");
+        assertThat(response.token()).startsWith("Bearer ");
     }
 
     @Test
@@ -193,16 +218,17 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.of(testMember));
-        when(passwordEncoder.matches(request.password(), testMember.getPassword())).thenReturn(false);
+        when(passwordHasher.verify(request.password(), testMember.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(false, null)));
 
         // When/Then
-        assertThatThrownBy(() -> authService.login(request))
-                .isInstanceOf(ResponseStatusException.class)
+        assertThatThrownBy(() -> authService.login(request).join())
+                .hasCauseInstanceOf(ResponseStatusException.class)
                 .hasMessageContaining("Invalid email or password");
     }
 
     @Test
-    @DisplayName("Should generate valid Basic authentication token")
+    @DisplayName("Should generate a signed bearer access token and a refresh token")
     void testGenerateToken_ValidFormat() {
         // Given
         AuthModel.RegisterRequest request = new AuthModel.RegisterRequest(
@@ -214,15 +240,19 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
-        AuthModel.AuthResponse response = authService.register(request);
+        AuthModel.AuthResponse response = authService.register(request).join();
 
         // Then
-        assertThat(response.token()).matches("^Basic [A-Za-z0-9+/]+=*$");
+        assertThat(response.token()).matches("^Bearer [A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+$");
+        assertThat(accessTokenService.verify(response.token().substring("Bearer ".length())))
+                .contains(new AccessTokenService.TokenClaims(1L, "john.doe@example.com", "USER"));
+        assertThat(response.refreshToken()).isNotBlank();
+        assertThat(response.expiresIn()).isEqualTo(900);
     }
 
     @Test
@@ -243,12 +273,12 @@ class AuthServiceTest {
         member.setRole(Role.USER);
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenReturn(member);
 
         // When
-        AuthModel.AuthResponse response = authService.register(request);
+        AuthModel.AuthResponse response = authService.register(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -266,10 +296,11 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.of(testMember));
-        when(passwordEncoder.matches(request.password(), testMember.getPassword())).thenReturn(true);
+        when(passwordHasher.verify(request.password(), testMember.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(true, null)));
 
         // When
-        AuthModel.AuthResponse response = authService.login(request);
+        AuthModel.AuthResponse response = authService.login(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -294,12 +325,12 @@ class AuthServiceTest {
         member.setRole(Role.USER);
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(request.password())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(request.password())).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
         when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenReturn(member);
 
         // When
-        AuthModel.AuthResponse response = authService.register(request);
+        AuthModel.AuthResponse response = authService.register(request).join();
 
         // Then
         assertThat(response).isNotNull();
@@ -320,7 +351,8 @@ class AuthServiceTest {
         );
 
         when(memberRepository.findByEmail(request.email())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode("plainPassword")).thenReturn("encodedPassword");        when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));        when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
+        when(passwordHasher.encode("plainPassword")).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(membershipTypeRepository.findAll()).thenReturn(java.util.List.of(defaultMembershipType));
         when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> {
             Member member = invocation.getArgument(0);
             assertThat(member.getPassword()).isEqualTo("encodedPassword");
@@ -328,9 +360,92 @@ class AuthServiceTest {
         });
 
         // When
-        authService.register(request);
+        authService.register(request).join();
 
         // Then
-        verify(passwordEncoder, times(1)).encode("plainPassword");
+        verify(passwordHasher, times(1)).encode("plainPassword");
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token when exchanging it")
+    void testRefresh_RotatesToken() {
+        // Given
+        AuthModel.LoginRequest login = new AuthModel.LoginRequest("john.doe@example.com", "password123");
+        when(memberRepository.findByEmail(login.email())).thenReturn(Optional.of(testMember));
+        when(passwordHasher.verify(login.password(), testMember.getPassword()))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(true, null)));
+        String issued = authService.login(login).join().refreshToken();
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        RefreshToken stored = saved.getValue();
+        stored.setId(9L);
+        assertThat(stored.getTokenHash()).hasSize(64).isNotEqualTo(issued);
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.consume(9L)).thenReturn(1);
+
+        // When
+        AuthModel.AuthResponse response = authService.refresh(new AuthModel.RefreshRequest(issued));
+
+        // Then
+        assertThat(response.id()).isEqualTo(1L);
+        assertThat(response.token()).startsWith("Bearer ");
+        assertThat(response.refreshToken()).isNotEqualTo(issued);
+        verify(refreshTokenRepository, times(2)).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown or expired refresh token")
+    void testRefresh_InvalidToken() {
+        // Given
+        RefreshToken expired = new RefreshToken();
+        expired.setMember(testMember);
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(expired));
+
+        // When/Then
+        assertThatThrownBy(() -> authService.refresh(new AuthModel.RefreshRequest("unknown")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid or expired refresh token");
+        assertThatThrownBy(() -> authService.refresh(new AuthModel.RefreshRequest("expired")))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(refreshTokenRepository, never()).consume(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token already used by a concurrent request")
+    void testRefresh_AlreadyUsed() {
+        // Given
+        RefreshToken token = new RefreshToken();
+        token.setId(9L);
+        token.setMember(testMember);
+        token.setExpiresAt(LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.consume(9L)).thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> authService.refresh(new AuthModel.RefreshRequest("raced")))
+                .isInstanceOf(ResponseStatusException.class);
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("Should store the upgraded hash when the password was hashed at a lower cost")
+    void testLogin_RehashesWeakerHash() {
+        // Given
+        AuthModel.LoginRequest request = new AuthModel.LoginRequest("john.doe@example.com", "password123");
+        when(memberRepository.findByEmail(request.email())).thenReturn(Optional.of(testMember));
+        when(passwordHasher.verify(request.password(), "encodedPassword"))
+                .thenReturn(CompletableFuture.completedFuture(new PasswordHasher.Verification(true, "strongerHash")));
+
+        // When
+        AuthModel.AuthResponse response = authService.login(request).join();
+
+        // Then
+        assertThat(response.id()).isEqualTo(1L);
+        verify(memberRepository).replacePasswordHash(1L, "encodedPassword", "strongerHash");
+        verify(memberUserCache).evictAfterCommit("john.doe@example.com");
     }
 }
@@ -0,0 +1,122 @@
+package com.library.management.service;
+
+import com.library.management.entity.BalanceLedgerEntry;
+import com.library.management.entity.LedgerEntryType;
+import com.library.management.entity.Member;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.BalanceVerification;
+import com.library.management.repository.BalanceLedgerRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.service.impl.BalanceLedgerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BalanceLedgerService Unit Tests")
+class BalanceLedgerServiceTest {
+
+    @Mock
+    private BalanceLedgerRepository ledgerRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private BalanceLedgerServiceImpl ledgerService;
+
+    private Member testMember;
+
+    @BeforeEach
+    void setUp() {
+        testMember = new Member();
+        testMember.setId(1L);
+        testMember.setEmail("john.doe@example.com");
+        testMember.setBalance(new BigDecimal("7.00"));
+    }
+
+    @Test
+    @DisplayName("Should append entry and increment cached balance atomically")
+    void testRecord_AppendsEntryAndIncrements() {
+        // Given
+        when(memberRepository.getReferenceById(1L)).thenReturn(testMember);
+        when(memberRepository.addToBalance(1L, new BigDecimal("-5.00"))).thenReturn(1);
+
+        // When
+        ledgerService.record(1L, LedgerEntryType.PAYMENT, new BigDecimal("-5.00"), 3L);
+
+        // Then
+        ArgumentCaptor<BalanceLedgerEntry> captor = ArgumentCaptor.forClass(BalanceLedgerEntry.class);
+        verify(ledgerRepository).save(captor.capture());
+        assertThat(captor.getValue().getMember()).isSameAs(testMember);
+        assertThat(captor.getValue().getEntryType()).isEqualTo(LedgerEntryType.PAYMENT);
+        assertThat(captor.getValue().getAmount()).isEqualByComparingTo("-5.00");
+        assertThat(captor.getValue().getFineId()).isEqualTo(3L);
+        verify(memberRepository).addToBalance(1L, new BigDecimal("-5.00"));
+        verify(memberRepository, never()).save(any(Member.class));
+    }
+
+    @Test
+    @DisplayName("Should skip zero amount entries")
+    void testRecord_ZeroAmount() {
+        // When
+        ledgerService.record(1L, LedgerEntryType.FINE_ADJUSTED, BigDecimal.ZERO, 3L);
+
+        // Then
+        verifyNoInteractions(ledgerRepository, memberRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when member to charge does not exist")
+    void testRecord_MemberNotFound() {
+        // Given
+        when(memberRepository.getReferenceById(99L)).thenReturn(new Member());
+        when(memberRepository.addToBalance(99L, BigDecimal.ONE)).thenReturn(0);
+
+        // When/Then
+        assertThatThrownBy(() -> ledgerService.record(99L, LedgerEntryType.FINE_ACCRUED, BigDecimal.ONE, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should report consistent balance when ledger replay matches")
+    void testVerify_Consistent() {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(ledgerRepository.sumAmountByMemberId(1L)).thenReturn(new BigDecimal("7.0"));
+
+        // When
+        BalanceVerification result = ledgerService.verify(1L);
+
+        // Then
+        assertThat(result.isConsistent()).isTrue();
+        assertThat(result.getLedgerBalance()).isEqualByComparingTo("7.00");
+    }
+
+    @Test
+    @DisplayName("Should report drift when ledger replay differs from cached balance")
+    void testVerify_Drift() {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(ledgerRepository.sumAmountByMemberId(1L)).thenReturn(new BigDecimal("2.00"));
+
+        // When
+        BalanceVerification result = ledgerService.verify(1L);
+
+        // Then
+        assertThat(result.isConsistent()).isFalse();
+        assertThat(result.getCachedBalance()).isEqualByComparingTo("7.00");
+    }
+}
@@ -7,6 +7,7 @@ import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.BookCopyRepository;
 import com.library.management.repository.BookRepository;
+import com.library.management.reservation.CopyAllocator;
 import com.library.management.service.impl.BookCopyServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +36,9 @@ class BookCopyServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private CopyAllocator copyAllocator;
+
     @InjectMocks
     private BookCopyServiceImpl bookCopyService;
 
@@ -125,6 +129,52 @@ class BookCopyServiceTest {
                 .hasMessageContaining("Barcode already exists");
     }
 
+    @Test
+    @DisplayName("Should add several copies in one batch and allocate them together")
+    void testAddCopies_Success() {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookCopyRepository.findExistingBarcodes(anyCollection())).thenReturn(List.of());
+        when(bookCopyRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        List<BookCopy> result = bookCopyService.addCopies(1L, Arrays.asList("BC010", "", null));
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0).getBarcode()).isEqualTo("BC010");
+        assertThat(result).extracting(BookCopy::getBarcode).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(result).allMatch(copy -> copy.getBook() == testBook);
+        verify(copyAllocator).allocate(testBook, result);
+    }
+
+    @Test
+    @DisplayName("Should reject bulk copies whose barcodes already exist")
+    void testAddCopies_ExistingBarcode() {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookCopyRepository.findExistingBarcodes(anyCollection())).thenReturn(List.of("BC001"));
+
+        // When/Then
+        assertThatThrownBy(() -> bookCopyService.addCopies(1L, List.of("BC001", "BC002")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Barcode already exists: BC001");
+        verify(bookCopyRepository, never()).saveAll(anyList());
+        verifyNoInteractions(copyAllocator);
+    }
+
+    @Test
+    @DisplayName("Should reject bulk copies with duplicate barcodes")
+    void testAddCopies_DuplicateInRequest() {
+        // Given
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // When/Then
+        assertThatThrownBy(() -> bookCopyService.addCopies(1L, List.of("BC002", "BC002")))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Duplicate barcodes");
+    }
+
     @Test
     @DisplayName("Should remove copy successfully")
     void testRemoveCopy_Success() {
@@ -1,19 +1,24 @@
 package com.library.management.service;
 
 import com.library.management.entity.*;
+import com.library.management.event.FinePaidEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.KeyRange;
 import com.library.management.repository.FineRepository;
 import com.library.management.repository.LoanRepository;
-import com.library.management.repository.MemberRepository;
 import com.library.management.service.impl.FineServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -24,6 +29,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,7 +44,10 @@ class FineServiceTest {
     private LoanRepository loanRepository;
 
     @Mock
-    private MemberRepository memberRepository;
+    private BalanceLedgerService ledgerService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private FineServiceImpl fineService;
@@ -78,21 +88,47 @@ class FineServiceTest {
     }
 
     @Test
-    @DisplayName("Should calculate overdue fines successfully")
-    void testCalculateOverdueFines_Success() {
+    @DisplayName("Should accrue overdue fines of a loan id range with one statement")
+    void testAccrueOverdueFines_Success() {
         // Given
-        List<Loan> overdueLoans = Arrays.asList(testLoan);
-        when(loanRepository.findByStatus(LoanStatus.ACTIVE)).thenReturn(overdueLoans);
-        when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.empty());
-        when(fineRepository.save(any(Fine.class))).thenReturn(testFine);
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
+        LocalDateTime asOf = LocalDateTime.now();
+        when(fineRepository.recalculateFines(1L, 1000L, null, asOf, true)).thenReturn(3);
 
         // When
-        fineService.calculateOverdueFines();
+        int updated = fineService.accrueOverdueFines(1L, 1000L, asOf);
+
+        // Then - members are locked before the cap is shared out
+        assertThat(updated).isEqualTo(3);
+        InOrder inOrder = inOrder(fineRepository);
+        inOrder.verify(fineRepository).lockMembersWithActiveLoans(1L, 1000L, null);
+        inOrder.verify(fineRepository).recalculateFines(1L, 1000L, null, asOf, true);
+        verify(loanRepository, never()).findByStatus(LoanStatus.ACTIVE);
+        verify(fineRepository, never()).save(any(Fine.class));
+    }
+
+    @Test
+    @DisplayName("Should find the id range of overdue loans")
+    void testFindOverdueLoanIdRange_Success() {
+        // Given
+        when(loanRepository.findMinOverdueLoanId(any(LocalDateTime.class))).thenReturn(1L);
+        when(loanRepository.findMaxOverdueLoanId(any(LocalDateTime.class))).thenReturn(2500L);
+
+        // When
+        Optional<KeyRange> range = fineService.findOverdueLoanIdRange(LocalDateTime.now());
 
         // Then
-        verify(loanRepository, times(1)).findByStatus(LoanStatus.ACTIVE);
-        verify(fineRepository, times(1)).save(any(Fine.class));
+        assertThat(range).contains(new KeyRange(1L, 2500L));
+    }
+
+    @Test
+    @DisplayName("Should find no id range when no loans are overdue")
+    void testFindOverdueLoanIdRange_NoOverdueLoans() {
+        // Given
+        when(loanRepository.findMinOverdueLoanId(any(LocalDateTime.class))).thenReturn(null);
+        when(loanRepository.findMaxOverdueLoanId(any(LocalDateTime.class))).thenReturn(null);
+
+        // When / Then
+        assertThat(fineService.findOverdueLoanIdRange(LocalDateTime.now())).isEmpty();
     }
 
     @Test
@@ -101,30 +137,114 @@ class FineServiceTest {
         // Given
         when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.empty());
         when(fineRepository.save(any(Fine.class))).thenReturn(testFine);
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
         fineService.createOrUpdateFine(testLoan);
 
         // Then
         verify(fineRepository, times(1)).save(any(Fine.class));
-        verify(memberRepository, times(1)).save(any(Member.class));
+        verify(ledgerService).record(eq(1L), eq(LedgerEntryType.FINE_ACCRUED),
+                argThat(amount -> amount.compareTo(new BigDecimal("5.00")) == 0), any());
+    }
+
+    @Test
+    @DisplayName("Should price fines by the member's membership type policy")
+    void testCalculateFineAmount_MembershipPolicy() {
+        // Given
+        MembershipType type = new MembershipType();
+        type.setFinePerDay(new BigDecimal("0.50"));
+        type.setFineGraceDays(2);
+        testMember.setMembershipType(type);
+
+        // When / Then: 5 overdue days, 2 of them grace
+        assertThat(fineService.calculateFineAmount(testLoan, LocalDateTime.now())).isEqualByComparingTo("1.50");
+
+        type.setMaxFinePerLoan(new BigDecimal("1.00"));
+        assertThat(fineService.calculateFineAmount(testLoan, LocalDateTime.now())).isEqualByComparingTo("1.00");
+    }
+
+    @Test
+    @DisplayName("Should fill in loan fine amounts from the policy and materialized fines")
+    void testApplyFineAmounts() {
+        // Given - an accruing loan, a returned loan with an unpaid fine and an active loan already paid
+        Loan returnedLoan = new Loan();
+        returnedLoan.setId(2L);
+        returnedLoan.setMember(testMember);
+        returnedLoan.setDueDate(LocalDateTime.now().minusDays(30));
+        returnedLoan.setReturnDate(LocalDateTime.now().minusDays(27));
+        returnedLoan.setStatus(LoanStatus.RETURNED);
+        Fine returnedFine = new Fine();
+        returnedFine.setLoan(returnedLoan);
+        returnedFine.setAmount(new BigDecimal("3.00"));
+        returnedFine.setStatus(FineStatus.UNPAID);
+
+        Loan paidLoan = new Loan();
+        paidLoan.setId(3L);
+        paidLoan.setMember(testMember);
+        paidLoan.setDueDate(LocalDateTime.now().minusDays(9));
+        paidLoan.setStatus(LoanStatus.ACTIVE);
+        Fine paidFine = new Fine();
+        paidFine.setLoan(paidLoan);
+        paidFine.setAmount(new BigDecimal("9.00"));
+        paidFine.setStatus(FineStatus.PAID);
+
+        when(fineRepository.findByLoanIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(returnedFine, paidFine));
+
+        // When
+        fineService.applyFineAmounts(List.of(testLoan, returnedLoan, paidLoan));
+
+        // Then
+        assertThat(testLoan.getFineAmount()).isEqualByComparingTo("5.00");
+        assertThat(returnedLoan.getFineAmount()).isEqualByComparingTo("3.00");
+        assertThat(paidLoan.getFineAmount()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    @DisplayName("Should cap a new fine by what is left of the member cap")
+    void testCreateOrUpdateFine_MemberCap() {
+        // Given
+        MembershipType type = new MembershipType();
+        type.setMaxFinePerMember(new BigDecimal("6.00"));
+        testMember.setMembershipType(type);
+        when(fineRepository.sumUnpaidAmountByMemberIdExcludingLoan(1L, 1L)).thenReturn(new BigDecimal("4.00"));
+        when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.empty());
+
+        // When
+        fineService.createOrUpdateFine(testLoan);
+
+        // Then
+        verify(ledgerService).record(eq(1L), eq(LedgerEntryType.FINE_ACCRUED),
+                argThat(amount -> amount.compareTo(new BigDecimal("2.00")) == 0), any());
+    }
+
+    @Test
+    @DisplayName("Should reprice open fines of a membership type with one statement")
+    void testRecalculateOpenFines() {
+        // Given
+        when(fineRepository.recalculateFines(eq(0L), eq(Long.MAX_VALUE), eq(3L), any(LocalDateTime.class), eq(false)))
+                .thenReturn(2);
+
+        // When / Then
+        assertThat(fineService.recalculateOpenFines(3L)).isEqualTo(2);
+        verify(fineRepository).lockMembersWithActiveLoans(0L, Long.MAX_VALUE, 3L);
     }
 
     @Test
     @DisplayName("Should update existing fine for overdue loan")
     void testCreateOrUpdateFine_UpdateExisting() {
         // Given
+        testFine.setAmount(new BigDecimal("3.00"));
         when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.of(testFine));
         when(fineRepository.save(any(Fine.class))).thenReturn(testFine);
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
         fineService.createOrUpdateFine(testLoan);
 
         // Then
         verify(fineRepository, times(1)).save(any(Fine.class));
-        verify(memberRepository, times(1)).save(any(Member.class));
+        assertThat(testFine.getAmount()).isEqualByComparingTo("5.00");
+        verify(ledgerService).record(eq(1L), eq(LedgerEntryType.FINE_ADJUSTED),
+                argThat(amount -> amount.compareTo(new BigDecimal("2.00")) == 0), eq(1L));
     }
 
     @Test
@@ -140,23 +260,51 @@ class FineServiceTest {
         verify(fineRepository, never()).save(any(Fine.class));
     }
 
+    @Test
+    @DisplayName("Should finalize fine for returned loan")
+    void testFinalizeFine_ReturnedLoan() {
+        // Given
+        testLoan.setStatus(LoanStatus.RETURNED);
+        testLoan.setReturnDate(LocalDateTime.now());
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+        when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.empty());
+
+        // When
+        fineService.finalizeFine(1L);
+
+        // Then
+        verify(fineRepository, times(1)).save(argThat(fine -> fine.getAmount().compareTo(new BigDecimal("5.00")) == 0));
+        verify(ledgerService).record(eq(1L), eq(LedgerEntryType.FINE_ACCRUED),
+                argThat(amount -> amount.compareTo(new BigDecimal("5.00")) == 0), any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when finalizing fine for missing loan")
+    void testFinalizeFine_LoanNotFound() {
+        // Given
+        when(loanRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> fineService.finalizeFine(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
     @Test
     @DisplayName("Should pay fine successfully")
     void testPayFine_Success() {
         // Given
-        testMember.setBalance(new BigDecimal("5.00"));
         when(fineRepository.findById(1L)).thenReturn(Optional.of(testFine));
         when(fineRepository.save(any(Fine.class))).thenReturn(testFine);
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
         fineService.payFine(1L);
 
         // Then
         assertThat(testFine.getStatus()).isEqualTo(FineStatus.PAID);
-        assertThat(testMember.getBalance().compareTo(BigDecimal.ZERO)).isZero();
         verify(fineRepository, times(1)).save(testFine);
-        verify(memberRepository, times(1)).save(testMember);
+        verify(ledgerService).record(1L, LedgerEntryType.PAYMENT, new BigDecimal("-5.00"), 1L);
+        verify(ledgerService, never()).record(anyLong(), eq(LedgerEntryType.FINE_ADJUSTED), any(), any());
+        verify(eventPublisher).publishEvent(new FinePaidEvent(1L, 1L, new BigDecimal("5.00")));
     }
 
     @Test
@@ -188,11 +336,14 @@ class FineServiceTest {
     @DisplayName("Should get fines by member successfully")
     void testGetFinesByMember_Success() {
         // Given
+        testLoan.setStatus(LoanStatus.RETURNED);
+        testLoan.setReturnDate(LocalDateTime.now());
         Fine fine2 = new Fine();
         fine2.setId(2L);
+        fine2.setLoan(testLoan);
         fine2.setMember(testMember);
         fine2.setAmount(new BigDecimal("3.00"));
-        fine2.setStatus(FineStatus.UNPAID);
+        fine2.setStatus(FineStatus.PAID);
 
         List<Fine> fines = Arrays.asList(testFine, fine2);
         when(fineRepository.findByMemberId(1L)).thenReturn(fines);
@@ -207,15 +358,117 @@ class FineServiceTest {
         verify(fineRepository, times(1)).findByMemberId(1L);
     }
 
+    @Test
+    @DisplayName("Should accrue fine of active overdue loan on read without saving it")
+    void testGetFinesByMember_AccruesActiveLoan() {
+        // Given - testLoan is active and 5 days overdue, materialized fine is stale
+        testFine.setAmount(new BigDecimal("2.00"));
+        when(fineRepository.findByMemberId(1L)).thenReturn(List.of(testFine));
+        when(loanRepository.findByMemberId(1L)).thenReturn(List.of(testLoan));
+
+        // When
+        List<Fine> result = fineService.getFinesByMember(1L);
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(testFine.getId());
+        assertThat(result.get(0).getAmount()).isEqualByComparingTo("5.00");
+        assertThat(testFine.getAmount()).isEqualByComparingTo("2.00");
+        verify(fineRepository, never()).save(any(Fine.class));
+        verifyNoInteractions(ledgerService);
+    }
+
+    @Test
+    @DisplayName("Should not accrue fine of active loan once it is paid")
+    void testGetFinesByMember_PaidActiveLoan() {
+        // Given
+        testFine.setStatus(FineStatus.PAID);
+        when(fineRepository.findByMemberId(1L)).thenReturn(List.of(testFine));
+        when(loanRepository.findByMemberId(1L)).thenReturn(List.of(testLoan));
+
+        // When
+        List<Fine> result = fineService.getFinesByMember(1L);
+
+        // Then
+        assertThat(result).containsExactly(testFine);
+    }
+
+    @Test
+    @DisplayName("Should report accruing fines for overdue active loan without paid fine")
+    void testHasAccruingFines_OverdueLoan() {
+        // Given
+        when(fineRepository.countByLoanIdInAndStatus(List.of(1L), FineStatus.PAID)).thenReturn(0L);
+
+        // When/Then
+        assertThat(fineService.hasAccruingFines(List.of(testLoan))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not report accruing fines once the overdue loan's fine is paid")
+    void testHasAccruingFines_PaidFine() {
+        // Given
+        when(fineRepository.countByLoanIdInAndStatus(List.of(1L), FineStatus.PAID)).thenReturn(1L);
+
+        // When/Then
+        assertThat(fineService.hasAccruingFines(List.of(testLoan))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not query fines when no active loan is overdue")
+    void testHasAccruingFines_NothingOverdue() {
+        // Given
+        testLoan.setDueDate(LocalDateTime.now().plusDays(2));
+
+        // When/Then
+        assertThat(fineService.hasAccruingFines(List.of(testLoan))).isFalse();
+        verifyNoInteractions(fineRepository);
+    }
+
+    @Test
+    @DisplayName("Should materialize and pay fine of active loan")
+    void testPayLoanFine_MaterializesAndPays() {
+        // Given
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+        when(fineRepository.findByLoanId(1L)).thenReturn(Optional.empty(), Optional.of(testFine));
+        when(fineRepository.findById(1L)).thenReturn(Optional.of(testFine));
+
+        // When
+        fineService.payLoanFine(1L);
+
+        // Then
+        assertThat(testFine.getStatus()).isEqualTo(FineStatus.PAID);
+        verify(ledgerService).record(eq(1L), eq(LedgerEntryType.FINE_ACCRUED),
+                argThat(amount -> amount.compareTo(new BigDecimal("5.00")) == 0), any());
+        verify(ledgerService).record(1L, LedgerEntryType.PAYMENT, new BigDecimal("-5.00"), 1L);
+        verify(fineRepository, times(2)).save(any(Fine.class));
+    }
+
+    @Test
+    @DisplayName("Should reject paying fine of loan that is not overdue")
+    void testPayLoanFine_NoFine() {
+        // Given
+        testLoan.setDueDate(LocalDateTime.now().plusDays(3));
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+        when(fineRepository.findByLoanId(1L)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> fineService.payLoanFine(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("no fine");
+    }
+
     @Test
     @DisplayName("Should get all fines successfully")
     void testGetAllFines_Success() {
         // Given
+        testLoan.setStatus(LoanStatus.RETURNED);
         Fine fine2 = new Fine();
         fine2.setId(2L);
+        fine2.setLoan(testLoan);
 
         List<Fine> fines = Arrays.asList(testFine, fine2);
         when(fineRepository.findAll()).thenReturn(fines);
+        when(loanRepository.findOverdueLoans(any(LocalDateTime.class), any(Pageable.class))).thenReturn(Page.empty());
 
         // When
         List<Fine> result = fineService.getAllFines();
@@ -238,7 +491,6 @@ class FineServiceTest {
             assertThat(savedFine.getAmount()).isGreaterThan(BigDecimal.ZERO);
             return savedFine;
         });
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
         fineService.createOrUpdateFine(testLoan);
@@ -255,7 +507,6 @@ class FineServiceTest {
         testLoan.setStatus(LoanStatus.RETURNED);
         when(fineRepository.findByLoanId(testLoan.getId())).thenReturn(Optional.empty());
         when(fineRepository.save(any(Fine.class))).thenReturn(testFine);
-        when(memberRepository.save(any(Member.class))).thenReturn(testMember);
 
         // When
         fineService.createOrUpdateFine(testLoan);
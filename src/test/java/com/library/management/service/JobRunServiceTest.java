@@ -0,0 +1,197 @@
+package com.library.management.service;
+
+import com.library.management.entity.JobRun;
+import com.library.management.entity.JobRunPartition;
+import com.library.management.entity.JobRunStatus;
+import com.library.management.model.KeyRange;
+import com.library.management.repository.JobLockRepository;
+import com.library.management.repository.JobRunPartitionRepository;
+import com.library.management.repository.JobRunRepository;
+import com.library.management.service.impl.JobRunServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JobRunService Unit Tests")
+class JobRunServiceTest {
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    @Mock
+    private JobRunPartitionRepository partitionRepository;
+
+    @InjectMocks
+    private JobRunServiceImpl jobRunService;
+
+    private JobRun interruptedRun;
+
+    @BeforeEach
+    void setUp() {
+        interruptedRun = new JobRun();
+        interruptedRun.setId(1L);
+        interruptedRun.setJobName("fine-accrual");
+        interruptedRun.setNodeId("node-a");
+        interruptedRun.setStatus(JobRunStatus.RUNNING);
+        interruptedRun.setAsOf(LocalDateTime.of(2026, 10, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should pass the lease in seconds to the lock query")
+    void testAcquireLock() {
+        // Given
+        when(jobLockRepository.tryAcquire("fine-accrual", "node-a/1", 300)).thenReturn(1);
+
+        // When / Then
+        assertThat(jobRunService.acquireLock("fine-accrual", "node-a/1", Duration.ofMinutes(5))).isTrue();
+        assertThat(jobRunService.acquireLock("fine-accrual", "node-b/1", Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should split key ranges into whole chunks")
+    void testKeyRangeSplit() {
+        assertThat(new KeyRange(1, 2500).split(2, 1000))
+                .containsExactly(new KeyRange(1, 2000), new KeyRange(2001, 2500));
+        assertThat(new KeyRange(1, 10).split(8, 1000)).containsExactly(new KeyRange(1, 10));
+    }
+
+    @Test
+    @DisplayName("Should create one partition per key range")
+    void testStartRun() {
+        // Given
+        when(jobRunRepository.save(any(JobRun.class))).thenAnswer(invocation -> {
+            JobRun run = invocation.getArgument(0);
+            run.setId(2L);
+            return run;
+        });
+
+        // When
+        JobRun run = jobRunService.startRun("fine-accrual", "node-a", LocalDateTime.now(),
+                List.of(new KeyRange(1, 1000), new KeyRange(1001, 1500)));
+
+        // Then
+        assertThat(run.getStatus()).isEqualTo(JobRunStatus.RUNNING);
+        ArgumentCaptor<JobRunPartition> captor = ArgumentCaptor.forClass(JobRunPartition.class);
+        verify(partitionRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(JobRunPartition::getRangeStart).containsExactly(1L, 1001L);
+        assertThat(captor.getAllValues()).extracting(JobRunPartition::getJobRunId).containsOnly(2L);
+    }
+
+    @Test
+    @DisplayName("Should resume unfinished partitions after their checkpoint")
+    void testResumeRun() {
+        // Given
+        JobRunPartition halfDone = partition(0, 1, 2000, 1000L);
+        JobRunPartition untouched = partition(1, 2001, 2500, null);
+        JobRunPartition fullyCheckpointed = partition(2, 2501, 3000, 3000L);
+        when(jobRunRepository.findById(1L)).thenReturn(Optional.of(interruptedRun));
+        when(jobRunRepository.save(any(JobRun.class))).thenAnswer(invocation -> {
+            JobRun run = invocation.getArgument(0);
+            run.setId(2L);
+            return run;
+        });
+        when(partitionRepository.findByJobRunIdAndStatusNotOrderByPartitionNo(1L, JobRunStatus.SUCCEEDED))
+                .thenReturn(List.of(halfDone, untouched, fullyCheckpointed));
+
+        // When
+        JobRun run = jobRunService.resumeRun(interruptedRun, "node-b");
+
+        // Then
+        assertThat(interruptedRun.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(interruptedRun.getError()).contains("node-a");
+        assertThat(run.getResumedFromRunId()).isEqualTo(1L);
+        assertThat(run.getResumeAttempt()).isEqualTo(1);
+        assertThat(run.getAsOf()).isEqualTo(interruptedRun.getAsOf());
+        assertThat(run.getNodeId()).isEqualTo("node-b");
+
+        ArgumentCaptor<JobRunPartition> captor = ArgumentCaptor.forClass(JobRunPartition.class);
+        verify(partitionRepository, times(2)).save(captor.capture());
+        assertThat(captor.getAllValues()).extracting(JobRunPartition::getRangeStart).containsExactly(1001L, 2001L);
+        assertThat(captor.getAllValues()).extracting(JobRunPartition::getPartitionNo).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should abandon a run and close its unfinished partitions")
+    void testAbandonRun() {
+        // Given
+        interruptedRun.setStatus(JobRunStatus.FAILED);
+        interruptedRun.setFinishedAt(LocalDateTime.of(2026, 10, 1, 1, 0));
+        interruptedRun.setError("IllegalStateException: bad row");
+        JobRunPartition failed = partition(0, 1, 1000, 500L);
+        when(jobRunRepository.findById(1L)).thenReturn(Optional.of(interruptedRun));
+        when(partitionRepository.findByJobRunIdAndStatusNotOrderByPartitionNo(1L, JobRunStatus.SUCCEEDED))
+                .thenReturn(List.of(failed));
+
+        // When
+        jobRunService.abandonRun(1L, "Abandoned after 3 resume attempt(s)");
+
+        // Then
+        assertThat(interruptedRun.getStatus()).isEqualTo(JobRunStatus.ABANDONED);
+        assertThat(interruptedRun.getFinishedAt()).isEqualTo(LocalDateTime.of(2026, 10, 1, 1, 0));
+        assertThat(interruptedRun.getError())
+                .isEqualTo("Abandoned after 3 resume attempt(s); last error: IllegalStateException: bad row");
+        assertThat(failed.getStatus()).isEqualTo(JobRunStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should not resume a failed run without remaining keys")
+    void testFindInterruptedRun_NothingLeft() {
+        // Given
+        interruptedRun.setStatus(JobRunStatus.FAILED);
+        when(jobRunRepository.findFirstByJobNameOrderByIdDesc("fine-accrual")).thenReturn(Optional.of(interruptedRun));
+        when(partitionRepository.findByJobRunIdAndStatusNotOrderByPartitionNo(1L, JobRunStatus.SUCCEEDED))
+                .thenReturn(List.of(partition(0, 1, 1000, 1000L)));
+
+        // When / Then
+        assertThat(jobRunService.findInterruptedRun("fine-accrual")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should sum partition items and fail the run on error")
+    void testFinishRun() {
+        // Given
+        when(partitionRepository.findByJobRunIdOrderByPartitionNo(1L))
+                .thenReturn(List.of(partition(0, 1, 1000, 1000L), partition(1, 1001, 2000, 1500L)));
+        when(jobRunRepository.findById(1L)).thenReturn(Optional.of(interruptedRun));
+
+        // When
+        JobRun run = jobRunService.finishRun(1L, "x".repeat(2000));
+
+        // Then
+        assertThat(run.getStatus()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(run.getItemsProcessed()).isEqualTo(10);
+        assertThat(run.getError()).hasSize(1000);
+        assertThat(run.getFinishedAt()).isNotNull();
+    }
+
+    private JobRunPartition partition(int partitionNo, long rangeStart, long rangeEnd, Long checkpoint) {
+        JobRunPartition partition = new JobRunPartition();
+        partition.setId(10L + partitionNo);
+        partition.setJobRunId(1L);
+        partition.setPartitionNo(partitionNo);
+        partition.setRangeStart(rangeStart);
+        partition.setRangeEnd(rangeEnd);
+        partition.setCheckpoint(checkpoint);
+        partition.setStatus(JobRunStatus.RUNNING);
+        partition.setItemsProcessed(5);
+        return partition;
+    }
+}
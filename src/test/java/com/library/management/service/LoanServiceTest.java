@@ -1,9 +1,13 @@
 package com.library.management.service;
 
 import com.library.management.entity.*;
+import com.library.management.event.LoanBorrowedEvent;
+import com.library.management.event.LoanReturnedEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
 import com.library.management.repository.*;
+import com.library.management.reservation.CopyAllocator;
+import com.library.management.reservation.ReservationQueueManager;
 import com.library.management.service.impl.LoanServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +16,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,6 +31,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +47,12 @@ class LoanServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationQueueManager queueManager;
+
+    @Mock
+    private CopyAllocator copyAllocator;
+
     @Mock
     private BookCopyRepository bookCopyRepository;
 
@@ -44,7 +60,7 @@ class LoanServiceTest {
     private FineService fineService;
 
     @Mock
-    private NotificationService notificationService;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private LoanServiceImpl loanService;
@@ -104,7 +120,7 @@ class LoanServiceTest {
         when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
         when(bookCopyRepository.findByBarcode("BC001")).thenReturn(Optional.of(testBookCopy));
         when(loanRepository.findByMemberId(testMember.getId())).thenReturn(Arrays.asList());
-        when(reservationRepository.findFirstPendingReservation(anyLong())).thenReturn(Optional.empty());
+        when(queueManager.head(anyLong())).thenReturn(Optional.empty());
         when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
 
         // When
@@ -115,6 +131,7 @@ class LoanServiceTest {
         assertThat(result.getStatus()).isEqualTo(LoanStatus.ACTIVE);
         verify(bookCopyRepository, times(1)).save(any(BookCopy.class));
         verify(loanRepository, times(1)).save(any(Loan.class));
+        verify(eventPublisher).publishEvent(any(LoanBorrowedEvent.class));
     }
 
     @Test
@@ -150,6 +167,24 @@ class LoanServiceTest {
                 .hasMessageContaining("outstanding fines");
     }
 
+    @Test
+    @DisplayName("Should throw exception when member has fines accruing on an overdue loan")
+    void testBorrowBook_AccruingFines() {
+        // Given
+        Loan newLoan = new Loan();
+        newLoan.setMember(testMember);
+
+        when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
+        when(loanRepository.findByMemberId(testMember.getId())).thenReturn(List.of(testLoan));
+        when(fineService.hasAccruingFines(List.of(testLoan))).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> loanService.borrowBook(newLoan))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("outstanding fines");
+        verify(bookCopyRepository, never()).save(any(BookCopy.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when member reached borrowing limit")
     void testBorrowBook_BorrowingLimitReached() {
@@ -199,7 +234,6 @@ class LoanServiceTest {
     void testReturnBook_Success() {
         // Given
         when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
-        when(reservationRepository.findFirstPendingReservation(anyLong())).thenReturn(Optional.empty());
         when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
 
         // When
@@ -210,6 +244,27 @@ class LoanServiceTest {
         assertThat(result.getReturnDate()).isNotNull();
         verify(bookCopyRepository, times(1)).save(any(BookCopy.class));
         verify(loanRepository, times(1)).save(any(Loan.class));
+        verify(eventPublisher).publishEvent(any(LoanReturnedEvent.class));
+        verify(fineService).createOrUpdateFine(testLoan);
+        verify(copyAllocator).allocate(testBook, List.of(testBookCopy));
+    }
+
+    @Test
+    @DisplayName("Should save returned copy with the status chosen by the allocator")
+    void testReturnBook_CopyHeldForQueue() {
+        // Given
+        when(loanRepository.findById(1L)).thenReturn(Optional.of(testLoan));
+        when(copyAllocator.allocate(testBook, List.of(testBookCopy))).thenAnswer(invocation -> {
+            testBookCopy.setStatus(BookCopyStatus.RESERVED);
+            return 1;
+        });
+        when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
+
+        // When
+        loanService.returnBook(1L);
+
+        // Then
+        verify(bookCopyRepository).save(argThat(copy -> copy.getStatus() == BookCopyStatus.RESERVED));
     }
 
     @Test
@@ -275,6 +330,23 @@ class LoanServiceTest {
         verify(loanRepository, times(1)).findByMemberId(1L);
     }
 
+    @Test
+    @DisplayName("Should get overdue loans by due date")
+    void testGetOverdueLoans_Success() {
+        // Given
+        testLoan.setDueDate(LocalDateTime.now().minusDays(2));
+        Pageable pageable = PageRequest.of(0, 20);
+        when(loanRepository.findOverdueLoans(any(LocalDateTime.class), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(testLoan), pageable, 1));
+
+        // When
+        Page<Loan> result = loanService.getOverdueLoans(pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testLoan);
+        verify(loanRepository, times(1)).findOverdueLoans(any(LocalDateTime.class), eq(pageable));
+    }
+
     private Loan createActiveLoan() {
         Loan loan = new Loan();
         loan.setStatus(LoanStatus.ACTIVE);
@@ -5,7 +5,9 @@ import com.library.management.entity.MembershipType;
 import com.library.management.entity.Role;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.repository.BalanceLedgerRepository;
 import com.library.management.repository.MemberRepository;
+import com.library.management.security.MemberUserCache;
 import com.library.management.service.impl.MemberServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +34,12 @@ class MemberServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private MemberUserCache memberUserCache;
+
+    @Mock
+    private BalanceLedgerRepository ledgerRepository;
+
     @InjectMocks
     private MemberServiceImpl memberService;
 
@@ -165,6 +173,7 @@ class MemberServiceTest {
         assertThat(result.getLastName()).isEqualTo("Doe Updated");
         assertThat(result.getEmail()).isEqualTo("john.updated@example.com");
         verify(memberRepository, times(1)).save(any(Member.class));
+        verify(memberUserCache).evictAfterCommit("john.doe@example.com", "john.updated@example.com");
     }
 
     @Test
@@ -186,7 +195,7 @@ class MemberServiceTest {
     @DisplayName("Should delete member successfully")
     void testDeleteMember_Success() {
         // Given
-        when(memberRepository.existsById(1L)).thenReturn(true);
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
         doNothing().when(memberRepository).deleteById(1L);
 
         // When
@@ -194,13 +203,29 @@ class MemberServiceTest {
 
         // Then
         verify(memberRepository, times(1)).deleteById(1L);
+        verify(memberUserCache).evictAfterCommit("john.doe@example.com");
+    }
+
+    @Test
+    @DisplayName("Should refuse to delete a member with balance history")
+    void testDeleteMember_WithLedgerEntries() {
+        // Given
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(testMember));
+        when(ledgerRepository.existsByMemberId(1L)).thenReturn(true);
+
+        // When/Then
+        assertThatThrownBy(() -> memberService.deleteMember(1L))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("balance history");
+        verify(memberRepository, never()).deleteById(anyLong());
+        verify(memberUserCache, never()).evictAfterCommit(any());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent member")
     void testDeleteMember_NotFound() {
         // Given
-        when(memberRepository.existsById(anyLong())).thenReturn(false);
+        when(memberRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> memberService.deleteMember(99L))
@@ -2,6 +2,7 @@ package com.library.management.service;
 
 import com.library.management.entity.MembershipType;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.MembershipTypeUpdateRequest;
 import com.library.management.repository.MembershipTypeRepository;
 import com.library.management.service.impl.MembershipTypeServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +30,9 @@ class MembershipTypeServiceTest {
     @Mock
     private MembershipTypeRepository membershipTypeRepository;
 
+    @Mock
+    private FineService fineService;
+
     @InjectMocks
     private MembershipTypeServiceImpl membershipTypeService;
 
@@ -114,10 +119,8 @@ class MembershipTypeServiceTest {
     @DisplayName("Should update membership type successfully")
     void testUpdateMembershipType_Success() {
         // Given
-        MembershipType updatedType = new MembershipType();
-        updatedType.setName("Premium");
-        updatedType.setMaxBooks(10);
-        updatedType.setMaxLoanDays(30);
+        MembershipTypeUpdateRequest updatedType =
+                new MembershipTypeUpdateRequest("Premium", 10, 30, null, null, null, null);
 
         when(membershipTypeRepository.findById(1L)).thenReturn(Optional.of(testMembershipType));
         when(membershipTypeRepository.save(any(MembershipType.class))).thenReturn(testMembershipType);
@@ -131,14 +134,60 @@ class MembershipTypeServiceTest {
         assertThat(result.getMaxBooks()).isEqualTo(10);
         assertThat(result.getMaxLoanDays()).isEqualTo(30);
         verify(membershipTypeRepository, times(1)).save(any(MembershipType.class));
+        verify(fineService, never()).recalculateOpenFines(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reprice open fines when the fine policy changes")
+    void testUpdateMembershipType_PolicyChanged() {
+        // Given
+        MembershipTypeUpdateRequest updatedType = new MembershipTypeUpdateRequest("Standard", 5, 14,
+                new BigDecimal("0.25"), null, null, Optional.of(new BigDecimal("20.00")));
+
+        when(membershipTypeRepository.findById(1L)).thenReturn(Optional.of(testMembershipType));
+        when(membershipTypeRepository.save(any(MembershipType.class))).thenReturn(testMembershipType);
+
+        // When
+        MembershipType result = membershipTypeService.updateMembershipType(1L, updatedType);
+
+        // Then
+        assertThat(result.getFinePerDay()).isEqualByComparingTo("0.25");
+        assertThat(result.getMaxFinePerMember()).isEqualByComparingTo("20.00");
+        verify(fineService).recalculateOpenFines(1L);
+    }
+
+    @Test
+    @DisplayName("Should keep the fine policy fields an update leaves out")
+    void testUpdateMembershipType_PartialPolicy() {
+        // Given
+        testMembershipType.setFinePerDay(new BigDecimal("0.50"));
+        testMembershipType.setFineGraceDays(3);
+        testMembershipType.setMaxFinePerLoan(new BigDecimal("10.00"));
+        testMembershipType.setMaxFinePerMember(new BigDecimal("25.00"));
+
+        MembershipTypeUpdateRequest updatedType =
+                new MembershipTypeUpdateRequest("Standard", 5, 14, null, null, Optional.empty(), null);
+
+        when(membershipTypeRepository.findById(1L)).thenReturn(Optional.of(testMembershipType));
+        when(membershipTypeRepository.save(any(MembershipType.class))).thenReturn(testMembershipType);
+
+        // When
+        MembershipType result = membershipTypeService.updateMembershipType(1L, updatedType);
+
+        // Then - only the per-loan cap was sent, and it was cleared
+        assertThat(result.getFinePerDay()).isEqualByComparingTo("0.50");
+        assertThat(result.getFineGraceDays()).isEqualTo(3);
+        assertThat(result.getMaxFinePerLoan()).isNull();
+        assertThat(result.getMaxFinePerMember()).isEqualByComparingTo("25.00");
+        verify(fineService).recalculateOpenFines(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when updating non-existent membership type")
     void testUpdateMembershipType_NotFound() {
         // Given
-        MembershipType updatedType = new MembershipType();
-        updatedType.setName("Updated");
+        MembershipTypeUpdateRequest updatedType =
+                new MembershipTypeUpdateRequest("Updated", 5, 14, null, null, null, null);
 
         when(membershipTypeRepository.findById(anyLong())).thenReturn(Optional.empty());
 
@@ -0,0 +1,128 @@
+package com.library.management.service;
+
+import com.library.management.entity.NotificationChannelType;
+import com.library.management.entity.NotificationStatus;
+import com.library.management.entity.OutboxNotification;
+import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.repository.OutboxNotificationRepository;
+import com.library.management.service.impl.NotificationOutboxServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationOutboxService Unit Tests")
+class NotificationOutboxServiceTest {
+
+    @Mock
+    private OutboxNotificationRepository outboxRepository;
+
+    @InjectMocks
+    private NotificationOutboxServiceImpl outboxService;
+
+    private OutboxNotification testNotification;
+
+    @BeforeEach
+    void setUp() {
+        testNotification = new OutboxNotification();
+        testNotification.setId(1L);
+        testNotification.setChannel(NotificationChannelType.EMAIL);
+        testNotification.setRecipient("john.doe@example.com");
+        testNotification.setSubject("Subject");
+        testNotification.setBody("Body");
+        testNotification.setStatus(NotificationStatus.PENDING);
+        testNotification.setNextAttemptAt(LocalDateTime.now().minusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should enqueue a pending notification due immediately")
+    void enqueue_CreatesPendingNotification() {
+        when(outboxRepository.save(any(OutboxNotification.class))).thenAnswer(i -> i.getArgument(0));
+
+        OutboxNotification result = outboxService.enqueue(NotificationChannelType.EMAIL,
+                "john.doe@example.com", "Subject", "Body");
+
+        assertThat(result.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(result.getAttempts()).isZero();
+        assertThat(result.getNextAttemptAt()).isBeforeOrEqualTo(LocalDateTime.now());
+        verify(outboxRepository).save(result);
+    }
+
+    @Test
+    @DisplayName("Should mark claimed notifications in progress and count the attempt")
+    void claimDue_MarksInProgress() {
+        when(outboxRepository.lockDueBatch(any(LocalDateTime.class), eq(10))).thenReturn(List.of(testNotification));
+        when(outboxRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        List<OutboxNotification> result = outboxService.claimDue(10);
+
+        assertThat(result).hasSize(1);
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.IN_PROGRESS);
+        assertThat(testNotification.getAttempts()).isEqualTo(1);
+        assertThat(testNotification.getNextAttemptAt()).isAfter(LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Should mark notification as sent")
+    void markSent_SetsSentStatus() {
+        testNotification.setStatus(NotificationStatus.IN_PROGRESS);
+        testNotification.setLastError("previous failure");
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        outboxService.markSent(1L);
+
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.SENT);
+        assertThat(testNotification.getSentAt()).isNotNull();
+        assertThat(testNotification.getLastError()).isNull();
+        verify(outboxRepository).save(testNotification);
+    }
+
+    @Test
+    @DisplayName("Should reschedule failed notification with backoff")
+    void markFailed_ReschedulesWithBackoff() {
+        testNotification.setStatus(NotificationStatus.IN_PROGRESS);
+        testNotification.setAttempts(2);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        outboxService.markFailed(1L, "SMTP unavailable");
+
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.PENDING);
+        assertThat(testNotification.getLastError()).isEqualTo("SMTP unavailable");
+        assertThat(testNotification.getNextAttemptAt()).isAfter(LocalDateTime.now().plusSeconds(50));
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum number of attempts")
+    void markFailed_GivesUpAfterMaxAttempts() {
+        testNotification.setStatus(NotificationStatus.IN_PROGRESS);
+        testNotification.setAttempts(5);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+
+        outboxService.markFailed(1L, "SMTP unavailable");
+
+        assertThat(testNotification.getStatus()).isEqualTo(NotificationStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when notification not found")
+    void markSent_NotFound() {
+        when(outboxRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> outboxService.markSent(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,153 @@
+package com.library.management.service;
+
+import com.library.management.entity.ReportJob;
+import com.library.management.entity.ReportJobStatus;
+import com.library.management.entity.ReportType;
+import com.library.management.exception.BusinessException;
+import com.library.management.model.ReportJobRequest;
+import com.library.management.reporting.ReportExporter;
+import com.library.management.repository.ReportJobRepository;
+import com.library.management.service.impl.ReportExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportExportService Unit Tests")
+class ReportExportServiceTest {
+
+    @Mock
+    private ReportJobRepository reportJobRepository;
+
+    @Mock
+    private ReportExporter reportExporter;
+
+    @TempDir
+    private Path directory;
+
+    private ReportExportServiceImpl reportExportService;
+    private ReportJob stored;
+
+    @BeforeEach
+    void setUp() {
+        reportExportService = new ReportExportServiceImpl(reportJobRepository, reportExporter, new SyncTaskExecutor());
+        ReflectionTestUtils.setField(reportExportService, "directory", directory);
+        lenient().when(reportJobRepository.save(any(ReportJob.class))).thenAnswer(invocation -> {
+            stored = invocation.getArgument(0);
+            if (stored.getId() == null) {
+                stored.setId(7L);
+            }
+            return stored;
+        });
+        lenient().when(reportJobRepository.findById(7L)).thenAnswer(invocation -> Optional.ofNullable(stored));
+    }
+
+    @Test
+    @DisplayName("Should export a report into a complete file")
+    void testStartJob_Succeeds() throws IOException {
+        // Given
+        when(reportExporter.export(eq(ReportType.CIRCULATION_HISTORY), eq(LocalDate.of(2026, 1, 1)),
+                eq(LocalDate.of(2026, 1, 31)), any(Path.class))).thenAnswer(invocation -> {
+            Files.writeString(invocation.getArgument(3), "rows");
+            return 42L;
+        });
+
+        // When
+        reportExportService.startJob(new ReportJobRequest(ReportType.CIRCULATION_HISTORY,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31)), "admin@example.com");
+
+        // Then
+        assertThat(stored.getStatus()).isEqualTo(ReportJobStatus.SUCCEEDED);
+        assertThat(stored.getRowCount()).isEqualTo(42);
+        assertThat(stored.getSizeBytes()).isEqualTo(4);
+        assertThat(reportExportService.getResultFile(7L)).hasContent("rows");
+        assertThat(directory.resolve("report-7.csv.gz.part")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should record a failed export and leave no partial file")
+    void testStartJob_Fails() throws IOException {
+        // Given
+        when(reportExporter.export(any(), any(), any(), any(Path.class))).thenAnswer(invocation -> {
+            Files.writeString(invocation.getArgument(3), "half");
+            throw new IOException("disk full");
+        });
+
+        // When
+        reportExportService.startJob(new ReportJobRequest(ReportType.INVENTORY, null, null), "admin@example.com");
+
+        // Then
+        assertThat(stored.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(stored.getError()).contains("disk full");
+        assertThat(stored.getFromDate()).isNull();
+        assertThat(Files.list(directory)).isEmpty();
+        assertThatThrownBy(() -> reportExportService.getResultFile(7L)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail the job when the executor is saturated")
+    void testStartJob_Rejected() {
+        // Given
+        reportExportService = new ReportExportServiceImpl(reportJobRepository, reportExporter, task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> reportExportService.startJob(
+                new ReportJobRequest(ReportType.FINES, null, null), "admin@example.com"))
+                .isInstanceOf(TaskRejectedException.class);
+        assertThat(stored.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        verifyNoInteractions(reportExporter);
+    }
+
+    @Test
+    @DisplayName("Should reject a period that ends before it starts")
+    void testStartJob_InvertedPeriod() {
+        assertThatThrownBy(() -> reportExportService.startJob(new ReportJobRequest(ReportType.FINES,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 1, 1)), "admin@example.com"))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(reportJobRepository);
+    }
+
+    @Test
+    @DisplayName("Should purge expired jobs and old files")
+    void testPurgeExpired() throws IOException {
+        // Given
+        Path old = Files.writeString(directory.resolve("report-1.csv.gz"), "old");
+        Files.setLastModifiedTime(old, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        Path recent = Files.writeString(directory.resolve("report-2.csv.gz"), "recent");
+        ReportJob expired = new ReportJob();
+        when(reportJobRepository.findByCreatedAtBefore(any())).thenReturn(List.of(expired));
+
+        // When
+        int purged = reportExportService.purgeExpired();
+
+        // Then
+        assertThat(purged).isEqualTo(1);
+        assertThat(old).doesNotExist();
+        assertThat(recent).exists();
+        verify(reportJobRepository).deleteAll(List.of(expired));
+    }
+}
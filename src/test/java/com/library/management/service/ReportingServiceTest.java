@@ -1,10 +1,27 @@
 package com.library.management.service;
 
+import com.library.management.analytics.BorrowerSketches;
+import com.library.management.analytics.HyperLogLog;
+import com.library.management.analytics.LeaderboardDimension;
+import com.library.management.analytics.LeaderboardWindow;
+import com.library.management.analytics.LiveLeaderboards;
+import com.library.management.entity.HourlyCirculation;
+import com.library.management.entity.SketchScope;
+import com.library.management.exception.BusinessException;
+import com.library.management.model.BookLoanReport;
 import com.library.management.model.BookStatusReport;
 import com.library.management.model.CategoryReport;
+import com.library.management.model.CirculationHeatmap;
+import com.library.management.model.LiveRanking;
 import com.library.management.model.MemberActivity;
+import com.library.management.model.UniqueBorrowerCount;
+import com.library.management.model.UniqueBorrowerReport;
+import com.library.management.reporting.ReportCache;
 import com.library.management.repository.BookCopyRepository;
-import com.library.management.repository.LoanRepository;
+import com.library.management.repository.DailyBookLoansRepository;
+import com.library.management.repository.DailyCategoryLoansRepository;
+import com.library.management.repository.DailyMemberLoansRepository;
+import com.library.management.repository.HourlyCirculationRepository;
 import com.library.management.service.impl.ReportingServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,12 +31,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +54,28 @@ import static org.mockito.Mockito.*;
 class ReportingServiceTest {
 
     @Mock
-    private LoanRepository loanRepository;
+    private BookCopyRepository bookCopyRepository;
 
     @Mock
-    private BookCopyRepository bookCopyRepository;
+    private DailyCategoryLoansRepository dailyCategoryLoansRepository;
+
+    @Mock
+    private DailyMemberLoansRepository dailyMemberLoansRepository;
+
+    @Mock
+    private DailyBookLoansRepository dailyBookLoansRepository;
+
+    @Mock
+    private HourlyCirculationRepository hourlyCirculationRepository;
+
+    @Mock
+    private LiveLeaderboards liveLeaderboards;
+
+    @Mock
+    private BorrowerSketches borrowerSketches;
+
+    @Mock
+    private ReportCache reportCache;
 
     @InjectMocks
     private ReportingServiceImpl reportingService;
@@ -41,6 +86,9 @@ class ReportingServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(reportCache.get(anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+
         testCategoryReport = new CategoryReport() {
             @Override
             public String getCategoryName() {
@@ -100,17 +148,17 @@ class ReportingServiceTest {
         };
 
         List<CategoryReport> reports = Arrays.asList(testCategoryReport, report2);
-        when(loanRepository.findMostReadCategories(any(PageRequest.class))).thenReturn(reports);
+        when(dailyCategoryLoansRepository.findMostRead(any(), any(), any(PageRequest.class))).thenReturn(reports);
 
         // When
-        List<CategoryReport> result = reportingService.getMostReadCategories(10);
+        List<CategoryReport> result = reportingService.getMostReadCategories(10, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getCategoryName()).isEqualTo("Fiction");
         assertThat(result.get(0).getLoanCount()).isEqualTo(150L);
-        verify(loanRepository, times(1)).findMostReadCategories(PageRequest.of(0, 10));
+        verify(dailyCategoryLoansRepository, times(1)).findMostRead(any(), any(), eq(PageRequest.of(0, 10)));
     }
 
     @Test
@@ -118,31 +166,79 @@ class ReportingServiceTest {
     void testGetMostReadCategories_CustomLimit() {
         // Given
         List<CategoryReport> reports = Arrays.asList(testCategoryReport);
-        when(loanRepository.findMostReadCategories(any(PageRequest.class))).thenReturn(reports);
+        when(dailyCategoryLoansRepository.findMostRead(any(), any(), any(PageRequest.class))).thenReturn(reports);
 
         // When
-        List<CategoryReport> result = reportingService.getMostReadCategories(5);
+        List<CategoryReport> result = reportingService.getMostReadCategories(5, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(loanRepository, times(1)).findMostReadCategories(PageRequest.of(0, 5));
+        verify(dailyCategoryLoansRepository, times(1)).findMostRead(any(), any(), eq(PageRequest.of(0, 5)));
     }
 
     @Test
     @DisplayName("Should return empty list when no categories have loans")
     void testGetMostReadCategories_EmptyList() {
         // Given
-        when(loanRepository.findMostReadCategories(any(PageRequest.class))).thenReturn(Arrays.asList());
+        when(dailyCategoryLoansRepository.findMostRead(any(), any(), any(PageRequest.class))).thenReturn(Arrays.asList());
 
         // When
-        List<CategoryReport> result = reportingService.getMostReadCategories(10);
+        List<CategoryReport> result = reportingService.getMostReadCategories(10, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should sum most read categories over the requested days")
+    void testGetMostReadCategories_ForWindow() {
+        // Given
+        when(dailyCategoryLoansRepository.findMostRead(any(LocalDate.class), any(LocalDate.class),
+                any(PageRequest.class))).thenReturn(Arrays.asList(testCategoryReport));
+
+        // When
+        List<CategoryReport> result = reportingService.getMostReadCategories(5,
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(dailyCategoryLoansRepository, times(1)).findMostRead(
+                LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), PageRequest.of(0, 5));
+    }
+
+    @Test
+    @DisplayName("Should default to the last 30 days")
+    void testGetMostReadCategories_DefaultWindow() {
+        // When
+        reportingService.getMostReadCategories(10, null, null);
+
+        // Then
+        LocalDate today = LocalDate.now();
+        verify(dailyCategoryLoansRepository, times(1)).findMostRead(
+                today.minusDays(29), today, PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should reject a window that ends before it starts")
+    void testGetMostReadCategories_InvertedWindow() {
+        assertThatThrownBy(() -> reportingService.getMostReadCategories(10,
+                LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1)))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(dailyCategoryLoansRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a window longer than the maximum")
+    void testGetMostActiveMembers_WindowTooLong() {
+        assertThatThrownBy(() -> reportingService.getMostActiveMembers(10,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2026, 1, 1)))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("366 days");
+        verifyNoInteractions(dailyMemberLoansRepository);
+    }
+
     @Test
     @DisplayName("Should get most active members successfully")
     void testGetMostActiveMembers_Success() {
@@ -165,17 +261,17 @@ class ReportingServiceTest {
         };
 
         List<MemberActivity> activities = Arrays.asList(testMemberActivity, activity2);
-        when(loanRepository.findMostActiveMembers(any(PageRequest.class))).thenReturn(activities);
+        when(dailyMemberLoansRepository.findMostActive(any(), any(), any(PageRequest.class))).thenReturn(activities);
 
         // When
-        List<MemberActivity> result = reportingService.getMostActiveMembers(10);
+        List<MemberActivity> result = reportingService.getMostActiveMembers(10, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(2);
         assertThat(result.get(0).getMemberName()).isEqualTo("John Doe");
         assertThat(result.get(0).getLoanCount()).isEqualTo(25L);
-        verify(loanRepository, times(1)).findMostActiveMembers(PageRequest.of(0, 10));
+        verify(dailyMemberLoansRepository, times(1)).findMostActive(any(), any(), eq(PageRequest.of(0, 10)));
     }
 
     @Test
@@ -183,31 +279,112 @@ class ReportingServiceTest {
     void testGetMostActiveMembers_CustomLimit() {
         // Given
         List<MemberActivity> activities = Arrays.asList(testMemberActivity);
-        when(loanRepository.findMostActiveMembers(any(PageRequest.class))).thenReturn(activities);
+        when(dailyMemberLoansRepository.findMostActive(any(), any(), any(PageRequest.class))).thenReturn(activities);
 
         // When
-        List<MemberActivity> result = reportingService.getMostActiveMembers(3);
+        List<MemberActivity> result = reportingService.getMostActiveMembers(3, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        verify(loanRepository, times(1)).findMostActiveMembers(PageRequest.of(0, 3));
+        verify(dailyMemberLoansRepository, times(1)).findMostActive(any(), any(), eq(PageRequest.of(0, 3)));
     }
 
     @Test
     @DisplayName("Should return empty list when no members have loans")
     void testGetMostActiveMembers_EmptyList() {
         // Given
-        when(loanRepository.findMostActiveMembers(any(PageRequest.class))).thenReturn(Arrays.asList());
+        when(dailyMemberLoansRepository.findMostActive(any(), any(), any(PageRequest.class))).thenReturn(Arrays.asList());
 
         // When
-        List<MemberActivity> result = reportingService.getMostActiveMembers(10);
+        List<MemberActivity> result = reportingService.getMostActiveMembers(10, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should sum most active members over the requested days")
+    void testGetMostActiveMembers_ForWindow() {
+        // Given
+        when(dailyMemberLoansRepository.findMostActive(any(LocalDate.class), any(LocalDate.class),
+                any(PageRequest.class))).thenReturn(Arrays.asList(testMemberActivity));
+
+        // When
+        List<MemberActivity> result = reportingService.getMostActiveMembers(10,
+                LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 31));
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(dailyMemberLoansRepository, times(1)).findMostActive(
+                LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 31), PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should get most borrowed books over the requested days")
+    void testGetMostBorrowedBooks() {
+        // Given
+        when(dailyBookLoansRepository.findMostBorrowed(any(LocalDate.class), any(LocalDate.class),
+                any(PageRequest.class))).thenReturn(List.of(new BookLoanReport(1L, "Dune", 12L)));
+
+        // When
+        List<BookLoanReport> result = reportingService.getMostBorrowedBooks(3,
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 7));
+
+        // Then
+        assertThat(result).extracting(BookLoanReport::getBookTitle).containsExactly("Dune");
+        verify(dailyBookLoansRepository, times(1)).findMostBorrowed(
+                LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 7), PageRequest.of(0, 3));
+    }
+
+    @Test
+    @DisplayName("Should serve live rankings from memory")
+    void testGetLiveRanking() {
+        // Given
+        when(liveLeaderboards.top(LeaderboardDimension.BOOK, LeaderboardWindow.HOUR, 5))
+                .thenReturn(List.of(new LiveRanking(1L, "Dune", 3, 0)));
+
+        // When
+        List<LiveRanking> result = reportingService.getLiveRanking(LeaderboardDimension.BOOK, LeaderboardWindow.HOUR, 5);
+
+        // Then
+        assertThat(result).extracting(LiveRanking::name).containsExactly("Dune");
+        verifyNoInteractions(dailyBookLoansRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every rollup over whole days")
+    void testRefreshLoanRollups() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2026, 5, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 5, 3, 0, 0);
+        when(dailyCategoryLoansRepository.insertFromLoans(start, end)).thenReturn(4);
+        when(dailyMemberLoansRepository.insertFromLoans(start, end)).thenReturn(3);
+        when(dailyBookLoansRepository.insertFromLoans(start, end)).thenReturn(2);
+        when(hourlyCirculationRepository.insertFromLoans(start, end)).thenReturn(5);
+
+        // When
+        long rows = reportingService.refreshLoanRollups(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2));
+
+        // Then
+        assertThat(rows).isEqualTo(14);
+        verify(hourlyCirculationRepository).deleteDays(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2));
+        verify(dailyCategoryLoansRepository).deleteDays(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2));
+        verify(dailyMemberLoansRepository).deleteDays(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2));
+        verify(dailyBookLoansRepository).deleteDays(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 2));
+    }
+
+    @Test
+    @DisplayName("Should cache reports by their resolved window")
+    void testGetMostReadCategories_CacheKey() {
+        // When
+        reportingService.getMostReadCategories(5, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+
+        // Then
+        verify(reportCache).get(eq("categories/most-read:5:Window[from=2026-02-01, to=2026-02-28]"), any());
+    }
+
     @Test
     @DisplayName("Should get book status distribution successfully")
     void testGetBookStatusDistribution_Success() {
@@ -299,10 +476,10 @@ class ReportingServiceTest {
         };
 
         List<CategoryReport> reports = Arrays.asList(report);
-        when(loanRepository.findMostReadCategories(any(PageRequest.class))).thenReturn(reports);
+        when(dailyCategoryLoansRepository.findMostRead(any(), any(), any(PageRequest.class))).thenReturn(reports);
 
         // When
-        List<CategoryReport> result = reportingService.getMostReadCategories(1);
+        List<CategoryReport> result = reportingService.getMostReadCategories(1, null, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -331,14 +508,107 @@ class ReportingServiceTest {
         };
 
         List<MemberActivity> activities = Arrays.asList(activity);
-        when(loanRepository.findMostActiveMembers(any(PageRequest.class))).thenReturn(activities);
+        when(dailyMemberLoansRepository.findMostActive(any(), any(), any(PageRequest.class))).thenReturn(activities);
 
         // When
-        List<MemberActivity> result = reportingService.getMostActiveMembers(10);
+        List<MemberActivity> result = reportingService.getMostActiveMembers(10, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getLoanCount()).isEqualTo(0L);
     }
+
+    @Test
+    @DisplayName("Should count distinct borrowers per item and once across items")
+    void testGetUniqueBorrowers() {
+        // Given
+        HyperLogLog fiction = new HyperLogLog();
+        LongStream.rangeClosed(1, 30).forEach(fiction::add);
+        HyperLogLog poetry = new HyperLogLog();
+        LongStream.rangeClosed(21, 40).forEach(poetry::add);
+        YearMonth to = YearMonth.now();
+        when(borrowerSketches.load(SketchScope.CATEGORY, List.of(1L, 2L, 3L), to.minusMonths(11), to))
+                .thenReturn(Map.of(1L, fiction, 2L, poetry));
+
+        // When
+        UniqueBorrowerReport result = reportingService.getUniqueBorrowers(SketchScope.CATEGORY,
+                List.of(1L, 2L, 3L, 1L), null, null);
+
+        // Then
+        assertThat(result.from()).isEqualTo(to.minusMonths(11));
+        assertThat(result.uniqueBorrowers()).isEqualTo(40);
+        assertThat(result.items()).containsExactly(new UniqueBorrowerCount(1L, 30),
+                new UniqueBorrowerCount(2L, 20), new UniqueBorrowerCount(3L, 0));
+        verify(reportCache).get(eq("unique-borrowers:CATEGORY:[1, 2, 3]:" + to.minusMonths(11) + ":" + to), any());
+    }
+
+    @Test
+    @DisplayName("Should reject unique-borrower reports without ids or over too many months")
+    void testGetUniqueBorrowers_Invalid() {
+        assertThatThrownBy(() -> reportingService.getUniqueBorrowers(SketchScope.BOOK, List.of(), null, null))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> reportingService.getUniqueBorrowers(SketchScope.BOOK, List.of(1L),
+                YearMonth.of(2020, 1), YearMonth.of(2025, 1)))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(borrowerSketches);
+    }
+
+    @Test
+    @DisplayName("Should sum hourly circulation by weekday and hour within the window")
+    void testGetCirculationHeatmap() {
+        // Given
+        when(hourlyCirculationRepository.findByActivityDayBetween(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 16)))
+                .thenReturn(List.of(
+                        hourly(LocalDate.of(2026, 3, 2), 9, 3, 1),
+                        hourly(LocalDate.of(2026, 3, 9), 9, 2, 0),
+                        hourly(LocalDate.of(2026, 3, 8), 17, 0, 4),
+                        hourly(LocalDate.of(2026, 3, 1), 12, 7, 7)));
+
+        // When
+        CirculationHeatmap result = reportingService.getCirculationHeatmap(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 15));
+
+        // Then
+        assertThat(result.timeZone()).isEqualTo(ZoneId.systemDefault().getId());
+        assertThat(result.borrows()[0][9]).isEqualTo(5);
+        assertThat(result.returns()[0][9]).isEqualTo(1);
+        assertThat(result.returns()[6][17]).isEqualTo(4);
+        assertThat(Arrays.stream(result.borrows()).flatMapToLong(Arrays::stream).sum()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should shift hourly circulation into the library's time zone")
+    void testGetCirculationHeatmap_TimeZone() {
+        // Given: Sunday 22:00 on the server is Monday 01:00 three hours east of it
+        LocalDateTime sundayEvening = LocalDateTime.of(2026, 3, 8, 22, 0);
+        ZoneOffset serverOffset = ZoneId.systemDefault().getRules().getOffset(sundayEvening);
+        ReflectionTestUtils.setField(reportingService, "timeZone",
+                ZoneOffset.ofTotalSeconds(serverOffset.getTotalSeconds() + 3 * 3600));
+        when(hourlyCirculationRepository.findByActivityDayBetween(any(), any()))
+                .thenReturn(List.of(hourly(sundayEvening.toLocalDate(), 22, 1, 0)));
+
+        // When
+        CirculationHeatmap result = reportingService.getCirculationHeatmap(LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 9));
+
+        // Then
+        assertThat(result.borrows()[0][1]).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should allow heatmap windows of several years")
+    void testGetCirculationHeatmap_LongWindow() {
+        reportingService.getCirculationHeatmap(LocalDate.of(2022, 1, 1), LocalDate.of(2025, 12, 31));
+
+        assertThatThrownBy(() -> reportingService.getCirculationHeatmap(LocalDate.of(2000, 1, 1), LocalDate.of(2025, 12, 31)))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private HourlyCirculation hourly(LocalDate day, int hour, long borrows, long returns) {
+        HourlyCirculation hourly = new HourlyCirculation();
+        hourly.setActivityDay(day);
+        hourly.setActivityHour((short) hour);
+        hourly.setBorrowCount(borrows);
+        hourly.setReturnCount(returns);
+        return hourly;
+    }
 }
@@ -1,11 +1,16 @@
 package com.library.management.service;
 
 import com.library.management.entity.*;
+import com.library.management.event.ReservationExpiredEvent;
+import com.library.management.event.ReservationReadyEvent;
 import com.library.management.exception.BusinessException;
 import com.library.management.exception.ResourceNotFoundException;
+import com.library.management.model.ReservationExpiryOutcome;
 import com.library.management.repository.BookRepository;
 import com.library.management.repository.MemberRepository;
 import com.library.management.repository.ReservationRepository;
+import com.library.management.reservation.ReservationQueueManager;
+import com.library.management.reservation.ReservationQueueManager.QueueHead;
 import com.library.management.service.impl.ReservationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,10 +19,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -38,6 +47,12 @@ class ReservationServiceTest {
     @Mock
     private MemberRepository memberRepository;
 
+    @Mock
+    private ReservationQueueManager queueManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ReservationServiceImpl reservationService;
 
@@ -87,7 +102,7 @@ class ReservationServiceTest {
         when(memberRepository.findById(testMember.getId())).thenReturn(Optional.of(testMember));
         when(reservationRepository.existsByBookIdAndMemberIdAndStatus(
                 testBook.getId(), testMember.getId(), ReservationStatus.PENDING)).thenReturn(false);
-        when(reservationRepository.save(any(Reservation.class))).thenReturn(testReservation);
+        when(queueManager.save(any(Reservation.class))).thenReturn(testReservation);
 
         // When
         Reservation result = reservationService.placeReservation(newReservation);
@@ -97,7 +112,7 @@ class ReservationServiceTest {
         assertThat(result.getStatus()).isEqualTo(ReservationStatus.PENDING);
         assertThat(result.getBook()).isEqualTo(testBook);
         assertThat(result.getMember()).isEqualTo(testMember);
-        verify(reservationRepository, times(1)).save(any(Reservation.class));
+        verify(queueManager, times(1)).save(any(Reservation.class));
     }
 
     @Test
@@ -183,7 +198,7 @@ class ReservationServiceTest {
         reservationService.cancelReservation(1L);
 
         // Then
-        verify(reservationRepository, times(1)).delete(testReservation);
+        verify(queueManager, times(1)).delete(testReservation);
     }
 
     @Test
@@ -206,8 +221,8 @@ class ReservationServiceTest {
         otherMember.setId(2L);
         testReservation.setMember(otherMember);
 
-        when(reservationRepository.findFirstPendingReservation(testBook.getId()))
-                .thenReturn(Optional.of(testReservation));
+        when(queueManager.head(testBook.getId()))
+                .thenReturn(Optional.of(new QueueHead(testReservation.getId(), otherMember.getId())));
 
         // When
         boolean result = reservationService.isBookReservedByOther(testBook.getId(), testMember.getId());
@@ -220,8 +235,8 @@ class ReservationServiceTest {
     @DisplayName("Should return false when book is reserved by same member")
     void testIsBookReservedByOther_False() {
         // Given
-        when(reservationRepository.findFirstPendingReservation(testBook.getId()))
-                .thenReturn(Optional.of(testReservation));
+        when(queueManager.head(testBook.getId()))
+                .thenReturn(Optional.of(new QueueHead(testReservation.getId(), testMember.getId())));
 
         // When
         boolean result = reservationService.isBookReservedByOther(testBook.getId(), testMember.getId());
@@ -234,8 +249,7 @@ class ReservationServiceTest {
     @DisplayName("Should return false when no pending reservation")
     void testIsBookReservedByOther_NoReservation() {
         // Given
-        when(reservationRepository.findFirstPendingReservation(testBook.getId()))
-                .thenReturn(Optional.empty());
+        when(queueManager.head(testBook.getId())).thenReturn(Optional.empty());
 
         // When
         boolean result = reservationService.isBookReservedByOther(testBook.getId(), testMember.getId());
@@ -270,35 +284,21 @@ class ReservationServiceTest {
     @DisplayName("Should get queue position successfully")
     void testGetQueuePosition_Success() {
         // Given
-        Member member2 = new Member();
-        member2.setId(2L);
-        Member member3 = new Member();
-        member3.setId(3L);
-
-        Reservation res1 = new Reservation();
-        res1.setMember(member2);
-        Reservation res2 = new Reservation();
-        res2.setMember(testMember);
-        Reservation res3 = new Reservation();
-        res3.setMember(member3);
-
-        List<Reservation> queue = Arrays.asList(res1, res2, res3);
-        when(reservationRepository.findByBookIdAndStatusOrderByCreatedAtAsc(
-                testBook.getId(), ReservationStatus.PENDING)).thenReturn(queue);
+        when(queueManager.positionOf(testBook.getId(), testMember.getId())).thenReturn(2);
 
         // When
         int position = reservationService.getQueuePosition(testBook.getId(), testMember.getId());
 
         // Then
         assertThat(position).isEqualTo(2);
+        verify(reservationRepository, never()).findByBookIdAndStatusOrderByCreatedAtAsc(any(), any());
     }
 
     @Test
     @DisplayName("Should return 0 when member not in queue")
     void testGetQueuePosition_NotInQueue() {
         // Given
-        when(reservationRepository.findByBookIdAndStatusOrderByCreatedAtAsc(
-                testBook.getId(), ReservationStatus.PENDING)).thenReturn(Arrays.asList());
+        when(queueManager.positionOf(testBook.getId(), testMember.getId())).thenReturn(0);
 
         // When
         int position = reservationService.getQueuePosition(testBook.getId(), testMember.getId());
@@ -316,4 +316,51 @@ class ReservationServiceTest {
         // Then - method completes without exception
         verifyNoInteractions(reservationRepository);
     }
+
+    @Test
+    @DisplayName("Should notify expired and promoted members and refresh affected queues")
+    void testExpireReadyReservations() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 3, 10, 12, 0);
+        when(reservationRepository.expireReadyReservations(now, now.plusDays(3), 100)).thenReturn(List.of(
+                outcome(1L, 10L, 1L, false),
+                outcome(2L, 20L, 1L, true),
+                outcome(3L, 30L, 2L, false)));
+
+        // When
+        int expired = reservationService.expireReadyReservations(now, 100);
+
+        // Then
+        assertThat(expired).isEqualTo(2);
+        verify(eventPublisher).publishEvent(new ReservationExpiredEvent(1L, 10L, "member10@example.com", "Book 1"));
+        verify(eventPublisher).publishEvent(new ReservationReadyEvent(2L, 20L, "member20@example.com", "Book 1"));
+        verify(eventPublisher).publishEvent(new ReservationExpiredEvent(3L, 30L, "member30@example.com", "Book 2"));
+        verify(queueManager).invalidate(1L);
+        verify(queueManager).invalidate(2L);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no reservation has expired")
+    void testExpireReadyReservations_NoneExpired() {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 3, 10, 12, 0);
+        when(reservationRepository.expireReadyReservations(now, now.plusDays(3), 100)).thenReturn(List.of());
+
+        // When
+        int expired = reservationService.expireReadyReservations(now, 100);
+
+        // Then
+        assertThat(expired).isZero();
+        verifyNoInteractions(eventPublisher, queueManager);
+    }
+
+    private ReservationExpiryOutcome outcome(Long reservationId, Long memberId, Long bookId, boolean promoted) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ReservationExpiryOutcome.class, Map.of(
+                "reservationId", reservationId,
+                "memberId", memberId,
+                "memberEmail", "member" + memberId + "@example.com",
+                "bookId", bookId,
+                "bookTitle", "Book " + bookId,
+                "promoted", promoted));
+    }
 }
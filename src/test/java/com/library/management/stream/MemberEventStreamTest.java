@@ -0,0 +1,188 @@
+package com.library.management.stream;
+
+import com.library.management.entity.ReservationStatus;
+import com.library.management.event.ReservationQueueChangedEvent;
+import com.library.management.event.ReservationReadyEvent;
+import com.library.management.model.DueSoonLoan;
+import com.library.management.model.MemberReservation;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.ReservationRepository;
+import com.library.management.reservation.ReservationQueueManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MemberEventStream Unit Tests")
+class MemberEventStreamTest {
+
+    @Mock
+    private ReservationQueueManager queueManager;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    private final List<Runnable> pumps = new ArrayList<>();
+    private MemberEventStream memberEventStream;
+
+    @BeforeEach
+    void setUp() {
+        // Pumps are collected instead of started, so buffered events stay observable
+        memberEventStream = new MemberEventStream(pumps::add, queueManager, reservationRepository, loanRepository,
+                Duration.ofMinutes(30), Duration.ofSeconds(15), 2, 2, Duration.ofDays(2));
+    }
+
+    @Test
+    @DisplayName("Should send queue positions, ready reservations and due loans on connect")
+    void testConnect_SendsSnapshot() {
+        when(reservationRepository.findMemberReservations(1L)).thenReturn(List.of(
+                new MemberReservation(5L, 10L, "Queued Book", ReservationStatus.PENDING, LocalDateTime.now(), null, 2L, 3L),
+                new MemberReservation(6L, 11L, "Ready Book", ReservationStatus.READY_FOR_PICKUP, LocalDateTime.now(),
+                        LocalDateTime.now().plusDays(3), null, null)));
+        when(loanRepository.findDueSoon(eq(List.of(1L)), any(), any())).thenReturn(List.of());
+
+        memberEventStream.connect(1L);
+
+        MemberEventConnection connection = memberEventStream.connectionsOf(1L).iterator().next();
+        assertThat(connection.buffered()).isEqualTo(2);
+        assertThat(connection.queueSpots).containsEntry(10L, new MemberEventConnection.QueueSpot(2, 3));
+        assertThat(pumps).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should push queue changes only to members queued for the book")
+    void testOnQueueChanged() {
+        connectWithEmptySnapshot(1L);
+        connectWithEmptySnapshot(2L);
+        when(queueManager.positionOf(10L, 1L)).thenReturn(1);
+        when(queueManager.positionOf(10L, 2L)).thenReturn(0);
+        when(queueManager.queueLength(10L)).thenReturn(4);
+
+        memberEventStream.onQueueChanged(new ReservationQueueChangedEvent(10L));
+
+        assertThat(memberEventStream.connectionsOf(1L).iterator().next().buffered()).isEqualTo(1);
+        assertThat(memberEventStream.connectionsOf(2L).iterator().next().buffered()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should close a stream whose client falls too far behind")
+    void testPush_ClosesSlowClient() {
+        connectWithEmptySnapshot(1L);
+
+        for (long reservationId = 1; reservationId <= 3; reservationId++) {
+            memberEventStream.onReservationReady(new ReservationReadyEvent(reservationId, 1L, "a@b.c", "Book"));
+        }
+
+        assertThat(memberEventStream.connectionsOf(1L)).isEmpty();
+        assertThat(memberEventStream.connectionCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should announce a loan due soon once per stream")
+    void testPushDueSoonLoans_OncePerLoan() {
+        connectWithEmptySnapshot(1L);
+        when(loanRepository.findDueSoon(anyCollection(), any(), any())).thenReturn(List.of(
+                new DueSoonLoan(7L, 1L, 10L, "Book", LocalDateTime.now().plusDays(1))));
+
+        memberEventStream.pushDueSoonLoans();
+        memberEventStream.pushDueSoonLoans();
+
+        MemberEventConnection connection = memberEventStream.connectionsOf(1L).iterator().next();
+        assertThat(connection.buffered()).isEqualTo(1);
+        assertThat(connection.dueSoonLoans).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest stream when a member opens too many")
+    void testConnect_LimitsConnectionsPerMember() {
+        connectWithEmptySnapshot(1L);
+        MemberEventConnection oldest = memberEventStream.connectionsOf(1L).iterator().next();
+        connectWithEmptySnapshot(1L);
+        connectWithEmptySnapshot(1L);
+
+        assertThat(memberEventStream.connectionsOf(1L)).hasSize(2).doesNotContain(oldest);
+        assertThat(oldest.isClosed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should coalesce buffered events and send them in order")
+    void testConnection_CoalescesAndSends() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        MemberEventConnection connection = new MemberEventConnection(1L, emitter, 2);
+
+        assertThat(connection.offer(MemberStreamEvent.queuePosition(10L, 3, 3))).isTrue();
+        assertThat(connection.offer(MemberStreamEvent.reservationReady(5L, "Book"))).isTrue();
+        // Same key: replaces the buffered position instead of taking a new slot
+        assertThat(connection.offer(MemberStreamEvent.queuePosition(10L, 2, 2))).isTrue();
+        assertThat(connection.offer(MemberStreamEvent.queuePosition(11L, 1, 1))).isFalse();
+
+        Thread pump = Thread.ofVirtual().start(() -> connection.pump(Duration.ofSeconds(15)));
+        assertThat(emitter.sent.await(5, TimeUnit.SECONDS)).isTrue();
+        connection.close();
+        pump.join(5000);
+
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(0)).contains("event:queue-position", "position=2");
+        assertThat(emitter.events.get(1)).contains("event:reservation-ready");
+        assertThat(pump.isAlive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should send heartbeats while idle")
+    void testConnection_Heartbeat() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter(2);
+        MemberEventConnection connection = new MemberEventConnection(1L, emitter, 2);
+
+        Thread pump = Thread.ofVirtual().start(() -> connection.pump(Duration.ofMillis(10)));
+        assertThat(emitter.sent.await(5, TimeUnit.SECONDS)).isTrue();
+        connection.close();
+        pump.join(5000);
+
+        assertThat(emitter.events).allMatch(event -> event.startsWith(":heartbeat"));
+    }
+
+    private void connectWithEmptySnapshot(Long memberId) {
+        lenient().when(reservationRepository.findMemberReservations(memberId)).thenReturn(List.of());
+        lenient().when(loanRepository.findDueSoon(eq(List.of(memberId)), any(), any())).thenReturn(List.of());
+        memberEventStream.connect(memberId);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private final CountDownLatch sent;
+
+        RecordingEmitter(int expected) {
+            this.sent = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            synchronized (events) {
+                events.add(event.toString());
+            }
+            sent.countDown();
+        }
+    }
+}
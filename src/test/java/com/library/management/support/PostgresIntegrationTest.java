@@ -0,0 +1,123 @@
+package com.library.management.support;
+
+import com.library.management.entity.*;
+import com.library.management.repository.BookCopyRepository;
+import com.library.management.repository.BookRepository;
+import com.library.management.repository.LoanRepository;
+import com.library.management.repository.MemberRepository;
+import com.library.management.repository.MembershipTypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Base for tests of the Postgres-only SQL (partitioning, CTEs with data-modifying statements,
+ * ON CONFLICT, SKIP LOCKED) that H2 cannot run. The schema comes from the Flyway migrations,
+ * so these tests also check that the migrations apply and match the entities.
+ * <p>
+ * One container is shared by every subclass; the tests are skipped where Docker is unavailable.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "postgres"})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:17-alpine");
+
+    static {
+        if (DockerClientFactory.instance().isDockerAvailable()) {
+            POSTGRES.start();
+        }
+    }
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected MembershipTypeRepository membershipTypeRepository;
+
+    @Autowired
+    protected MemberRepository memberRepository;
+
+    @Autowired
+    protected BookRepository bookRepository;
+
+    @Autowired
+    protected BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    protected LoanRepository loanRepository;
+
+    @AfterEach
+    void truncateTables() {
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT quote_ident(c.relname)
+                FROM pg_class c
+                JOIN pg_namespace n ON n.oid = c.relnamespace
+                WHERE n.nspname = current_schema()
+                  AND c.relkind IN ('r', 'p')
+                  AND NOT c.relispartition
+                  AND c.relname <> 'flyway_schema_history'
+                """, String.class);
+        jdbcTemplate.execute("TRUNCATE " + String.join(", ", tables) + " RESTART IDENTITY CASCADE");
+    }
+
+    protected MembershipType saveMembershipType(String name, BigDecimal finePerDay, int fineGraceDays) {
+        MembershipType membershipType = new MembershipType();
+        membershipType.setName(name);
+        membershipType.setMaxBooks(5);
+        membershipType.setMaxLoanDays(14);
+        membershipType.setFinePerDay(finePerDay);
+        membershipType.setFineGraceDays(fineGraceDays);
+        return membershipTypeRepository.save(membershipType);
+    }
+
+    protected Member saveMember(String email, MembershipType membershipType) {
+        Member member = new Member();
+        member.setFirstName("Test");
+        member.setLastName("Member");
+        member.setEmail(email);
+        member.setPhone("1234567890");
+        member.setMembershipType(membershipType);
+        return memberRepository.save(member);
+    }
+
+    protected Book saveBook(String title, String isbn) {
+        Book book = new Book();
+        book.setTitle(title);
+        book.setAuthor("Test Author");
+        book.setIsbn(isbn);
+        return bookRepository.save(book);
+    }
+
+    protected BookCopy saveCopy(Book book, String barcode, BookCopyStatus status) {
+        BookCopy copy = new BookCopy();
+        copy.setBook(book);
+        copy.setBarcode(barcode);
+        copy.setStatus(status);
+        return bookCopyRepository.save(copy);
+    }
+
+    protected Loan saveLoan(Member member, BookCopy copy, LocalDateTime loanDate, LocalDateTime dueDate,
+                            LocalDateTime returnDate) {
+        Loan loan = new Loan();
+        loan.setMember(member);
+        loan.setBookCopy(copy);
+        loan.setLoanDate(loanDate);
+        loan.setDueDate(dueDate);
+        loan.setReturnDate(returnDate);
+        loan.setStatus(returnDate == null ? LoanStatus.ACTIVE : LoanStatus.RETURNED);
+        return loanRepository.save(loan);
+    }
+}
@@ -0,0 +1,35 @@
+package com.library.management.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails a test when the wrapped action prepares more JDBC statements than allowed.
+ * Requires {@code hibernate.generate_statistics=true}, which the test profile enables.
+ */
+public final class StatementBudget {
+
+    private final Statistics statistics;
+
+    public StatementBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public <T> T assertWithin(String description, long maxStatements, Action<T> action) throws Exception {
+        statistics.clear();
+        T result = action.run();
+        long executed = statistics.getPrepareStatementCount();
+        assertThat(executed)
+                .as("SQL statements for %s (budget %d)", description, maxStatements)
+                .isLessThanOrEqualTo(maxStatements);
+        return result;
+    }
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,49 @@
+-- Loans and fines as Hibernate ddl-auto created them before Flyway owned the schema, with a
+-- few rows. The tables of V1 already exist; V2 has to carry these two over.
+CREATE TABLE loans (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL,
+    due_date     TIMESTAMP(6) NOT NULL,
+    loan_date    TIMESTAMP(6) NOT NULL,
+    return_date  TIMESTAMP(6),
+    status       VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE', 'RETURNED')),
+    book_copy_id BIGINT       NOT NULL,
+    member_id    BIGINT       NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE fines (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_at   TIMESTAMP(6)   NOT NULL,
+    updated_at   TIMESTAMP(6)   NOT NULL,
+    amount       NUMERIC(10, 2) NOT NULL,
+    fine_date    TIMESTAMP(6)   NOT NULL,
+    last_updated TIMESTAMP(6),
+    status       VARCHAR(255)   NOT NULL CHECK (status IN ('PAID', 'UNPAID')),
+    loan_id      BIGINT         NOT NULL UNIQUE,
+    member_id    BIGINT         NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE IF EXISTS loans ADD CONSTRAINT FK8a6lbxgc5dx0lf3l2ukdvlpqf FOREIGN KEY (book_copy_id) REFERENCES book_copies;
+ALTER TABLE IF EXISTS loans ADD CONSTRAINT FKca5lnrwtbt1u8sn53avm1m9c FOREIGN KEY (member_id) REFERENCES members;
+ALTER TABLE IF EXISTS fines ADD CONSTRAINT FK1udqp0rsuuxwamtfwp2e1bqte FOREIGN KEY (loan_id) REFERENCES loans;
+ALTER TABLE IF EXISTS fines ADD CONSTRAINT FKqmb2ml4p0k1ewtkxy85nsk24n FOREIGN KEY (member_id) REFERENCES members;
+
+INSERT INTO membership_types (name, max_books, max_loan_days, created_at, updated_at)
+VALUES ('Standard', 5, 14, now(), now());
+INSERT INTO members (first_name, last_name, email, phone, password, role, balance, membership_type_id, created_at,
+                     updated_at)
+VALUES ('Legacy', 'Reader', 'legacy@test.com', '5550000', 'secret', 'USER', 0, 1, now(), now());
+INSERT INTO books (title, author, isbn, created_at, updated_at)
+VALUES ('Legacy Book', 'Author', '9780000000099', now(), now());
+INSERT INTO book_copies (book_id, barcode, status, created_at, updated_at)
+VALUES (1, 'LEGACY-1', 'AVAILABLE', now(), now());
+
+INSERT INTO loans (created_at, updated_at, due_date, loan_date, return_date, status, book_copy_id, member_id)
+VALUES (now(), now(), '2019-02-24 10:00', '2019-02-10 10:00', '2019-03-01 10:00', 'RETURNED', 1, 1),
+       (now(), now(), '2019-03-19 10:00', '2019-03-05 10:00', '2019-03-10 10:00', 'RETURNED', 1, 1),
+       (now(), now(), now() + INTERVAL '14 days', now(), NULL, 'ACTIVE', 1, 1);
+INSERT INTO fines (created_at, updated_at, amount, fine_date, status, loan_id, member_id)
+VALUES (now(), now(), 5.00, '2019-03-01 10:00', 'UNPAID', 1, 1);